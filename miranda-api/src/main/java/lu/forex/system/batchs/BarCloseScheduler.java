@@ -0,0 +1,219 @@
+package lu.forex.system.batchs;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import lu.forex.system.dtos.ScopeDto;
+import lu.forex.system.dtos.TickDto;
+import lu.forex.system.engines.IndicatorGraph;
+import lu.forex.system.events.CandlestickClosedEvent;
+import lu.forex.system.events.CandlestickOpenedEvent;
+import lu.forex.system.services.CandlestickService;
+import lu.forex.system.utils.TimeFrameUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Closes the forming candlesticks at their boundary plus a grace period, without waiting for the next tick. Deadlines are on the broker clock,
+ * estimated per symbol from the last tick seen and the time elapsed since it arrived, so they hold when the ticks are replayed faster or slower than
+ * real time. The deadlines are kept on a hashed timer wheel advanced by the scheduler and checked again against the estimate when they expire.
+ */
+@Component
+@ConditionalOnProperty(name = "bar.close.enabled", havingValue = "true")
+@Getter(AccessLevel.PRIVATE)
+@Log4j2
+public class BarCloseScheduler {
+
+  private static final int WHEEL_SIZE = 512;
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+  @Value("${bar.close.grace.milliseconds:2000}")
+  private long graceMillis;
+  @Value("${bar.close.tick.milliseconds:250}")
+  private long tickMillis;
+  @Value("${timeframe.broker.offset.minutes:0}")
+  private long brokerOffsetMinutes;
+
+  private final CandlestickService candlestickService;
+  private final IndicatorGraph indicatorGraph;
+  private final Clock clock;
+
+  private final Map<String, LastTick> lastTicks = new ConcurrentHashMap<>();
+  private final Map<String, Long> scheduledSkewMillis = new ConcurrentHashMap<>();
+  private final Map<BarCloseKey, BarCloseTimeout> timeouts = new ConcurrentHashMap<>();
+  private final Queue<BarCloseTimeout> newTimeouts = new ConcurrentLinkedQueue<>();
+  @SuppressWarnings("unchecked")
+  private final ArrayDeque<BarCloseTimeout>[] wheel = new ArrayDeque[WHEEL_SIZE];
+  private final long startMillis;
+  private long wheelTick;
+
+  @Autowired
+  public BarCloseScheduler(final CandlestickService candlestickService, final IndicatorGraph indicatorGraph) {
+    this(candlestickService, indicatorGraph, Clock.systemUTC());
+  }
+
+  BarCloseScheduler(final CandlestickService candlestickService, final IndicatorGraph indicatorGraph, final Clock clock) {
+    this.candlestickService = candlestickService;
+    this.indicatorGraph = indicatorGraph;
+    this.clock = clock;
+    this.startMillis = clock.millis();
+    for (int i = 0; i < WHEEL_SIZE; i++) {
+      this.wheel[i] = new ArrayDeque<>();
+    }
+  }
+
+  /**
+   * Called for every tick received, before it is processed. When the broker clock runs ahead of the one the deadlines of the symbol were set with,
+   * e.g. when a replay speeds up, they are moved earlier. Deadlines that come too early are checked again when they expire.
+   */
+  public void onTick(final @NotNull String symbolName, final @NotNull TickDto tickDto) {
+    final LastTick lastTick = new LastTick(tickDto, this.getClock().millis());
+    this.getLastTicks().put(symbolName, lastTick);
+    final long skew = lastTick.toBrokerMillis(0L);
+    final Long scheduledSkew = this.getScheduledSkewMillis().putIfAbsent(symbolName, skew);
+    if (scheduledSkew != null && skew > scheduledSkew + this.getGraceMillis()) {
+      this.getScheduledSkewMillis().put(symbolName, skew);
+      this.getTimeouts().values().stream().filter(timeout -> symbolName.equals(timeout.scope.symbol().currencyPair().name())).forEach(timeout -> {
+        final BarCloseTimeout rescheduled = new BarCloseTimeout(timeout.key, timeout.scope, timeout.deadlineMillis);
+        if (this.getTimeouts().replace(timeout.key, timeout, rescheduled)) {
+          timeout.cancelled = true;
+          this.schedule(rescheduled);
+        }
+      });
+    }
+  }
+
+  @EventListener
+  public void onCandlestickOpened(final @NotNull CandlestickOpenedEvent event) {
+    final String symbolName = event.scope().symbol().currencyPair().name();
+    if (!this.getLastTicks().containsKey(symbolName)) {
+      this.onTick(symbolName, event.tick());
+    }
+    final BarCloseKey key = new BarCloseKey(event.scope().id(), event.candlestickEpochMillis());
+    final long deadline = TimeFrameUtils.getNextCandlestickEpochMillis(event.candlestickEpochMillis(), event.scope().timeFrame(),
+        this.getBrokerOffsetMinutes() * TimeFrameUtils.MINUTE_MILLIS) + this.getGraceMillis();
+    final BarCloseTimeout timeout = new BarCloseTimeout(key, event.scope(), deadline);
+    // a candlestick reopened after a restart keeps its first deadline
+    if (this.getTimeouts().putIfAbsent(key, timeout) == null) {
+      this.schedule(timeout);
+    }
+  }
+
+  /**
+   * A candlestick closed by a tick cancels its deadline.
+   */
+  @EventListener
+  public void onCandlestickClosed(final @NotNull CandlestickClosedEvent event) {
+    if (event.isClosedByTime()) {
+      return;
+    }
+    final BarCloseKey key = new BarCloseKey(event.getScope().id(), TimeFrameUtils.toEpochMillis(event.getCandlestick().timestamp()));
+    Optional.ofNullable(this.getTimeouts().remove(key)).ifPresent(timeout -> timeout.cancelled = true);
+  }
+
+  @Scheduled(fixedRateString = "${bar.close.tick.milliseconds:250}")
+  public synchronized void advance() {
+    final long now = this.getClock().millis();
+    final List<BarCloseTimeout> expired = new ArrayList<>();
+    while (this.getStartMillis() + (this.getWheelTick() + 1) * this.getTickMillis() <= now) {
+      this.transferNewTimeouts();
+      final Iterator<BarCloseTimeout> iterator = this.getWheel()[(int) (this.getWheelTick() & WHEEL_MASK)].iterator();
+      while (iterator.hasNext()) {
+        final BarCloseTimeout timeout = iterator.next();
+        if (timeout.cancelled) {
+          iterator.remove();
+        } else if (timeout.rounds == 0) {
+          iterator.remove();
+          expired.add(timeout);
+        } else {
+          timeout.rounds--;
+        }
+      }
+      this.wheelTick++;
+    }
+    expired.parallelStream().forEach(this::expire);
+  }
+
+  private void schedule(final @NotNull BarCloseTimeout timeout) {
+    final String symbolName = timeout.scope.symbol().currencyPair().name();
+    final LastTick lastTick = this.getLastTicks().get(symbolName);
+    this.getScheduledSkewMillis().merge(symbolName, lastTick.toBrokerMillis(0L), Math::min);
+    timeout.wallDeadlineMillis = lastTick.toWallMillis(timeout.deadlineMillis);
+    this.getNewTimeouts().add(timeout);
+  }
+
+  private void transferNewTimeouts() {
+    for (BarCloseTimeout timeout = this.getNewTimeouts().poll(); timeout != null; timeout = this.getNewTimeouts().poll()) {
+      final long ticks = Math.max(this.getWheelTick(), Math.floorDiv(timeout.wallDeadlineMillis - this.getStartMillis(), this.getTickMillis()));
+      timeout.rounds = (ticks - this.getWheelTick()) / WHEEL_SIZE;
+      this.getWheel()[(int) (ticks & WHEEL_MASK)].add(timeout);
+    }
+  }
+
+  private void expire(final @NotNull BarCloseTimeout timeout) {
+    final ScopeDto scopeDto = timeout.scope;
+    final LastTick lastTick = this.getLastTicks().get(scopeDto.symbol().currencyPair().name());
+    if (lastTick.toBrokerMillis(this.getClock().millis()) < timeout.deadlineMillis) {
+      // the ticks slowed down since the deadline was set, wait for the broker clock
+      this.schedule(timeout);
+      return;
+    }
+    if (!this.getTimeouts().remove(timeout.key, timeout)) {
+      return;
+    }
+    try {
+      this.getCandlestickService().closeCandlestickByTime(lastTick.tick(), scopeDto, timeout.key.candlestickEpochMillis(),
+          this.getIndicatorGraph().getIndicatorServices());
+    } catch (RuntimeException e) {
+      log.error("Unable to close the candlestick {} of {} {}", TimeFrameUtils.toLocalDateTime(timeout.key.candlestickEpochMillis()),
+          scopeDto.symbol().currencyPair().name(), scopeDto.timeFrame(), e);
+    }
+  }
+
+  private record BarCloseKey(@NotNull UUID scopeId, long candlestickEpochMillis) {
+
+  }
+
+  private record LastTick(@NotNull TickDto tick, long receivedMillis) {
+
+    private long toBrokerMillis(final long wallMillis) {
+      return TimeFrameUtils.toEpochMillis(this.tick().timestamp()) + wallMillis - this.receivedMillis();
+    }
+
+    private long toWallMillis(final long brokerMillis) {
+      return brokerMillis - TimeFrameUtils.toEpochMillis(this.tick().timestamp()) + this.receivedMillis();
+    }
+  }
+
+  private static final class BarCloseTimeout {
+
+    private final BarCloseKey key;
+    private final ScopeDto scope;
+    private final long deadlineMillis;
+    private long wallDeadlineMillis;
+    private long rounds;
+    private volatile boolean cancelled;
+
+    private BarCloseTimeout(final BarCloseKey key, final ScopeDto scope, final long deadlineMillis) {
+      this.key = key;
+      this.scope = scope;
+      this.deadlineMillis = deadlineMillis;
+    }
+  }
+}
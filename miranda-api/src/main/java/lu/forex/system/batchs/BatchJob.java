@@ -0,0 +1,55 @@
+package lu.forex.system.batchs;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import lombok.Getter;
+import lu.forex.system.enums.BatchJobStatus;
+import lu.forex.system.enums.BatchStage;
+
+@Getter
+public class BatchJob {
+
+  private final UUID id = UUID.randomUUID();
+  private final LocalDateTime start = LocalDateTime.now();
+  private final Map<String, BatchJobSymbol> symbols = new ConcurrentSkipListMap<>();
+  private volatile BatchJobStatus status = BatchJobStatus.RUNNING;
+  private volatile LocalDateTime end;
+  private volatile boolean cancelRequested;
+
+  public @NotNull BatchJobSymbol addSymbol(final @NotNull String symbolName, final @NotNull Map<BatchStage, Long> expectedStageTimings) {
+    return this.getSymbols().computeIfAbsent(symbolName, name -> new BatchJobSymbol(name, this, expectedStageTimings));
+  }
+
+  public void cancel() {
+    this.cancelRequested = true;
+  }
+
+  public void finish(final @NotNull BatchJobStatus batchJobStatus) {
+    this.status = batchJobStatus;
+    this.end = LocalDateTime.now();
+  }
+
+  public long getRowsProcessed() {
+    return this.getSymbols().values().stream().mapToLong(batchJobSymbol -> batchJobSymbol.getRowsProcessed().get()).sum();
+  }
+
+  public double getThroughput() {
+    return this.getSymbols().values().stream().mapToDouble(BatchJobSymbol::getThroughput).sum();
+  }
+
+  public Optional<Long> getEtaSeconds() {
+    if (!BatchJobStatus.RUNNING.equals(this.getStatus())) {
+      return Optional.of(0L);
+    }
+    final Collection<Optional<Long>> etas = this.getSymbols().values().stream().map(BatchJobSymbol::getEtaSeconds).toList();
+    if (etas.stream().anyMatch(Optional::isEmpty)) {
+      return Optional.empty();
+    }
+    return etas.stream().map(Optional::get).max(Long::compare);
+  }
+}
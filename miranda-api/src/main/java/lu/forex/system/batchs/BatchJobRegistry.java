@@ -0,0 +1,54 @@
+package lu.forex.system.batchs;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.enums.BatchJobStatus;
+import lu.forex.system.enums.BatchStage;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter(AccessLevel.PRIVATE)
+public class BatchJobRegistry {
+
+  private static final int HISTORY_SIZE = 20;
+
+  private final Map<UUID, BatchJob> batchJobs = new LinkedHashMap<>();
+  private final Map<String, Map<BatchStage, Long>> lastStageTimings = new ConcurrentHashMap<>();
+
+  public synchronized @NotNull BatchJob createBatchJob() {
+    final BatchJob batchJob = new BatchJob();
+    this.getBatchJobs().put(batchJob.getId(), batchJob);
+    final var finished = this.getBatchJobs().values().stream().filter(job -> !BatchJobStatus.RUNNING.equals(job.getStatus())).toList();
+    finished.stream().limit(Math.max(this.getBatchJobs().size() - HISTORY_SIZE, 0)).forEach(job -> this.getBatchJobs().remove(job.getId()));
+    return batchJob;
+  }
+
+  public synchronized @NotNull Optional<BatchJob> getBatchJob(final @NotNull UUID jobId) {
+    return Optional.ofNullable(this.getBatchJobs().get(jobId));
+  }
+
+  public synchronized @NotNull Collection<BatchJob> getAllBatchJobs() {
+    return new ArrayList<>(this.getBatchJobs().values());
+  }
+
+  public @NotNull Map<BatchStage, Long> getExpectedStageTimings(final @NotNull String symbolName) {
+    return this.getLastStageTimings().getOrDefault(symbolName, Map.of());
+  }
+
+  public void recordStageTimings(final @NotNull BatchJobSymbol batchJobSymbol) {
+    if (BatchJobStatus.COMPLETED.equals(batchJobSymbol.getStatus())) {
+      synchronized (batchJobSymbol.getStageTimings()) {
+        this.getLastStageTimings().put(batchJobSymbol.getSymbolName(), new EnumMap<>(batchJobSymbol.getStageTimings()));
+      }
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package lu.forex.system.batchs;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import lu.forex.system.enums.BatchJobStatus;
+import lu.forex.system.enums.BatchStage;
+import lu.forex.system.exceptions.BatchJobCancelledException;
+
+@Getter
+@Log4j2
+public class BatchJobSymbol {
+
+  private final String symbolName;
+  @Getter(AccessLevel.NONE)
+  private final BatchJob batchJob;
+  @Getter(AccessLevel.NONE)
+  private final Map<BatchStage, Long> expectedStageTimings;
+  private final Map<BatchStage, Long> stageTimings = Collections.synchronizedMap(new EnumMap<>(BatchStage.class));
+  private final AtomicLong rowsProcessed = new AtomicLong();
+  private volatile BatchJobStatus status = BatchJobStatus.QUEUED;
+  private volatile BatchStage stage;
+  private volatile LocalDateTime start;
+  private volatile LocalDateTime end;
+  @Getter(AccessLevel.NONE)
+  private volatile long startNanos;
+  @Getter(AccessLevel.NONE)
+  private volatile long stageStartNanos;
+  @Getter(AccessLevel.NONE)
+  private volatile long endNanos;
+
+  BatchJobSymbol(final @NotNull String symbolName, final @NotNull BatchJob batchJob, final @NotNull Map<BatchStage, Long> expectedStageTimings) {
+    this.symbolName = symbolName;
+    this.batchJob = batchJob;
+    this.expectedStageTimings = expectedStageTimings;
+  }
+
+  public void checkpoint() {
+    if (this.batchJob.isCancelRequested()) {
+      throw new BatchJobCancelledException(this.batchJob.getId(), this.getSymbolName());
+    }
+  }
+
+  public void startStage(final @NotNull BatchStage batchStage) {
+    this.checkpoint();
+    final long now = System.nanoTime();
+    if (BatchJobStatus.QUEUED.equals(this.getStatus())) {
+      this.startNanos = now;
+      this.start = LocalDateTime.now();
+      this.status = BatchJobStatus.RUNNING;
+    }
+    this.stageStartNanos = now;
+    this.stage = batchStage;
+  }
+
+  public void endStage(final @PositiveOrZero long rows) {
+    final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.stageStartNanos);
+    this.getStageTimings().put(this.getStage(), millis);
+    this.getRowsProcessed().addAndGet(rows);
+    log.info("[{}] {} {} took {} ms for {} rows", this.batchJob.getId(), this.getSymbolName(), this.getStage(), millis, rows);
+  }
+
+  public void finish(final @NotNull BatchJobStatus batchJobStatus) {
+    this.endNanos = System.nanoTime();
+    this.status = batchJobStatus;
+    this.end = LocalDateTime.now();
+  }
+
+  public double getThroughput() {
+    if (this.getStart() == null) {
+      return 0D;
+    }
+    final long lastNanos = this.getEnd() == null ? System.nanoTime() : this.endNanos;
+    final double seconds = Math.max(lastNanos - this.startNanos, 1L) / 1_000_000_000D;
+    return this.getRowsProcessed().get() / seconds;
+  }
+
+  public Optional<Long> getEtaSeconds() {
+    return switch (this.getStatus()) {
+      case COMPLETED, CANCELLED, FAILED -> Optional.of(0L);
+      case QUEUED -> this.expectedStageTimings.isEmpty() ? Optional.empty()
+          : Optional.of(TimeUnit.MILLISECONDS.toSeconds(this.expectedStageTimings.values().stream().mapToLong(Long::longValue).sum()));
+      case RUNNING -> {
+        final BatchStage current = this.getStage();
+        if (!this.expectedStageTimings.containsKey(current)) {
+          yield Optional.empty();
+        }
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.stageStartNanos);
+        final long currentMillis = Math.max(this.expectedStageTimings.get(current) - elapsedMillis, 0L);
+        final long nextMillis = Arrays.stream(BatchStage.values()).filter(batchStage -> batchStage.ordinal() > current.ordinal())
+            .mapToLong(batchStage -> this.expectedStageTimings.getOrDefault(batchStage, 0L)).sum();
+        yield Optional.of(TimeUnit.MILLISECONDS.toSeconds(currentMillis + nextMillis));
+      }
+    };
+  }
+}
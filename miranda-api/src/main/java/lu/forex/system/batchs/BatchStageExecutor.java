@@ -0,0 +1,114 @@
+package lu.forex.system.batchs;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.constraints.NotNull;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import lu.forex.system.enums.BatchStage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter(AccessLevel.PRIVATE)
+@Log4j2
+public class BatchStageExecutor {
+
+  private static final String PARALLELISM = "parallelism";
+  private static final String CONCURRENCY = "concurrency";
+  private static final int THREAD_PRIORITY = Thread.NORM_PRIORITY - 2;
+
+  @Value("${batch.symbols.parallelism:2}")
+  private int symbolsParallelism;
+  @Value("#{${batch.stage.config:{:}}}")
+  private Map<String, Map<String, Integer>> stageConfig;
+
+  private final Map<BatchStage, ForkJoinPool> stagePools = new EnumMap<>(BatchStage.class);
+  private final Map<BatchStage, Semaphore> stageSemaphores = new EnumMap<>(BatchStage.class);
+  private ExecutorService symbolsPool;
+
+  @PostConstruct
+  private void init() {
+    final int defaultParallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    final AtomicInteger symbolThreads = new AtomicInteger();
+    this.symbolsPool = Executors.newFixedThreadPool(Math.max(1, this.getSymbolsParallelism()), runnable -> {
+      final Thread thread = new Thread(runnable, "batch-symbols-".concat(String.valueOf(symbolThreads.getAndIncrement())));
+      thread.setPriority(THREAD_PRIORITY);
+      return thread;
+    });
+    for (final BatchStage batchStage : BatchStage.values()) {
+      final Map<String, Integer> config = this.getStageConfig().getOrDefault(batchStage.name(), Map.of());
+      final int parallelism = Math.max(1, config.getOrDefault(PARALLELISM, defaultParallelism));
+      final int concurrency = Math.max(1, config.getOrDefault(CONCURRENCY, this.getSymbolsParallelism()));
+      this.getStagePools().put(batchStage, createPool("batch-".concat(batchStage.name().toLowerCase()), parallelism));
+      this.getStageSemaphores().put(batchStage, new Semaphore(concurrency, true));
+      log.info("Batch stage {} with parallelism {} and concurrency {}", batchStage, parallelism, concurrency);
+    }
+  }
+
+  @PreDestroy
+  private void shutdown() {
+    this.getSymbolsPool().shutdownNow();
+    this.getStagePools().values().forEach(ForkJoinPool::shutdownNow);
+  }
+
+  /**
+   * Runs the symbols on plain threads, a stage joined from one of them waits on its own pool without adding threads to another.
+   */
+  public <T> void forEachSymbol(final @NotNull Collection<T> symbols, final @NotNull Consumer<T> consumer) {
+    final List<Future<?>> futures = symbols.stream().<Future<?>>map(symbol -> this.getSymbolsPool().submit(() -> consumer.accept(symbol))).toList();
+    try {
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      futures.forEach(future -> future.cancel(true));
+      throw new IllegalStateException("Interrupted while waiting for the batch symbols", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Batch symbol failed", e.getCause());
+    }
+  }
+
+  public <T> T execute(final @NotNull BatchStage batchStage, final @NotNull Supplier<T> supplier) {
+    final Semaphore semaphore = this.getStageSemaphores().get(batchStage);
+    final long queuedAt = System.nanoTime();
+    try {
+      semaphore.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the batch stage " + batchStage, e);
+    }
+    try {
+      log.debug("Batch stage {} waited {} ms in the queue", batchStage, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queuedAt));
+      return this.getStagePools().get(batchStage).submit(supplier::get).join();
+    } finally {
+      semaphore.release();
+    }
+  }
+
+  private static @NotNull ForkJoinPool createPool(final @NotNull String name, final int parallelism) {
+    return new ForkJoinPool(parallelism, pool -> {
+      final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName(name.concat("-").concat(String.valueOf(thread.getPoolIndex())));
+      thread.setPriority(THREAD_PRIORITY);
+      return thread;
+    }, null, false);
+  }
+}
@@ -0,0 +1,30 @@
+package lu.forex.system.batchs;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import lu.forex.system.services.CandlestickService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persists the forming candlesticks kept in memory, so a restart only has to replay the ticks since the last flush.
+ */
+@Component
+@RequiredArgsConstructor
+@Getter(AccessLevel.PRIVATE)
+@Log4j2
+public class FormingCandlestickFlushJob {
+
+  private final CandlestickService candlestickService;
+
+  @Scheduled(fixedDelayString = "${candlestick.flush.milliseconds:1000}")
+  public void flush() {
+    try {
+      this.getCandlestickService().flushFormingCandlesticks();
+    } catch (RuntimeException e) {
+      log.error("Unable to flush the forming candlesticks", e);
+    }
+  }
+}
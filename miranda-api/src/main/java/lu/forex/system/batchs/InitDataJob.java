@@ -1,40 +1,40 @@
 package lu.forex.system.batchs;
 
-import com.opencsv.CSVWriter;
 import jakarta.validation.constraints.NotNull;
 import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.AbstractMap.SimpleEntry;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
+import lu.forex.system.caches.BarFeatureCache;
+import lu.forex.system.caches.CandlestickSeriesCache;
+import lu.forex.system.caches.CandlestickWindowCache;
+import lu.forex.system.caches.MovingAverageRegistry;
 import lu.forex.system.dtos.CandlestickDto;
-import lu.forex.system.dtos.MovingAverageDto;
 import lu.forex.system.dtos.OrderDto;
+import lu.forex.system.dtos.SymbolDto;
+import lu.forex.system.dtos.TickDto;
 import lu.forex.system.dtos.TradeDto;
+import lu.forex.system.engines.IndicatorGraph;
+import lu.forex.system.enums.BatchJobStatus;
+import lu.forex.system.enums.BatchStage;
 import lu.forex.system.enums.SignalIndicator;
+import lu.forex.system.exceptions.BatchJobCancelledException;
+import lu.forex.system.io.InputFiles;
 import lu.forex.system.services.CandlestickService;
-import lu.forex.system.services.MovingAverageService;
 import lu.forex.system.services.OrderService;
 import lu.forex.system.services.ScopeService;
 import lu.forex.system.services.SymbolService;
-import lu.forex.system.services.TechnicalIndicatorService;
 import lu.forex.system.services.TickService;
 import lu.forex.system.services.TradeService;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.info.ProjectInfoProperties;
 import org.springframework.scheduling.annotation.Async;
@@ -55,92 +55,127 @@ public class InitDataJob {
   private final CandlestickService candlestickService;
   private final OrderService orderService;
   private final TradeService tradeService;
-  private final TechnicalIndicatorService acceleratorOscillatorService;
-  private final TechnicalIndicatorService averageDirectionalIndexService;
-  private final TechnicalIndicatorService movingAverageConvergenceDivergenceService;
-  private final MovingAverageService simpleMovingAverageService;
-  private final MovingAverageService exponentialMovingAverageService;
+  private final IndicatorGraph indicatorGraph;
+  private final BatchJobRegistry batchJobRegistry;
+  private final BatchStageExecutor batchStageExecutor;
+  private final CandlestickWindowCache candlestickWindowCache;
+  private final CandlestickSeriesCache candlestickSeriesCache;
+  private final BarFeatureCache barFeatureCache;
+  private final MovingAverageRegistry movingAverageRegistry;
 
   public InitDataJob(final SymbolService symbolService, final TickService tickService, final ScopeService scopeService,
-      final CandlestickService candlestickService, final OrderService orderService, final TradeService tradeService, @Qualifier("acceleratorOscillator") final TechnicalIndicatorService acceleratorOscillatorService,
-      @Qualifier("averageDirectionalIndex") final TechnicalIndicatorService averageDirectionalIndexService,
-      @Qualifier("movingAverageConvergenceDivergence") final TechnicalIndicatorService movingAverageConvergenceDivergenceService,
-      @Qualifier("simpleMovingAverage") final MovingAverageService simpleMovingAverageService,
-      @Qualifier("exponentialMovingAverage") final MovingAverageService exponentialMovingAverageService,
-      final ProjectInfoProperties projectInfoProperties) {
+      final CandlestickService candlestickService, final OrderService orderService, final TradeService tradeService, final IndicatorGraph indicatorGraph,
+      final ProjectInfoProperties projectInfoProperties, final BatchJobRegistry batchJobRegistry,
+      final BatchStageExecutor batchStageExecutor, final CandlestickWindowCache candlestickWindowCache,
+      final CandlestickSeriesCache candlestickSeriesCache, final BarFeatureCache barFeatureCache, final MovingAverageRegistry movingAverageRegistry) {
     this.symbolService = symbolService;
     this.tickService = tickService;
     this.scopeService = scopeService;
     this.candlestickService = candlestickService;
     this.orderService = orderService;
     this.tradeService = tradeService;
-    this.acceleratorOscillatorService = acceleratorOscillatorService;
-    this.averageDirectionalIndexService = averageDirectionalIndexService;
-    this.movingAverageConvergenceDivergenceService = movingAverageConvergenceDivergenceService;
-    this.simpleMovingAverageService = simpleMovingAverageService;
-    this.exponentialMovingAverageService = exponentialMovingAverageService;
+    this.indicatorGraph = indicatorGraph;
     this.projectInfoProperties = projectInfoProperties;
+    this.batchJobRegistry = batchJobRegistry;
+    this.batchStageExecutor = batchStageExecutor;
+    this.candlestickWindowCache = candlestickWindowCache;
+    this.candlestickSeriesCache = candlestickSeriesCache;
+    this.barFeatureCache = barFeatureCache;
+    this.movingAverageRegistry = movingAverageRegistry;
   }
 
   @Async
-  public void start() {
+  public void start(final @NotNull BatchJob batchJob) {
     final var root = new File(this.getFilePathInit());
     if (root.exists() && root.isDirectory()) {
-      this.stackProcess(root);
-      log.warn("Stack process complete!");
+      this.stackProcess(root, batchJob);
+      this.getCandlestickWindowCache().evictAll();
+      this.getCandlestickSeriesCache().evictAll();
+      this.getBarFeatureCache().evictAll();
+      this.getMovingAverageRegistry().evictAll();
+      final boolean failed = batchJob.getSymbols().values().stream().anyMatch(symbol -> BatchJobStatus.FAILED.equals(symbol.getStatus()));
+      final BatchJobStatus status = batchJob.isCancelRequested() ? BatchJobStatus.CANCELLED : failed ? BatchJobStatus.FAILED : BatchJobStatus.COMPLETED;
+      batchJob.finish(status);
+      log.warn("Stack process {} {}!", batchJob.getId(), status);
     } else {
+      batchJob.finish(BatchJobStatus.FAILED);
       log.error("Folder {} not exists", root.getAbsolutePath());
     }
   }
-  private void stackProcess(final @NotNull File folder) {
-    this.getSymbolService().getSymbols().parallelStream().map(symbolDto -> {
-    final var fileName = symbolDto.currencyPair().name().concat(".csv");
-    final var inputFile = new File(folder, fileName);
-    if(inputFile.exists()) {
-      log.info("Added Batch Job: {} -> {}", symbolDto, inputFile.getAbsolutePath());
-      return new SimpleEntry<>(symbolDto, inputFile);
+
+  private void stackProcess(final @NotNull File folder, final @NotNull BatchJob batchJob) {
+    final var entries = this.getSymbolService().getSymbols().stream().map(symbolDto -> {
+    final var symbolName = symbolDto.currencyPair().name();
+    final var batchJobSymbol = batchJob.addSymbol(symbolName, this.getBatchJobRegistry().getExpectedStageTimings(symbolName));
+    final var fileName = symbolName.concat(".csv");
+    final var inputFile = InputFiles.find(folder, fileName);
+    if(inputFile.isPresent()) {
+      log.info("Added Batch Job: {} -> {}", symbolDto, inputFile.get().getAbsolutePath());
+      return new SimpleEntry<>(symbolDto, new SimpleEntry<>(batchJobSymbol, inputFile.get()));
     } else {
-      log.error("File {} not exists", inputFile.getAbsolutePath());
+      log.error("File {} not exists", new File(folder, fileName).getAbsolutePath());
+      batchJobSymbol.finish(BatchJobStatus.FAILED);
       return null;
     }
-    }).filter(Objects::nonNull).forEach(entry -> {
+    }).filter(Objects::nonNull).toList();
+    this.getBatchStageExecutor().forEachSymbol(entries, entry -> {
       final var symbolDto = entry.getKey();
-      final var inputFile = entry.getValue();
-      final var ticksDtoSorted = this.getTickService().readPreDataBase(symbolDto, inputFile);
-
-      if(!ticksDtoSorted.isEmpty()) {
-        final var indicatorServices = List.of(this.getAcceleratorOscillatorService(), this.getAverageDirectionalIndexService(), this.getMovingAverageConvergenceDivergenceService());
-        final var newMovingAverageServices = indicatorServices.stream().flatMap(indicatorService -> indicatorService.generateMAs().stream()).collect(Collectors.toSet());
-
-        final var technicalIndicatorSize = indicatorServices.stream().mapToInt(TechnicalIndicatorService::getNumberOfCandlesticksToCalculate).max().orElse(0);
-        final var movingAverageServices = List.of(this.getSimpleMovingAverageService(), this.getExponentialMovingAverageService());
-
-        final int tradesActivatedSize = this.getTradeService().managementEfficientTradesScenarioToBeActivated(this.getOrderService()
-            .processingInitOrders(ticksDtoSorted, this.getTradeService().initOrdersByTrade(this.getCandlestickService()
-                .computingIndicatorsByInit(indicatorServices, movingAverageServices, this.getCandlestickService().initAveragesToCandlesticks(
-                        this.getCandlestickService().initIndicatorsOnCandlesticks(
-                            this.getScopeService().getScopesBySymbolName(symbolDto.currencyPair().name()).parallelStream()
-                                .flatMap(scopeDto -> this.getCandlestickService().readTicksToGenerateCandlesticks(scopeDto, ticksDtoSorted).stream()),
-                            indicatorServices).parallel().map(candlestickDto -> {
-                          final Collection<MovingAverageDto> theMovingAverages = newMovingAverageServices.stream()
-                              .map(newMovingAverageDto -> switch (newMovingAverageDto.type()) {
-                                case EMA -> this.getExponentialMovingAverageService().createMovingAverage(newMovingAverageDto);
-                                case SMA -> this.getSimpleMovingAverageService().createMovingAverage(newMovingAverageDto);
-                                default -> throw new IllegalStateException("Unexpected value: " + newMovingAverageDto.type());
-                              }).toList();
-                          return new SimpleEntry<>(theMovingAverages, candlestickDto);
-                        })).collect(Collectors.groupingBy(CandlestickDto::scope, Collectors.collectingAndThen(Collectors.toList(),
-                        candlestickDtos -> candlestickDtos.stream().sorted(Comparator.comparing(CandlestickDto::timestamp).reversed()).toList())))
-                    .entrySet().stream().collect(Collectors.toMap(m -> m.getKey().id(),
-                        m -> IntStream.range(0, m.getValue().size()).boxed().sorted(Collections.reverseOrder()).map(i -> {
-                          final var lastIndexFix = Math.min(i + technicalIndicatorSize, m.getValue().size());
-                          return IntStream.range(i, lastIndexFix).mapToObj(j -> m.getValue().get(j).id()).toList();
-                        }).toList()))).parallel().filter(candlestickDto -> !SignalIndicator.NEUTRAL.equals(candlestickDto.signalIndicator()))
-                .collect(Collectors.groupingBy(CandlestickDto::timestamp, Collectors.toSet())), ticksDtoSorted)).map(OrderDto::tradeId).distinct()).size();
-
-        log.info("Activated trades: {}", tradesActivatedSize);
-        log.info("Nº of orders: {}", this.getTradeService().getTrades(symbolDto.id()).stream().mapToInt(value -> value.orders().size()).sum());
+      final var batchJobSymbol = entry.getValue().getKey();
+      final var inputFile = entry.getValue().getValue();
+      try {
+        this.symbolProcess(symbolDto, batchJobSymbol, inputFile);
+        batchJobSymbol.finish(BatchJobStatus.COMPLETED);
+        this.getBatchJobRegistry().recordStageTimings(batchJobSymbol);
+      } catch (BatchJobCancelledException e) {
+        log.warn(e.getMessage());
+        batchJobSymbol.finish(BatchJobStatus.CANCELLED);
+      } catch (RuntimeException e) {
+        log.error("Batch job {} failed on {}", batchJob.getId(), symbolDto.currencyPair().name(), e);
+        batchJobSymbol.finish(BatchJobStatus.FAILED);
       }
     });
   }
+
+  private void symbolProcess(final @NotNull SymbolDto symbolDto, final @NotNull BatchJobSymbol batchJobSymbol, final @NotNull File inputFile) {
+    final List<TickDto> ticksDtoSorted = this.stage(batchJobSymbol, BatchStage.READING_TICKS, () -> this.getTickService().readPreDataBase(symbolDto, inputFile), List::size);
+
+    if(!ticksDtoSorted.isEmpty()) {
+      final var indicatorServices = this.getIndicatorGraph().getIndicatorServices();
+      final var movingAverageServices = this.getIndicatorGraph().getMovingAverageServices();
+
+      final List<CandlestickDto> candlesticks = this.stage(batchJobSymbol, BatchStage.GENERATING_CANDLESTICKS, () ->
+          List.copyOf(this.getCandlestickService().readTicksToGenerateCandlesticks(this.getScopeService().getScopesBySymbolName(symbolDto.currencyPair().name()),
+              ticksDtoSorted)), List::size);
+
+      final List<CandlestickDto> candlesticksWithIndicators = this.stage(batchJobSymbol, BatchStage.INIT_INDICATORS, () ->
+          this.getCandlestickService().initIndicatorsOnCandlesticks(candlesticks.stream(), indicatorServices).toList(), List::size);
+
+      final List<CandlestickDto> candlesticksComputed = this.stage(batchJobSymbol, BatchStage.COMPUTING_INDICATORS, () ->
+          this.getCandlestickService().computingIndicatorsByInit(indicatorServices, movingAverageServices, candlesticksWithIndicators).toList(), List::size);
+
+      final List<TradeDto> trades = this.stage(batchJobSymbol, BatchStage.INIT_ORDERS, () -> {
+        final Map<LocalDateTime, Set<CandlestickDto>> signalCandlesticks = candlesticksComputed.parallelStream()
+            .filter(candlestickDto -> !SignalIndicator.NEUTRAL.equals(candlestickDto.signalIndicator()))
+            .collect(Collectors.groupingBy(CandlestickDto::timestamp, Collectors.toSet()));
+        return this.getTradeService().initOrdersByTrade(signalCandlesticks, ticksDtoSorted).toList();
+      }, List::size);
+
+      final List<OrderDto> orders = this.stage(batchJobSymbol, BatchStage.PROCESSING_ORDERS, () ->
+          this.getOrderService().processingInitOrders(ticksDtoSorted, trades.stream()).toList(), List::size);
+
+      final List<TradeDto> tradesActivated = this.stage(batchJobSymbol, BatchStage.ACTIVATING_TRADES, () ->
+          this.getTradeService().managementEfficientTradesScenarioToBeActivated(orders.stream().map(OrderDto::tradeId).distinct()), List::size);
+
+      log.info("Activated trades: {}", tradesActivated.size());
+      log.info("Nº of orders: {}", this.getTradeService().getTrades(symbolDto.id()).stream().mapToInt(value -> value.orders().size()).sum());
+    }
+  }
+
+  private <T> T stage(final @NotNull BatchJobSymbol batchJobSymbol, final @NotNull BatchStage batchStage, final @NotNull Supplier<T> supplier,
+      final @NotNull ToLongFunction<T> rowsCounter) {
+    batchJobSymbol.startStage(batchStage);
+    final T result = this.getBatchStageExecutor().execute(batchStage, supplier);
+    batchJobSymbol.endStage(rowsCounter.applyAsLong(result));
+    return result;
+  }
 }
@@ -0,0 +1,210 @@
+package lu.forex.system.batchs;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import lu.forex.system.dtos.NewTickDto;
+import lu.forex.system.dtos.SymbolDto;
+import lu.forex.system.dtos.TickDto;
+import lu.forex.system.enums.BatchJobStatus;
+import lu.forex.system.services.SymbolService;
+import lu.forex.system.services.TickProcessingService;
+import lu.forex.system.services.TickService;
+import lu.forex.system.utils.TickFileUtils;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "tail.enabled", havingValue = "true")
+@Getter(AccessLevel.PRIVATE)
+@Log4j2
+public class TickFileTailJob {
+
+  private static final String EXTENSION = ".csv";
+  private static final int READ_SIZE = 8 << 20;
+
+  @Value("${init.filePath}")
+  private String filePathInit;
+  @Value("${tail.batch.size:500}")
+  private int batchSize;
+
+  private final SymbolService symbolService;
+  private final TickService tickService;
+  private final TickProcessingService tickProcessingService;
+  private final BatchJobRegistry batchJobRegistry;
+
+  private final Map<String, TailState> tailStates = new HashMap<>();
+  private final Set<String> pendingSymbols = new HashSet<>();
+  private WatchService watchService;
+
+  public TickFileTailJob(final SymbolService symbolService, final TickService tickService, final TickProcessingService tickProcessingService,
+      final BatchJobRegistry batchJobRegistry) {
+    this.symbolService = symbolService;
+    this.tickService = tickService;
+    this.tickProcessingService = tickProcessingService;
+    this.batchJobRegistry = batchJobRegistry;
+  }
+
+  @PostConstruct
+  private void init() throws IOException {
+    final Path folder = Path.of(this.getFilePathInit());
+    this.watchService = folder.getFileSystem().newWatchService();
+    folder.register(this.getWatchService(), StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    this.getSymbolService().getSymbols().forEach(symbolDto -> this.getPendingSymbols().add(symbolDto.currencyPair().name()));
+    log.info("Tailing tick files on {}", folder.toAbsolutePath());
+  }
+
+  @PreDestroy
+  private void close() throws IOException {
+    this.getWatchService().close();
+  }
+
+  @Scheduled(fixedDelayString = "${tail.poll.milliseconds:1000}")
+  public synchronized void tail() {
+    final Map<String, SymbolDto> symbols = this.getSymbolService().getSymbols().stream()
+        .collect(Collectors.toMap(symbolDto -> symbolDto.currencyPair().name(), Function.identity()));
+    WatchKey watchKey;
+    while ((watchKey = this.getWatchService().poll()) != null) {
+      for (final WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+        if (StandardWatchEventKinds.OVERFLOW.equals(watchEvent.kind())) {
+          this.getPendingSymbols().addAll(symbols.keySet());
+        } else {
+          final String fileName = watchEvent.context().toString();
+          if (fileName.endsWith(EXTENSION)) {
+            this.getPendingSymbols().add(fileName.substring(0, fileName.length() - EXTENSION.length()));
+          }
+        }
+      }
+      watchKey.reset();
+    }
+
+    final boolean batchRunning = this.getBatchJobRegistry().getAllBatchJobs().stream().anyMatch(batchJob -> BatchJobStatus.RUNNING.equals(batchJob.getStatus()));
+    if (!this.getPendingSymbols().isEmpty() && !batchRunning) {
+      final List<String> symbolNames = new ArrayList<>(this.getPendingSymbols());
+      this.getPendingSymbols().clear();
+      symbolNames.stream().filter(symbols::containsKey).forEach(symbolName -> this.tailFile(symbols.get(symbolName)));
+    }
+  }
+
+  private void tailFile(final @NotNull SymbolDto symbolDto) {
+    final String symbolName = symbolDto.currencyPair().name();
+    final Path path = Path.of(this.getFilePathInit(), symbolName.concat(EXTENSION));
+    try (final FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final TailState tailState = this.getTailState(symbolDto, fileChannel);
+      if (fileChannel.size() < tailState.offset) {
+        log.warn("File {} was truncated, reading it from the beginning", path);
+        tailState.offset = 0L;
+      }
+      final ByteBuffer buffer = ByteBuffer.allocate(READ_SIZE);
+      while (fileChannel.size() > tailState.offset) {
+        buffer.clear();
+        final int read = fileChannel.read(buffer, tailState.offset);
+        final int lastLineEnd = lastLineEnd(buffer.array(), read);
+        if (lastLineEnd < 0) {
+          break;
+        }
+        final String lines = new String(buffer.array(), 0, lastLineEnd + 1, Charset.defaultCharset());
+        final List<NewTickDto> newTickDtos = this.parseTicks(lines, tailState);
+        for (int i = 0; i < newTickDtos.size(); i += this.getBatchSize()) {
+          final List<NewTickDto> batch = newTickDtos.subList(i, Math.min(i + this.getBatchSize(), newTickDtos.size()));
+          final List<String> orders = this.getTickProcessingService().processTicks(batch, symbolName);
+          tailState.timestamp = batch.getLast().timestamp();
+          orders.forEach(order -> log.info("Tail {} order: {}", symbolName, order));
+        }
+        tailState.offset += lastLineEnd + 1;
+        log.debug("Tail {} imported {} ticks, offset {}", symbolName, newTickDtos.size(), tailState.offset);
+      }
+    } catch (IOException | RuntimeException e) {
+      log.error("Error tailing {}", path, e);
+    }
+  }
+
+  private @NotNull List<NewTickDto> parseTicks(final @NotNull String lines, final @NotNull TailState tailState) throws IOException {
+    final List<NewTickDto> newTickDtos = new ArrayList<>();
+    LocalDateTime lastTimestamp = tailState.timestamp;
+    for (final CSVRecord csvRecord : CSVFormat.TDF.builder().build().parse(new StringReader(lines))) {
+      try {
+        final LocalDateTime timestamp = TickFileUtils.getTimestamp(csvRecord);
+        final double bid = TickFileUtils.getBid(csvRecord);
+        final double ask = TickFileUtils.getAsk(csvRecord);
+        if (bid > 0D) {
+          tailState.bid = bid;
+        }
+        if (ask > 0D) {
+          tailState.ask = ask;
+        }
+        if (tailState.bid > 0D && tailState.ask >= tailState.bid && (lastTimestamp == null || timestamp.isAfter(lastTimestamp))) {
+          newTickDtos.add(new NewTickDto(timestamp, tailState.bid, tailState.ask));
+          lastTimestamp = timestamp;
+        }
+      } catch (RuntimeException e) {
+        log.debug("Skipping line {} of tick file: {}", csvRecord.getRecordNumber(), e.getMessage());
+      }
+    }
+    return newTickDtos;
+  }
+
+  private @NotNull TailState getTailState(final @NotNull SymbolDto symbolDto, final @NotNull FileChannel fileChannel) throws IOException {
+    final String symbolName = symbolDto.currencyPair().name();
+    TailState tailState = this.getTailStates().get(symbolName);
+    if (tailState == null) {
+      tailState = new TailState();
+      final Optional<TickDto> lastTick = this.getTickService().getLastTickBySymbol(symbolDto);
+      if (lastTick.isPresent()) {
+        tailState.timestamp = lastTick.get().timestamp();
+        tailState.bid = lastTick.get().bid();
+        tailState.ask = lastTick.get().ask();
+        // resume after the stored ticks instead of parsing the whole file again after a restart
+        tailState.offset = TickFileUtils.findOffset(fileChannel, tailState.timestamp);
+        log.info("Tail {} resumes at offset {} after {}", symbolName, tailState.offset, tailState.timestamp);
+      }
+      this.getTailStates().put(symbolName, tailState);
+    }
+    return tailState;
+  }
+
+  private static int lastLineEnd(final byte @NotNull [] bytes, final int length) {
+    for (int i = length - 1; i >= 0; i--) {
+      if (bytes[i] == '\n') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static final class TailState {
+
+    private long offset;
+    private LocalDateTime timestamp;
+    private double bid;
+    private double ask;
+  }
+}
@@ -0,0 +1,202 @@
+package lu.forex.system.batchs;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.constraints.NotNull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import lu.forex.system.caches.CandlestickWindow;
+import lu.forex.system.caches.CandlestickWindowCache;
+import lu.forex.system.caches.MovingAverageRegistry;
+import lu.forex.system.caches.WarmStateSnapshot;
+import lu.forex.system.dtos.CandlestickBodyDto;
+import lu.forex.system.dtos.CandlestickDto;
+import lu.forex.system.engines.IndicatorGraph;
+import lu.forex.system.engines.MovingAverageEngine;
+import lu.forex.system.engines.MovingAverageSpec;
+import lu.forex.system.engines.TechnicalIndicatorEngine;
+import lu.forex.system.enums.Indicator;
+import lu.forex.system.services.CandlestickService;
+import lu.forex.system.services.TechnicalIndicatorService;
+import lu.forex.system.utils.TimeFrameUtils;
+import org.apache.commons.lang3.SerializationUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the candlestick windows and the indicator engines over restarts. The engines of a scope are taken with its window, at the same candlestick.
+ * A restored window must match the newest candlestick of its scope in the database, otherwise it is left to the usual reload with its engines.
+ */
+@Component
+@ConditionalOnProperty(name = "snapshot.enabled", havingValue = "true")
+@Getter(AccessLevel.PRIVATE)
+@Log4j2
+public class WarmStateSnapshotJob {
+
+  private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter("lu.forex.system.**;java.**;!*");
+
+  @Value("${snapshot.filePath}")
+  private String filePath;
+
+  private final CandlestickService candlestickService;
+  private final CandlestickWindowCache candlestickWindowCache;
+  private final IndicatorGraph indicatorGraph;
+  private final MovingAverageRegistry movingAverageRegistry;
+
+  public WarmStateSnapshotJob(final CandlestickService candlestickService, final CandlestickWindowCache candlestickWindowCache,
+      final IndicatorGraph indicatorGraph, final MovingAverageRegistry movingAverageRegistry) {
+    this.candlestickService = candlestickService;
+    this.candlestickWindowCache = candlestickWindowCache;
+    this.indicatorGraph = indicatorGraph;
+    this.movingAverageRegistry = movingAverageRegistry;
+  }
+
+  @PostConstruct
+  private void restore() {
+    final Path path = Path.of(this.getFilePath());
+    if (!Files.exists(path)) {
+      return;
+    }
+    final long start = System.currentTimeMillis();
+    final WarmStateSnapshot snapshot;
+    try (final ObjectInputStream inputStream = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      inputStream.setObjectInputFilter(FILTER);
+      snapshot = (WarmStateSnapshot) inputStream.readObject();
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      log.warn("Warm state {} not readable, rebuilding from the database", path.toAbsolutePath(), e);
+      return;
+    }
+    if (snapshot.version() != WarmStateSnapshot.VERSION) {
+      log.warn("Warm state version {} is not {}, rebuilding from the database", snapshot.version(), WarmStateSnapshot.VERSION);
+      return;
+    }
+
+    final int capacity = this.getIndicatorGraph().getLookback();
+    final Map<UUID, CandlestickWindow> windows = new HashMap<>();
+    snapshot.windows().forEach((scopeId, window) -> {
+      if (this.isCurrent(scopeId, window, capacity)) {
+        windows.put(scopeId, window);
+      } else {
+        log.info("Warm state of scope {} does not match the database, reloaded on the next tick", scopeId);
+      }
+    });
+    windows.forEach(this.getCandlestickWindowCache()::putWindow);
+
+    int engines = 0;
+    for (final TechnicalIndicatorService indicatorService : this.getIndicatorGraph().getIndicatorServices()) {
+      final Indicator indicator = indicatorService.getIndicator();
+      if (!indicatorService.getParameters().values().equals(snapshot.parameters().get(indicator))) {
+        log.info("Parameters of {} changed, its engines are rebuilt", indicator);
+        continue;
+      }
+      final Map<UUID, TechnicalIndicatorEngine> restored = new HashMap<>(snapshot.engines().getOrDefault(indicator, Map.of()));
+      restored.keySet().retainAll(windows.keySet());
+      indicatorService.restoreEngines(restored);
+      engines += restored.size();
+    }
+    snapshot.movingAverages().forEach((scopeId, movingAverages) -> {
+      if (windows.containsKey(scopeId)) {
+        this.getMovingAverageRegistry().restoreEngines(scopeId, movingAverages);
+      }
+    });
+    log.info("Warm state of {} restored in {} ms: {} windows, {} engines", Instant.ofEpochMilli(snapshot.createdEpochMillis()),
+        System.currentTimeMillis() - start, windows.size(), engines);
+  }
+
+  @Scheduled(initialDelayString = "${snapshot.milliseconds:60000}", fixedDelayString = "${snapshot.milliseconds:60000}")
+  public void snapshot() {
+    try {
+      this.write();
+    } catch (IOException | RuntimeException e) {
+      log.error("Unable to write the warm state", e);
+    }
+  }
+
+  @PreDestroy
+  private void close() {
+    this.snapshot();
+  }
+
+  private synchronized void write() throws IOException {
+    // flushed first, a window is only kept when the database holds the same forming candlestick
+    this.getCandlestickService().flushFormingCandlesticks();
+    final List<TechnicalIndicatorService> indicatorServices = this.getIndicatorGraph().getIndicatorServices();
+    final Map<Indicator, Map<String, String>> parameters = new EnumMap<>(Indicator.class);
+    final Map<Indicator, Map<UUID, TechnicalIndicatorEngine>> engines = new EnumMap<>(Indicator.class);
+    indicatorServices.forEach(indicatorService -> {
+      parameters.put(indicatorService.getIndicator(), new HashMap<>(indicatorService.getParameters().values()));
+      engines.put(indicatorService.getIndicator(), new HashMap<>());
+    });
+    final Map<UUID, CandlestickWindow> windows = new HashMap<>();
+    final Map<UUID, Map<MovingAverageSpec, MovingAverageEngine>> movingAverages = new HashMap<>();
+    this.getCandlestickWindowCache().forEachWindow((scopeId, window) -> {
+      // the engines of a scope move on the close of its candlestick, under the lock of its window
+      synchronized (window) {
+        if (window.isUnflushed()) {
+          return;
+        }
+        windows.put(scopeId, SerializationUtils.clone(window));
+        indicatorServices.forEach(indicatorService -> Optional.ofNullable(indicatorService.getEngines().get(scopeId)).ifPresent(engine -> {
+          synchronized (engine) {
+            engines.get(indicatorService.getIndicator()).put(scopeId, SerializationUtils.clone(engine));
+          }
+        }));
+        final Map<MovingAverageSpec, MovingAverageEngine> clones = new HashMap<>();
+        this.getMovingAverageRegistry().getScopeEngines().getOrDefault(scopeId, Map.of()).forEach((spec, engine) -> {
+          synchronized (engine) {
+            clones.put(spec, SerializationUtils.clone(engine));
+          }
+        });
+        movingAverages.put(scopeId, clones);
+      }
+    });
+    final WarmStateSnapshot snapshot = new WarmStateSnapshot(WarmStateSnapshot.VERSION, System.currentTimeMillis(), windows, parameters, engines,
+        movingAverages);
+
+    final Path path = Path.of(this.getFilePath()).toAbsolutePath();
+    Files.createDirectories(path.getParent());
+    final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+    try (final ObjectOutputStream outputStream = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+      outputStream.writeObject(snapshot);
+    }
+    Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    log.debug("Warm state written: {} windows", windows.size());
+  }
+
+  private boolean isCurrent(final @NotNull UUID scopeId, final @NotNull CandlestickWindow window, final int capacity) {
+    if (window.getCapacity() != capacity) {
+      return false;
+    }
+    final List<CandlestickDto> newest = this.getCandlestickService().findCandlesticksDescWithLimit(scopeId, 1);
+    if (newest.isEmpty()) {
+      return false;
+    }
+    final CandlestickDto candlestick = newest.getFirst();
+    if (window.isForming()) {
+      final CandlestickBodyDto body = candlestick.body();
+      return candlestick.id().equals(window.getId()) && TimeFrameUtils.toEpochMillis(candlestick.timestamp()) == window.getEpochMillis()
+          && body.high() == window.getHigh() && body.low() == window.getLow() && body.close() == window.getClose();
+    }
+    return window.getLastClosedCandlestick().map(closed -> Objects.equals(closed.id(), candlestick.id())).orElse(false);
+  }
+}
@@ -0,0 +1,42 @@
+package lu.forex.system.caches;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.dtos.CandlestickDto;
+import lu.forex.system.engines.BarFeatures;
+import lu.forex.system.utils.TimeFrameUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared features of the bar being evaluated on each scope, replaced when the next bar of the scope closes.
+ */
+@Component
+@Getter(AccessLevel.PRIVATE)
+public class BarFeatureCache {
+
+  private final Map<UUID, BarFeatures> bars = new ConcurrentHashMap<>();
+
+  /**
+   * Starts a new evaluation of the newest candlestick of the descending list, the features of an earlier evaluation are dropped.
+   */
+  public void open(final @NotNull List<@NotNull CandlestickDto> candlesticksDesc) {
+    final CandlestickDto candlestick = candlesticksDesc.getFirst();
+    this.getBars().put(candlestick.scope().id(), new BarFeatures(TimeFrameUtils.toEpochMillis(candlestick.timestamp()), candlesticksDesc));
+  }
+
+  public @NotNull BarFeatures getFeatures(final @NotNull List<@NotNull CandlestickDto> candlesticksDesc) {
+    final CandlestickDto candlestick = candlesticksDesc.getFirst();
+    final long epochMillis = TimeFrameUtils.toEpochMillis(candlestick.timestamp());
+    return this.getBars().compute(candlestick.scope().id(),
+        (scopeId, features) -> features != null && features.getEpochMillis() == epochMillis ? features : new BarFeatures(epochMillis, candlesticksDesc));
+  }
+
+  public void evictAll() {
+    this.getBars().clear();
+  }
+}
@@ -0,0 +1,53 @@
+package lu.forex.system.caches;
+
+import jakarta.validation.constraints.NotNull;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.dtos.CandlestickSeriesDto;
+import lu.forex.system.enums.DownsamplingMethod;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Candlestick series of ranges only made of closed candlesticks, keyed by scope, derived time frame, range, page or zoom and columns. Closed candlesticks never
+ * change, the entries are only dropped when the data is initialized again, which also changes the version of the entity tags.
+ */
+@Component
+@Getter(AccessLevel.PRIVATE)
+public class CandlestickSeriesCache {
+
+  private final LruCache<Key, CandlestickSeriesDto> series;
+  private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+  public CandlestickSeriesCache(@Value("${candlestick.series.cache.size:256}") final int size) {
+    this.series = new LruCache<>(size);
+  }
+
+  public @NotNull CandlestickSeriesDto getSeries(final @NotNull Key key, final @NotNull Supplier<CandlestickSeriesDto> loader) {
+    return this.getSeries().computeIfAbsent(key, loader);
+  }
+
+  public @NotNull String getETag(final @NotNull Key key) {
+    return "\"".concat(DigestUtils.md5DigestAsHex((this.getVersion().get() + key.toString()).getBytes(StandardCharsets.UTF_8))).concat("\"");
+  }
+
+  public void evictAll() {
+    this.getSeries().clear();
+    this.getVersion().incrementAndGet();
+  }
+
+  /**
+   * {@code derivedTimeFrame} is null for the series of the stored time frame of the scope.
+   */
+  public record Key(@NotNull UUID scopeId, String derivedTimeFrame, LocalDateTime from, LocalDateTime to, LocalDateTime cursor, int limit, int points, DownsamplingMethod method,
+                    @NotNull List<String> columns) {
+
+  }
+}
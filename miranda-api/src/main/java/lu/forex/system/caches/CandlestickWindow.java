@@ -0,0 +1,143 @@
+package lu.forex.system.caches;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.dtos.CandlestickBodyDto;
+import lu.forex.system.dtos.CandlestickDto;
+import lu.forex.system.utils.TimeFrameUtils;
+
+@Getter
+public class CandlestickWindow implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = -5728279464469622955L;
+
+  private final int capacity;
+  @Getter(AccessLevel.PRIVATE)
+  private final Deque<CandlestickDto> closedCandlesticks = new ArrayDeque<>();
+
+  private CandlestickDto candlestick;
+  private UUID id;
+  private boolean forming;
+  private long epochMillis;
+  private long lastClosedEpochMillis = Long.MIN_VALUE;
+  private double open;
+  private double high;
+  private double low;
+  private double close;
+  private boolean dirty;
+  private boolean unflushed;
+
+  public CandlestickWindow(final int capacity, final @NotNull List<@NotNull CandlestickDto> candlesticksDesc) {
+    this.capacity = capacity;
+    if (!candlesticksDesc.isEmpty()) {
+      final CandlestickDto forming = candlesticksDesc.getFirst();
+      this.candlestick = forming;
+      this.id = forming.id();
+      this.forming = true;
+      this.epochMillis = TimeFrameUtils.toEpochMillis(forming.timestamp());
+      this.open = forming.body().open();
+      this.high = forming.body().high();
+      this.low = forming.body().low();
+      this.close = forming.body().close();
+      candlesticksDesc.stream().skip(1).limit(capacity).forEachOrdered(this.getClosedCandlesticks()::addLast);
+    }
+  }
+
+  public @NotNull LocalDateTime getTimestamp() {
+    return TimeFrameUtils.toLocalDateTime(this.getEpochMillis());
+  }
+
+  public void startCandlestick(final long epochMillis, final double price) {
+    this.candlestick = null;
+    this.id = null;
+    this.forming = true;
+    this.epochMillis = epochMillis;
+    this.open = price;
+    this.high = price;
+    this.low = price;
+    this.close = price;
+    this.dirty = true;
+    this.unflushed = true;
+  }
+
+  public void update(final double price) {
+    this.high = Math.max(this.getHigh(), price);
+    this.low = Math.min(this.getLow(), price);
+    this.close = price;
+    this.dirty = true;
+    this.unflushed = true;
+  }
+
+  /**
+   * Resumes a window loaded from the database after a restart, on the first tick received. A head candlestick with technical indicators went through
+   * its close once the period of that tick is after its own. Before that its indicators come from the init job and it is still forming.
+   *
+   * @param lastTickEpochMillis period of the last stored tick
+   * @param nowEpochMillis      period of the tick received
+   * @return the period of the forming candlestick to rebuild from the ticks, empty when the last tick belongs to a closed candlestick
+   */
+  public @NotNull OptionalLong resume(final long lastTickEpochMillis, final long nowEpochMillis) {
+    if (this.isForming() && !this.getCandlestick().technicalIndicators().isEmpty() && nowEpochMillis > this.getEpochMillis()) {
+      this.addClosedCandlestick(this.getCandlestick());
+      this.close();
+    }
+    if (!this.isForming()) {
+      return this.getLastClosedEpochMillis() >= lastTickEpochMillis ? OptionalLong.empty() : OptionalLong.of(lastTickEpochMillis);
+    }
+    // flushed but never closed, completed with the ticks of its own period and closed by the next tick
+    return OptionalLong.of(this.getEpochMillis());
+  }
+
+  /**
+   * Rebuilds the forming candlestick from the ticks of its period, on top of the last persisted state when it is the same period.
+   */
+  public void restore(final long epochMillis, final @NotNull CandlestickBodyDto body) {
+    if (!this.isForming() || this.getEpochMillis() != epochMillis) {
+      this.startCandlestick(epochMillis, body.open());
+    }
+    this.high = Math.max(this.getHigh(), body.high());
+    this.low = Math.min(this.getLow(), body.low());
+    this.close = body.close();
+    this.dirty = true;
+    this.unflushed = true;
+  }
+
+  public void flushed(final @NotNull UUID id) {
+    this.id = id;
+    this.unflushed = false;
+  }
+
+  public void close() {
+    this.forming = false;
+    this.dirty = false;
+    this.unflushed = false;
+    this.lastClosedEpochMillis = this.getEpochMillis();
+  }
+
+  public void addClosedCandlestick(final @NotNull CandlestickDto candlestickDto) {
+    this.getClosedCandlesticks().addFirst(candlestickDto);
+    while (this.getClosedCandlesticks().size() > this.getCapacity()) {
+      this.getClosedCandlesticks().removeLast();
+    }
+  }
+
+  public @NotNull Optional<CandlestickDto> getLastClosedCandlestick() {
+    return Optional.ofNullable(this.getClosedCandlesticks().peekFirst());
+  }
+
+  public @NotNull List<@NotNull CandlestickDto> getLastCandlesticks(final @NotNull CandlestickDto newest) {
+    return Stream.concat(Stream.of(newest), this.getClosedCandlesticks().stream()).limit(this.getCapacity()).toList();
+  }
+}
@@ -0,0 +1,61 @@
+package lu.forex.system.caches;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@Getter(AccessLevel.PRIVATE)
+@Log4j2
+public class CandlestickWindowCache {
+
+  private final Map<UUID, CandlestickWindow> windows = new ConcurrentHashMap<>();
+
+  public @NotNull CandlestickWindow getWindow(final @NotNull UUID scopeId, final @NotNull Function<UUID, CandlestickWindow> loader) {
+    return this.getWindows().computeIfAbsent(scopeId, loader);
+  }
+
+  public void putWindow(final @NotNull UUID scopeId, final @NotNull CandlestickWindow window) {
+    this.getWindows().put(scopeId, window);
+  }
+
+  public @NotNull Optional<CandlestickWindow> findWindow(final @NotNull UUID scopeId) {
+    return Optional.ofNullable(this.getWindows().get(scopeId));
+  }
+
+  public void forEachWindow(final @NotNull BiConsumer<UUID, CandlestickWindow> action) {
+    this.getWindows().forEach(action);
+  }
+
+  public void evict(final @NotNull UUID scopeId) {
+    this.getWindows().remove(scopeId);
+  }
+
+  public void evictAll() {
+    this.getWindows().clear();
+  }
+
+  public void evictOnRollback(final @NotNull UUID scopeId) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(final int status) {
+          if (status != STATUS_COMMITTED) {
+            log.warn("Transaction not committed, evicting candlestick window of scope {}", scopeId);
+            CandlestickWindowCache.this.evict(scopeId);
+          }
+        }
+      });
+    }
+  }
+}
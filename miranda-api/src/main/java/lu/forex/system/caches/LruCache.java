@@ -0,0 +1,91 @@
+package lu.forex.system.caches;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+@Getter(AccessLevel.PRIVATE)
+public class LruCache<K, V> {
+
+  private final Map<K, V> entries;
+  private final Map<K, CompletableFuture<V>> loadings = new HashMap<>();
+
+  public LruCache(final @Positive int capacity) {
+    this.entries = new LinkedHashMap<>(16, 0.75F, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+        return this.size() > capacity;
+      }
+    };
+  }
+
+  public synchronized V get(final @NotNull K key) {
+    return this.getEntries().get(key);
+  }
+
+  public synchronized void put(final @NotNull K key, final @NotNull V value) {
+    this.getEntries().put(key, value);
+  }
+
+  /**
+   * Loads a missing value once, concurrent callers of the same key wait for the first load instead of running the loader again. The loader runs
+   * outside the lock, a value loaded while the cache was cleared is returned but not kept.
+   */
+  public @NotNull V computeIfAbsent(final @NotNull K key, final @NotNull Supplier<V> loader) {
+    final CompletableFuture<V> loading;
+    final CompletableFuture<V> pending;
+    synchronized (this) {
+      final V cached = this.getEntries().get(key);
+      if (cached != null) {
+        return cached;
+      }
+      pending = this.getLoadings().get(key);
+      loading = pending == null ? new CompletableFuture<>() : null;
+      if (pending == null) {
+        this.getLoadings().put(key, loading);
+      }
+    }
+    if (pending != null) {
+      return join(pending);
+    }
+    try {
+      final V value = loader.get();
+      synchronized (this) {
+        if (this.getLoadings().remove(key, loading)) {
+          this.getEntries().put(key, value);
+        }
+      }
+      loading.complete(value);
+      return value;
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        this.getLoadings().remove(key, loading);
+      }
+      loading.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  public synchronized void clear() {
+    this.getEntries().clear();
+    this.getLoadings().clear();
+  }
+
+  private static <V> V join(final @NotNull CompletableFuture<V> loading) {
+    try {
+      return loading.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package lu.forex.system.caches;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.engines.MovingAverageEngine;
+import lu.forex.system.engines.MovingAverageSpec;
+import lu.forex.system.enums.MovingAverageType;
+import lu.forex.system.services.TechnicalIndicatorService;
+import org.springframework.stereotype.Component;
+
+/**
+ * The moving averages read by the indicators, each spec once however many indicators read it, with its running series per scope. The values are
+ * kept in memory only, nothing is stored per candlestick.
+ */
+@Component
+@Getter(AccessLevel.PRIVATE)
+public class MovingAverageRegistry {
+
+  @Getter(AccessLevel.PUBLIC)
+  private final Set<MovingAverageSpec> specs;
+  private final Map<UUID, Map<MovingAverageSpec, MovingAverageEngine>> engines = new ConcurrentHashMap<>();
+
+  public MovingAverageRegistry(final List<TechnicalIndicatorService> indicatorServices) {
+    final Set<MovingAverageSpec> inputs = indicatorServices.stream().flatMap(indicatorService -> indicatorService.getInputs().stream())
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+    this.specs = Collections.unmodifiableSet(inputs);
+  }
+
+  public @NotNull Set<MovingAverageSpec> getSpecs(final @NotNull MovingAverageType movingAverageType) {
+    return this.getSpecs().stream().filter(spec -> movingAverageType.equals(spec.type())).collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  public @NotNull MovingAverageEngine getEngine(final @NotNull UUID scopeId, final @NotNull MovingAverageSpec spec) {
+    return this.getEngines().computeIfAbsent(scopeId, id -> new ConcurrentHashMap<>()).computeIfAbsent(spec, MovingAverageEngine::new);
+  }
+
+  /**
+   * Running series per scope, carried over restarts by the warm-state snapshot.
+   */
+  public @NotNull Map<UUID, Map<MovingAverageSpec, MovingAverageEngine>> getScopeEngines() {
+    return Collections.unmodifiableMap(this.getEngines());
+  }
+
+  /**
+   * Puts back the series of a snapshot, the specs no indicator reads anymore are dropped.
+   */
+  public void restoreEngines(final @NotNull UUID scopeId, final @NotNull Map<MovingAverageSpec, MovingAverageEngine> engines) {
+    final Map<MovingAverageSpec, MovingAverageEngine> restored = new ConcurrentHashMap<>();
+    engines.forEach((spec, engine) -> {
+      if (this.getSpecs().contains(spec) && spec.equals(engine.getSpec())) {
+        restored.put(spec, engine);
+      }
+    });
+    this.getEngines().put(scopeId, restored);
+  }
+
+  public void evictAll() {
+    this.getEngines().clear();
+  }
+}
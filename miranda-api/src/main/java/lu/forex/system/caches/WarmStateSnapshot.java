@@ -0,0 +1,27 @@
+package lu.forex.system.caches;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.UUID;
+import lu.forex.system.engines.MovingAverageEngine;
+import lu.forex.system.engines.MovingAverageSpec;
+import lu.forex.system.engines.TechnicalIndicatorEngine;
+import lu.forex.system.enums.Indicator;
+
+/**
+ * In-memory state of the live path, written on shutdown and periodically so a restart does not have to rebuild it from the database.
+ *
+ * @param parameters the parameters each engine was built with, engines of other parameters are not restored
+ */
+public record WarmStateSnapshot(int version, long createdEpochMillis, @NotNull Map<UUID, CandlestickWindow> windows,
+                                @NotNull Map<Indicator, Map<String, String>> parameters,
+                                @NotNull Map<Indicator, Map<UUID, TechnicalIndicatorEngine>> engines,
+                                @NotNull Map<UUID, Map<MovingAverageSpec, MovingAverageEngine>> movingAverages) implements Serializable {
+
+  public static final int VERSION = 2;
+
+  @Serial
+  private static final long serialVersionUID = -5191407262816530774L;
+}
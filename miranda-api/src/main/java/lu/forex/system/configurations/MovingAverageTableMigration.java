@@ -0,0 +1,34 @@
+package lu.forex.system.configurations;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the former {@code moving_average} table, the moving averages are running series of the registry and no longer stored per candlestick.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@Getter(AccessLevel.PRIVATE)
+public class MovingAverageTableMigration implements ApplicationRunner {
+
+  private static final String LEGACY_TABLE_QUERY = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = 'MOVING_AVERAGE'";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public void run(final ApplicationArguments args) {
+    final Integer legacyTables = this.getJdbcTemplate().queryForObject(LEGACY_TABLE_QUERY, Integer.class);
+    if (legacyTables == null || legacyTables == 0) {
+      return;
+    }
+    this.getJdbcTemplate().execute("DROP TABLE moving_average");
+    log.info("Dropped the moving_average table");
+  }
+}
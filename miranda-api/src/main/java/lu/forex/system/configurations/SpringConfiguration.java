@@ -1,8 +1,19 @@
 package lu.forex.system.configurations;
 
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
+@EnableScheduling
 public class SpringConfiguration {
 
+  /**
+   * The data migrations run before the entity manager factory, like Flyway does.
+   */
+  @Bean
+  public static EntityManagerFactoryDependsOnPostProcessor migrationEntityManagerFactoryDependsOnPostProcessor() {
+    return new EntityManagerFactoryDependsOnPostProcessor(TechnicalIndicatorDataMigration.class);
+  }
 }
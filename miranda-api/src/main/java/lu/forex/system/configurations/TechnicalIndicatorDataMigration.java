@@ -0,0 +1,84 @@
+package lu.forex.system.configurations;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import lu.forex.system.entities.TechnicalIndicatorData;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the former {@code data_ti} text column of {@code technical_indicator} into the typed columns, then drops it. It runs when the bean is created,
+ * before the entity manager factory, see {@link SpringConfiguration}, so Hibernate, the web layer and the schedulers only see the migrated table.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@Getter(AccessLevel.PRIVATE)
+public class TechnicalIndicatorDataMigration implements InitializingBean {
+
+  private static final int BATCH_SIZE = 1000;
+  private static final String LEGACY_COLUMN_QUERY =
+      "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE UPPER(TABLE_NAME) = 'TECHNICAL_INDICATOR' AND UPPER(COLUMN_NAME) = 'DATA_TI'";
+  private static final String UPDATE_QUERY = TechnicalIndicatorData.KEYS.stream().map(key -> TechnicalIndicatorData.getColumnName(key).concat(" = ?"))
+      .collect(Collectors.joining(", ", "UPDATE technical_indicator SET ", " WHERE id = ?"));
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public void afterPropertiesSet() {
+    final Integer legacyColumns = this.getJdbcTemplate().queryForObject(LEGACY_COLUMN_QUERY, Integer.class);
+    if (legacyColumns == null || legacyColumns == 0) {
+      return;
+    }
+    log.info("Migrating technical_indicator.data_ti to typed columns");
+    // the entity no longer writes the legacy column, it accepts the new rows should the migration stop before dropping it
+    this.getJdbcTemplate().execute("ALTER TABLE technical_indicator ALTER COLUMN data_ti SET NULL");
+    // Hibernate has not updated the schema yet
+    TechnicalIndicatorData.KEYS.forEach(key -> this.getJdbcTemplate()
+        .execute("ALTER TABLE technical_indicator ADD COLUMN IF NOT EXISTS " + TechnicalIndicatorData.getColumnName(key) + " DOUBLE PRECISION"));
+    final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+    final int[] migrated = {0};
+    this.getJdbcTemplate().query("SELECT id, data_ti FROM technical_indicator", resultSet -> {
+      final TechnicalIndicatorData data = TechnicalIndicatorData.of(parseLegacyData(resultSet.getString(2)));
+      final Object[] values = new Object[TechnicalIndicatorData.KEYS.size() + 1];
+      for (int i = 0; i < TechnicalIndicatorData.KEYS.size(); i++) {
+        values[i] = data.get(TechnicalIndicatorData.KEYS.get(i));
+      }
+      values[values.length - 1] = resultSet.getObject(1);
+      batch.add(values);
+      if (batch.size() == BATCH_SIZE) {
+        migrated[0] += this.update(batch);
+      }
+    });
+    migrated[0] += this.update(batch);
+    this.getJdbcTemplate().execute("ALTER TABLE technical_indicator DROP COLUMN data_ti");
+    log.info("Migrated {} technical indicators", migrated[0]);
+  }
+
+  private int update(final @NotNull List<Object[]> batch) {
+    final int size = batch.size();
+    if (size > 0) {
+      this.getJdbcTemplate().batchUpdate(UPDATE_QUERY, batch);
+      batch.clear();
+    }
+    return size;
+  }
+
+  private static @NotNull Map<String, Double> parseLegacyData(final String dbData) {
+    if (dbData == null || dbData.length() <= 2) {
+      return new HashMap<>();
+    }
+    return Arrays.stream(dbData.substring(1, dbData.length() - 1).split(", ")).map(entry -> entry.split("="))
+        .collect(Collectors.toMap(entry -> entry[0].strip(), entry -> Double.valueOf(entry[1])));
+  }
+}
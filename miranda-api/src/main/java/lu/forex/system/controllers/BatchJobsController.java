@@ -1,10 +1,17 @@
 package lu.forex.system.controllers;
 
+import java.util.Collection;
+import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import lu.forex.system.batchs.BatchJob;
+import lu.forex.system.batchs.BatchJobRegistry;
 import lu.forex.system.batchs.InitDataJob;
+import lu.forex.system.dtos.BatchJobDto;
+import lu.forex.system.exceptions.BatchJobNotFoundException;
+import lu.forex.system.mappers.BatchJobMapper;
 import lu.forex.system.operations.BatchJobsOperation;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,10 +22,33 @@ import org.springframework.web.bind.annotation.RestController;
 public class BatchJobsController implements BatchJobsOperation {
 
   private final InitDataJob initDataJob;
+  private final BatchJobRegistry batchJobRegistry;
+  private final BatchJobMapper batchJobMapper;
 
   @Override
-  public void startBatchJob() {
-    log.warn("Starting batch jobs");
-    this.getInitDataJob().start();
+  public BatchJobDto startBatchJob() {
+    final BatchJob batchJob = this.getBatchJobRegistry().createBatchJob();
+    log.warn("Starting batch jobs {}", batchJob.getId());
+    this.getInitDataJob().start(batchJob);
+    return this.getBatchJobMapper().toDto(batchJob);
+  }
+
+  @Override
+  public Collection<BatchJobDto> getBatchJobs() {
+    return this.getBatchJobRegistry().getAllBatchJobs().stream().map(this.getBatchJobMapper()::toDto).toList();
+  }
+
+  @Override
+  public BatchJobDto getBatchJob(final UUID jobId) {
+    final BatchJob batchJob = this.getBatchJobRegistry().getBatchJob(jobId).orElseThrow(() -> new BatchJobNotFoundException(jobId));
+    return this.getBatchJobMapper().toDto(batchJob);
+  }
+
+  @Override
+  public BatchJobDto cancelBatchJob(final UUID jobId) {
+    final BatchJob batchJob = this.getBatchJobRegistry().getBatchJob(jobId).orElseThrow(() -> new BatchJobNotFoundException(jobId));
+    log.warn("Cancelling batch job {}", jobId);
+    batchJob.cancel();
+    return this.getBatchJobMapper().toDto(batchJob);
   }
 }
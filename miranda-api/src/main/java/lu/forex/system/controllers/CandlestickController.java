@@ -1,112 +1,91 @@
 package lu.forex.system.controllers;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.util.Collection;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.log4j.Log4j2;
-import lu.forex.system.dtos.CandlestickDto;
+import lu.forex.system.dtos.CandlestickSeriesDto;
+import lu.forex.system.dtos.IndicatorSweepDto;
 import lu.forex.system.dtos.ScopeDto;
+import lu.forex.system.enums.DownsamplingMethod;
+import lu.forex.system.enums.ExportFormat;
 import lu.forex.system.enums.Indicator;
-import lu.forex.system.enums.MovingAverageType;
 import lu.forex.system.enums.TimeFrame;
 import lu.forex.system.operations.CandlestickOperation;
+import lu.forex.system.services.CandlestickExportService;
 import lu.forex.system.services.CandlestickService;
+import lu.forex.system.services.DerivedCandlestickService;
+import lu.forex.system.services.IndicatorSweepService;
 import lu.forex.system.services.ScopeService;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
+@Validated
 @RequiredArgsConstructor
 @Getter(AccessLevel.PRIVATE)
-@Log4j2
 public class CandlestickController implements CandlestickOperation {
 
+  private static final CacheControl CLOSED_RANGE_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
   private final CandlestickService candlestickService;
+  private final CandlestickExportService candlestickExportService;
+  private final DerivedCandlestickService derivedCandlestickService;
   private final ScopeService scopeService;
-
-  @Value("${init.filePath}")
-  private String filePathInit;
+  private final IndicatorSweepService indicatorSweepService;
 
   @Override
-  public Collection<CandlestickDto> getCandlesticks(final String symbolName, final TimeFrame timeFrame) {
+  public ResponseEntity<CandlestickSeriesDto> getCandlesticks(final String symbolName, final TimeFrame timeFrame, final LocalDateTime from,
+      final LocalDateTime to, final LocalDateTime cursor, final int limit, final List<String> indicators, final Integer points,
+      final DownsamplingMethod downsampling, final WebRequest webRequest) {
     final ScopeDto scopeDto = this.getScopeService().getScope(symbolName, timeFrame);
-    final List<CandlestickDto> candlestickDtoList = this.getCandlestickService().findCandlesticksAsc(scopeDto.id());
-    try (final Workbook workbook = new XSSFWorkbook()) {
-      final Sheet sheet = workbook.createSheet("trades_".concat(timeFrame.name()));
-
-      IntStream.range(0, candlestickDtoList.size()).forEach(i -> {
-        final Row row = sheet.createRow(i);
-        row.createCell(0).setCellValue(candlestickDtoList.get(i).timestamp().toString().replace("T", " "));
-        row.createCell(1).setCellValue(candlestickDtoList.get(i).body().open());
-        row.createCell(2).setCellValue(candlestickDtoList.get(i).body().high());
-        row.createCell(3).setCellValue(candlestickDtoList.get(i).body().low());
-        row.createCell(4).setCellValue(candlestickDtoList.get(i).body().close());
-        candlestickDtoList.get(i).movingAverages().stream().filter(movingAverageDto -> MovingAverageType.EMA.equals(movingAverageDto.type()) && movingAverageDto.period() == 12).findFirst().ifPresent(ema -> {
-          if(ema.value() != null) {
-            row.createCell(5).setCellValue(ema.value());
-          }
-        });
-        candlestickDtoList.get(i).movingAverages().stream().filter(movingAverageDto -> MovingAverageType.EMA.equals(movingAverageDto.type()) && movingAverageDto.period() == 26).findFirst().ifPresent(ema -> {
-          if(ema.value() != null) {
-            row.createCell(6).setCellValue(ema.value());
-          }
-        });
-        candlestickDtoList.get(i).technicalIndicators().stream().filter(technicalIndicatorDto -> Indicator.ADX.equals(technicalIndicatorDto.indicator())).findFirst().ifPresent(adx -> {
-          if(adx.data().get("+di(P)") != null) {
-            row.createCell(7).setCellValue(adx.data().get("+di(P)"));
-          }
-          if(adx.data().get("-di(P)") != null) {
-            row.createCell(8).setCellValue(adx.data().get("-di(P)"));
-          }
-          if(adx.data().get("adx") != null){
-            row.createCell(9).setCellValue(adx.data().get("adx"));
-          }
-          row.createCell(10).setCellValue(adx.signal().name());
-        });
-        candlestickDtoList.get(i).technicalIndicators().stream().filter(technicalIndicatorDto -> Indicator.AC.equals(technicalIndicatorDto.indicator())).findFirst().ifPresent(ac -> {
-          if(ac.data().get("mp") != null) {
-            row.createCell(11).setCellValue(ac.data().get("mp"));
-          }
-          if(ac.data().get("ao") != null) {
-            row.createCell(12).setCellValue(ac.data().get("ao"));
-          }
-          if(ac.data().get("ac") != null) {
-            row.createCell(13).setCellValue(ac.data().get("ac"));
-          }
-          row.createCell(14).setCellValue(ac.signal().name());
-        });
-        candlestickDtoList.get(i).technicalIndicators().stream().filter(technicalIndicatorDto -> Indicator.MACD.equals(technicalIndicatorDto.indicator())).findFirst().ifPresent(macd -> {
-          if(macd.data().get("macd") != null) {
-            row.createCell(15).setCellValue(macd.data().get("macd"));
-          }
-          if(macd.data().get("signal") != null) {
-            row.createCell(16).setCellValue(macd.data().get("signal"));
-          }
-          row.createCell(17).setCellValue(macd.signal().name());
-        });
-        row.createCell(18).setCellValue(candlestickDtoList.get(i).signalIndicator().name());
-      });
-
-      final var root = new File(this.getFilePathInit());
-      final var fileXlsx = new File(root, symbolName.concat("_").concat(timeFrame.name()).concat("_candlesticks.xlsx"));
-      workbook.write(new FileOutputStream(fileXlsx));
-
-    } catch (IOException e) {
-      throw new RuntimeException(e);
+    final List<String> columns = Objects.requireNonNullElse(indicators, List.of());
+    final Optional<String> eTag = this.getCandlestickService().getCandlestickSeriesETag(scopeDto.id(), from, to, cursor, limit, points, downsampling, columns);
+    if (eTag.isPresent() && webRequest.checkNotModified(eTag.get())) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CLOSED_RANGE_CACHE_CONTROL).eTag(eTag.get()).build();
     }
+    final CandlestickSeriesDto series = Objects.nonNull(points)
+        ? this.getCandlestickService().getDownsampledCandlestickSeries(scopeDto.id(), from, to, points, downsampling, columns)
+        : this.getCandlestickService().getCandlestickSeries(scopeDto.id(), from, to, cursor, limit, columns);
+    return eTag.map(tag -> ResponseEntity.ok().cacheControl(CLOSED_RANGE_CACHE_CONTROL).eTag(tag).body(series))
+        .orElseGet(() -> ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(series));
+  }
 
-    // NEED BE UPDATE TO THE FRONT END WITH PAGINABLE
-    return this.getCandlestickService().findCandlesticksDescWithLimit(scopeDto.id(), 5);
+  @Override
+  public CandlestickSeriesDto getDerivedCandlesticks(final String symbolName, final String timeFrame, final LocalDateTime from, final LocalDateTime to,
+      final LocalDateTime cursor, final int limit) {
+    return this.getDerivedCandlestickService().getDerivedCandlestickSeries(symbolName, timeFrame, from, to, cursor, limit);
   }
 
+  @Override
+  public IndicatorSweepDto sweepIndicators(final String symbolName, final TimeFrame timeFrame, final LocalDateTime from, final LocalDateTime to,
+      final Map<Indicator, Map<String, String>> parameters) {
+    return this.getIndicatorSweepService().sweep(symbolName, timeFrame, from, to, parameters);
+  }
+
+  @Override
+  public ResponseEntity<StreamingResponseBody> exportCandlesticks(final String symbolName, final TimeFrame timeFrame, final ExportFormat format,
+      final LocalDateTime from, final LocalDateTime to, final List<String> indicators) {
+    final ScopeDto scopeDto = this.getScopeService().getScope(symbolName, timeFrame);
+    final List<String> columns = Objects.requireNonNullElse(indicators, List.of());
+    // validated before the body is streamed, the status can not change anymore once the first bytes are written
+    this.getCandlestickService().getCandlestickColumns(scopeDto.id(), columns);
+    final String fileName = symbolName.concat("_").concat(timeFrame.name()).concat("_candlesticks.").concat(format.getExtension());
+    return ResponseEntity.ok().contentType(MediaType.parseMediaType(format.getMediaType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+        .body(outputStream -> this.getCandlestickExportService().exportCandlesticks(scopeDto.id(), from, to, columns, format, outputStream));
+  }
 }
@@ -11,11 +11,15 @@ import lu.forex.system.dtos.OrderDto;
 import lu.forex.system.enums.OrderStatus;
 import lu.forex.system.operations.OrderOperation;
 import lu.forex.system.services.OrderService;
+import lu.forex.system.services.OrderStreamService;
 import lu.forex.system.services.SymbolService;
 import lu.forex.system.services.TickService;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
+@Validated
 @AllArgsConstructor
 @Getter(AccessLevel.PRIVATE)
 public class OrderController implements OrderOperation {
@@ -23,6 +27,7 @@ public class OrderController implements OrderOperation {
   private final OrderService orderService;
   private final TickService tickService;
   private final SymbolService symbolService;
+  private final OrderStreamService orderStreamService;
 
   @Override
   public void cleanOperationUntilLastDays(final String symbolName, final int days) {
@@ -48,4 +53,9 @@ public class OrderController implements OrderOperation {
     final UUID symbolId = this.getSymbolService().getSymbol(symbolName).id();
     return this.getOrderService().getOrders(symbolId, OrderStatus.TAKE_PROFIT);
   }
+
+  @Override
+  public SseEmitter streamOrders(final String symbolName) {
+    return this.getOrderStreamService().subscribe(this.getSymbolService().getSymbol(symbolName).currencyPair().name());
+  }
 }
@@ -15,9 +15,11 @@ import lu.forex.system.operations.SymbolOperation;
 import lu.forex.system.services.ScopeService;
 import lu.forex.system.services.SymbolService;
 import lu.forex.system.services.TradeService;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@Validated
 @AllArgsConstructor
 @Getter(AccessLevel.PRIVATE)
 public class SymbolController implements SymbolOperation {
@@ -0,0 +1,21 @@
+package lu.forex.system.controllers;
+
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Parameters rejected by the method validation of the {@link org.springframework.validation.annotation.Validated} controllers are client errors.
+ */
+@RestControllerAdvice
+public class ValidationControllerAdvice {
+
+  @ExceptionHandler(ConstraintViolationException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ProblemDetail handleConstraintViolation(final ConstraintViolationException exception) {
+    return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, exception.getMessage());
+  }
+}
@@ -0,0 +1,21 @@
+package lu.forex.system.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import lu.forex.system.enums.BatchJobStatus;
+
+/**
+ * DTO for {@link lu.forex.system.batchs.BatchJob}
+ */
+public record BatchJobDto(@NotNull UUID id, @NotNull BatchJobStatus status, @NotNull LocalDateTime start, LocalDateTime end,
+                          boolean cancelRequested, @PositiveOrZero long rowsProcessed, @PositiveOrZero double throughput, Long etaSeconds,
+                          @NotNull List<BatchJobSymbolDto> symbols) implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 5195734427805167012L;
+}
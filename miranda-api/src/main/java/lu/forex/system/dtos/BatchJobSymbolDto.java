@@ -0,0 +1,22 @@
+package lu.forex.system.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Map;
+import lu.forex.system.enums.BatchJobStatus;
+import lu.forex.system.enums.BatchStage;
+
+/**
+ * DTO for {@link lu.forex.system.batchs.BatchJobSymbol}
+ */
+public record BatchJobSymbolDto(@NotNull @NotBlank String symbolName, @NotNull BatchJobStatus status, BatchStage stage, LocalDateTime start,
+                                LocalDateTime end, @PositiveOrZero long rowsProcessed, @PositiveOrZero double throughput, Long etaSeconds,
+                                @NotNull Map<BatchStage, Long> stageTimings) implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = -1826650170529837914L;
+}
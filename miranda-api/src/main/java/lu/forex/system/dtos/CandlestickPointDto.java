@@ -0,0 +1,19 @@
+package lu.forex.system.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lu.forex.system.enums.SignalIndicator;
+
+/**
+ * DTO for {@link lu.forex.system.entities.Candlestick}
+ */
+public record CandlestickPointDto(@NotNull UUID id, @NotNull LocalDateTime timestamp, @PositiveOrZero double open, @PositiveOrZero double high,
+                                  @PositiveOrZero double low, @PositiveOrZero double close, @NotNull SignalIndicator signalIndicator) implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = -2468617934702446931L;
+}
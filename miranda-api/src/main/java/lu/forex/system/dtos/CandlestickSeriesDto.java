@@ -0,0 +1,20 @@
+package lu.forex.system.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import lu.forex.system.enums.SignalIndicator;
+
+/**
+ * DTO for {@link lu.forex.system.entities.Candlestick}
+ */
+public record CandlestickSeriesDto(@NotNull List<LocalDateTime> t, double @NotNull [] o, double @NotNull [] h, double @NotNull [] l, double @NotNull [] c,
+                                   @NotNull Map<String, List<Double>> indicators, @NotNull Map<String, List<SignalIndicator>> signals,
+                                   LocalDateTime nextCursor) implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 5320954011742680218L;
+}
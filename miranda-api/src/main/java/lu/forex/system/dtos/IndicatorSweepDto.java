@@ -0,0 +1,16 @@
+package lu.forex.system.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Signal series of every swept parameter set over the same candlesticks
+ */
+public record IndicatorSweepDto(@NotNull List<LocalDateTime> t, @NotNull List<IndicatorSweepSeriesDto> series) implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 7725093384450297153L;
+}
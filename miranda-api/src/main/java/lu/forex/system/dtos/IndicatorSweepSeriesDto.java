@@ -0,0 +1,20 @@
+package lu.forex.system.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import lu.forex.system.enums.Indicator;
+import lu.forex.system.enums.SignalIndicator;
+
+/**
+ * Signals of one parameter set of an indicator, aligned with {@link IndicatorSweepDto#t()}
+ */
+public record IndicatorSweepSeriesDto(@NotNull Indicator indicator, @NotNull Map<String, String> parameters, @NotNull List<SignalIndicator> signals,
+                                      @PositiveOrZero long bullish, @PositiveOrZero long bearish) implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = -3816277418093621542L;
+}
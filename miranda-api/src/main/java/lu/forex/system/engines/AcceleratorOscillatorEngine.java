@@ -0,0 +1,79 @@
+package lu.forex.system.engines;
+
+import java.io.Serial;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.utils.MathUtils;
+
+@Getter
+public class AcceleratorOscillatorEngine extends TechnicalIndicatorEngine {
+
+  @Serial
+  private static final long serialVersionUID = 2888331368332179679L;
+
+  public static final int SLOW_PERIOD = 34;
+  public static final int FAST_PERIOD = 5;
+
+  @Getter(AccessLevel.PRIVATE)
+  private final RollingWindow mpSlow = new RollingWindow(SLOW_PERIOD);
+  @Getter(AccessLevel.PRIVATE)
+  private final RollingWindow mpFast = new RollingWindow(FAST_PERIOD);
+  @Getter(AccessLevel.PRIVATE)
+  private final RollingWindow aoFast = new RollingWindow(FAST_PERIOD);
+
+  private double mp = Double.NaN;
+  private double ao = Double.NaN;
+  private double ac = Double.NaN;
+  private double lastAc = Double.NaN;
+  private double beforeLastAc = Double.NaN;
+
+  public void update(final long epochMillis, final double mp) {
+    double ao = Double.NaN;
+    double ac = Double.NaN;
+    this.getMpSlow().add(mp);
+    this.getMpFast().add(mp);
+    if (this.getMpSlow().isComplete()) {
+      // SMA(MP,5) - SMA(MP,34)
+      ao = MathUtils.getSubtract(this.getMpFast().getAverage(), this.getMpSlow().getAverage());
+    }
+    this.getAoFast().add(ao);
+    if (this.getAoFast().isComplete()) {
+      // AO - SMA(AO,5)
+      ac = MathUtils.getSubtract(ao, this.getAoFast().getAverage());
+    }
+    this.restore(epochMillis, mp, ao, ac, false);
+  }
+
+  /**
+   * Replays an already computed candlestick, used to rebuild the state from stored values.
+   */
+  public void restore(final long epochMillis, final double mp, final double ao, final double ac) {
+    this.restore(epochMillis, mp, ao, ac, true);
+  }
+
+  @Override
+  protected void clear() {
+    this.getMpSlow().clear();
+    this.getMpFast().clear();
+    this.getAoFast().clear();
+    this.mp = Double.NaN;
+    this.ao = Double.NaN;
+    this.ac = Double.NaN;
+    this.lastAc = Double.NaN;
+    this.beforeLastAc = Double.NaN;
+  }
+
+  private void restore(final long epochMillis, final double mp, final double ao, final double ac, final boolean windows) {
+    if (windows) {
+      this.getMpSlow().add(mp);
+      this.getMpFast().add(mp);
+      this.getAoFast().add(ao);
+    }
+    this.beforeLastAc = this.getLastAc();
+    this.lastAc = this.getAc();
+    this.mp = mp;
+    this.ao = ao;
+    this.ac = ac;
+    this.moveTo(epochMillis);
+  }
+}
@@ -0,0 +1,90 @@
+package lu.forex.system.engines;
+
+import java.io.Serial;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.utils.MathUtils;
+
+@Getter
+public class AverageDirectionalIndexEngine extends TechnicalIndicatorEngine {
+
+  @Serial
+  private static final long serialVersionUID = -4277099565748218595L;
+
+  @Getter(AccessLevel.PRIVATE)
+  private final RollingWindow trOnes;
+  @Getter(AccessLevel.PRIVATE)
+  private final RollingWindow pDmOnes;
+  @Getter(AccessLevel.PRIVATE)
+  private final RollingWindow nDmOnes;
+  @Getter(AccessLevel.PRIVATE)
+  private final RollingWindow dxs;
+
+  private double trOne = Double.NaN;
+  private double pDmOne = Double.NaN;
+  private double nDmOne = Double.NaN;
+  private double pDiP = Double.NaN;
+  private double nDiP = Double.NaN;
+  private double dx = Double.NaN;
+  private double adx = Double.NaN;
+
+  public AverageDirectionalIndexEngine(final int period) {
+    this.trOnes = new RollingWindow(period);
+    this.pDmOnes = new RollingWindow(period);
+    this.nDmOnes = new RollingWindow(period);
+    this.dxs = new RollingWindow(period);
+  }
+
+  /**
+   * @param trOne  TR1 of the candlestick, see {@link BarFeature.TrueRange}
+   * @param pDmOne +DM1 of the candlestick
+   * @param nDmOne -DM1 of the candlestick
+   */
+  public void update(final long epochMillis, final double trOne, final double pDmOne, final double nDmOne) {
+    this.trOne = trOne;
+    this.pDmOne = pDmOne;
+    this.nDmOne = nDmOne;
+    this.pDiP = Double.NaN;
+    this.nDiP = Double.NaN;
+    this.dx = Double.NaN;
+    this.adx = Double.NaN;
+
+    this.getTrOnes().add(this.getTrOne());
+    this.getPDmOnes().add(this.getPDmOne());
+    this.getNDmOnes().add(this.getNDmOne());
+
+    if (this.getTrOnes().isComplete() && this.getPDmOnes().isComplete() && this.getNDmOnes().isComplete()) {
+      // TR(P), +DM(P) and -DM(P) are the running sums, +DI(P) and -DI(P) their ratios
+      final double trP = this.getTrOnes().getTotal();
+      this.pDiP = MathUtils.getMultiplication(100, MathUtils.getDivision(this.getPDmOnes().getTotal(), trP));
+      this.nDiP = MathUtils.getMultiplication(100, MathUtils.getDivision(this.getNDmOnes().getTotal(), trP));
+      final double diDiff = Math.abs(MathUtils.getSubtract(this.getPDiP(), this.getNDiP()));
+      final double diSum = MathUtils.getSum(this.getPDiP(), this.getNDiP());
+      this.dx = MathUtils.getMultiplication(100, MathUtils.getDivision(diDiff, diSum));
+    }
+    this.getDxs().add(this.getDx());
+    if (!Double.isNaN(this.getDx()) && this.getDxs().isComplete()) {
+      this.adx = this.getDxs().getAverage();
+    }
+    this.moveTo(epochMillis);
+  }
+
+  /**
+   * Replays an already computed candlestick, used to rebuild the state from stored values.
+   */
+  public void restore(final long epochMillis, final double trOne, final double pDmOne, final double nDmOne, final double dx) {
+    this.getTrOnes().add(trOne);
+    this.getPDmOnes().add(pDmOne);
+    this.getNDmOnes().add(nDmOne);
+    this.getDxs().add(dx);
+    this.moveTo(epochMillis);
+  }
+
+  @Override
+  protected void clear() {
+    this.getTrOnes().clear();
+    this.getPDmOnes().clear();
+    this.getNDmOnes().clear();
+    this.getDxs().clear();
+  }
+}
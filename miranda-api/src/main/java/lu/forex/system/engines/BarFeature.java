@@ -0,0 +1,75 @@
+package lu.forex.system.engines;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lu.forex.system.dtos.CandlestickBodyDto;
+import lu.forex.system.dtos.CandlestickDto;
+import lu.forex.system.enums.PriceType;
+import lu.forex.system.utils.MathUtils;
+
+/**
+ * Intermediate value of the newest candlestick that indicators share, identified by its definition. {@link Double#NaN} marks a missing value.
+ */
+public sealed interface BarFeature {
+
+  double compute(final @NotNull List<@NotNull CandlestickDto> candlesticksDesc, final @NotNull BarFeatures features);
+
+  /**
+   * Price of the candlestick, typical and median prices included.
+   */
+  record Price(@NotNull PriceType priceType) implements BarFeature {
+
+    @Override
+    public double compute(final @NotNull List<@NotNull CandlestickDto> candlesticksDesc, final @NotNull BarFeatures features) {
+      return this.priceType().getPrice(candlesticksDesc.getFirst());
+    }
+  }
+
+  /**
+   * Value of a moving average of the registry, put by its node of the indicator graph before the indicators reading it.
+   */
+  record MovingAverageValue(@NotNull MovingAverageSpec spec) implements BarFeature {
+
+    @Override
+    public double compute(final @NotNull List<@NotNull CandlestickDto> candlesticksDesc, final @NotNull BarFeatures features) {
+      return Double.NaN;
+    }
+  }
+
+  /**
+   * TR1 against the previous candlestick.
+   */
+  record TrueRange() implements BarFeature {
+
+    @Override
+    public double compute(final @NotNull List<@NotNull CandlestickDto> candlesticksDesc, final @NotNull BarFeatures features) {
+      if (candlesticksDesc.size() < 2) {
+        return Double.NaN;
+      }
+      final CandlestickBodyDto body = candlesticksDesc.getFirst().body();
+      return MathUtils.getMax(MathUtils.getSubtract(body.high(), body.low()), MathUtils.getSubtract(body.high(), body.close()),
+          Math.abs(MathUtils.getSubtract(body.low(), candlesticksDesc.get(1).body().close())));
+    }
+  }
+
+  /**
+   * +DM1 or -DM1 against the previous candlestick.
+   */
+  record DirectionalMovement(boolean positive) implements BarFeature {
+
+    @Override
+    public double compute(final @NotNull List<@NotNull CandlestickDto> candlesticksDesc, final @NotNull BarFeatures features) {
+      if (candlesticksDesc.size() < 2) {
+        return Double.NaN;
+      }
+      final CandlestickBodyDto body = candlesticksDesc.getFirst().body();
+      final CandlestickBodyDto lastBody = candlesticksDesc.get(1).body();
+      final double highMove = MathUtils.getSubtract(body.high(), lastBody.high());
+      final double lowMove = MathUtils.getSubtract(lastBody.low(), body.low());
+      if (this.positive()) {
+        return highMove > lowMove ? Math.max(highMove, 0D) : 0D;
+      }
+      return lowMove > highMove ? Math.max(lowMove, 0D) : 0D;
+    }
+  }
+}
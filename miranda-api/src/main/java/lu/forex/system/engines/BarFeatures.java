@@ -0,0 +1,44 @@
+package lu.forex.system.engines;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.dtos.CandlestickDto;
+
+/**
+ * Features of the newest candlestick of a scope, each computed once for all the indicators evaluated on it.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class BarFeatures {
+
+  @Getter(AccessLevel.PUBLIC)
+  private final long epochMillis;
+  private final List<CandlestickDto> candlesticksDesc;
+  private final Map<BarFeature, Double> values = new ConcurrentHashMap<>();
+
+  public BarFeatures(final long epochMillis, final @NotNull List<@NotNull CandlestickDto> candlesticksDesc) {
+    this.epochMillis = epochMillis;
+    this.candlesticksDesc = candlesticksDesc;
+  }
+
+  public double get(final @NotNull BarFeature feature) {
+    // not computeIfAbsent, a feature may read other features; two threads may both compute it, with the same value
+    final Double cached = this.getValues().get(feature);
+    if (cached != null) {
+      return cached;
+    }
+    final double computed = feature.compute(this.getCandlesticksDesc(), this);
+    this.getValues().putIfAbsent(feature, computed);
+    return computed;
+  }
+
+  /**
+   * Sets a feature computed outside, such as a moving average moved by its running series.
+   */
+  public void put(final @NotNull BarFeature feature, final double value) {
+    this.getValues().put(feature, value);
+  }
+}
@@ -0,0 +1,127 @@
+package lu.forex.system.engines;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import lu.forex.system.caches.BarFeatureCache;
+import lu.forex.system.caches.MovingAverageRegistry;
+import lu.forex.system.dtos.CandlestickDto;
+import lu.forex.system.entities.TechnicalIndicator;
+import lu.forex.system.entities.TechnicalIndicatorData;
+import lu.forex.system.enums.MovingAverageType;
+import lu.forex.system.services.MovingAverageService;
+import lu.forex.system.services.TechnicalIndicatorService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Every {@link TechnicalIndicatorService} and {@link MovingAverageService} bean, ordered by the inputs and dependencies they declare. A new indicator
+ * only needs to be a bean to be computed live, on bar close and by the init job.
+ */
+@Log4j2
+@Component
+@Getter
+public class IndicatorGraph {
+
+  private static final String MOVING_AVERAGE_NODE = "MA:";
+
+  private final List<TechnicalIndicatorService> indicatorServices;
+  private final List<MovingAverageService> movingAverageServices;
+  private final int lookback;
+  @Getter(AccessLevel.PRIVATE)
+  private final List<List<Node>> levels;
+  @Getter(AccessLevel.PRIVATE)
+  private final BarFeatureCache barFeatureCache;
+  private final MovingAverageRegistry movingAverageRegistry;
+
+  public IndicatorGraph(final List<TechnicalIndicatorService> indicatorServices, final List<MovingAverageService> movingAverageServices,
+      final BarFeatureCache barFeatureCache, final MovingAverageRegistry movingAverageRegistry) {
+    this.barFeatureCache = barFeatureCache;
+    this.movingAverageRegistry = movingAverageRegistry;
+    final Map<String, Node> nodes = new LinkedHashMap<>();
+    movingAverageServices.forEach(movingAverageService -> {
+      final String name = MOVING_AVERAGE_NODE.concat(movingAverageService.getMovingAverageType().name());
+      final Set<MovingAverageSpec> specs = movingAverageRegistry.getSpecs(movingAverageService.getMovingAverageType());
+      nodes.put(name, new Node(name, Set.of(), movingAverageService, candlesticks -> {
+        final BarFeatures features = this.getBarFeatureCache().getFeatures(candlesticks);
+        specs.forEach(spec -> features.put(new BarFeature.MovingAverageValue(spec), movingAverageService.computeMovingAverage(spec, candlesticks)));
+        return () -> specs.forEach(spec -> movingAverageService.storeState(spec, candlesticks));
+      }));
+    });
+    indicatorServices.forEach(indicatorService -> {
+      final String name = indicatorService.getIndicator().name();
+      indicatorService.getOutputs().stream().filter(output -> !TechnicalIndicatorData.KEYS.contains(output)).findFirst().ifPresent(output -> {
+        throw new IllegalStateException(String.format("Indicator %s writes %s which has no column", name, output));
+      });
+      final Set<String> dependencies = Stream.concat(
+          indicatorService.getInputs().stream().map(spec -> MOVING_AVERAGE_NODE.concat(spec.type().name())),
+          indicatorService.getDependencies().stream().map(Enum::name)).collect(Collectors.toSet());
+      if (Objects.nonNull(nodes.put(name, new Node(name, dependencies, indicatorService, candlesticks -> {
+        final TechnicalIndicator technicalIndicator = indicatorService.computeTechnicalIndicator(candlesticks);
+        return () -> indicatorService.getTechnicalIndicatorRepository().save(technicalIndicator);
+      })))) {
+        throw new IllegalStateException(String.format("Indicator %s is provided twice", name));
+      }
+    });
+
+    this.levels = getLevels(nodes);
+    this.indicatorServices = this.getLevels().stream().flatMap(List::stream).map(Node::service).filter(TechnicalIndicatorService.class::isInstance)
+        .map(TechnicalIndicatorService.class::cast).toList();
+    this.movingAverageServices = List.copyOf(movingAverageServices);
+    this.lookback = Math.max(1, indicatorServices.stream().mapToInt(TechnicalIndicatorService::getNumberOfCandlesticksToCalculate).max().orElse(0));
+    log.info("Indicator graph: {}", this.getLevels().stream().map(level -> level.stream().map(Node::name).collect(Collectors.joining(", ", "[", "]")))
+        .collect(Collectors.joining(" -> ")));
+  }
+
+  public @NotNull Optional<MovingAverageService> getMovingAverageService(final @NotNull MovingAverageType movingAverageType) {
+    return this.getMovingAverageServices().stream().filter(movingAverageService -> movingAverageType.equals(movingAverageService.getMovingAverageType()))
+        .findFirst();
+  }
+
+  /**
+   * Evaluates every node once on the newest candlestick of the descending list, level by level with the nodes of a level computed in parallel. The
+   * indicators and the states of the moving averages are saved afterwards on the calling thread, within the transaction of the close. The nodes share
+   * the {@link BarFeatures} of the candlestick.
+   */
+  public void evaluate(final @NotNull List<@NotNull CandlestickDto> candlesticks) {
+    this.getBarFeatureCache().open(candlesticks);
+    for (final List<Node> level : this.getLevels()) {
+      level.parallelStream().map(node -> node.evaluator().apply(candlesticks)).toList().forEach(Runnable::run);
+    }
+  }
+
+  private static @NotNull List<List<Node>> getLevels(final @NotNull Map<String, Node> nodes) {
+    nodes.values().forEach(node -> node.dependencies().stream().filter(dependency -> !nodes.containsKey(dependency)).findFirst().ifPresent(dependency -> {
+      throw new IllegalStateException(String.format("Indicator %s depends on %s which is not provided", node.name(), dependency));
+    }));
+    final List<List<Node>> levels = new ArrayList<>();
+    final Set<String> evaluated = new HashSet<>();
+    final List<Node> remaining = new ArrayList<>(nodes.values());
+    while (!remaining.isEmpty()) {
+      final List<Node> level = remaining.stream().filter(node -> evaluated.containsAll(node.dependencies())).toList();
+      if (level.isEmpty()) {
+        throw new IllegalStateException(String.format("Cycle between the indicators %s", remaining.stream().map(Node::name).toList()));
+      }
+      levels.add(level);
+      level.forEach(node -> evaluated.add(node.name()));
+      remaining.removeAll(level);
+    }
+    return List.copyOf(levels);
+  }
+
+  private record Node(@NotNull String name, @NotNull Set<String> dependencies, @NotNull Object service,
+                      @NotNull Function<List<CandlestickDto>, Runnable> evaluator) {
+
+  }
+}
@@ -0,0 +1,107 @@
+package lu.forex.system.engines;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lu.forex.system.exceptions.IndicatorParametersNotValidException;
+
+/**
+ * Parameters of an indicator by name, as written after {@code indicator.<name>.parameters.} in the properties.
+ */
+public record IndicatorParameters(@NotNull Map<String, String> values) {
+
+  public static final IndicatorParameters EMPTY = new IndicatorParameters(Map.of());
+
+  public IndicatorParameters {
+    values = Map.copyOf(values);
+  }
+
+  public int getInt(final @NotNull String name) {
+    try {
+      return Integer.parseInt(this.getValue(name).trim());
+    } catch (NumberFormatException e) {
+      throw new IndicatorParametersNotValidException(String.format("Parameter %s=%s is not a number", name, this.getValue(name)));
+    }
+  }
+
+  public int getPositiveInt(final @NotNull String name) {
+    final int value = this.getInt(name);
+    if (value < 1) {
+      throw new IndicatorParametersNotValidException(String.format("Parameter %s=%d is not positive", name, value));
+    }
+    return value;
+  }
+
+  public <E extends Enum<E>> @NotNull E getEnum(final @NotNull String name, final @NotNull Class<E> enumClass) {
+    try {
+      return Enum.valueOf(enumClass, this.getValue(name).trim());
+    } catch (IllegalArgumentException e) {
+      throw new IndicatorParametersNotValidException(String.format("Parameter %s=%s is not one of %s", name, this.getValue(name),
+          Arrays.toString(enumClass.getEnumConstants())));
+    }
+  }
+
+  private @NotNull String getValue(final @NotNull String name) {
+    final String value = this.values().get(name);
+    if (Objects.isNull(value)) {
+      throw new IndicatorParametersNotValidException(String.format("Parameter %s is missing", name));
+    }
+    return value;
+  }
+
+  /**
+   * Comma separated values of each parameter of the grid, at most {@code maxOptions} per parameter. The values are split before anything is expanded.
+   */
+  public @NotNull Map<String, List<String>> getOptions(final @NotNull Map<String, String> grid, final int maxOptions) {
+    grid.keySet().stream().filter(name -> !this.values().containsKey(name)).findFirst().ifPresent(name -> {
+      throw new IndicatorParametersNotValidException(String.format("Parameter %s is not one of %s", name, this.values().keySet()));
+    });
+    final Map<String, List<String>> options = new LinkedHashMap<>();
+    grid.forEach((name, value) -> {
+      final String[] split = value.split(",", maxOptions + 1);
+      if (split.length > maxOptions) {
+        throw new IndicatorParametersNotValidException(String.format("Parameter %s has more than %d values", name, maxOptions));
+      }
+      options.put(name, Arrays.stream(split).map(String::trim).filter(option -> !option.isEmpty()).distinct().toList());
+    });
+    return options;
+  }
+
+  /**
+   * Number of parameter sets {@link #expand} gives for the options, {@link Long#MAX_VALUE} when it does not fit.
+   */
+  public static long countCombinations(final @NotNull Map<String, List<String>> options) {
+    long combinations = 1L;
+    for (final List<String> values : options.values()) {
+      try {
+        combinations = Math.multiplyExact(combinations, values.size());
+      } catch (ArithmeticException e) {
+        return Long.MAX_VALUE;
+      }
+    }
+    return combinations;
+  }
+
+  /**
+   * Every combination of the options, the parameters they do not name keep these values.
+   */
+  public @NotNull List<IndicatorParameters> expand(final @NotNull Map<String, List<String>> options) {
+    List<Map<String, String>> combinations = List.of(new LinkedHashMap<>(this.values()));
+    for (final Map.Entry<String, List<String>> entry : options.entrySet()) {
+      final List<Map<String, String>> next = new ArrayList<>(combinations.size() * entry.getValue().size());
+      for (final Map<String, String> combination : combinations) {
+        for (final String option : entry.getValue()) {
+          final Map<String, String> values = new LinkedHashMap<>(combination);
+          values.put(entry.getKey(), option);
+          next.add(values);
+        }
+      }
+      combinations = next;
+    }
+    return combinations.stream().map(IndicatorParameters::new).toList();
+  }
+}
@@ -0,0 +1,60 @@
+package lu.forex.system.engines;
+
+import java.io.Serial;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.utils.MathUtils;
+
+@Getter
+public class MovingAverageConvergenceDivergenceEngine extends TechnicalIndicatorEngine {
+
+  @Serial
+  private static final long serialVersionUID = -191058327316068153L;
+
+  @Getter(AccessLevel.PRIVATE)
+  private final RollingWindow macds;
+
+  private double macd = Double.NaN;
+  private double signal = Double.NaN;
+  private double lastMacd = Double.NaN;
+  private double lastSignal = Double.NaN;
+
+  public MovingAverageConvergenceDivergenceEngine(final int period) {
+    this.macds = new RollingWindow(period);
+  }
+
+  /**
+   * The EMAs are carried by the moving averages of the candlestick, {@link Double#NaN} when not yet available.
+   */
+  public void update(final long epochMillis, final double emaFast, final double emaSlow) {
+    final double macd = Double.isNaN(emaFast) || Double.isNaN(emaSlow) ? Double.NaN : MathUtils.getSubtract(emaFast, emaSlow);
+    this.getMacds().add(macd);
+    final double signal = !Double.isNaN(macd) && this.getMacds().isComplete() ? this.getMacds().getAverage() : Double.NaN;
+    this.moveTo(epochMillis, macd, signal);
+  }
+
+  /**
+   * Replays an already computed candlestick, used to rebuild the state from stored values.
+   */
+  public void restore(final long epochMillis, final double macd, final double signal) {
+    this.getMacds().add(macd);
+    this.moveTo(epochMillis, macd, signal);
+  }
+
+  @Override
+  protected void clear() {
+    this.getMacds().clear();
+    this.macd = Double.NaN;
+    this.signal = Double.NaN;
+    this.lastMacd = Double.NaN;
+    this.lastSignal = Double.NaN;
+  }
+
+  private void moveTo(final long epochMillis, final double macd, final double signal) {
+    this.lastMacd = this.getMacd();
+    this.lastSignal = this.getSignal();
+    this.macd = macd;
+    this.signal = signal;
+    this.moveTo(epochMillis);
+  }
+}
@@ -0,0 +1,64 @@
+package lu.forex.system.engines;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.Serial;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Running series of one moving average on one scope: the last prices up to the period, the number of prices seen and the current value.
+ */
+@Getter
+public class MovingAverageEngine extends TechnicalIndicatorEngine {
+
+  @Serial
+  private static final long serialVersionUID = -3372431706893157520L;
+
+  private final MovingAverageSpec spec;
+  @Getter(AccessLevel.PRIVATE)
+  private final RollingWindow window;
+  private long count;
+  private double value = Double.NaN;
+
+  public MovingAverageEngine(final @NotNull MovingAverageSpec spec) {
+    this.spec = spec;
+    this.window = new RollingWindow(spec.period());
+  }
+
+  /**
+   * Adds the price of the next candlestick, {@link #getValue()} stays the previous value until {@link #update(long, double)}.
+   */
+  public void add(final double price) {
+    this.getWindow().add(price);
+    this.count++;
+  }
+
+  public void update(final long epochMillis, final double value) {
+    this.value = value;
+    this.moveTo(epochMillis);
+  }
+
+  /**
+   * Puts back a stored state of a recursive series, which only reads its previous value once more prices than the period were seen. The window
+   * is left empty.
+   */
+  public void restore(final long epochMillis, final long count, final double value) {
+    this.clear();
+    this.count = count;
+    this.update(epochMillis, value);
+  }
+
+  /**
+   * Average of the last prices, up to the period.
+   */
+  public double getAverage() {
+    return this.getWindow().getAverage();
+  }
+
+  @Override
+  protected void clear() {
+    this.getWindow().clear();
+    this.count = 0;
+    this.value = Double.NaN;
+  }
+}
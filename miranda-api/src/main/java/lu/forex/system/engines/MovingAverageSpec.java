@@ -0,0 +1,14 @@
+package lu.forex.system.engines;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.io.Serial;
+import java.io.Serializable;
+import lu.forex.system.enums.MovingAverageType;
+import lu.forex.system.enums.PriceType;
+
+public record MovingAverageSpec(@NotNull MovingAverageType type, @Positive int period, @NotNull PriceType priceType) implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 4310779225017614208L;
+}
@@ -0,0 +1,51 @@
+package lu.forex.system.engines;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.util.Arrays;
+import java.util.Map;
+import lu.forex.system.enums.PriceType;
+
+/**
+ * Whole history of a scope as ascending columns, for backfills. {@code windowSize} is the number of candlesticks the live path sees per bar.
+ */
+public record PriceSeries(double @NotNull [] open, double @NotNull [] high, double @NotNull [] low, double @NotNull [] close,
+                          @NotNull Map<MovingAverageSpec, double[]> movingAverages, @Positive int windowSize) {
+
+  public int size() {
+    return this.close().length;
+  }
+
+  public double @NotNull [] getPrices(final @NotNull PriceType priceType) {
+    return switch (priceType) {
+      case CLOSE -> this.close();
+      case OPEN -> this.open();
+      case HIGH -> this.high();
+      case LOW -> this.low();
+      case MEDIAN_PRICE -> {
+        final double[] prices = new double[this.size()];
+        SeriesKernels.get().medianPrice(this.high(), this.low(), prices);
+        yield prices;
+      }
+      case TYPICAL_PRICE -> {
+        final double[] prices = new double[this.size()];
+        SeriesKernels.get().typicalPrice(this.high(), this.low(), this.close(), prices);
+        yield prices;
+      }
+    };
+  }
+
+  public double @NotNull [] getMovingAverage(final @NotNull MovingAverageSpec spec) {
+    final double[] values = this.movingAverages().get(spec);
+    if (values != null) {
+      return values;
+    }
+    return newColumn(this.size());
+  }
+
+  public static double @NotNull [] newColumn(final int size) {
+    final double[] column = new double[size];
+    Arrays.fill(column, Double.NaN);
+    return column;
+  }
+}
@@ -0,0 +1,88 @@
+package lu.forex.system.engines;
+
+import java.io.Serial;
+import java.io.Serializable;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.utils.MathUtils;
+
+/**
+ * Window of the last values with a running compensated sum, {@link Double#NaN} stands for a missing value.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class RollingWindow implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 6670561601281982504L;
+
+  private final double[] values;
+  private int head;
+  private int size;
+  private int missing;
+  private double sum;
+  private double compensation;
+
+  public RollingWindow(final int capacity) {
+    this.values = new double[capacity];
+  }
+
+  public void add(final double value) {
+    if (this.getSize() == this.getValues().length) {
+      final double removed = this.getValues()[this.getHead()];
+      if (Double.isNaN(removed)) {
+        this.missing--;
+      } else {
+        this.accumulate(-removed);
+      }
+    } else {
+      this.size++;
+    }
+    this.getValues()[this.getHead()] = value;
+    if (Double.isNaN(value)) {
+      this.missing++;
+    } else {
+      this.accumulate(value);
+    }
+    this.head = (this.getHead() + 1) % this.getValues().length;
+    if (this.getHead() == 0) {
+      // once per lap the sum is rebuilt from the values, the error never carries over more than one window
+      this.resum();
+    }
+  }
+
+  public boolean isComplete() {
+    return this.getSize() == this.getValues().length && this.getMissing() == 0;
+  }
+
+  public double getTotal() {
+    return this.getSum() + this.getCompensation();
+  }
+
+  public double getAverage() {
+    return this.getTotal() / this.getSize();
+  }
+
+  public void clear() {
+    this.head = 0;
+    this.size = 0;
+    this.missing = 0;
+    this.sum = 0D;
+    this.compensation = 0D;
+  }
+
+  private void resum() {
+    this.sum = 0D;
+    this.compensation = 0D;
+    for (int i = 0; i < this.getSize(); i++) {
+      if (!Double.isNaN(this.getValues()[i])) {
+        this.accumulate(this.getValues()[i]);
+      }
+    }
+  }
+
+  private void accumulate(final double value) {
+    final double total = this.getSum() + value;
+    this.compensation += MathUtils.getSumError(this.getSum(), value, total);
+    this.sum = total;
+  }
+}
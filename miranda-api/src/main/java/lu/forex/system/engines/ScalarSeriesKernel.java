@@ -0,0 +1,63 @@
+package lu.forex.system.engines;
+
+import jakarta.validation.constraints.NotNull;
+
+public class ScalarSeriesKernel implements SeriesKernel {
+
+  @Override
+  public void subtract(final double @NotNull [] a, final double @NotNull [] b, final double @NotNull [] out) {
+    for (int i = 0; i < out.length; i++) {
+      out[i] = a[i] - b[i];
+    }
+  }
+
+  @Override
+  public void typicalPrice(final double @NotNull [] high, final double @NotNull [] low, final double @NotNull [] close, final double @NotNull [] out) {
+    for (int i = 0; i < out.length; i++) {
+      out[i] = (high[i] + low[i] + close[i]) / 3D;
+    }
+  }
+
+  @Override
+  public void medianPrice(final double @NotNull [] high, final double @NotNull [] low, final double @NotNull [] out) {
+    for (int i = 0; i < out.length; i++) {
+      out[i] = (high[i] + low[i]) / 2D;
+    }
+  }
+
+  @Override
+  public void ratio(final double @NotNull [] dividend, final double @NotNull [] divisor, final double factor, final double @NotNull [] out) {
+    for (int i = 0; i < out.length; i++) {
+      out[i] = factor * (dividend[i] / divisor[i]);
+    }
+  }
+
+  @Override
+  public void directionalMovement(final double @NotNull [] high, final double @NotNull [] low, final double @NotNull [] close, final double @NotNull [] trOne,
+      final double @NotNull [] pDmOne, final double @NotNull [] nDmOne) {
+    directionalMovement(high, low, close, trOne, pDmOne, nDmOne, 1);
+  }
+
+  @Override
+  public void directionalIndex(final double @NotNull [] pDi, final double @NotNull [] nDi, final double @NotNull [] out) {
+    for (int i = 0; i < out.length; i++) {
+      out[i] = 100D * (Math.abs(pDi[i] - nDi[i]) / (pDi[i] + nDi[i]));
+    }
+  }
+
+  static void directionalMovement(final double @NotNull [] high, final double @NotNull [] low, final double @NotNull [] close, final double @NotNull [] trOne,
+      final double @NotNull [] pDmOne, final double @NotNull [] nDmOne, final int from) {
+    if (from == 1 && trOne.length > 0) {
+      trOne[0] = Double.NaN;
+      pDmOne[0] = Double.NaN;
+      nDmOne[0] = Double.NaN;
+    }
+    for (int i = from; i < trOne.length; i++) {
+      trOne[i] = Math.max(Math.max(high[i] - low[i], high[i] - close[i]), Math.abs(low[i] - close[i - 1]));
+      final double highMove = high[i] - high[i - 1];
+      final double lowMove = low[i - 1] - low[i];
+      pDmOne[i] = highMove > lowMove ? Math.max(highMove, 0D) : 0D;
+      nDmOne[i] = lowMove > highMove ? Math.max(lowMove, 0D) : 0D;
+    }
+  }
+}
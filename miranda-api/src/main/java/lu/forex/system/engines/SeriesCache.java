@@ -0,0 +1,65 @@
+package lu.forex.system.engines;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.enums.PriceType;
+
+/**
+ * Columns derived from a {@link PriceSeries}, each computed once however many indicators or parameter sets read it. Not thread safe.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class SeriesCache {
+
+  @Getter(AccessLevel.PUBLIC)
+  private final PriceSeries priceSeries;
+  @Getter(AccessLevel.PUBLIC)
+  private final SeriesKernel kernel = SeriesKernels.get();
+  private final Function<MovingAverageSpec, double[]> movingAverageResolver;
+  private final Map<List<?>, Object> columns = new HashMap<>();
+
+  public SeriesCache(final @NotNull PriceSeries priceSeries) {
+    this(priceSeries, priceSeries::getMovingAverage);
+  }
+
+  /**
+   * @param movingAverageResolver computes the moving averages the price series does not hold
+   */
+  public SeriesCache(final @NotNull PriceSeries priceSeries, final @NotNull Function<MovingAverageSpec, double[]> movingAverageResolver) {
+    this.priceSeries = priceSeries;
+    this.movingAverageResolver = movingAverageResolver;
+  }
+
+  public int size() {
+    return this.getPriceSeries().size();
+  }
+
+  public double @NotNull [] getPrices(final @NotNull PriceType priceType) {
+    return this.get(List.of(priceType), () -> this.getPriceSeries().getPrices(priceType));
+  }
+
+  public double @NotNull [] getMovingAverage(final @NotNull MovingAverageSpec spec) {
+    return this.get(List.of(spec), () -> this.getPriceSeries().movingAverages().containsKey(spec)
+        ? this.getPriceSeries().getMovingAverage(spec) : this.getMovingAverageResolver().apply(spec));
+  }
+
+  /**
+   * The value cached under the key, computed by the supplier the first time. The supplier may read other cached values.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> @NotNull T get(final @NotNull List<?> key, final @NotNull Supplier<T> supplier) {
+    // not computeIfAbsent, a supplier reading another column would modify the map during the computation
+    final Object cached = this.getColumns().get(key);
+    if (cached != null) {
+      return (T) cached;
+    }
+    final T computed = supplier.get();
+    this.getColumns().put(key, computed);
+    return computed;
+  }
+}
@@ -0,0 +1,62 @@
+package lu.forex.system.engines;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Element-wise operations over whole price and indicator columns, {@link Double#NaN} marks a missing value and propagates.
+ */
+public interface SeriesKernel {
+
+  /**
+   * {@code out[i] = a[i] - b[i]}
+   */
+  void subtract(final double @NotNull [] a, final double @NotNull [] b, final double @NotNull [] out);
+
+  /**
+   * {@code out[i] = (high[i] + low[i] + close[i]) / 3}
+   */
+  void typicalPrice(final double @NotNull [] high, final double @NotNull [] low, final double @NotNull [] close, final double @NotNull [] out);
+
+  /**
+   * {@code out[i] = (high[i] + low[i]) / 2}
+   */
+  void medianPrice(final double @NotNull [] high, final double @NotNull [] low, final double @NotNull [] out);
+
+  /**
+   * {@code out[i] = factor * (dividend[i] / divisor[i])}
+   */
+  void ratio(final double @NotNull [] dividend, final double @NotNull [] divisor, final double factor, final double @NotNull [] out);
+
+  /**
+   * TR1, +DM1 and -DM1 of each candlestick against the previous one, the first candlestick has none.
+   */
+  void directionalMovement(final double @NotNull [] high, final double @NotNull [] low, final double @NotNull [] close, final double @NotNull [] trOne,
+      final double @NotNull [] pDmOne, final double @NotNull [] nDmOne);
+
+  /**
+   * {@code out[i] = 100 * (|pDi[i] - nDi[i]| / (pDi[i] + nDi[i]))}
+   */
+  void directionalIndex(final double @NotNull [] pDi, final double @NotNull [] nDi, final double @NotNull [] out);
+
+  /**
+   * Sum of the last {@code period} values, missing until the window is full and has no missing value.
+   */
+  default void rollingSum(final double @NotNull [] values, final int period, final double @NotNull [] out) {
+    final RollingWindow window = new RollingWindow(period);
+    for (int i = 0; i < values.length; i++) {
+      window.add(values[i]);
+      out[i] = window.isComplete() ? window.getTotal() : Double.NaN;
+    }
+  }
+
+  /**
+   * Average of the last {@code period} values, missing until the window is full and has no missing value.
+   */
+  default void rollingMean(final double @NotNull [] values, final int period, final double @NotNull [] out) {
+    final RollingWindow window = new RollingWindow(period);
+    for (int i = 0; i < values.length; i++) {
+      window.add(values[i]);
+      out[i] = window.isComplete() ? window.getAverage() : Double.NaN;
+    }
+  }
+}
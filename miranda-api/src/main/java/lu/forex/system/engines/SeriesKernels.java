@@ -0,0 +1,37 @@
+package lu.forex.system.engines;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.experimental.UtilityClass;
+import lombok.extern.log4j.Log4j2;
+
+@Log4j2
+@UtilityClass
+public class SeriesKernels {
+
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+  private static final SeriesKernel INSTANCE = load();
+
+  /**
+   * The Vector API kernel when it is built, with the {@code vector} profile, and the JVM runs with {@code --add-modules jdk.incubator.vector}, the
+   * scalar one otherwise.
+   */
+  public static @NotNull SeriesKernel get() {
+    return INSTANCE;
+  }
+
+  private static @NotNull SeriesKernel load() {
+    if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+      try {
+        // loaded by name, the class can not be linked without the module
+        final SeriesKernel kernel = (SeriesKernel) Class.forName("lu.forex.system.engines.VectorSeriesKernel").getDeclaredConstructor().newInstance();
+        log.info("Series kernel on the Vector API");
+        return kernel;
+      } catch (ClassNotFoundException e) {
+        log.info("Vector API kernel not built, using the scalar series kernel");
+      } catch (ReflectiveOperationException | LinkageError e) {
+        log.warn("Vector API not usable, falling back to the scalar series kernel", e);
+      }
+    }
+    return new ScalarSeriesKernel();
+  }
+}
@@ -0,0 +1,58 @@
+package lu.forex.system.engines;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.dtos.CandlestickDto;
+import lu.forex.system.utils.TimeFrameUtils;
+
+/**
+ * Running state of an indicator on one scope, updated once per closed candlestick.
+ */
+@Getter
+public abstract class TechnicalIndicatorEngine implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 1952680373133334081L;
+
+  @Getter(AccessLevel.PROTECTED)
+  private long epochMillis = Long.MIN_VALUE;
+
+  /**
+   * True when the last candlestick seen by the engine is the given one, so the next candlestick is a constant-time update.
+   */
+  public boolean isAfter(final long previousEpochMillis) {
+    return this.getEpochMillis() == previousEpochMillis;
+  }
+
+  public void reset() {
+    this.epochMillis = Long.MIN_VALUE;
+    this.clear();
+  }
+
+  protected void moveTo(final long epochMillis) {
+    this.epochMillis = epochMillis;
+  }
+
+  protected abstract void clear();
+
+  public static long getPreviousEpochMillis(final @NotNull List<@NotNull CandlestickDto> candlestickDtos) {
+    return candlestickDtos.size() > 1 ? TimeFrameUtils.toEpochMillis(candlestickDtos.get(1).timestamp()) : Long.MIN_VALUE;
+  }
+
+  public static double getValue(final @NotNull Map<String, Double> data, final @NotNull String key) {
+    final Double value = data.get(key);
+    return Objects.isNull(value) ? Double.NaN : value;
+  }
+
+  public static void putValue(final @NotNull Map<String, Double> data, final @NotNull String key, final double value) {
+    if (!Double.isNaN(value)) {
+      data.put(key, value);
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package lu.forex.system.engines;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.Map;
+import lu.forex.system.enums.SignalIndicator;
+
+/**
+ * Output columns of an indicator over a {@link PriceSeries}, keyed like the indicator data.
+ */
+public record TechnicalIndicatorSeries(@NotNull Map<String, double[]> data, @NotNull SignalIndicator @NotNull [] signals) {
+
+}
@@ -0,0 +1,102 @@
+package lu.forex.system.engines;
+
+import jakarta.validation.constraints.NotNull;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link SeriesKernel} on the JDK Vector API, the tails shorter than a vector run on the scalar loops. Only loaded by {@link SeriesKernels} when the
+ * {@code jdk.incubator.vector} module is present.
+ */
+public class VectorSeriesKernel extends ScalarSeriesKernel {
+
+  private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+  @Override
+  public void subtract(final double @NotNull [] a, final double @NotNull [] b, final double @NotNull [] out) {
+    final int bound = SPECIES.loopBound(out.length);
+    int i = 0;
+    for (; i < bound; i += SPECIES.length()) {
+      DoubleVector.fromArray(SPECIES, a, i).sub(DoubleVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+    }
+    for (; i < out.length; i++) {
+      out[i] = a[i] - b[i];
+    }
+  }
+
+  @Override
+  public void typicalPrice(final double @NotNull [] high, final double @NotNull [] low, final double @NotNull [] close, final double @NotNull [] out) {
+    final int bound = SPECIES.loopBound(out.length);
+    int i = 0;
+    for (; i < bound; i += SPECIES.length()) {
+      DoubleVector.fromArray(SPECIES, high, i).add(DoubleVector.fromArray(SPECIES, low, i)).add(DoubleVector.fromArray(SPECIES, close, i)).div(3D)
+          .intoArray(out, i);
+    }
+    for (; i < out.length; i++) {
+      out[i] = (high[i] + low[i] + close[i]) / 3D;
+    }
+  }
+
+  @Override
+  public void medianPrice(final double @NotNull [] high, final double @NotNull [] low, final double @NotNull [] out) {
+    final int bound = SPECIES.loopBound(out.length);
+    int i = 0;
+    for (; i < bound; i += SPECIES.length()) {
+      DoubleVector.fromArray(SPECIES, high, i).add(DoubleVector.fromArray(SPECIES, low, i)).div(2D).intoArray(out, i);
+    }
+    for (; i < out.length; i++) {
+      out[i] = (high[i] + low[i]) / 2D;
+    }
+  }
+
+  @Override
+  public void ratio(final double @NotNull [] dividend, final double @NotNull [] divisor, final double factor, final double @NotNull [] out) {
+    final int bound = SPECIES.loopBound(out.length);
+    int i = 0;
+    for (; i < bound; i += SPECIES.length()) {
+      DoubleVector.fromArray(SPECIES, dividend, i).div(DoubleVector.fromArray(SPECIES, divisor, i)).mul(factor).intoArray(out, i);
+    }
+    for (; i < out.length; i++) {
+      out[i] = factor * (dividend[i] / divisor[i]);
+    }
+  }
+
+  @Override
+  public void directionalMovement(final double @NotNull [] high, final double @NotNull [] low, final double @NotNull [] close, final double @NotNull [] trOne,
+      final double @NotNull [] pDmOne, final double @NotNull [] nDmOne) {
+    if (trOne.length == 0) {
+      return;
+    }
+    trOne[0] = Double.NaN;
+    pDmOne[0] = Double.NaN;
+    nDmOne[0] = Double.NaN;
+    final DoubleVector zero = DoubleVector.zero(SPECIES);
+    int i = 1;
+    for (; i + SPECIES.length() <= trOne.length; i += SPECIES.length()) {
+      final DoubleVector h = DoubleVector.fromArray(SPECIES, high, i);
+      final DoubleVector l = DoubleVector.fromArray(SPECIES, low, i);
+      final DoubleVector c = DoubleVector.fromArray(SPECIES, close, i);
+      h.sub(l).max(h.sub(c)).max(l.sub(DoubleVector.fromArray(SPECIES, close, i - 1)).abs()).intoArray(trOne, i);
+      final DoubleVector highMove = h.sub(DoubleVector.fromArray(SPECIES, high, i - 1));
+      final DoubleVector lowMove = DoubleVector.fromArray(SPECIES, low, i - 1).sub(l);
+      zero.blend(highMove.max(zero), highMove.compare(VectorOperators.GT, lowMove)).intoArray(pDmOne, i);
+      zero.blend(lowMove.max(zero), lowMove.compare(VectorOperators.GT, highMove)).intoArray(nDmOne, i);
+    }
+    directionalMovement(high, low, close, trOne, pDmOne, nDmOne, i);
+  }
+
+  @Override
+  public void directionalIndex(final double @NotNull [] pDi, final double @NotNull [] nDi, final double @NotNull [] out) {
+    final int bound = SPECIES.loopBound(out.length);
+    int i = 0;
+    for (; i < bound; i += SPECIES.length()) {
+      final DoubleVector p = DoubleVector.fromArray(SPECIES, pDi, i);
+      final DoubleVector n = DoubleVector.fromArray(SPECIES, nDi, i);
+      p.sub(n).abs().div(p.add(n)).mul(100D).intoArray(out, i);
+    }
+    for (; i < out.length; i++) {
+      out[i] = 100D * (Math.abs(pDi[i] - nDi[i]) / (pDi[i] + nDi[i]));
+    }
+  }
+}
@@ -74,11 +74,6 @@ public class Candlestick implements Serializable {
   @Embedded
   private CandlestickBody body;
 
-  @Exclude
-  @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
-  @JoinColumn(name = "candlestick_id")
-  private Set<MovingAverage> movingAverages = new LinkedHashSet<>();
-
   @Exclude
   @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
   @JoinColumn(name = "candlestick_id")
@@ -4,52 +4,68 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
-import jakarta.validation.constraints.PositiveOrZero;
 import java.io.Serial;
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import lombok.ToString.Exclude;
 import lu.forex.system.enums.MovingAverageType;
 import lu.forex.system.enums.PriceType;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
+/**
+ * Running state of a recursive moving average on a scope after the candlestick of the timestamp. Rows are kept every few candlesticks, the newest
+ * one follows the live series.
+ */
 @Getter
 @Setter
 @ToString
 @RequiredArgsConstructor
 @Entity
-@Table(name = "moving_average")
-public class MovingAverage implements Serializable {
+@Table(name = "moving_average_state", indexes = {
+    @Index(name = "idx_moving_average_state_spec", columnList = "scope_id, type, period, price_type, timestamp")})
+public class MovingAverageState implements Serializable {
 
   @Serial
-  private static final long serialVersionUID = -8303806047193487792L;
+  private static final long serialVersionUID = -1839024851172937705L;
 
   @Id
   @NotNull
   @GeneratedValue(strategy = GenerationType.UUID)
   @Column(name = "id", nullable = false, updatable = false, unique = true)
+  @JdbcTypeCode(SqlTypes.UUID)
   private UUID id;
 
+  @Exclude
+  @NotNull
+  @ManyToOne(fetch = FetchType.LAZY, optional = false, targetEntity = Scope.class)
+  @JoinColumn(name = "scope_id", nullable = false, updatable = false)
+  private Scope scope;
+
   @NotNull
   @Enumerated(EnumType.STRING)
   @Column(name = "type", nullable = false, updatable = false)
   @JdbcTypeCode(SqlTypes.VARCHAR)
   private MovingAverageType type;
 
-  @Positive
   @Column(name = "period", nullable = false, updatable = false)
-  @JdbcTypeCode(SqlTypes.SMALLINT)
   private int period;
 
   @NotNull
@@ -58,10 +74,18 @@ public class MovingAverage implements Serializable {
   @JdbcTypeCode(SqlTypes.VARCHAR)
   private PriceType priceType;
 
-  @PositiveOrZero
-  @Column(name = "value_ma")
+  @NotNull
+  @Temporal(TemporalType.TIMESTAMP)
+  @Column(name = "timestamp", nullable = false)
+  @JdbcTypeCode(SqlTypes.TIMESTAMP)
+  private LocalDateTime timestamp;
+
+  @Column(name = "state_count", nullable = false)
+  private long count;
+
+  @Column(name = "state_value", nullable = false)
   @JdbcTypeCode(SqlTypes.DOUBLE)
-  private Double value;
+  private double value;
 
   @Override
   public boolean equals(final Object o) {
@@ -71,12 +95,12 @@ public class MovingAverage implements Serializable {
     if (o == null || getClass() != o.getClass()) {
       return false;
     }
-    final MovingAverage that = (MovingAverage) o;
-    return getPeriod() == that.getPeriod() && getType() == that.getType() && getPriceType() == that.getPriceType();
+    final MovingAverageState that = (MovingAverageState) o;
+    return Objects.equals(getId(), that.getId());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(getType(), getPeriod(), getPriceType());
+    return Objects.hashCode(getId());
   }
 }
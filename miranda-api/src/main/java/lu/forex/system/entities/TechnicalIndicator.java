@@ -1,7 +1,7 @@
 package lu.forex.system.entities;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.Convert;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -12,15 +12,12 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import java.io.Serial;
 import java.io.Serializable;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
-import lu.forex.system.converters.DataTechnicalIndicatorConverter;
 import lu.forex.system.enums.Indicator;
 import lu.forex.system.enums.SignalIndicator;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -50,10 +47,11 @@ public class TechnicalIndicator implements Serializable {
   @JdbcTypeCode(SqlTypes.VARCHAR)
   private Indicator indicator;
 
-  @NotNull
-  @Column(name = "data_ti", nullable = false)
-  @Convert(converter = DataTechnicalIndicatorConverter.class)
-  private Map<String, Double> data = new HashMap<>();
+  /**
+   * Null once loaded when every column is null, see {@link #getData()}.
+   */
+  @Embedded
+  private TechnicalIndicatorData data = new TechnicalIndicatorData();
 
   @NotNull
   @Enumerated(EnumType.STRING)
@@ -61,6 +59,13 @@ public class TechnicalIndicator implements Serializable {
   @JdbcTypeCode(SqlTypes.VARCHAR)
   private SignalIndicator signal;
 
+  public @NotNull TechnicalIndicatorData getData() {
+    if (Objects.isNull(this.data)) {
+      this.data = new TechnicalIndicatorData();
+    }
+    return this.data;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
@@ -0,0 +1,159 @@
+package lu.forex.system.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Outputs of all the indicators as nullable numeric columns, each indicator only fills its own keys.
+ */
+@Data
+@Embeddable
+public class TechnicalIndicatorData implements Serializable {
+
+  public static final String KEY_MP = "mp";
+  public static final String KEY_AO = "ao";
+  public static final String KEY_AC = "ac";
+  public static final String KEY_TR_1 = "tr1";
+  public static final String KEY_P_DM_1 = "+dm1";
+  public static final String KEY_N_DM_1 = "-dm1";
+  public static final String KEY_P_DI_P = "+di(P)";
+  public static final String KEY_N_DI_P = "-di(P)";
+  public static final String KEY_DX = "dx";
+  public static final String KEY_ADX = "adx";
+  public static final String KEY_MACD = "macd";
+  public static final String KEY_SIGNAL = "signal";
+  public static final List<String> KEYS = List.of(KEY_MP, KEY_AO, KEY_AC, KEY_TR_1, KEY_P_DM_1, KEY_N_DM_1, KEY_P_DI_P, KEY_N_DI_P, KEY_DX, KEY_ADX,
+      KEY_MACD, KEY_SIGNAL);
+
+  @Serial
+  private static final long serialVersionUID = -3402515372845119606L;
+
+  @Column(name = "mp")
+  @JdbcTypeCode(SqlTypes.DOUBLE)
+  private Double mp;
+
+  @Column(name = "ao")
+  @JdbcTypeCode(SqlTypes.DOUBLE)
+  private Double ao;
+
+  @Column(name = "ac")
+  @JdbcTypeCode(SqlTypes.DOUBLE)
+  private Double ac;
+
+  @Column(name = "tr_one")
+  @JdbcTypeCode(SqlTypes.DOUBLE)
+  private Double trOne;
+
+  @Column(name = "p_dm_one")
+  @JdbcTypeCode(SqlTypes.DOUBLE)
+  private Double pDmOne;
+
+  @Column(name = "n_dm_one")
+  @JdbcTypeCode(SqlTypes.DOUBLE)
+  private Double nDmOne;
+
+  @Column(name = "p_di_p")
+  @JdbcTypeCode(SqlTypes.DOUBLE)
+  private Double pDiP;
+
+  @Column(name = "n_di_p")
+  @JdbcTypeCode(SqlTypes.DOUBLE)
+  private Double nDiP;
+
+  @Column(name = "dx")
+  @JdbcTypeCode(SqlTypes.DOUBLE)
+  private Double dx;
+
+  @Column(name = "adx")
+  @JdbcTypeCode(SqlTypes.DOUBLE)
+  private Double adx;
+
+  @Column(name = "macd")
+  @JdbcTypeCode(SqlTypes.DOUBLE)
+  private Double macd;
+
+  @Column(name = "macd_signal")
+  @JdbcTypeCode(SqlTypes.DOUBLE)
+  private Double macdSignal;
+
+  public Double get(final @NotNull String key) {
+    return switch (key) {
+      case KEY_MP -> this.getMp();
+      case KEY_AO -> this.getAo();
+      case KEY_AC -> this.getAc();
+      case KEY_TR_1 -> this.getTrOne();
+      case KEY_P_DM_1 -> this.getPDmOne();
+      case KEY_N_DM_1 -> this.getNDmOne();
+      case KEY_P_DI_P -> this.getPDiP();
+      case KEY_N_DI_P -> this.getNDiP();
+      case KEY_DX -> this.getDx();
+      case KEY_ADX -> this.getAdx();
+      case KEY_MACD -> this.getMacd();
+      case KEY_SIGNAL -> this.getMacdSignal();
+      default -> null;
+    };
+  }
+
+  public void put(final @NotNull String key, final Double value) {
+    switch (key) {
+      case KEY_MP -> this.setMp(value);
+      case KEY_AO -> this.setAo(value);
+      case KEY_AC -> this.setAc(value);
+      case KEY_TR_1 -> this.setTrOne(value);
+      case KEY_P_DM_1 -> this.setPDmOne(value);
+      case KEY_N_DM_1 -> this.setNDmOne(value);
+      case KEY_P_DI_P -> this.setPDiP(value);
+      case KEY_N_DI_P -> this.setNDiP(value);
+      case KEY_DX -> this.setDx(value);
+      case KEY_ADX -> this.setAdx(value);
+      case KEY_MACD -> this.setMacd(value);
+      case KEY_SIGNAL -> this.setMacdSignal(value);
+      default -> throw new IllegalArgumentException("Unexpected technical indicator key: " + key);
+    }
+  }
+
+  public static @NotNull String getColumnName(final @NotNull String key) {
+    return switch (key) {
+      case KEY_MP -> "mp";
+      case KEY_AO -> "ao";
+      case KEY_AC -> "ac";
+      case KEY_TR_1 -> "tr_one";
+      case KEY_P_DM_1 -> "p_dm_one";
+      case KEY_N_DM_1 -> "n_dm_one";
+      case KEY_P_DI_P -> "p_di_p";
+      case KEY_N_DI_P -> "n_di_p";
+      case KEY_DX -> "dx";
+      case KEY_ADX -> "adx";
+      case KEY_MACD -> "macd";
+      case KEY_SIGNAL -> "macd_signal";
+      default -> throw new IllegalArgumentException("Unexpected technical indicator key: " + key);
+    };
+  }
+
+  public @NotNull Map<String, Double> toMap() {
+    final Map<String, Double> data = new HashMap<>();
+    for (final String key : KEYS) {
+      final Double value = this.get(key);
+      if (Objects.nonNull(value)) {
+        data.put(key, value);
+      }
+    }
+    return data;
+  }
+
+  public static @NotNull TechnicalIndicatorData of(final @NotNull Map<String, Double> data) {
+    final TechnicalIndicatorData technicalIndicatorData = new TechnicalIndicatorData();
+    data.forEach(technicalIndicatorData::put);
+    return technicalIndicatorData;
+  }
+}
@@ -0,0 +1,5 @@
+package lu.forex.system.enums;
+
+public enum BatchJobStatus {
+  QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED
+}
@@ -0,0 +1,13 @@
+package lu.forex.system.enums;
+
+public enum BatchStage {
+  //@formatter:off
+  READING_TICKS,
+  GENERATING_CANDLESTICKS,
+  INIT_INDICATORS,
+  COMPUTING_INDICATORS,
+  INIT_ORDERS,
+  PROCESSING_ORDERS,
+  ACTIVATING_TRADES;
+  //@formatter:on
+}
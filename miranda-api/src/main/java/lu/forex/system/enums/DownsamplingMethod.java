@@ -0,0 +1,8 @@
+package lu.forex.system.enums;
+
+public enum DownsamplingMethod {
+  //@formatter:off
+  LTTB,
+  MIN_MAX;
+  //@formatter:on
+}
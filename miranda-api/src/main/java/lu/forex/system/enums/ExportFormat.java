@@ -0,0 +1,20 @@
+package lu.forex.system.enums;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ExportFormat {
+  //@formatter:off
+  CSV("text/csv", "csv"),
+  ARROW("application/vnd.apache.arrow.stream", "arrows"),
+  XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+  //@formatter:on
+
+  @NotBlank
+  private final String mediaType;
+  @NotBlank
+  private final String extension;
+}
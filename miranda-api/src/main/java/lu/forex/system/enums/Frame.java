@@ -1,5 +1,5 @@
 package lu.forex.system.enums;
 
 public enum Frame {
-  MINUTE, HOUR, DAY
+  MINUTE, HOUR, DAY, WEEK, MONTH
 }
@@ -2,9 +2,9 @@ package lu.forex.system.enums;
 
 import jakarta.validation.constraints.NotNull;
 import java.util.function.ToDoubleFunction;
-import java.util.stream.Stream;
 import lu.forex.system.dtos.CandlestickBodyDto;
 import lu.forex.system.dtos.CandlestickDto;
+import lu.forex.system.dtos.CandlestickPointDto;
 import lu.forex.system.entities.Candlestick;
 import lu.forex.system.entities.CandlestickBody;
 import lu.forex.system.utils.MathUtils;
@@ -25,10 +25,8 @@ public enum PriceType {
       case OPEN -> valueExtractor.applyAsDouble(OPEN);
       case HIGH -> valueExtractor.applyAsDouble(HIGH);
       case LOW -> valueExtractor.applyAsDouble(LOW);
-      case MEDIAN_PRICE ->
-          MathUtils.getDivision(MathUtils.getSum(Stream.of(valueExtractor.applyAsDouble(HIGH), valueExtractor.applyAsDouble(LOW)).toList()), 2);
-      case TYPICAL_PRICE -> MathUtils.getDivision(MathUtils.getSum(
-          Stream.of(valueExtractor.applyAsDouble(HIGH), valueExtractor.applyAsDouble(LOW), valueExtractor.applyAsDouble(CLOSE)).toList()), 3);
+      case MEDIAN_PRICE -> MathUtils.getMed(valueExtractor.applyAsDouble(HIGH), valueExtractor.applyAsDouble(LOW));
+      case TYPICAL_PRICE -> MathUtils.getMed(valueExtractor.applyAsDouble(HIGH), valueExtractor.applyAsDouble(LOW), valueExtractor.applyAsDouble(CLOSE));
     };
   }
 
@@ -54,4 +52,14 @@ public enum PriceType {
     });
   }
 
+  public double getPrice(@NotNull CandlestickPointDto candlestick) {
+    return this.getPrice(priceType -> switch (priceType) {
+      case CLOSE -> candlestick.close();
+      case OPEN -> candlestick.open();
+      case HIGH -> candlestick.high();
+      case LOW -> candlestick.low();
+      default -> throw new IllegalStateException("Unexpected value: " + priceType);
+    });
+  }
+
 }
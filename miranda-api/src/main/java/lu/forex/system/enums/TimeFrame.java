@@ -10,15 +10,17 @@ import lombok.Getter;
 @AllArgsConstructor
 public enum TimeFrame {
   //@formatter:off
-//  M1("M1", 1, Frame.MINUTE),
-//  M5("M5", 5, Frame.MINUTE),
+  M1("M1", 1, Frame.MINUTE),
+  M5("M5", 5, Frame.MINUTE),
   M15("M15", 15, Frame.MINUTE),
   M30("M30", 30, Frame.MINUTE),
   H1("H1", 1, Frame.HOUR),
-//  H2("H2", 2, Frame.HOUR),
+  H2("H2", 2, Frame.HOUR),
   H4("H4", 4, Frame.HOUR),
-//  H8("H8", 8, Frame.HOUR),
-  D1("D1", 1, Frame.DAY);
+  H8("H8", 8, Frame.HOUR),
+  D1("D1", 1, Frame.DAY),
+  W1("W1", 1, Frame.WEEK),
+  MN1("MN1", 1, Frame.MONTH);
   //@formatter:on
 
   @NotBlank
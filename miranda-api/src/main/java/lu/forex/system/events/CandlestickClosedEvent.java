@@ -0,0 +1,46 @@
+package lu.forex.system.events;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lu.forex.system.dtos.CandlestickDto;
+import lu.forex.system.dtos.ScopeDto;
+import lu.forex.system.dtos.TickDto;
+
+/**
+ * Published once per scope when a tick, or the bar close scheduler, closes the forming candlestick. The listeners run on the publishing thread, ordered, and update the
+ * closed candlestick and the orders to send back with the tick.
+ */
+@Getter
+public class CandlestickClosedEvent {
+
+  private final ScopeDto scope;
+  private final TickDto tick;
+  private final List<CandlestickDto> lastCandlesticks;
+  private final boolean closedByTime;
+  @Setter
+  private CandlestickDto candlestick;
+  @Getter(AccessLevel.NONE)
+  private final List<String> orders = new ArrayList<>();
+
+  public CandlestickClosedEvent(final @NotNull ScopeDto scope, final @NotNull TickDto tick, final @NotNull List<@NotNull CandlestickDto> lastCandlesticks,
+      final boolean closedByTime) {
+    this.scope = scope;
+    this.tick = tick;
+    this.lastCandlesticks = lastCandlesticks;
+    this.closedByTime = closedByTime;
+    this.candlestick = lastCandlesticks.getFirst();
+  }
+
+  public void addOrder(final @NotNull String order) {
+    this.orders.add(order);
+  }
+
+  public @NotNull List<@NotNull String> getOrders() {
+    return Collections.unmodifiableList(this.orders);
+  }
+}
@@ -0,0 +1,12 @@
+package lu.forex.system.events;
+
+import jakarta.validation.constraints.NotNull;
+import lu.forex.system.dtos.ScopeDto;
+import lu.forex.system.dtos.TickDto;
+
+/**
+ * Published when a tick opens a new forming candlestick on a scope.
+ */
+public record CandlestickOpenedEvent(@NotNull ScopeDto scope, @NotNull TickDto tick, long candlestickEpochMillis) {
+
+}
@@ -0,0 +1,10 @@
+package lu.forex.system.exceptions;
+
+import java.util.UUID;
+
+public class BatchJobCancelledException extends RuntimeException {
+
+  public BatchJobCancelledException(final UUID jobId, final String symbolName) {
+    super(String.format("Batch job %s cancelled on %s", jobId, symbolName));
+  }
+}
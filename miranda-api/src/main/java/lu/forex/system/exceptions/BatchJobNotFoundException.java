@@ -0,0 +1,13 @@
+package lu.forex.system.exceptions;
+
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class BatchJobNotFoundException extends RuntimeException {
+
+  public BatchJobNotFoundException(final UUID jobId) {
+    super(String.format("Batch job %s not found", jobId));
+  }
+}
@@ -0,0 +1,12 @@
+package lu.forex.system.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CandlestickColumnNotValidException extends RuntimeException {
+
+  public CandlestickColumnNotValidException(final String column) {
+    super(String.format("Candlestick column %s is not valid", column));
+  }
+}
@@ -0,0 +1,12 @@
+package lu.forex.system.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CandlestickRangeTooLargeException extends RuntimeException {
+
+  public CandlestickRangeTooLargeException(final int max) {
+    super(String.format("The range has more than %s candlesticks, narrow it with from and to", max));
+  }
+}
@@ -0,0 +1,12 @@
+package lu.forex.system.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class IndicatorParametersNotValidException extends RuntimeException {
+
+  public IndicatorParametersNotValidException(final String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,12 @@
+package lu.forex.system.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class TimeFrameNotValidException extends RuntimeException {
+
+  public TimeFrameNotValidException(final String timeFrame) {
+    super(String.format("Time frame %s is not valid or can not be derived", timeFrame));
+  }
+}
@@ -0,0 +1,116 @@
+package lu.forex.system.exports;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.dtos.CandlestickSeriesDto;
+import lu.forex.system.enums.SignalIndicator;
+import lu.forex.system.utils.TimeFrameUtils;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * Arrow IPC stream, one record batch per page.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class ArrowCandlestickExportWriter implements CandlestickExportWriter {
+
+  private static final ArrowType TIMESTAMP = new ArrowType.Timestamp(TimeUnit.MILLISECOND, null);
+  private static final ArrowType DOUBLE = new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+
+  private final List<String> indicatorColumns;
+  private final List<String> signalColumns;
+  private final BufferAllocator allocator = new RootAllocator();
+  private final VectorSchemaRoot root;
+  private final ArrowStreamWriter writer;
+
+  public ArrowCandlestickExportWriter(final @NotNull OutputStream outputStream, final @NotNull List<String> indicatorColumns,
+      final @NotNull List<String> signalColumns) throws IOException {
+    this.indicatorColumns = indicatorColumns;
+    this.signalColumns = signalColumns;
+    final List<Field> fields = new ArrayList<>();
+    fields.add(new Field(COLUMN_TIMESTAMP, FieldType.notNullable(TIMESTAMP), null));
+    List.of(COLUMN_OPEN, COLUMN_HIGH, COLUMN_LOW, COLUMN_CLOSE).forEach(column -> fields.add(new Field(column, FieldType.notNullable(DOUBLE), null)));
+    indicatorColumns.forEach(column -> fields.add(new Field(column, FieldType.nullable(DOUBLE), null)));
+    signalColumns.forEach(column -> fields.add(new Field(column, FieldType.nullable(ArrowType.Utf8.INSTANCE), null)));
+    this.root = VectorSchemaRoot.create(new Schema(fields), this.getAllocator());
+    this.writer = new ArrowStreamWriter(this.getRoot(), null, Channels.newChannel(outputStream));
+    this.getWriter().start();
+  }
+
+  @Override
+  public void write(final @NotNull CandlestickSeriesDto page) throws IOException {
+    final int size = page.t().size();
+    this.getRoot().getFieldVectors().forEach(vector -> vector.setInitialCapacity(size));
+    this.getRoot().allocateNew();
+    final TimeStampMilliVector timestamps = (TimeStampMilliVector) this.getRoot().getVector(COLUMN_TIMESTAMP);
+    for (int i = 0; i < size; i++) {
+      timestamps.set(i, TimeFrameUtils.toEpochMillis(page.t().get(i)));
+    }
+    this.setValues(COLUMN_OPEN, page.o());
+    this.setValues(COLUMN_HIGH, page.h());
+    this.setValues(COLUMN_LOW, page.l());
+    this.setValues(COLUMN_CLOSE, page.c());
+    for (final String column : this.getIndicatorColumns()) {
+      final Float8Vector vector = (Float8Vector) this.getRoot().getVector(column);
+      final List<Double> values = page.indicators().get(column);
+      for (int i = 0; i < size; i++) {
+        final Double value = values == null ? null : values.get(i);
+        if (value == null) {
+          vector.setNull(i);
+        } else {
+          vector.set(i, value);
+        }
+      }
+    }
+    for (final String column : this.getSignalColumns()) {
+      final VarCharVector vector = (VarCharVector) this.getRoot().getVector(column);
+      final List<SignalIndicator> values = page.signals().get(column);
+      for (int i = 0; i < size; i++) {
+        final SignalIndicator value = values == null ? null : values.get(i);
+        if (value == null) {
+          vector.setNull(i);
+        } else {
+          vector.setSafe(i, value.name().getBytes(StandardCharsets.UTF_8));
+        }
+      }
+    }
+    this.getRoot().setRowCount(size);
+    this.getWriter().writeBatch();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      // not closing the writer, it would close the output stream
+      this.getWriter().end();
+    } finally {
+      this.getRoot().close();
+      this.getAllocator().close();
+    }
+  }
+
+  private void setValues(final @NotNull String column, final double @NotNull [] values) {
+    final Float8Vector vector = (Float8Vector) this.getRoot().getVector(column);
+    for (int i = 0; i < values.length; i++) {
+      vector.set(i, values[i]);
+    }
+  }
+}
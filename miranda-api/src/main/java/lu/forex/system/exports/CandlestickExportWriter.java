@@ -0,0 +1,33 @@
+package lu.forex.system.exports;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import lu.forex.system.dtos.CandlestickSeriesDto;
+import lu.forex.system.enums.ExportFormat;
+
+/**
+ * Writes a candlestick export page by page, the columns are fixed when the writer is created. Closing the writer ends the document without closing
+ * the output stream.
+ */
+public interface CandlestickExportWriter extends Closeable {
+
+  String COLUMN_TIMESTAMP = "timestamp";
+  String COLUMN_OPEN = "open";
+  String COLUMN_HIGH = "high";
+  String COLUMN_LOW = "low";
+  String COLUMN_CLOSE = "close";
+
+  void write(final @NotNull CandlestickSeriesDto page) throws IOException;
+
+  static @NotNull CandlestickExportWriter of(final @NotNull ExportFormat format, final @NotNull OutputStream outputStream,
+      final @NotNull List<String> indicatorColumns, final @NotNull List<String> signalColumns) throws IOException {
+    return switch (format) {
+      case CSV -> new CsvCandlestickExportWriter(outputStream, indicatorColumns, signalColumns);
+      case ARROW -> new ArrowCandlestickExportWriter(outputStream, indicatorColumns, signalColumns);
+      case XLSX -> new XlsxCandlestickExportWriter(outputStream, indicatorColumns, signalColumns);
+    };
+  }
+}
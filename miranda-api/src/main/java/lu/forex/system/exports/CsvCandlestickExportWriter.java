@@ -0,0 +1,62 @@
+package lu.forex.system.exports;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.dtos.CandlestickSeriesDto;
+import lu.forex.system.enums.SignalIndicator;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+@Getter(AccessLevel.PRIVATE)
+public class CsvCandlestickExportWriter implements CandlestickExportWriter {
+
+  private final List<String> indicatorColumns;
+  private final List<String> signalColumns;
+  private final CSVPrinter printer;
+
+  public CsvCandlestickExportWriter(final @NotNull OutputStream outputStream, final @NotNull List<String> indicatorColumns,
+      final @NotNull List<String> signalColumns) throws IOException {
+    this.indicatorColumns = indicatorColumns;
+    this.signalColumns = signalColumns;
+    final String[] header = Stream.of(Stream.of(COLUMN_TIMESTAMP, COLUMN_OPEN, COLUMN_HIGH, COLUMN_LOW, COLUMN_CLOSE), indicatorColumns.stream(),
+        signalColumns.stream()).flatMap(stream -> stream).toArray(String[]::new);
+    this.printer = new CSVPrinter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)),
+        CSVFormat.DEFAULT.builder().setHeader(header).build());
+  }
+
+  @Override
+  public void write(final @NotNull CandlestickSeriesDto page) throws IOException {
+    final List<Object> record = new ArrayList<>(5 + this.getIndicatorColumns().size() + this.getSignalColumns().size());
+    for (int i = 0; i < page.t().size(); i++) {
+      record.clear();
+      record.add(page.t().get(i));
+      record.add(page.o()[i]);
+      record.add(page.h()[i]);
+      record.add(page.l()[i]);
+      record.add(page.c()[i]);
+      for (final String column : this.getIndicatorColumns()) {
+        final List<Double> values = page.indicators().get(column);
+        record.add(values == null ? null : values.get(i));
+      }
+      for (final String column : this.getSignalColumns()) {
+        final List<SignalIndicator> values = page.signals().get(column);
+        record.add(values == null ? null : values.get(i));
+      }
+      this.getPrinter().printRecord(record);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.getPrinter().flush();
+  }
+}
@@ -0,0 +1,100 @@
+package lu.forex.system.exports;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.dtos.CandlestickSeriesDto;
+import lu.forex.system.enums.SignalIndicator;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * Streaming workbook, only the last rows are kept in memory and the others are flushed to temporary files. A new sheet is started when a sheet is
+ * full.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class XlsxCandlestickExportWriter implements CandlestickExportWriter {
+
+  private static final int ROW_ACCESS_WINDOW = 100;
+  private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+  private final OutputStream outputStream;
+  private final List<String> indicatorColumns;
+  private final List<String> signalColumns;
+  private final SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+  private final CellStyle timestampStyle;
+  private Sheet sheet;
+  private int rowIndex;
+
+  public XlsxCandlestickExportWriter(final @NotNull OutputStream outputStream, final @NotNull List<String> indicatorColumns,
+      final @NotNull List<String> signalColumns) {
+    this.outputStream = outputStream;
+    this.indicatorColumns = indicatorColumns;
+    this.signalColumns = signalColumns;
+    this.timestampStyle = this.getWorkbook().createCellStyle();
+    this.getTimestampStyle().setDataFormat(this.getWorkbook().getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+    this.createSheet();
+  }
+
+  @Override
+  public void write(final @NotNull CandlestickSeriesDto page) {
+    for (int i = 0; i < page.t().size(); i++) {
+      if (this.getRowIndex() == MAX_ROWS) {
+        this.createSheet();
+      }
+      final Row row = this.getSheet().createRow(this.rowIndex++);
+      int cellIndex = 0;
+      row.createCell(cellIndex).setCellValue(page.t().get(i));
+      row.getCell(cellIndex++).setCellStyle(this.getTimestampStyle());
+      row.createCell(cellIndex++).setCellValue(page.o()[i]);
+      row.createCell(cellIndex++).setCellValue(page.h()[i]);
+      row.createCell(cellIndex++).setCellValue(page.l()[i]);
+      row.createCell(cellIndex++).setCellValue(page.c()[i]);
+      for (final String column : this.getIndicatorColumns()) {
+        final List<Double> values = page.indicators().get(column);
+        final Double value = values == null ? null : values.get(i);
+        if (value != null) {
+          row.createCell(cellIndex).setCellValue(value);
+        }
+        cellIndex++;
+      }
+      for (final String column : this.getSignalColumns()) {
+        final List<SignalIndicator> values = page.signals().get(column);
+        final SignalIndicator value = values == null ? null : values.get(i);
+        if (value != null) {
+          row.createCell(cellIndex).setCellValue(value.name());
+        }
+        cellIndex++;
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      this.getWorkbook().write(this.getOutputStream());
+      this.getOutputStream().flush();
+    } finally {
+      this.getWorkbook().dispose();
+      this.getWorkbook().close();
+    }
+  }
+
+  private void createSheet() {
+    this.sheet = this.getWorkbook().createSheet("candlesticks_".concat(String.valueOf(this.getWorkbook().getNumberOfSheets() + 1)));
+    final Row header = this.getSheet().createRow(0);
+    final List<String> columns = Stream.of(Stream.of(COLUMN_TIMESTAMP, COLUMN_OPEN, COLUMN_HIGH, COLUMN_LOW, COLUMN_CLOSE),
+        this.getIndicatorColumns().stream(), this.getSignalColumns().stream()).flatMap(stream -> stream).toList();
+    for (int i = 0; i < columns.size(); i++) {
+      header.createCell(i).setCellValue(columns.get(i));
+    }
+    this.rowIndex = 1;
+  }
+}
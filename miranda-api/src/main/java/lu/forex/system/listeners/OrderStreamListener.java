@@ -0,0 +1,33 @@
+package lu.forex.system.listeners;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lu.forex.system.events.CandlestickClosedEvent;
+import lu.forex.system.services.OrderStreamService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Getter(AccessLevel.PRIVATE)
+public class OrderStreamListener {
+
+  public static final int ORDER = TradeMatchingListener.ORDER + 100;
+
+  private final OrderStreamService orderStreamService;
+
+  /**
+   * The orders of a candlestick closed by a tick go back with the tick response, the ones closed by time are pushed once the close is committed.
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  @Order(ORDER)
+  public void onCandlestickClosed(final @NotNull CandlestickClosedEvent event) {
+    if (event.isClosedByTime() && !event.getOrders().isEmpty()) {
+      this.getOrderStreamService().publish(event.getScope().symbol().currencyPair().name(), event.getOrders());
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package lu.forex.system.listeners;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lu.forex.system.events.CandlestickClosedEvent;
+import lu.forex.system.services.CandlestickService;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Getter(AccessLevel.PRIVATE)
+public class SignalIndicatorListener {
+
+  public static final int ORDER = TechnicalIndicatorListener.ORDER + 100;
+
+  private final CandlestickService candlestickService;
+
+  @EventListener
+  @Order(ORDER)
+  public void onCandlestickClosed(final @NotNull CandlestickClosedEvent event) {
+    event.setCandlestick(this.getCandlestickService().processSignalIndicatorByCandlestickId(event.getCandlestick().id()));
+  }
+}
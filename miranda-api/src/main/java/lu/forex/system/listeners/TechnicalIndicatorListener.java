@@ -0,0 +1,27 @@
+package lu.forex.system.listeners;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lu.forex.system.engines.IndicatorGraph;
+import lu.forex.system.events.CandlestickClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Getter(AccessLevel.PRIVATE)
+public class TechnicalIndicatorListener {
+
+  public static final int ORDER = 100;
+
+  private final IndicatorGraph indicatorGraph;
+
+  @EventListener
+  @Order(ORDER)
+  public void onCandlestickClosed(final @NotNull CandlestickClosedEvent event) {
+    this.getIndicatorGraph().evaluate(event.getLastCandlesticks());
+  }
+}
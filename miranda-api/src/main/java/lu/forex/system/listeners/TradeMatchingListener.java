@@ -0,0 +1,48 @@
+package lu.forex.system.listeners;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lu.forex.system.dtos.CandlestickDto;
+import lu.forex.system.dtos.TradeDto;
+import lu.forex.system.enums.OrderType;
+import lu.forex.system.enums.SignalIndicator;
+import lu.forex.system.events.CandlestickClosedEvent;
+import lu.forex.system.services.TradeService;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Getter(AccessLevel.PRIVATE)
+public class TradeMatchingListener {
+
+  public static final int ORDER = SignalIndicatorListener.ORDER + 100;
+
+  private final TradeService tradeService;
+
+  @EventListener
+  @Order(ORDER)
+  public void onCandlestickClosed(final @NotNull CandlestickClosedEvent event) {
+    final CandlestickDto candlestickDto = event.getCandlestick();
+    if (SignalIndicator.NEUTRAL.equals(candlestickDto.signalIndicator())) {
+      return;
+    }
+    final Set<TradeDto> tradeDtos = this.getTradeService().getTradesForOpenPositionActivated(candlestickDto.scope(), event.getTick()).parallelStream()
+        .collect(Collectors.toSet());
+    final OrderType orderType = SignalIndicator.BULLISH.equals(candlestickDto.signalIndicator()) ? OrderType.BUY : OrderType.SELL;
+    tradeDtos.stream().collect(Collectors.groupingBy(tradeDto -> new SimpleEntry<>(tradeDto.takeProfit(), tradeDto.stopLoss()))).forEach((key, trades) ->
+        event.addOrder(String.format("%s %s %s %s %s",
+            event.getTick().timestamp(),
+            Arrays.toString(trades.stream().map(tradeDto -> tradeDto.scope().timeFrame()).sorted().toArray()),
+            orderType,
+            key.getKey(),
+            key.getValue())));
+  }
+}
@@ -0,0 +1,11 @@
+package lu.forex.system.mappers;
+
+import jakarta.validation.constraints.NotNull;
+import lu.forex.system.batchs.BatchJob;
+import lu.forex.system.dtos.BatchJobDto;
+
+public interface BatchJobMapper {
+
+  @NotNull
+  BatchJobDto toDto(final @NotNull BatchJob batchJob);
+}
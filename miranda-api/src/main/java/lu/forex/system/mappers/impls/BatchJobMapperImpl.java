@@ -0,0 +1,46 @@
+package lu.forex.system.mappers.impls;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.EnumMap;
+import java.util.List;
+import lu.forex.system.batchs.BatchJob;
+import lu.forex.system.batchs.BatchJobSymbol;
+import lu.forex.system.dtos.BatchJobDto;
+import lu.forex.system.dtos.BatchJobSymbolDto;
+import lu.forex.system.enums.BatchStage;
+import lu.forex.system.mappers.BatchJobMapper;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BatchJobMapperImpl implements BatchJobMapper {
+
+  @Override
+  public @NotNull BatchJobDto toDto(final @NotNull BatchJob batchJob) {
+    final var id = batchJob.getId();
+    final var status = batchJob.getStatus();
+    final var start = batchJob.getStart();
+    final var end = batchJob.getEnd();
+    final var cancelRequested = batchJob.isCancelRequested();
+    final var rowsProcessed = batchJob.getRowsProcessed();
+    final var throughput = batchJob.getThroughput();
+    final var etaSeconds = batchJob.getEtaSeconds().orElse(null);
+    final List<BatchJobSymbolDto> symbols = batchJob.getSymbols().values().stream().map(this::batchJobSymbolToBatchJobSymbolDto).toList();
+    return new BatchJobDto(id, status, start, end, cancelRequested, rowsProcessed, throughput, etaSeconds, symbols);
+  }
+
+  private @NotNull BatchJobSymbolDto batchJobSymbolToBatchJobSymbolDto(final @NotNull BatchJobSymbol batchJobSymbol) {
+    final var symbolName = batchJobSymbol.getSymbolName();
+    final var status = batchJobSymbol.getStatus();
+    final var stage = batchJobSymbol.getStage();
+    final var start = batchJobSymbol.getStart();
+    final var end = batchJobSymbol.getEnd();
+    final var rowsProcessed = batchJobSymbol.getRowsProcessed().get();
+    final var throughput = batchJobSymbol.getThroughput();
+    final var etaSeconds = batchJobSymbol.getEtaSeconds().orElse(null);
+    final EnumMap<BatchStage, Long> stageTimings = new EnumMap<>(BatchStage.class);
+    synchronized (batchJobSymbol.getStageTimings()) {
+      stageTimings.putAll(batchJobSymbol.getStageTimings());
+    }
+    return new BatchJobSymbolDto(symbolName, status, stage, start, end, rowsProcessed, throughput, etaSeconds, stageTimings);
+  }
+}
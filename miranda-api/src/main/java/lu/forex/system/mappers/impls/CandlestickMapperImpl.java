@@ -8,12 +8,11 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lu.forex.system.dtos.CandlestickBodyDto;
 import lu.forex.system.dtos.CandlestickDto;
-import lu.forex.system.dtos.MovingAverageDto;
 import lu.forex.system.dtos.TechnicalIndicatorDto;
 import lu.forex.system.entities.Candlestick;
 import lu.forex.system.entities.CandlestickBody;
-import lu.forex.system.entities.MovingAverage;
 import lu.forex.system.entities.TechnicalIndicator;
+import lu.forex.system.entities.TechnicalIndicatorData;
 import lu.forex.system.mappers.CandlestickMapper;
 import lu.forex.system.mappers.ScopeMapper;
 import org.springframework.stereotype.Component;
@@ -34,8 +33,6 @@ public class CandlestickMapperImpl implements CandlestickMapper {
     candlestick.setTimestamp(candlestickDto.timestamp());
     final var body = this.candlestickBodyDtoToCandlestickBody(candlestickDto.body());
     candlestick.setBody(body);
-    final var movingAverages = this.movingAverageDtoSetToMovingAverageSet(candlestickDto.movingAverages());
-    candlestick.setMovingAverages(movingAverages);
     final var technicalIndicators = this.technicalIndicatorDtoSetToTechnicalIndicatorSet(candlestickDto.technicalIndicators());
     candlestick.setTechnicalIndicators(technicalIndicators);
     candlestick.setSignalIndicator(candlestickDto.signalIndicator());
@@ -48,10 +45,9 @@ public class CandlestickMapperImpl implements CandlestickMapper {
     final var scope = this.getScopeMapper().toDto(candlestick.getScope());
     final var timestamp = candlestick.getTimestamp();
     final var body = this.candlestickBodyToCandlestickBodyDto(candlestick.getBody());
-    final var movingAverages = this.movingAverageSetToMovingAverageDtoSet(candlestick.getMovingAverages());
     final var technicalIndicators = this.technicalIndicatorSetToTechnicalIndicatorDtoSet(candlestick.getTechnicalIndicators());
     final var signalIndicator = candlestick.getSignalIndicator();
-    return new CandlestickDto(id, scope, timestamp, body, movingAverages, technicalIndicators, signalIndicator);
+    return new CandlestickDto(id, scope, timestamp, body, technicalIndicators, signalIndicator);
   }
 
   private @NotNull CandlestickBody candlestickBodyDtoToCandlestickBody(final @NotNull CandlestickBodyDto candlestickBodyDto) {
@@ -63,25 +59,11 @@ public class CandlestickMapperImpl implements CandlestickMapper {
     return candlestickBody;
   }
 
-  private @NotNull MovingAverage movingAverageDtoToMovingAverage(final @NotNull MovingAverageDto movingAverageDto) {
-    final var movingAverage = new MovingAverage();
-    movingAverage.setId(movingAverageDto.id());
-    movingAverage.setType(movingAverageDto.type());
-    movingAverage.setPeriod(movingAverageDto.period());
-    movingAverage.setPriceType(movingAverageDto.priceType());
-    movingAverage.setValue(movingAverageDto.value());
-    return movingAverage;
-  }
-
-  private @NotNull Set<@NotNull MovingAverage> movingAverageDtoSetToMovingAverageSet(final @NotNull Set<@NotNull MovingAverageDto> set) {
-    return set.stream().map(this::movingAverageDtoToMovingAverage).collect(Collectors.toSet());
-  }
-
   private @NotNull TechnicalIndicator technicalIndicatorDtoToTechnicalIndicator(final @NotNull TechnicalIndicatorDto technicalIndicatorDto) {
     final var technicalIndicator = new TechnicalIndicator();
     technicalIndicator.setId(technicalIndicatorDto.id());
     technicalIndicator.setIndicator(technicalIndicatorDto.indicator());
-    technicalIndicator.setData(technicalIndicatorDto.data());
+    technicalIndicator.setData(TechnicalIndicatorData.of(technicalIndicatorDto.data()));
     technicalIndicator.setSignal(technicalIndicatorDto.signal());
     return technicalIndicator;
   }
@@ -99,23 +81,10 @@ public class CandlestickMapperImpl implements CandlestickMapper {
     return new CandlestickBodyDto(high, low, open, close);
   }
 
-  private @NotNull MovingAverageDto movingAverageToMovingAverageDto(final @NotNull MovingAverage movingAverage) {
-    final var id = movingAverage.getId();
-    final var type = movingAverage.getType();
-    final var period = movingAverage.getPeriod();
-    final var priceType = movingAverage.getPriceType();
-    final var value = movingAverage.getValue();
-    return new MovingAverageDto(id, type, period, priceType, value);
-  }
-
-  private @NotNull Set<@NotNull MovingAverageDto> movingAverageSetToMovingAverageDtoSet(final @NotNull Set<@NotNull MovingAverage> set) {
-    return set.stream().map(this::movingAverageToMovingAverageDto).collect(Collectors.toSet());
-  }
-
   private @NotNull TechnicalIndicatorDto technicalIndicatorToTechnicalIndicatorDto(final @NotNull TechnicalIndicator technicalIndicator) {
     final var id = technicalIndicator.getId();
     final var indicator = technicalIndicator.getIndicator();
-    final var data = technicalIndicator.getData();
+    final var data = technicalIndicator.getData().toMap();
     final var signal = technicalIndicator.getSignal();
     return new TechnicalIndicatorDto(id, indicator, data, signal);
   }
@@ -1,10 +1,9 @@
 package lu.forex.system.mappers.impls;
 
 import jakarta.validation.constraints.NotNull;
-import java.util.Map.Entry;
-import java.util.stream.Collectors;
 import lu.forex.system.dtos.TechnicalIndicatorDto;
 import lu.forex.system.entities.TechnicalIndicator;
+import lu.forex.system.entities.TechnicalIndicatorData;
 import lu.forex.system.mappers.TechnicalIndicatorMapper;
 import org.springframework.stereotype.Component;
 
@@ -16,8 +15,7 @@ public class TechnicalIndicatorMapperImpl implements TechnicalIndicatorMapper {
     final var technicalIndicator = new TechnicalIndicator();
     technicalIndicator.setId(technicalIndicatorDto.id());
     technicalIndicator.setIndicator(technicalIndicatorDto.indicator());
-    final var data = technicalIndicatorDto.data().entrySet().stream().collect(Collectors.toMap(Entry::getKey, Entry::getValue));
-    technicalIndicator.setData(data);
+    technicalIndicator.setData(TechnicalIndicatorData.of(technicalIndicatorDto.data()));
     technicalIndicator.setSignal(technicalIndicatorDto.signal());
     return technicalIndicator;
   }
@@ -26,7 +24,7 @@ public class TechnicalIndicatorMapperImpl implements TechnicalIndicatorMapper {
   public @NotNull TechnicalIndicatorDto toDto(final @NotNull TechnicalIndicator technicalIndicator) {
     final var id = technicalIndicator.getId();
     final var indicator = technicalIndicator.getIndicator();
-    final var data = technicalIndicator.getData().entrySet().stream().collect(Collectors.toMap(Entry::getKey, Entry::getValue));
+    final var data = technicalIndicator.getData().toMap();
     final var signal = technicalIndicator.getSignal();
 
     return new TechnicalIndicatorDto(id, indicator, data, signal);
@@ -1,7 +1,13 @@
 package lu.forex.system.operations;
 
+import jakarta.validation.constraints.NotNull;
+import java.util.Collection;
+import java.util.UUID;
+import lu.forex.system.dtos.BatchJobDto;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
@@ -9,6 +15,18 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 public interface BatchJobsOperation {
 
   @GetMapping("/initData/start")
-  @ResponseStatus(HttpStatus.NO_CONTENT)
-  void startBatchJob();
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  BatchJobDto startBatchJob();
+
+  @GetMapping("/jobs")
+  @ResponseStatus(HttpStatus.OK)
+  Collection<BatchJobDto> getBatchJobs();
+
+  @GetMapping("/jobs/{jobId}")
+  @ResponseStatus(HttpStatus.OK)
+  BatchJobDto getBatchJob(final @PathVariable @NotNull UUID jobId);
+
+  @DeleteMapping("/jobs/{jobId}")
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  BatchJobDto cancelBatchJob(final @PathVariable @NotNull UUID jobId);
 }
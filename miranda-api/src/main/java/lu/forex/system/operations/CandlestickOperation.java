@@ -1,21 +1,62 @@
 package lu.forex.system.operations;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
-import java.util.Collection;
-import lu.forex.system.dtos.CandlestickDto;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import lu.forex.system.dtos.CandlestickSeriesDto;
+import lu.forex.system.dtos.IndicatorSweepDto;
+import lu.forex.system.enums.DownsamplingMethod;
+import lu.forex.system.enums.ExportFormat;
+import lu.forex.system.enums.Indicator;
 import lu.forex.system.enums.TimeFrame;
-import org.springframework.http.HttpStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RequestMapping("/candlesticks")
 public interface CandlestickOperation {
 
   @GetMapping("/{symbolName}/{timeFrame}")
-  @ResponseStatus(HttpStatus.OK)
-  Collection<CandlestickDto> getCandlesticks(final @PathVariable @NotBlank @Size(max = 6, min = 6) String symbolName,
-      final @PathVariable TimeFrame timeFrame);
+  ResponseEntity<CandlestickSeriesDto> getCandlesticks(final @PathVariable @NotBlank @Size(max = 6, min = 6) String symbolName, final @PathVariable TimeFrame timeFrame,
+      final @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+      final @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+      final @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime cursor,
+      final @RequestParam(defaultValue = "500") @Positive @Max(5000) int limit,
+      final @RequestParam(required = false) List<String> indicators,
+      final @RequestParam(required = false) @Min(3) @Max(10000) Integer points,
+      final @RequestParam(defaultValue = "LTTB") DownsamplingMethod downsampling, final WebRequest webRequest);
+
+  @GetMapping("/{symbolName}/derived/{timeFrame}")
+  CandlestickSeriesDto getDerivedCandlesticks(final @PathVariable @NotBlank @Size(max = 6, min = 6) String symbolName,
+      final @PathVariable @NotBlank String timeFrame, final @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+      final @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+      final @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime cursor,
+      final @RequestParam(defaultValue = "500") @Positive @Max(5000) int limit);
+
+  @PostMapping("/{symbolName}/{timeFrame}/sweep")
+  IndicatorSweepDto sweepIndicators(final @PathVariable @NotBlank @Size(max = 6, min = 6) String symbolName, final @PathVariable TimeFrame timeFrame,
+      final @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+      final @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+      final @RequestBody @NotNull Map<@NotNull Indicator, @NotNull Map<String, String>> parameters);
+
+  @GetMapping("/{symbolName}/{timeFrame}/export")
+  ResponseEntity<StreamingResponseBody> exportCandlesticks(final @PathVariable @NotBlank @Size(max = 6, min = 6) String symbolName,
+      final @PathVariable TimeFrame timeFrame, final @RequestParam(defaultValue = "CSV") ExportFormat format,
+      final @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+      final @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+      final @RequestParam(required = false) List<String> indicators);
 }
@@ -6,11 +6,13 @@ import jakarta.validation.constraints.Size;
 import java.util.Collection;
 import lu.forex.system.dtos.OrderDto;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RequestMapping("/order")
 public interface OrderOperation {
@@ -30,4 +32,7 @@ public interface OrderOperation {
   @GetMapping("/{symbolName}/takeProfit")
   @ResponseStatus(HttpStatus.OK)
   Collection<OrderDto> getOrdersTakeProfit(final @PathVariable @NotBlank @Size(max = 6, min = 6) String symbolName);
+
+  @GetMapping(value = "/{symbolName}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  SseEmitter streamOrders(final @PathVariable @NotBlank @Size(max = 6, min = 6) String symbolName);
 }
@@ -1,24 +1,32 @@
 package lu.forex.system.providers;
 
 import jakarta.validation.constraints.NotNull;
-import java.math.BigDecimal;
 import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lu.forex.system.caches.BarFeatureCache;
 import lu.forex.system.dtos.CandlestickDto;
 import lu.forex.system.dtos.TechnicalIndicatorDto;
+import lu.forex.system.engines.AcceleratorOscillatorEngine;
+import lu.forex.system.engines.BarFeature;
+import lu.forex.system.engines.IndicatorParameters;
+import lu.forex.system.engines.SeriesCache;
+import lu.forex.system.engines.SeriesKernel;
+import lu.forex.system.engines.TechnicalIndicatorEngine;
+import lu.forex.system.engines.TechnicalIndicatorSeries;
 import lu.forex.system.entities.TechnicalIndicator;
 import lu.forex.system.enums.Indicator;
 import lu.forex.system.enums.PriceType;
 import lu.forex.system.enums.SignalIndicator;
-import lu.forex.system.exceptions.TechnicalIndicatorNotFoundException;
 import lu.forex.system.mappers.TechnicalIndicatorMapper;
 import lu.forex.system.repositories.TechnicalIndicatorRepository;
 import lu.forex.system.services.TechnicalIndicatorService;
-import lu.forex.system.utils.MathUtils;
+import lu.forex.system.utils.TimeFrameUtils;
 import org.springframework.stereotype.Service;
 
 @Service("acceleratorOscillator")
@@ -29,11 +37,15 @@ public class AcceleratorOscillatorProvider implements TechnicalIndicatorService
   private static final String KEY_AC = "ac";
   private static final String KEY_AO = "ao";
   private static final String KEY_MP = "mp";
+  private static final BarFeature TYPICAL_PRICE = new BarFeature.Price(PriceType.TYPICAL_PRICE);
 
   @Getter(AccessLevel.PUBLIC)
   private final TechnicalIndicatorRepository technicalIndicatorRepository;
   @Getter(AccessLevel.PUBLIC)
   private final TechnicalIndicatorMapper technicalIndicatorMapper;
+  private final BarFeatureCache barFeatureCache;
+  @Getter(AccessLevel.PUBLIC)
+  private final Map<UUID, AcceleratorOscillatorEngine> engines = new ConcurrentHashMap<>();
 
   @Override
   public Indicator getIndicator() {
@@ -46,61 +58,80 @@ public class AcceleratorOscillatorProvider implements TechnicalIndicatorService
   }
 
   @Override
-  public void calculateTechnicalIndicator(final @NotNull List<CandlestickDto> candlestickDtos) {
-    final CandlestickDto currentCandlestick = candlestickDtos.getFirst();
-    final List<TechnicalIndicatorDto> technicalIndicatorDtos = candlestickDtos.stream().limit(34).map(
-        c -> c.technicalIndicators().stream().filter(i -> this.getIndicator().equals(i.indicator())).findFirst()
-            .orElseThrow(() -> new TechnicalIndicatorNotFoundException(currentCandlestick.scope().toString()))).toList();
-    final TechnicalIndicatorDto currentTechnicalIndicatorDto = technicalIndicatorDtos.getFirst();
+  public @NotNull Collection<String> getOutputs() {
+    return List.of(KEY_MP, KEY_AO, KEY_AC);
+  }
 
-    // set the MP value
-    final double mp = PriceType.TYPICAL_PRICE.getPrice(currentCandlestick);
-    currentTechnicalIndicatorDto.data().put(KEY_MP, mp);
+  @Override
+  public void restoreEngines(final @NotNull Map<UUID, TechnicalIndicatorEngine> engines) {
+    engines.forEach((scopeId, engine) -> {
+      if (engine instanceof AcceleratorOscillatorEngine restored) {
+        this.getEngines().put(scopeId, restored);
+      }
+    });
+  }
 
-    if (technicalIndicatorDtos.size() == 34) {
-      // get SMA(MP,34)
-      final Collection<Double> collectionSmaMp34 = technicalIndicatorDtos.stream().map(ti -> ti.data().get(KEY_MP)).toList();
-      final double smaMp34 = MathUtils.getMed(collectionSmaMp34);
+  @Override
+  public @NotNull TechnicalIndicator computeTechnicalIndicator(final @NotNull List<CandlestickDto> candlestickDtos) {
+    final CandlestickDto currentCandlestick = candlestickDtos.getFirst();
+    final TechnicalIndicatorDto currentTechnicalIndicatorDto = this.getTechnicalIndicatorDto(currentCandlestick);
+    final AcceleratorOscillatorEngine engine = this.getEngines().computeIfAbsent(currentCandlestick.scope().id(), scopeId -> new AcceleratorOscillatorEngine());
+    synchronized (engine) {
+      if (!engine.isAfter(TechnicalIndicatorEngine.getPreviousEpochMillis(candlestickDtos))) {
+        this.restoreEngine(engine, candlestickDtos);
+      }
+      engine.update(TimeFrameUtils.toEpochMillis(currentCandlestick.timestamp()), this.getBarFeatureCache().getFeatures(candlestickDtos).get(TYPICAL_PRICE));
 
-      // get SMA(MP,5)
-      final Collection<TechnicalIndicatorDto> technicalIndicatorLimit5 = technicalIndicatorDtos.stream().limit(5).toList();
-      final Collection<Double> collectionMp5 = technicalIndicatorLimit5.stream().map(ti -> ti.data().get(KEY_MP)).toList();
-      final double smaMp5 = MathUtils.getMed(collectionMp5);
+      final Map<String, Double> data = currentTechnicalIndicatorDto.data();
+      TechnicalIndicatorEngine.putValue(data, KEY_MP, engine.getMp());
+      TechnicalIndicatorEngine.putValue(data, KEY_AO, engine.getAo());
+      TechnicalIndicatorEngine.putValue(data, KEY_AC, engine.getAc());
 
-      // get SMA(MP,5) - SMA(MP,34)
-      final double ao = BigDecimal.valueOf(smaMp5).subtract(BigDecimal.valueOf(smaMp34)).doubleValue();
-      currentTechnicalIndicatorDto.data().put(KEY_AO, ao);
+      final TechnicalIndicator technicalIndicator = this.getTechnicalIndicatorMapper().toEntity(currentTechnicalIndicatorDto);
+      technicalIndicator.setSignal(this.processingSignal(engine.getAc(), engine.getLastAc(), engine.getBeforeLastAc()));
+      return technicalIndicator;
+    }
+  }
 
-      // get SMA(ao,5)
-      final Collection<Double> collectionSmaAo5 = technicalIndicatorLimit5.stream().filter(ti -> Objects.nonNull(ti.data().get(KEY_AO))).map(ti -> ti.data().get(KEY_AO)).toList();
-      if (collectionSmaAo5.size() == 5) {
-        final double smaAo5 = MathUtils.getMed(collectionSmaAo5);
+  @Override
+  public @NotNull TechnicalIndicatorSeries computeTechnicalIndicatorSeries(final @NotNull SeriesCache seriesCache,
+      final @NotNull IndicatorParameters parameters) {
+    final SeriesKernel kernel = seriesCache.getKernel();
+    final int size = seriesCache.size();
+    final double[] mp = seriesCache.getPrices(PriceType.TYPICAL_PRICE);
+    final double[] smaMpSlow = new double[size];
+    kernel.rollingMean(mp, AcceleratorOscillatorEngine.SLOW_PERIOD, smaMpSlow);
+    final double[] smaMpFast = new double[size];
+    kernel.rollingMean(mp, AcceleratorOscillatorEngine.FAST_PERIOD, smaMpFast);
+    final double[] ao = new double[size];
+    kernel.subtract(smaMpFast, smaMpSlow, ao);
+    final double[] smaAo = new double[size];
+    kernel.rollingMean(ao, AcceleratorOscillatorEngine.FAST_PERIOD, smaAo);
+    final double[] ac = new double[size];
+    kernel.subtract(ao, smaAo, ac);
 
-        // get ao - SMA(ao,5)
-        final double ac = BigDecimal.valueOf(ao).subtract(BigDecimal.valueOf(smaAo5)).doubleValue();
-        currentTechnicalIndicatorDto.data().put(KEY_AC, ac);
-      }
+    final SignalIndicator[] signals = new SignalIndicator[size];
+    for (int i = 0; i < size; i++) {
+      signals[i] = this.processingSignal(ac[i], i > 0 ? ac[i - 1] : Double.NaN, i > 1 ? ac[i - 2] : Double.NaN);
     }
+    return new TechnicalIndicatorSeries(Map.of(KEY_MP, mp, KEY_AO, ao, KEY_AC, ac), signals);
+  }
 
-    final TechnicalIndicator technicalIndicator = this.getTechnicalIndicatorMapper().toEntity(currentTechnicalIndicatorDto);
-    if(technicalIndicatorDtos.size() >= 3) {
-      technicalIndicator.setSignal(this.processingSignal(currentTechnicalIndicatorDto, technicalIndicatorDtos.get(1), technicalIndicatorDtos.get(2)));
-    } else {
-      technicalIndicator.setSignal(SignalIndicator.NEUTRAL);
+  private void restoreEngine(final @NotNull AcceleratorOscillatorEngine engine, final @NotNull List<CandlestickDto> candlestickDtos) {
+    engine.reset();
+    for (int i = Math.min(candlestickDtos.size(), AcceleratorOscillatorEngine.SLOW_PERIOD) - 1; i > 0; i--) {
+      final CandlestickDto candlestickDto = candlestickDtos.get(i);
+      final Map<String, Double> data = this.getTechnicalIndicatorDto(candlestickDto).data();
+      engine.restore(TimeFrameUtils.toEpochMillis(candlestickDto.timestamp()), TechnicalIndicatorEngine.getValue(data, KEY_MP),
+          TechnicalIndicatorEngine.getValue(data, KEY_AO), TechnicalIndicatorEngine.getValue(data, KEY_AC));
     }
-    this.getTechnicalIndicatorRepository().save(technicalIndicator);
   }
 
-  private SignalIndicator processingSignal(final @NotNull TechnicalIndicatorDto currentTechnicalIndicatorDto, final @NotNull TechnicalIndicatorDto lastTechnicalIndicatorDto, final @NotNull TechnicalIndicatorDto beforeLastTechnicalIndicatorDto) {
-    final Double currentAc = currentTechnicalIndicatorDto.data().get(KEY_AC);
-    final Double lestAc = lastTechnicalIndicatorDto.data().get(KEY_AC);
-    final Double beforeLastAc = beforeLastTechnicalIndicatorDto.data().get(KEY_AC);
-    if (Objects.nonNull(currentAc) && Objects.nonNull(lestAc) && Objects.nonNull(beforeLastAc)) {
-      final BigDecimal currentAcBigDecimal = BigDecimal.valueOf(currentAc);
-      final BigDecimal lestAcBigDecimal = BigDecimal.valueOf(lestAc);
-      if (currentAcBigDecimal.compareTo(BigDecimal.ZERO) > 0 && BigDecimal.valueOf(beforeLastAc).compareTo(lestAcBigDecimal) > 0 && lestAcBigDecimal.compareTo(currentAcBigDecimal) > 0) {
+  private SignalIndicator processingSignal(final double currentAc, final double lastAc, final double beforeLastAc) {
+    if (!Double.isNaN(currentAc) && !Double.isNaN(lastAc) && !Double.isNaN(beforeLastAc)) {
+      if (currentAc > 0D && beforeLastAc > lastAc && lastAc > currentAc) {
         return SignalIndicator.BULLISH;
-      } else if (currentAcBigDecimal.compareTo(BigDecimal.ZERO) < 0 && BigDecimal.valueOf(beforeLastAc).compareTo(lestAcBigDecimal) < 0 && lestAcBigDecimal.compareTo(currentAcBigDecimal) < 0) {
+      } else if (currentAc < 0D && beforeLastAc < lastAc && lastAc < currentAc) {
         return SignalIndicator.BEARISH;
       }
     }
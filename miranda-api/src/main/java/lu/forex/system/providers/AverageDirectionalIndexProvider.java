@@ -1,24 +1,33 @@
 package lu.forex.system.providers;
 
 import jakarta.validation.constraints.NotNull;
-import java.math.BigDecimal;
 import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import lu.forex.system.dtos.CandlestickBodyDto;
+import lu.forex.system.caches.BarFeatureCache;
 import lu.forex.system.dtos.CandlestickDto;
 import lu.forex.system.dtos.TechnicalIndicatorDto;
+import lu.forex.system.engines.AverageDirectionalIndexEngine;
+import lu.forex.system.engines.BarFeature;
+import lu.forex.system.engines.BarFeatures;
+import lu.forex.system.engines.IndicatorParameters;
+import lu.forex.system.engines.PriceSeries;
+import lu.forex.system.engines.SeriesCache;
+import lu.forex.system.engines.SeriesKernel;
+import lu.forex.system.engines.TechnicalIndicatorEngine;
+import lu.forex.system.engines.TechnicalIndicatorSeries;
 import lu.forex.system.entities.TechnicalIndicator;
 import lu.forex.system.enums.Indicator;
 import lu.forex.system.enums.SignalIndicator;
-import lu.forex.system.exceptions.TechnicalIndicatorNotFoundException;
 import lu.forex.system.mappers.TechnicalIndicatorMapper;
 import lu.forex.system.repositories.TechnicalIndicatorRepository;
 import lu.forex.system.services.TechnicalIndicatorService;
-import lu.forex.system.utils.MathUtils;
+import lu.forex.system.utils.TimeFrameUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -34,10 +43,18 @@ public class AverageDirectionalIndexProvider implements TechnicalIndicatorServic
   private static final String KEY_P_DM_1 = "+dm1";
   private static final String KEY_N_DM_1 = "-dm1";
   private static final String KEY_DX = "dx";
+  private static final BarFeature TRUE_RANGE = new BarFeature.TrueRange();
+  private static final BarFeature POSITIVE_DIRECTIONAL_MOVEMENT = new BarFeature.DirectionalMovement(true);
+  private static final BarFeature NEGATIVE_DIRECTIONAL_MOVEMENT = new BarFeature.DirectionalMovement(false);
+  private static final String PARAMETER_PERIOD = "period";
+  private static final String PARAMETER_TENDENCY_LINE = "tendencyLine";
   @Getter(AccessLevel.PUBLIC)
   private final TechnicalIndicatorRepository technicalIndicatorRepository;
   @Getter(AccessLevel.PUBLIC)
   private final TechnicalIndicatorMapper technicalIndicatorMapper;
+  private final BarFeatureCache barFeatureCache;
+  @Getter(AccessLevel.PUBLIC)
+  private final Map<UUID, AverageDirectionalIndexEngine> engines = new ConcurrentHashMap<>();
   @Value("${indicator.adx.parameters.period:14}")
   private int period;
   @Value("${indicator.adx.parameters.tendencyLine:50}")
@@ -54,103 +71,118 @@ public class AverageDirectionalIndexProvider implements TechnicalIndicatorServic
   }
 
   @Override
-  public void calculateTechnicalIndicator(final @NotNull List<CandlestickDto> candlestickDtos) {
+  public @NotNull IndicatorParameters getParameters() {
+    return new IndicatorParameters(Map.of(PARAMETER_PERIOD, String.valueOf(this.getPeriod()), PARAMETER_TENDENCY_LINE, String.valueOf(this.getTendencyLine())));
+  }
+
+  @Override
+  public @NotNull Collection<String> getOutputs() {
+    return List.of(KEY_TR_1, KEY_P_DM_1, KEY_N_DM_1, KEY_P_DI_P, KEY_N_DI_P, KEY_DX, KEY_ADX);
+  }
+
+  @Override
+  public void restoreEngines(final @NotNull Map<UUID, TechnicalIndicatorEngine> engines) {
+    engines.forEach((scopeId, engine) -> {
+      if (engine instanceof AverageDirectionalIndexEngine restored) {
+        this.getEngines().put(scopeId, restored);
+      }
+    });
+  }
+
+  @Override
+  public @NotNull TechnicalIndicator computeTechnicalIndicator(final @NotNull List<CandlestickDto> candlestickDtos) {
     final CandlestickDto currentCandlestick = candlestickDtos.getFirst();
-    final List<TechnicalIndicatorDto> technicalIndicatorDtos = candlestickDtos.stream().limit(this.getPeriod()).map(
-        c -> c.technicalIndicators().stream().filter(i -> this.getIndicator().equals(i.indicator())).findFirst()
-            .orElseThrow(() -> new TechnicalIndicatorNotFoundException(currentCandlestick.scope().toString()))).toList();
-    final TechnicalIndicatorDto currentTechnicalIndicatorDto = technicalIndicatorDtos.getFirst();
-
-    if (candlestickDtos.size() > 1) {
-      final CandlestickBodyDto candlestickCandlestickBody = currentCandlestick.body();
-      final BigDecimal cHigh = BigDecimal.valueOf(candlestickCandlestickBody.high());
-      final BigDecimal cLow = BigDecimal.valueOf(candlestickCandlestickBody.low());
-      final BigDecimal cClose = BigDecimal.valueOf(candlestickCandlestickBody.close());
-
-      final CandlestickDto lastCandlestick = candlestickDtos.get(1);
-      final CandlestickBodyDto lastCandlestickCandlestickBody = lastCandlestick.body();
-      final BigDecimal lastClose = BigDecimal.valueOf(lastCandlestickCandlestickBody.close());
-      final BigDecimal lastHigh = BigDecimal.valueOf(lastCandlestickCandlestickBody.high());
-      final BigDecimal lastLow = BigDecimal.valueOf(lastCandlestickCandlestickBody.low());
-
-      // get TR1
-      final double trOne = MathUtils.getMax(cHigh.subtract(cLow).doubleValue(), cHigh.subtract(cClose).doubleValue(),
-          Math.abs(cLow.subtract(lastClose).doubleValue()));
-      currentTechnicalIndicatorDto.data().put(KEY_TR_1, trOne);
-
-      // get +DM1
-      final double pDmOne =
-          cHigh.subtract(lastHigh).compareTo(lastLow.subtract(cLow)) > 0 ? MathUtils.getMax(cHigh.subtract(lastHigh).doubleValue(), 0D) : 0D;
-      currentTechnicalIndicatorDto.data().put(KEY_P_DM_1, pDmOne);
-
-      // get -DM1
-      final double nDmOne =
-          lastLow.subtract(cLow).compareTo(cHigh.subtract(lastHigh)) > 0 ? MathUtils.getMax(lastLow.subtract(cLow).doubleValue(), 0D) : 0D;
-      currentTechnicalIndicatorDto.data().put(KEY_N_DM_1, nDmOne);
-
-      final Collection<TechnicalIndicatorDto> technicalIndicatorLimitPeriod = technicalIndicatorDtos.stream().limit(this.getPeriod()).toList();
-      final Collection<double[]> collectionOne = technicalIndicatorLimitPeriod.stream().filter(
-              tiDto -> Objects.nonNull(tiDto.data().get(KEY_TR_1)) && Objects.nonNull(tiDto.data().get(KEY_P_DM_1)) && Objects.nonNull(
-                  tiDto.data().get(KEY_N_DM_1)))
-          .map(tiDto -> new double[]{tiDto.data().get(KEY_TR_1), tiDto.data().get(KEY_P_DM_1), tiDto.data().get(KEY_N_DM_1)}).toList();
-      if (collectionOne.size() == this.getPeriod()) {
-        // get TR(P)
-        final double trP = MathUtils.getSum(collectionOne.stream().map(doubles -> doubles[0]).toList());
-
-        // get +DM(P)
-        final double pDmP = MathUtils.getSum(collectionOne.stream().map(doubles -> doubles[1]).toList());
-
-        // get -DM(P)
-        final double nDmP = MathUtils.getSum(collectionOne.stream().map(doubles -> doubles[2]).toList());
-
-        // get +DI(P)
-        final double pDiP = MathUtils.getMultiplication(100, MathUtils.getDivision(pDmP, trP));
-        currentTechnicalIndicatorDto.data().put(KEY_P_DI_P, pDiP);
-
-        // get -DI(P)
-        final double nDiP = MathUtils.getMultiplication(100, MathUtils.getDivision(nDmP, trP));
-        currentTechnicalIndicatorDto.data().put(KEY_N_DI_P, nDiP);
-
-        // get DI diff
-        final double diDiff = Math.abs(BigDecimal.valueOf(pDiP).subtract(BigDecimal.valueOf(nDiP)).doubleValue());
-
-        // get DI sum
-        final double diSum = BigDecimal.valueOf(pDiP).add(BigDecimal.valueOf(nDiP)).doubleValue();
-
-        // get DX
-        final double dx = MathUtils.getMultiplication(100, MathUtils.getDivision(diDiff, diSum));
-        currentTechnicalIndicatorDto.data().put(KEY_DX, dx);
-
-        final Collection<Double> collectionDx = technicalIndicatorLimitPeriod.stream()
-            .filter(tiDto -> Objects.nonNull(tiDto.data().get(KEY_DX))).map(tiDto -> tiDto.data().get(KEY_DX)).toList();
-        if (collectionDx.size() == this.getPeriod()) {
-          // get ADX
-          final double adx = MathUtils.getMed(collectionDx);
-          currentTechnicalIndicatorDto.data().put(KEY_ADX, adx);
-        }
+    final TechnicalIndicatorDto currentTechnicalIndicatorDto = this.getTechnicalIndicatorDto(currentCandlestick);
+    final AverageDirectionalIndexEngine engine = this.getEngines()
+        .computeIfAbsent(currentCandlestick.scope().id(), scopeId -> new AverageDirectionalIndexEngine(this.getPeriod()));
+    synchronized (engine) {
+      if (!engine.isAfter(TechnicalIndicatorEngine.getPreviousEpochMillis(candlestickDtos))) {
+        this.restoreEngine(engine, candlestickDtos);
       }
+      final BarFeatures features = this.getBarFeatureCache().getFeatures(candlestickDtos);
+      engine.update(TimeFrameUtils.toEpochMillis(currentCandlestick.timestamp()), features.get(TRUE_RANGE), features.get(POSITIVE_DIRECTIONAL_MOVEMENT),
+          features.get(NEGATIVE_DIRECTIONAL_MOVEMENT));
+
+      final Map<String, Double> data = currentTechnicalIndicatorDto.data();
+      TechnicalIndicatorEngine.putValue(data, KEY_TR_1, engine.getTrOne());
+      TechnicalIndicatorEngine.putValue(data, KEY_P_DM_1, engine.getPDmOne());
+      TechnicalIndicatorEngine.putValue(data, KEY_N_DM_1, engine.getNDmOne());
+      TechnicalIndicatorEngine.putValue(data, KEY_P_DI_P, engine.getPDiP());
+      TechnicalIndicatorEngine.putValue(data, KEY_N_DI_P, engine.getNDiP());
+      TechnicalIndicatorEngine.putValue(data, KEY_DX, engine.getDx());
+      TechnicalIndicatorEngine.putValue(data, KEY_ADX, engine.getAdx());
+
+      final TechnicalIndicator technicalIndicator = this.getTechnicalIndicatorMapper().toEntity(currentTechnicalIndicatorDto);
+      technicalIndicator.setSignal(this.processingSignal(engine.getAdx(), engine.getPDiP(), engine.getNDiP(), this.getTendencyLine()));
+      return technicalIndicator;
     }
+  }
 
-    final TechnicalIndicator technicalIndicator = this.getTechnicalIndicatorMapper().toEntity(currentTechnicalIndicatorDto);
-    technicalIndicator.setSignal(this.processingSignal(currentTechnicalIndicatorDto));
-    this.getTechnicalIndicatorRepository().save(technicalIndicator);
+  @Override
+  public @NotNull TechnicalIndicatorSeries computeTechnicalIndicatorSeries(final @NotNull SeriesCache seriesCache,
+      final @NotNull IndicatorParameters parameters) {
+    final int period = parameters.getPositiveInt(PARAMETER_PERIOD);
+    final int tendencyLine = parameters.getInt(PARAMETER_TENDENCY_LINE);
+    final SeriesKernel kernel = seriesCache.getKernel();
+    final int size = seriesCache.size();
+    // TR1, +DM1 and -DM1 do not depend on the period
+    final double[][] directionalMovement = seriesCache.get(List.of(KEY_TR_1, KEY_P_DM_1, KEY_N_DM_1), () -> {
+      final double[][] columns = new double[3][size];
+      final PriceSeries priceSeries = seriesCache.getPriceSeries();
+      kernel.directionalMovement(priceSeries.high(), priceSeries.low(), priceSeries.close(), columns[0], columns[1], columns[2]);
+      return columns;
+    });
+    final double[] trOne = directionalMovement[0];
+    final double[] pDmOne = directionalMovement[1];
+    final double[] nDmOne = directionalMovement[2];
+
+    // +DI(P), -DI(P), DX and ADX do not depend on the tendency line
+    final double[][] directionalIndex = seriesCache.get(List.of(KEY_ADX, period), () -> {
+      // TR(P), +DM(P) and -DM(P)
+      final double[] trP = new double[size];
+      kernel.rollingSum(trOne, period, trP);
+      final double[] pDmP = new double[size];
+      kernel.rollingSum(pDmOne, period, pDmP);
+      final double[] nDmP = new double[size];
+      kernel.rollingSum(nDmOne, period, nDmP);
+
+      final double[][] columns = new double[4][size];
+      kernel.ratio(pDmP, trP, 100D, columns[0]);
+      kernel.ratio(nDmP, trP, 100D, columns[1]);
+      kernel.directionalIndex(columns[0], columns[1], columns[2]);
+      kernel.rollingMean(columns[2], period, columns[3]);
+      return columns;
+    });
+    final double[] pDiP = directionalIndex[0];
+    final double[] nDiP = directionalIndex[1];
+    final double[] dx = directionalIndex[2];
+    final double[] adx = directionalIndex[3];
+
+    final SignalIndicator[] signals = new SignalIndicator[size];
+    for (int i = 0; i < size; i++) {
+      signals[i] = this.processingSignal(adx[i], pDiP[i], nDiP[i], tendencyLine);
+    }
+    return new TechnicalIndicatorSeries(Map.of(KEY_TR_1, trOne, KEY_P_DM_1, pDmOne, KEY_N_DM_1, nDmOne, KEY_P_DI_P, pDiP, KEY_N_DI_P, nDiP, KEY_DX, dx,
+        KEY_ADX, adx), signals);
   }
 
-  private SignalIndicator processingSignal(final @NotNull TechnicalIndicatorDto currentTechnicalIndicatorDto) {
-    final Double adx = currentTechnicalIndicatorDto.data().get(KEY_ADX);
-    final Double pDiP = currentTechnicalIndicatorDto.data().get(KEY_P_DI_P);
-    final Double nDiP = currentTechnicalIndicatorDto.data().get(KEY_N_DI_P);
-    if (Objects.nonNull(adx) && Objects.nonNull(pDiP) && Objects.nonNull(nDiP)) {
-      final BigDecimal adxBigDecimal = BigDecimal.valueOf(adx);
-      if (adxBigDecimal.compareTo(BigDecimal.valueOf(this.getTendencyLine())) > 0) {
-        final BigDecimal pDiBigDecimal = BigDecimal.valueOf(pDiP);
-        final BigDecimal nDiBigDecimal = BigDecimal.valueOf(nDiP);
-        if (pDiBigDecimal.compareTo(nDiBigDecimal) > 0) {
-          return SignalIndicator.BULLISH;
-        }
-        if (pDiBigDecimal.compareTo(nDiBigDecimal) < 0) {
-          return SignalIndicator.BEARISH;
-        }
+  private void restoreEngine(final @NotNull AverageDirectionalIndexEngine engine, final @NotNull List<CandlestickDto> candlestickDtos) {
+    engine.reset();
+    for (int i = Math.min(candlestickDtos.size(), this.getPeriod()) - 1; i > 0; i--) {
+      final CandlestickDto candlestickDto = candlestickDtos.get(i);
+      final Map<String, Double> data = this.getTechnicalIndicatorDto(candlestickDto).data();
+      engine.restore(TimeFrameUtils.toEpochMillis(candlestickDto.timestamp()), TechnicalIndicatorEngine.getValue(data, KEY_TR_1), TechnicalIndicatorEngine.getValue(data, KEY_P_DM_1),
+          TechnicalIndicatorEngine.getValue(data, KEY_N_DM_1), TechnicalIndicatorEngine.getValue(data, KEY_DX));
+    }
+  }
+
+  private SignalIndicator processingSignal(final double adx, final double pDiP, final double nDiP, final int tendencyLine) {
+    if (!Double.isNaN(adx) && !Double.isNaN(pDiP) && !Double.isNaN(nDiP) && adx > tendencyLine) {
+      if (pDiP > nDiP) {
+        return SignalIndicator.BULLISH;
+      }
+      if (pDiP < nDiP) {
+        return SignalIndicator.BEARISH;
       }
     }
     return SignalIndicator.NEUTRAL;
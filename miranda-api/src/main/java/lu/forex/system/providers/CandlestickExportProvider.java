@@ -0,0 +1,68 @@
+package lu.forex.system.providers;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lu.forex.system.dtos.CandlestickPointDto;
+import lu.forex.system.dtos.CandlestickSeriesDto;
+import lu.forex.system.engines.MovingAverageEngine;
+import lu.forex.system.enums.ExportFormat;
+import lu.forex.system.exports.CandlestickExportWriter;
+import lu.forex.system.repositories.CandlestickRepository;
+import lu.forex.system.services.CandlestickExportService;
+import lu.forex.system.services.CandlestickService;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Getter(AccessLevel.PRIVATE)
+public class CandlestickExportProvider implements CandlestickExportService {
+
+  private static final LocalDateTime SERIES_MIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+  private static final LocalDateTime SERIES_MAX = LocalDateTime.of(9999, 12, 31, 0, 0);
+  private static final int PAGE_SIZE = 1000;
+
+  private final CandlestickRepository candlestickRepository;
+  private final CandlestickService candlestickService;
+  private final EntityManager entityManager;
+
+  @Override
+  public void exportCandlesticks(final @NotNull UUID scopeId, final LocalDateTime from, final LocalDateTime to,
+      final @NotNull Collection<@NotNull String> columns, final @NotNull ExportFormat format, final @NotNull OutputStream outputStream) {
+    final LocalDateTime lower = Objects.requireNonNullElse(from, SERIES_MIN);
+    final LocalDateTime upper = Objects.requireNonNullElse(to, SERIES_MAX);
+    // the last candlestick has every indicator key, it fixes the columns of the whole export
+    final CandlestickSeriesDto sample = this.getCandlestickService().getLastCandlestickSeries(scopeId, upper, columns);
+    final Map<String, MovingAverageEngine> movingAverageEngines = this.getCandlestickService().getMovingAverageEngines(scopeId, columns, lower);
+    try (final Stream<CandlestickPointDto> points = this.getCandlestickRepository().streamPointsByScope_IdAndTimestampBetweenAsc(scopeId, lower, upper);
+        final CandlestickExportWriter writer = CandlestickExportWriter.of(format, outputStream, List.copyOf(sample.indicators().keySet()),
+            List.copyOf(sample.signals().keySet()))) {
+      final Iterator<CandlestickPointDto> iterator = points.iterator();
+      final List<CandlestickPointDto> page = new ArrayList<>(PAGE_SIZE);
+      while (iterator.hasNext()) {
+        page.add(iterator.next());
+        if (page.size() == PAGE_SIZE || !iterator.hasNext()) {
+          writer.write(this.getCandlestickService().getCandlestickSeries(page, columns, null, movingAverageEngines));
+          page.clear();
+          this.getEntityManager().clear();
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
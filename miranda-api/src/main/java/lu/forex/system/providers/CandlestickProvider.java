@@ -1,54 +1,110 @@
 package lu.forex.system.providers;
 
+import jakarta.persistence.EntityManager;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import lu.forex.system.caches.CandlestickSeriesCache;
+import lu.forex.system.caches.CandlestickWindow;
+import lu.forex.system.caches.CandlestickWindowCache;
+import lu.forex.system.caches.MovingAverageRegistry;
 import lu.forex.system.dtos.CandlestickDto;
-import lu.forex.system.dtos.MovingAverageDto;
+import lu.forex.system.dtos.CandlestickPointDto;
+import lu.forex.system.dtos.CandlestickSeriesDto;
 import lu.forex.system.dtos.ScopeDto;
 import lu.forex.system.dtos.TechnicalIndicatorDto;
 import lu.forex.system.dtos.TickDto;
+import lu.forex.system.engines.MovingAverageEngine;
+import lu.forex.system.engines.MovingAverageSpec;
+import lu.forex.system.engines.PriceSeries;
+import lu.forex.system.engines.SeriesCache;
+import lu.forex.system.engines.TechnicalIndicatorEngine;
+import lu.forex.system.engines.TechnicalIndicatorSeries;
 import lu.forex.system.entities.Candlestick;
 import lu.forex.system.entities.CandlestickBody;
-import lu.forex.system.entities.MovingAverage;
 import lu.forex.system.entities.Scope;
 import lu.forex.system.entities.TechnicalIndicator;
+import lu.forex.system.enums.DownsamplingMethod;
+import lu.forex.system.enums.Indicator;
+import lu.forex.system.enums.MovingAverageType;
+import lu.forex.system.enums.PriceType;
 import lu.forex.system.enums.SignalIndicator;
+import lu.forex.system.enums.TimeFrame;
+import lu.forex.system.events.CandlestickClosedEvent;
+import lu.forex.system.events.CandlestickOpenedEvent;
+import lu.forex.system.exceptions.CandlestickColumnNotValidException;
+import lu.forex.system.exceptions.CandlestickRangeTooLargeException;
 import lu.forex.system.exceptions.CandlestickNotFoundException;
 import lu.forex.system.mappers.CandlestickMapper;
-import lu.forex.system.mappers.MovingAverageMapper;
 import lu.forex.system.mappers.ScopeMapper;
 import lu.forex.system.mappers.TechnicalIndicatorMapper;
 import lu.forex.system.repositories.CandlestickRepository;
+import lu.forex.system.repositories.IndicatorBulkRepository;
 import lu.forex.system.services.CandlestickService;
 import lu.forex.system.services.MovingAverageService;
 import lu.forex.system.services.TechnicalIndicatorService;
+import lu.forex.system.services.TickService;
+import lu.forex.system.utils.CandlestickAggregationUtils;
+import lu.forex.system.utils.DownsamplingUtils;
 import lu.forex.system.utils.OrderUtils;
 import lu.forex.system.utils.TimeFrameUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Getter(AccessLevel.PRIVATE)
 @Log4j2
 public class CandlestickProvider implements CandlestickService {
 
+  private static final LocalDateTime SERIES_MIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+  private static final LocalDateTime SERIES_MAX = LocalDateTime.of(9999, 12, 31, 0, 0);
+  private static final String COLUMN_SIGNAL = "SIGNAL";
+  private static final Pattern MOVING_AVERAGE_COLUMN = Pattern.compile("(SMA|EMA|SMMA|LWMA)_(\\d+)_([A-Z_]+)");
+
   private final CandlestickRepository candlestickRepository;
+  private final IndicatorBulkRepository indicatorBulkRepository;
   private final CandlestickMapper candlestickMapper;
   private final ScopeMapper scopeMapper;
   private final TechnicalIndicatorMapper technicalIndicatorMapper;
-  private final MovingAverageMapper movingAverageMapper;
+  private final CandlestickWindowCache candlestickWindowCache;
+  private final CandlestickSeriesCache candlestickSeriesCache;
+  private final MovingAverageRegistry movingAverageRegistry;
+  private final List<MovingAverageService> movingAverageServices;
+  private final ApplicationEventPublisher applicationEventPublisher;
+  private final EntityManager entityManager;
+  private final TickService tickService;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${timeframe.broker.offset.minutes:0}")
+  private long brokerOffsetMinutes;
+  @Value("${candlestick.series.range.max:500000}")
+  private int rangeMax;
 
   @NotNull
   @Override
@@ -62,37 +118,252 @@ public class CandlestickProvider implements CandlestickService {
     return candlestickRepository.findByScope_IdOrderByTimestampAsc(scopeId).stream().map(candlestick -> this.getCandlestickMapper().toDto(candlestick)).toList();
   }
 
-  @NotNull
   @Override
-  public CandlestickDto processingCandlestick(final @NotNull TickDto tickDto, final @NotNull ScopeDto scopeDto) {
+  public @NotNull List<@NotNull CandlestickPointDto> findCandlestickPointsAsc(final @NotNull UUID scopeId, final LocalDateTime from, final LocalDateTime to) {
+    final List<CandlestickPointDto> points = this.getCandlestickRepository().findPointsByScope_IdAndTimestampBetweenAsc(scopeId,
+        Objects.requireNonNullElse(from, SERIES_MIN), Objects.requireNonNullElse(to, SERIES_MAX), this.getRangeMax() + 1);
+    if (points.size() > this.getRangeMax()) {
+      throw new CandlestickRangeTooLargeException(this.getRangeMax());
+    }
+    return points;
+  }
+
+  @Override
+  public @NotNull CandlestickSeriesDto getCandlestickSeries(final @NotNull UUID scopeId, final LocalDateTime from, final LocalDateTime to,
+      final LocalDateTime cursor, final int limit, final @NotNull Collection<@NotNull String> columns) {
+    final Supplier<CandlestickSeriesDto> loader = () -> {
+      final LocalDateTime upper = Objects.requireNonNullElse(to, SERIES_MAX);
+      final List<CandlestickPointDto> points;
+      final LocalDateTime nextCursor;
+      if (Objects.nonNull(cursor) || Objects.nonNull(from)) {
+        final LocalDateTime lower = Objects.nonNull(cursor) ? cursor.plusNanos(1) : from;
+        final List<CandlestickPointDto> page = this.getCandlestickRepository().findPointsByScope_IdAndTimestampBetweenAsc(scopeId, lower, upper, limit + 1);
+        points = page.stream().limit(limit).toList();
+        nextCursor = page.size() > limit && !points.isEmpty() ? points.getLast().timestamp() : null;
+      } else {
+        points = this.getCandlestickRepository().findPointsByScope_IdAndTimestampBeforeDesc(scopeId, upper, limit).reversed();
+        nextCursor = null;
+      }
+      return this.toCandlestickSeries(points, columns, nextCursor, this.moveMovingAverages(this.getMovingAverageEngines(scopeId, columns, points), points));
+    };
+    return this.getCachedCandlestickSeries(new CandlestickSeriesCache.Key(scopeId, null, from, to, cursor, limit, 0, null, List.copyOf(columns)), loader);
+  }
+
+  @Override
+  public @NotNull CandlestickSeriesDto getDownsampledCandlestickSeries(final @NotNull UUID scopeId, final LocalDateTime from, final LocalDateTime to,
+      final int points, final @NotNull DownsamplingMethod method, final @NotNull Collection<@NotNull String> columns) {
+    final Supplier<CandlestickSeriesDto> loader = () -> {
+      final List<CandlestickPointDto> range = this.findCandlestickPointsAsc(scopeId, from, to);
+      // the moving averages run over the whole range, not over the points kept
+      final Map<String, Map<UUID, Double>> movingAverages = this.moveMovingAverages(this.getMovingAverageEngines(scopeId, columns, range), range);
+      return this.toCandlestickSeries(DownsamplingUtils.downsample(range, points, method), columns, null, movingAverages);
+    };
+    return this.getCachedCandlestickSeries(new CandlestickSeriesCache.Key(scopeId, null, from, to, null, 0, points, method, List.copyOf(columns)), loader);
+  }
+
+  @Override
+  public @NotNull Optional<@NotNull String> getCandlestickSeriesETag(final @NotNull UUID scopeId, final LocalDateTime from, final LocalDateTime to,
+      final LocalDateTime cursor, final int limit, final Integer points, final @NotNull DownsamplingMethod method,
+      final @NotNull Collection<@NotNull String> columns) {
+    if (!this.isClosedRange(scopeId, to)) {
+      return Optional.empty();
+    }
+    final CandlestickSeriesCache.Key key = Objects.isNull(points)
+        ? new CandlestickSeriesCache.Key(scopeId, null, from, to, cursor, limit, 0, null, List.copyOf(columns))
+        : new CandlestickSeriesCache.Key(scopeId, null, from, to, null, 0, points, method, List.copyOf(columns));
+    return Optional.of(this.getCandlestickSeriesCache().getETag(key));
+  }
+
+  private @NotNull CandlestickSeriesDto getCachedCandlestickSeries(final @NotNull CandlestickSeriesCache.Key key,
+      final @NotNull Supplier<CandlestickSeriesDto> loader) {
+    return this.isClosedRange(key.scopeId(), key.to()) ? this.getCandlestickSeriesCache().getSeries(key, loader) : loader.get();
+  }
+
+  private boolean isClosedRange(final @NotNull UUID scopeId, final LocalDateTime to) {
+    // a newer candlestick exists, every candlestick of the range is closed and will not change anymore
+    return Objects.nonNull(to) && this.getCandlestickRepository().existsByScope_IdAndTimestampGreaterThanEqual(scopeId, to);
+  }
+
+  @Override
+  public @NotNull List<@NotNull String> getCandlestickColumns(final @NotNull UUID scopeId, final @NotNull Collection<@NotNull String> columns) {
+    final CandlestickSeriesDto sample = this.getLastCandlestickSeries(scopeId, SERIES_MAX, columns);
+    return Stream.concat(sample.indicators().keySet().stream(), sample.signals().keySet().stream()).toList();
+  }
+
+  @Override
+  public @NotNull CandlestickSeriesDto getLastCandlestickSeries(final @NotNull UUID scopeId, final @NotNull LocalDateTime to,
+      final @NotNull Collection<@NotNull String> columns) {
+    return this.toCandlestickSeries(this.getCandlestickRepository().findPointsByScope_IdAndTimestampBeforeDesc(scopeId, to, 1), columns, null, Map.of());
+  }
+
+  private @NotNull Map<String, MovingAverageEngine> getMovingAverageEngines(final @NotNull UUID scopeId, final @NotNull Collection<@NotNull String> columns,
+      final @NotNull List<CandlestickPointDto> points) {
+    return points.isEmpty() ? Map.of() : this.getMovingAverageEngines(scopeId, columns, points.getFirst().timestamp());
+  }
+
+  @Override
+  public @NotNull Map<String, MovingAverageEngine> getMovingAverageEngines(final @NotNull UUID scopeId, final @NotNull Collection<@NotNull String> columns,
+      final @NotNull LocalDateTime before) {
+    final Map<String, MovingAverageEngine> engines = new LinkedHashMap<>();
+    columns.forEach(column -> parseMovingAverageColumn(column).filter(spec -> this.findMovingAverageService(spec).isPresent())
+        .ifPresent(spec -> engines.put(column, new MovingAverageEngine(spec))));
+    engines.values().forEach(engine -> this.findMovingAverageService(engine.getSpec()).orElseThrow().restoreEngine(engine, scopeId, before));
+    return engines;
+  }
+
+  @Override
+  public @NotNull CandlestickSeriesDto getCandlestickSeries(final @NotNull List<CandlestickPointDto> pointsAsc,
+      final @NotNull Collection<@NotNull String> columns, final LocalDateTime nextCursor, final @NotNull Map<String, MovingAverageEngine> movingAverageEngines) {
+    return this.toCandlestickSeries(pointsAsc, columns, nextCursor, this.moveMovingAverages(movingAverageEngines, pointsAsc));
+  }
+
+  /**
+   * Moves the running series over the ascending points and returns their values per column and candlestick.
+   */
+  private @NotNull Map<String, Map<UUID, Double>> moveMovingAverages(final @NotNull Map<String, MovingAverageEngine> engines,
+      final @NotNull List<CandlestickPointDto> points) {
+    final Map<String, Map<UUID, Double>> values = new HashMap<>();
+    engines.forEach((column, engine) -> {
+      final MovingAverageSpec spec = engine.getSpec();
+      final MovingAverageService movingAverageService = this.findMovingAverageService(spec).orElseThrow();
+      final Map<UUID, Double> columnValues = new HashMap<>();
+      for (final CandlestickPointDto point : points) {
+        movingAverageService.updateEngine(engine, TimeFrameUtils.toEpochMillis(point.timestamp()), spec.priceType().getPrice(point));
+        columnValues.put(point.id(), Double.isNaN(engine.getValue()) ? null : engine.getValue());
+      }
+      values.put(column, columnValues);
+    });
+    return values;
+  }
+
+  private @NotNull Optional<MovingAverageService> findMovingAverageService(final @NotNull MovingAverageSpec spec) {
+    return this.getMovingAverageServices().stream().filter(movingAverageService -> spec.type().equals(movingAverageService.getMovingAverageType()))
+        .findFirst();
+  }
+
+  private static @NotNull Optional<MovingAverageSpec> parseMovingAverageColumn(final @NotNull String column) {
+    final Matcher matcher = MOVING_AVERAGE_COLUMN.matcher(column);
+    if (!matcher.matches()) {
+      return Optional.empty();
+    }
+    return Optional.of(new MovingAverageSpec(MovingAverageType.valueOf(matcher.group(1)), Integer.parseInt(matcher.group(2)),
+        parseColumnEnum(PriceType.class, matcher.group(3), column)));
+  }
+
+  private @NotNull CandlestickSeriesDto toCandlestickSeries(final @NotNull List<CandlestickPointDto> points, final @NotNull Collection<@NotNull String> columns,
+      final LocalDateTime nextCursor, final @NotNull Map<String, Map<UUID, Double>> movingAverages) {
+    final Map<String, List<Double>> indicators = new LinkedHashMap<>();
+    final Map<String, List<SignalIndicator>> signals = new LinkedHashMap<>();
+    if (!points.isEmpty() && !columns.isEmpty()) {
+      final List<UUID> ids = points.stream().map(CandlestickPointDto::id).toList();
+      final boolean needsTechnicalIndicators = columns.stream().anyMatch(column -> !COLUMN_SIGNAL.equals(column) && !MOVING_AVERAGE_COLUMN.matcher(column).matches());
+      final Map<UUID, Map<Indicator, TechnicalIndicatorDto>> technicalIndicators = needsTechnicalIndicators ? this.getCandlestickRepository()
+          .findTechnicalIndicatorsByCandlestickIds(ids).stream().map(row -> new SimpleEntry<>((UUID) row[0], this.getTechnicalIndicatorMapper().toDto((TechnicalIndicator) row[1])))
+          .collect(Collectors.groupingBy(SimpleEntry::getKey, Collectors.toMap(entry -> entry.getValue().indicator(), SimpleEntry::getValue, (a, b) -> a)))
+          : Map.of();
+
+      for (final String column : columns) {
+        if (COLUMN_SIGNAL.equals(column)) {
+          signals.put(column, points.stream().map(CandlestickPointDto::signalIndicator).toList());
+        } else if (parseMovingAverageColumn(column).isPresent()) {
+          final Map<UUID, Double> values = movingAverages.getOrDefault(column, Map.of());
+          indicators.put(column, ids.stream().map(values::get).toList());
+        } else {
+          final int separator = column.indexOf('.');
+          final Indicator indicator = parseColumnEnum(Indicator.class, separator < 0 ? column : column.substring(0, separator), column);
+          final List<Optional<TechnicalIndicatorDto>> values = ids.stream()
+              .map(id -> Optional.ofNullable(technicalIndicators.getOrDefault(id, Map.of()).get(indicator))).toList();
+          final Collection<String> keys = separator < 0
+              ? values.stream().flatMap(Optional::stream).flatMap(ti -> ti.data().keySet().stream()).collect(Collectors.toCollection(TreeSet::new))
+              : List.of(column.substring(separator + 1));
+          keys.forEach(key -> indicators.put(indicator.name().concat(".").concat(key),
+              values.stream().map(ti -> ti.map(technicalIndicatorDto -> technicalIndicatorDto.data().get(key)).orElse(null)).toList()));
+          if (separator < 0) {
+            signals.put(column, values.stream().map(ti -> ti.map(TechnicalIndicatorDto::signal).orElse(null)).toList());
+          }
+        }
+      }
+    }
+
+    return new CandlestickSeriesDto(points.stream().map(CandlestickPointDto::timestamp).toList(),
+        points.stream().mapToDouble(CandlestickPointDto::open).toArray(), points.stream().mapToDouble(CandlestickPointDto::high).toArray(),
+        points.stream().mapToDouble(CandlestickPointDto::low).toArray(), points.stream().mapToDouble(CandlestickPointDto::close).toArray(),
+        indicators, signals, nextCursor);
+  }
+
+  @Override
+  public @NotNull Optional<@NotNull CandlestickClosedEvent> processingCandlestick(final @NotNull TickDto tickDto, final @NotNull ScopeDto scopeDto,
+      final @NotNull Collection<TechnicalIndicatorService> indicatorServices) {
     final double price = tickDto.bid();
-    final Scope scope = this.getScopeMapper().toEntity(scopeDto);
-    final LocalDateTime candlestickTimestamp = TimeFrameUtils.getCandlestickTimestamp(tickDto.timestamp(), scope.getTimeFrame());
-    final Candlestick candlestick = this.getCandlestickRepository().getFirstByScope_IdAndTimestamp(scope.getId(), candlestickTimestamp)
-        .orElseGet(() -> this.createCandlestick(price, scope, candlestickTimestamp));
-    candlestick.getBody().setClose(price);
-    final Candlestick savedCandlestick = this.getCandlestickRepository().save(candlestick);
-    return this.getCandlestickMapper().toDto(savedCandlestick);
+    final long candlestickEpochMillis = TimeFrameUtils.getCandlestickEpochMillis(TimeFrameUtils.toEpochMillis(tickDto.timestamp()), scopeDto.timeFrame(),
+        this.getBrokerOffsetMillis());
+    final int capacity = Math.max(1, indicatorServices.stream().mapToInt(TechnicalIndicatorService::getNumberOfCandlesticksToCalculate).max().orElse(0));
+    final CandlestickWindow window = this.getCandlestickWindowCache().getWindow(scopeDto.id(), scopeId -> this.loadCandlestickWindow(scopeDto, capacity, candlestickEpochMillis));
+    synchronized (window) {
+      this.getCandlestickWindowCache().evictOnRollback(scopeDto.id());
+      try {
+        if (window.isForming() && window.getEpochMillis() == candlestickEpochMillis) {
+          window.update(price);
+          return Optional.empty();
+        }
+        if (!window.isForming() && window.getLastClosedEpochMillis() >= candlestickEpochMillis) {
+          log.warn("Late tick {} on the candlestick of {} {} already closed, raise bar.close.grace.milliseconds to include it", tickDto.timestamp(),
+              scopeDto.symbol().currencyPair().name(), scopeDto.timeFrame());
+          return Optional.empty();
+        }
+        final Optional<CandlestickClosedEvent> closedCandlestick = window.isForming()
+            ? this.closeFormingCandlestick(window, scopeDto, tickDto, indicatorServices, false) : Optional.empty();
+        window.startCandlestick(candlestickEpochMillis, price);
+        this.getApplicationEventPublisher().publishEvent(new CandlestickOpenedEvent(scopeDto, tickDto, candlestickEpochMillis));
+        return closedCandlestick;
+      } catch (RuntimeException e) {
+        this.getCandlestickWindowCache().evict(scopeDto.id());
+        throw e;
+      }
+    }
   }
 
   @Override
-  public @NotNull CandlestickDto addingTechnicalIndicators(final @NotNull Collection<TechnicalIndicatorDto> technicalIndicators,
-      final @NotNull UUID candlestickId) {
-    final Candlestick candlestick = this.getCandlestickRepository().findById(candlestickId).orElseThrow(CandlestickNotFoundException::new);
-    final Collection<TechnicalIndicator> collection = technicalIndicators.stream()
-        .map(tiDto -> this.getTechnicalIndicatorMapper().toEntity(tiDto)).toList();
-    candlestick.getTechnicalIndicators().addAll(collection);
-    final Candlestick saved = this.getCandlestickRepository().save(candlestick);
-    return this.getCandlestickMapper().toDto(saved);
+  public @NotNull Optional<@NotNull CandlestickClosedEvent> closeCandlestickByTime(final @NotNull TickDto lastTickDto, final @NotNull ScopeDto scopeDto,
+      final long candlestickEpochMillis, final @NotNull Collection<TechnicalIndicatorService> indicatorServices) {
+    final CandlestickWindow window = this.getCandlestickWindowCache().findWindow(scopeDto.id()).orElse(null);
+    if (Objects.isNull(window)) {
+      return Optional.empty();
+    }
+    synchronized (window) {
+      if (!window.isForming() || window.getEpochMillis() != candlestickEpochMillis) {
+        return Optional.empty();
+      }
+      this.getCandlestickWindowCache().evictOnRollback(scopeDto.id());
+      try {
+        return this.closeFormingCandlestick(window, scopeDto, lastTickDto, indicatorServices, true);
+      } catch (RuntimeException e) {
+        this.getCandlestickWindowCache().evict(scopeDto.id());
+        throw e;
+      }
+    }
   }
 
   @Override
-  public @NotNull CandlestickDto addingMovingAverages(final @NotNull Collection<MovingAverageDto> movingAverages, final @NotNull UUID candlestickId) {
-    final Candlestick candlestick = this.getCandlestickRepository().findById(candlestickId).orElseThrow(CandlestickNotFoundException::new);
-    final Collection<MovingAverage> collection = movingAverages.stream().map(maDto -> this.getMovingAverageMapper().toEntity(maDto)).toList();
-    candlestick.getMovingAverages().addAll(collection);
-    final Candlestick saved = this.getCandlestickRepository().save(candlestick);
-    return this.getCandlestickMapper().toDto(saved);
+  public void flushFormingCandlesticks() {
+    this.getCandlestickWindowCache().forEachWindow((scopeId, window) -> {
+      synchronized (window) {
+        if (!window.isForming() || !window.isUnflushed()) {
+          return;
+        }
+        this.getCandlestickWindowCache().evictOnRollback(scopeId);
+        // bulk update, the candlestick listener and the eager children are left alone until the candlestick closes
+        if (Objects.isNull(window.getId()) || this.getCandlestickRepository().updateBodyById(window.getId(), window.getHigh(), window.getLow(), window.getClose()) == 0) {
+          final Candlestick candlestick = this.createCandlestick(window.getOpen(), this.getEntityManager().getReference(Scope.class, scopeId), window.getTimestamp());
+          candlestick.getBody().setHigh(window.getHigh());
+          candlestick.getBody().setLow(window.getLow());
+          candlestick.getBody().setClose(window.getClose());
+          window.flushed(this.getCandlestickRepository().save(candlestick).getId());
+        } else {
+          window.flushed(window.getId());
+        }
+      }
+    });
   }
 
   @Override
@@ -104,31 +375,28 @@ public class CandlestickProvider implements CandlestickService {
   }
 
   @Override
-  public @NotNull Collection<CandlestickDto> readTicksToGenerateCandlesticks(final @NotNull ScopeDto scopeDto, final @NotNull Collection<TickDto> tickDtoList) {
-    log.info("Starting readTicksToGenerateCandlesticks({}, {})",scopeDto.symbol().currencyPair().name(), scopeDto.timeFrame());
-    final var scope = this.getScopeMapper().toEntity(scopeDto);
-    final var candlesticks = tickDtoList.stream()
-        .collect(Collectors.groupingBy(
-            tickDto -> TimeFrameUtils.getCandlestickTimestamp(tickDto.timestamp(), scopeDto.timeFrame()),
-            Collectors.collectingAndThen(
-                Collectors.toList(),
-                list ->  list.stream().sorted(Comparator.comparing(TickDto::timestamp)).map(TickDto::bid).toList()
-                )))
-        .entrySet().stream().map(entry -> {
-          final var candlestickBody = new CandlestickBody();
-          candlestickBody.setOpen(entry.getValue().getFirst());
-          candlestickBody.setClose(entry.getValue().getLast());
-          candlestickBody.setHigh(entry.getValue().stream().max(Comparator.comparingDouble(value -> value)).orElseThrow());
-          candlestickBody.setLow(entry.getValue().stream().min(Comparator.comparingDouble(value -> value)).orElseThrow());
-
-          final var candlestick = new Candlestick();
-          candlestick.setScope(scope);
-          candlestick.setTimestamp(entry.getKey());
-          candlestick.setBody(candlestickBody);
-
-          return candlestick;
-        }).toList();
-    log.info("Ending readTicksToGenerateCandlesticks({}, {})",scopeDto.symbol().currencyPair().name(), scopeDto.timeFrame());
+  public @NotNull Collection<CandlestickDto> readTicksToGenerateCandlesticks(final @NotNull Collection<ScopeDto> scopeDtos, final @NotNull List<TickDto> tickDtoListSorted) {
+    final Set<TimeFrame> timeFrames = scopeDtos.stream().map(ScopeDto::timeFrame).collect(Collectors.toSet());
+    log.info("Starting readTicksToGenerateCandlesticks({})", timeFrames);
+    final var candlesticksByTimeFrame = CandlestickAggregationUtils.aggregate(timeFrames, tickDtoListSorted, this.getBrokerOffsetMillis());
+    final var candlesticks = scopeDtos.stream().flatMap(scopeDto -> {
+      final var scope = this.getScopeMapper().toEntity(scopeDto);
+      return candlesticksByTimeFrame.get(scopeDto.timeFrame()).stream().map(entry -> {
+        final var candlestickBody = new CandlestickBody();
+        candlestickBody.setOpen(entry.getValue().open());
+        candlestickBody.setClose(entry.getValue().close());
+        candlestickBody.setHigh(entry.getValue().high());
+        candlestickBody.setLow(entry.getValue().low());
+
+        final var candlestick = new Candlestick();
+        candlestick.setScope(scope);
+        candlestick.setTimestamp(entry.getKey());
+        candlestick.setBody(candlestickBody);
+
+        return candlestick;
+      });
+    }).toList();
+    log.info("Ending readTicksToGenerateCandlesticks({})", timeFrames);
     return this.getCandlestickRepository().saveAll(candlesticks).stream().map(candlestick -> this.getCandlestickMapper().toDto(candlestick)).toList();
   }
 
@@ -146,39 +414,149 @@ public class CandlestickProvider implements CandlestickService {
     return this.getCandlestickRepository().saveAll(candlesticksToSave).stream().map(candlestick -> this.getCandlestickMapper().toDto(candlestick));
   }
 
-  @Override
-  public @NotNull Stream<CandlestickDto> initAveragesToCandlesticks(final @NotNull Stream<SimpleEntry<Collection<MovingAverageDto>, CandlestickDto>> candlesticksToSave) {
-    log.info("Starting initAveragesOnCandlesticks()");
-    final Collection<Candlestick> toSave = candlesticksToSave.map(entry -> {
-      final var candlestick = this.getCandlestickMapper().toEntity(entry.getValue());
-      final Collection<MovingAverage> collection = entry.getKey().stream().map(maDto -> this.getMovingAverageMapper().toEntity(maDto)).toList();
-      candlestick.getMovingAverages().addAll(collection);
-      return candlestick;
-    }).toList();
-    log.info("Ending initAveragesOnCandlesticks()");
-    return this.getCandlestickRepository().saveAll(toSave).stream().map(entry -> this.getCandlestickMapper().toDto(entry));
-  }
-
   @Override
   public @NotNull Stream<CandlestickDto> computingIndicatorsByInit(final @NotNull Collection<TechnicalIndicatorService> indicatorServices, final @NotNull Collection<MovingAverageService> movingAverageServices,
-      final @NotNull Map<UUID, List<List<UUID>>> groupLastCandlesticksDto) {
+      final @NotNull Collection<@NotNull CandlestickDto> candlesticks) {
     log.info("Starting computingIndicatorsByInit()");
-    final Collection<Candlestick> collection = groupLastCandlesticksDto.entrySet().stream().flatMap(entry -> entry.getValue().stream().map(candlestickIds -> {
-      final List<CandlestickDto> lastCandlesticks = candlestickIds.stream().map(uuid -> this.getCandlestickRepository().findById(uuid).orElseThrow()).map(candlestick -> this.getCandlestickMapper().toDto(candlestick)).toList();
-      movingAverageServices.forEach(movingAverageService -> movingAverageService.calculateMovingAverage(lastCandlesticks));
-      indicatorServices.forEach(indicatorService -> indicatorService.calculateTechnicalIndicator(lastCandlesticks));
-      return lastCandlesticks.getFirst();
-    })).map(candlestickDto -> {
-      final Candlestick candlestick = this.getCandlestickRepository().findById(candlestickDto.id()).orElseThrow();
-      final SignalIndicator signalIndicator = OrderUtils.getSignalIndicator(candlestick.getTechnicalIndicators());
-      candlestick.setSignalIndicator(signalIndicator);
-      return candlestick;
-    }).toList();
+    final int windowSize = Math.max(1, indicatorServices.stream().mapToInt(TechnicalIndicatorService::getNumberOfCandlesticksToCalculate).max().orElse(0));
+    // the scopes are independent, each one is a fork-join task over its own candlesticks, written in its own transaction as the workers are not
+    // bound to the one of the caller
+    final List<CandlestickDto> candlesticksComputed = candlesticks.stream().collect(Collectors.groupingBy(candlestickDto -> candlestickDto.scope().id()))
+        .values().parallelStream().flatMap(scopeCandlesticks -> Objects.requireNonNull(this.getTransactionTemplate()
+            .execute(status -> this.computingIndicatorsByScope(indicatorServices, movingAverageServices, scopeCandlesticks, windowSize))).stream()).toList();
     log.info("Ending computingIndicatorsByInit()");
+    log.warn("nº Candlestick not Neutral: {}", candlesticksComputed.stream().filter(candlestick -> !SignalIndicator.NEUTRAL.equals(candlestick.signalIndicator())).count());
+    return candlesticksComputed.stream();
+  }
+
+  private @NotNull List<CandlestickDto> computingIndicatorsByScope(final @NotNull Collection<TechnicalIndicatorService> indicatorServices,
+      final @NotNull Collection<MovingAverageService> movingAverageServices, final @NotNull List<CandlestickDto> scopeCandlesticks, final int windowSize) {
+    final CandlestickDto[] candlesticks = scopeCandlesticks.stream().sorted(Comparator.comparing(CandlestickDto::timestamp)).toArray(CandlestickDto[]::new);
+    final int size = candlesticks.length;
+    final double[] open = new double[size];
+    final double[] high = new double[size];
+    final double[] low = new double[size];
+    final double[] close = new double[size];
+    final Map<Indicator, UUID[]> technicalIndicatorIds = new EnumMap<>(Indicator.class);
+    for (int i = 0; i < size; i++) {
+      final CandlestickDto candlestick = candlesticks[i];
+      open[i] = candlestick.body().open();
+      high[i] = candlestick.body().high();
+      low[i] = candlestick.body().low();
+      close[i] = candlestick.body().close();
+      for (final TechnicalIndicatorDto technicalIndicatorDto : candlestick.technicalIndicators()) {
+        technicalIndicatorIds.computeIfAbsent(technicalIndicatorDto.indicator(), indicator -> new UUID[size])[i] = technicalIndicatorDto.id();
+      }
+    }
+
+    // the whole history is known, every indicator is computed column by column, the moving averages first as MACD reads them
+    final Map<MovingAverageSpec, double[]> movingAverages = new HashMap<>();
+    final PriceSeries priceSeries = new PriceSeries(open, high, low, close, movingAverages, windowSize);
+    final LocalDateTime[] timestamps = Arrays.stream(candlesticks).map(CandlestickDto::timestamp).toArray(LocalDateTime[]::new);
+    this.getMovingAverageRegistry().getSpecs().forEach(spec -> movingAverageServices.stream().filter(service -> spec.type().equals(service.getMovingAverageType())).findFirst()
+        .ifPresent(service -> {
+          final double[] values = service.computeMovingAverageSeries(priceSeries, spec);
+          movingAverages.put(spec, values);
+          // the live series restart from the end of the backfill
+          service.storeSeries(candlesticks[0].scope().id(), spec, timestamps, values);
+        }));
+    final SeriesCache seriesCache = new SeriesCache(priceSeries);
+    final Map<Indicator, TechnicalIndicatorSeries> technicalIndicators = new EnumMap<>(Indicator.class);
+    indicatorServices.forEach(service -> technicalIndicators.put(service.getIndicator(),
+        service.computeTechnicalIndicatorSeries(seriesCache, service.getParameters())));
+
+    final UUID[] changedSignalIds = new UUID[size];
+    final SignalIndicator[] signalIndicators = new SignalIndicator[size];
+    for (int i = 0; i < size; i++) {
+      final int index = i;
+      signalIndicators[i] = OrderUtils.getSignalIndicator(technicalIndicators.values().stream().map(series -> series.signals()[index]).toArray(SignalIndicator[]::new));
+      if (!signalIndicators[i].equals(candlesticks[i].signalIndicator())) {
+        changedSignalIds[i] = candlesticks[i].id();
+      }
+    }
+
+    technicalIndicators.forEach((indicator, series) -> this.getIndicatorBulkRepository()
+        .updateTechnicalIndicators(technicalIndicatorIds.getOrDefault(indicator, new UUID[size]), series));
+    this.getIndicatorBulkRepository().updateSignalIndicators(changedSignalIds, signalIndicators);
+
+    for (int i = 0; i < size; i++) {
+      final int index = i;
+      final CandlestickDto candlestick = candlesticks[i];
+      final Set<TechnicalIndicatorDto> technicalIndicatorDtos = candlestick.technicalIndicators().stream().map(technicalIndicatorDto -> {
+        final TechnicalIndicatorSeries series = technicalIndicators.get(technicalIndicatorDto.indicator());
+        if (Objects.isNull(series)) {
+          return technicalIndicatorDto;
+        }
+        final Map<String, Double> data = new HashMap<>();
+        series.data().forEach((key, values) -> TechnicalIndicatorEngine.putValue(data, key, values[index]));
+        return new TechnicalIndicatorDto(technicalIndicatorDto.id(), technicalIndicatorDto.indicator(), data, series.signals()[index]);
+      }).collect(Collectors.toCollection(LinkedHashSet::new));
+      candlesticks[i] = new CandlestickDto(candlestick.id(), candlestick.scope(), candlestick.timestamp(), candlestick.body(), technicalIndicatorDtos,
+          signalIndicators[i]);
+    }
+    return Arrays.asList(candlesticks);
+  }
+
+  private @NotNull CandlestickWindow loadCandlestickWindow(final @NotNull ScopeDto scopeDto, final int capacity, final long nowEpochMillis) {
+    final CandlestickWindow window = new CandlestickWindow(capacity, this.findCandlesticksDescWithLimit(scopeDto.id(), capacity + 1));
+    final Optional<TickDto> lastTick = this.getTickService().getLastTickBySymbol(scopeDto.symbol());
+    if (lastTick.isEmpty()) {
+      return window;
+    }
+    final long lastTickEpochMillis = TimeFrameUtils.getCandlestickEpochMillis(TimeFrameUtils.toEpochMillis(lastTick.get().timestamp()), scopeDto.timeFrame(),
+        this.getBrokerOffsetMillis());
+    window.resume(lastTickEpochMillis, nowEpochMillis).ifPresent(epochMillis -> this.getTickService().getCandlestickBodyBySymbol(scopeDto.symbol(),
+            TimeFrameUtils.toLocalDateTime(epochMillis),
+            TimeFrameUtils.toLocalDateTime(TimeFrameUtils.getNextCandlestickEpochMillis(epochMillis, scopeDto.timeFrame(), this.getBrokerOffsetMillis())))
+        .ifPresent(body -> window.restore(epochMillis, body)));
+    return window;
+  }
+
+  private long getBrokerOffsetMillis() {
+    return this.getBrokerOffsetMinutes() * TimeFrameUtils.MINUTE_MILLIS;
+  }
+
+  private @NotNull Optional<CandlestickClosedEvent> closeFormingCandlestick(final @NotNull CandlestickWindow window, final @NotNull ScopeDto scopeDto,
+      final @NotNull TickDto tickDto, final @NotNull Collection<TechnicalIndicatorService> indicatorServices, final boolean closedByTime) {
+    final Optional<CandlestickClosedEvent> closedCandlestick;
+    if (window.isDirty()) {
+      closedCandlestick = Optional.of(this.closeCandlestick(window, scopeDto, tickDto, indicatorServices, closedByTime));
+    } else {
+      Optional.ofNullable(window.getCandlestick()).ifPresent(window::addClosedCandlestick);
+      closedCandlestick = Optional.empty();
+    }
+    window.close();
+    return closedCandlestick;
+  }
+
+  private @NotNull CandlestickClosedEvent closeCandlestick(final @NotNull CandlestickWindow window, final @NotNull ScopeDto scopeDto, final @NotNull TickDto tickDto,
+      final @NotNull Collection<TechnicalIndicatorService> indicatorServices, final boolean closedByTime) {
+    final Scope scope = this.getScopeMapper().toEntity(scopeDto);
+    final Candlestick candlestick = Optional.ofNullable(window.getId()).flatMap(this.getCandlestickRepository()::findById)
+        .or(() -> this.getCandlestickRepository().getFirstByScope_IdAndTimestamp(scope.getId(), window.getTimestamp()))
+        .orElseGet(() -> this.createCandlestick(window.getOpen(), scope, window.getTimestamp()));
+    candlestick.getBody().setHigh(window.getHigh());
+    candlestick.getBody().setLow(window.getLow());
+    candlestick.getBody().setClose(window.getClose());
+
+    if (candlestick.getTechnicalIndicators().isEmpty()) {
+      indicatorServices.stream().map(TechnicalIndicatorService::initTechnicalIndicator).map(tiDto -> this.getTechnicalIndicatorMapper().toEntity(tiDto))
+          .forEach(candlestick.getTechnicalIndicators()::add);
+    }
+    final CandlestickDto savedCandlestick = this.getCandlestickMapper().toDto(this.getCandlestickRepository().save(candlestick));
+
+    final CandlestickClosedEvent event = new CandlestickClosedEvent(scopeDto, tickDto, window.getLastCandlesticks(savedCandlestick), closedByTime);
+    this.getApplicationEventPublisher().publishEvent(event);
+    window.addClosedCandlestick(event.getCandlestick());
+    return event;
+  }
 
-    final List<Candlestick> candlesticks = this.getCandlestickRepository().saveAll(collection);
-    log.warn("nº Candlestick not Neutral: {}", candlesticks.stream().filter(candlestick -> !SignalIndicator.NEUTRAL.equals(candlestick.getSignalIndicator())).count());
-    return candlesticks.stream().map(candlestick -> this.getCandlestickMapper().toDto(candlestick));
+  private static <E extends Enum<E>> @NotNull E parseColumnEnum(final @NotNull Class<E> enumClass, final @NotNull String name, final @NotNull String column) {
+    try {
+      return Enum.valueOf(enumClass, name);
+    } catch (IllegalArgumentException e) {
+      throw new CandlestickColumnNotValidException(column);
+    }
   }
 
   private @NotNull Candlestick createCandlestick(final double price, final @NotNull Scope scope, final @NotNull LocalDateTime timestamp) {
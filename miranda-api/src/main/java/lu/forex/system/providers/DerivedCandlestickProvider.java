@@ -0,0 +1,97 @@
+package lu.forex.system.providers;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lu.forex.system.caches.CandlestickSeriesCache;
+import lu.forex.system.dtos.CandlestickPointDto;
+import lu.forex.system.dtos.CandlestickSeriesDto;
+import lu.forex.system.dtos.ScopeDto;
+import lu.forex.system.exceptions.TimeFrameNotValidException;
+import lu.forex.system.repositories.CandlestickRepository;
+import lu.forex.system.services.DerivedCandlestickService;
+import lu.forex.system.services.ScopeService;
+import lu.forex.system.utils.CandlestickAggregationUtils;
+import lu.forex.system.utils.TimeFrameUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Getter(AccessLevel.PRIVATE)
+public class DerivedCandlestickProvider implements DerivedCandlestickService {
+
+  private static final LocalDateTime SERIES_MAX = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+  private final CandlestickRepository candlestickRepository;
+  private final CandlestickSeriesCache candlestickSeriesCache;
+  private final ScopeService scopeService;
+
+  @Value("${timeframe.broker.offset.minutes:0}")
+  private long brokerOffsetMinutes;
+
+  @Override
+  public @NotNull CandlestickSeriesDto getDerivedCandlestickSeries(final @NotNull String symbolName, final @NotNull String timeFrame,
+      final LocalDateTime from, final LocalDateTime to, final LocalDateTime cursor, final int limit) {
+    final long widthMillis = TimeFrameUtils.getDerivedWidthMillis(timeFrame).orElseThrow(() -> new TimeFrameNotValidException(timeFrame));
+    final Collection<ScopeDto> scopes = this.getScopeService().getScopesBySymbolName(symbolName);
+    final ScopeDto baseScope = TimeFrameUtils.getDerivedBaseTimeFrame(widthMillis, scopes.stream().map(ScopeDto::timeFrame).toList(),
+            this.getBrokerOffsetMillis())
+        .flatMap(baseTimeFrame -> scopes.stream().filter(scopeDto -> baseTimeFrame.equals(scopeDto.timeFrame())).findFirst())
+        .orElseThrow(() -> new TimeFrameNotValidException(timeFrame));
+    final int ratio = Math.toIntExact(widthMillis / TimeFrameUtils.getWidthMillis(baseScope.timeFrame()));
+    final int baseLimit = Math.multiplyExact(limit + 1, ratio);
+    // the derived candlestick cut by an unaligned end is incomplete, the range ends on the boundary before it
+    final LocalDateTime alignedTo = Objects.isNull(to) ? null : TimeFrameUtils.toLocalDateTime(
+        TimeFrameUtils.getDerivedCandlestickEpochMillis(TimeFrameUtils.toEpochMillis(to), widthMillis, this.getBrokerOffsetMillis()));
+
+    final Supplier<CandlestickSeriesDto> loader = () -> {
+      final LocalDateTime upper = Objects.requireNonNullElse(alignedTo, SERIES_MAX);
+      final List<CandlestickPointDto> derived;
+      final LocalDateTime nextCursor;
+      if (Objects.nonNull(cursor) || Objects.nonNull(from)) {
+        final long lower = Objects.nonNull(cursor) ? TimeFrameUtils.toEpochMillis(cursor) + widthMillis : TimeFrameUtils.toEpochMillis(from);
+        final List<CandlestickPointDto> basePoints = this.getCandlestickRepository().findPointsByScope_IdAndTimestampBetweenAsc(baseScope.id(),
+            TimeFrameUtils.toLocalDateTime(TimeFrameUtils.getDerivedCandlestickEpochMillis(lower, widthMillis, this.getBrokerOffsetMillis())), upper, baseLimit);
+        final List<CandlestickPointDto> aggregated = CandlestickAggregationUtils.aggregatePoints(basePoints, widthMillis, this.getBrokerOffsetMillis());
+        // the base page is full, its last derived candlestick may be cut and is left for the next page
+        final boolean hasNext = basePoints.size() == baseLimit;
+        derived = hasNext ? aggregated.subList(0, Math.min(limit, aggregated.size() - 1)) : aggregated.subList(0, Math.min(limit, aggregated.size()));
+        nextCursor = hasNext && !derived.isEmpty() ? derived.getLast().timestamp() : null;
+      } else {
+        final List<CandlestickPointDto> aggregated = CandlestickAggregationUtils.aggregatePoints(
+            this.getCandlestickRepository().findPointsByScope_IdAndTimestampBeforeDesc(baseScope.id(), upper, baseLimit).reversed(), widthMillis,
+            this.getBrokerOffsetMillis());
+        derived = aggregated.subList(Math.max(0, aggregated.size() - limit), aggregated.size());
+        nextCursor = null;
+      }
+      return toCandlestickSeries(derived, nextCursor);
+    };
+    final CandlestickSeriesCache.Key key = new CandlestickSeriesCache.Key(baseScope.id(), timeFrame, from, alignedTo, cursor, limit, 0, null, List.of());
+    return this.isClosedRange(baseScope.id(), alignedTo) ? this.getCandlestickSeriesCache().getSeries(key, loader) : loader.get();
+  }
+
+  private boolean isClosedRange(final @NotNull UUID scopeId, final LocalDateTime to) {
+    // a newer candlestick exists, every candlestick of the range is closed and will not change anymore
+    return Objects.nonNull(to) && this.getCandlestickRepository().existsByScope_IdAndTimestampGreaterThanEqual(scopeId, to);
+  }
+
+  private long getBrokerOffsetMillis() {
+    return this.getBrokerOffsetMinutes() * TimeFrameUtils.MINUTE_MILLIS;
+  }
+
+  private static @NotNull CandlestickSeriesDto toCandlestickSeries(final @NotNull List<CandlestickPointDto> points, final LocalDateTime nextCursor) {
+    return new CandlestickSeriesDto(points.stream().map(CandlestickPointDto::timestamp).toList(),
+        points.stream().mapToDouble(CandlestickPointDto::open).toArray(), points.stream().mapToDouble(CandlestickPointDto::high).toArray(),
+        points.stream().mapToDouble(CandlestickPointDto::low).toArray(), points.stream().mapToDouble(CandlestickPointDto::close).toArray(),
+        new LinkedHashMap<>(), new LinkedHashMap<>(), nextCursor);
+  }
+}
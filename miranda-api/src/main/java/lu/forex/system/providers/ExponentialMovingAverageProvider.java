@@ -2,24 +2,30 @@ package lu.forex.system.providers;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
-import java.util.Collection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lu.forex.system.caches.MovingAverageRegistry;
 import lu.forex.system.dtos.CandlestickDto;
-import lu.forex.system.dtos.MovingAverageDto;
-import lu.forex.system.entities.Candlestick;
-import lu.forex.system.entities.MovingAverage;
+import lu.forex.system.dtos.CandlestickPointDto;
+import lu.forex.system.engines.MovingAverageEngine;
+import lu.forex.system.engines.MovingAverageSpec;
+import lu.forex.system.engines.PriceSeries;
+import lu.forex.system.entities.MovingAverageState;
 import lu.forex.system.enums.MovingAverageType;
-import lu.forex.system.enums.PriceType;
-import lu.forex.system.mappers.CandlestickMapper;
-import lu.forex.system.mappers.MovingAverageMapper;
-import lu.forex.system.repositories.MovingAverageRepository;
+import lu.forex.system.repositories.CandlestickRepository;
+import lu.forex.system.repositories.MovingAverageStateRepository;
+import lu.forex.system.repositories.ScopeRepository;
 import lu.forex.system.services.MovingAverageService;
 import lu.forex.system.utils.MathUtils;
+import lu.forex.system.utils.TimeFrameUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service("exponentialMovingAverage")
@@ -27,11 +33,16 @@ import org.springframework.stereotype.Service;
 @Getter(AccessLevel.PRIVATE)
 public class ExponentialMovingAverageProvider implements MovingAverageService {
 
+  private static final LocalDateTime SERIES_MIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
   @Getter(AccessLevel.PUBLIC)
-  private final MovingAverageRepository movingAverageRepository;
-  @Getter(AccessLevel.PUBLIC)
-  private final MovingAverageMapper movingAverageMapper;
-  private final CandlestickMapper candlestickMapper;
+  private final MovingAverageRegistry movingAverageRegistry;
+  private final CandlestickRepository candlestickRepository;
+  private final MovingAverageStateRepository movingAverageStateRepository;
+  private final ScopeRepository scopeRepository;
+
+  @Value("${moving.average.state.interval:1000}")
+  private int stateInterval;
 
   @Override
   public MovingAverageType getMovingAverageType() {
@@ -39,48 +50,118 @@ public class ExponentialMovingAverageProvider implements MovingAverageService {
   }
 
   @Override
-  public void calculateMovingAverage(final @NotNull List<@NotNull CandlestickDto> candlestickDtos) {
-    final CandlestickDto candlestickDtosFirst = candlestickDtos.getFirst();
-    final Candlestick currentCandlestick = this.getCandlestickMapper().toEntity(candlestickDtosFirst);
-    final Collection<MovingAverage> collection = currentCandlestick.getMovingAverages().stream()
-        .filter(movingAverage -> this.getMovingAverageType().equals(movingAverage.getType()))
-        .map(ma -> this.getMovingAverageConsumer(ma, candlestickDtos, currentCandlestick)).toList();
-    if (!collection.isEmpty()) {
-      this.getMovingAverageRepository().saveAll(collection);
-      collection.forEach(movingAverage -> candlestickDtosFirst.movingAverages().removeIf(ma -> ma.id().equals(movingAverage.getId())));
-      final Collection<MovingAverageDto> updateDto = collection.stream()
-          .map(movingAverage -> this.getMovingAverageMapper().toDto(movingAverage)).toList();
-      candlestickDtosFirst.movingAverages().addAll(updateDto);
+  public double getNextValue(final @NotNull MovingAverageEngine engine, final double price) {
+    final int period = engine.getSpec().period();
+    if (engine.getCount() > period) {
+      if (Double.isNaN(engine.getValue())) {
+        return Double.NaN;
+      }
+      final double a = MathUtils.getMultiplication(price, this.getPercentagePrice(period));
+      final double b = MathUtils.getSubtract(1, this.getPercentagePrice(period));
+      final double c = MathUtils.getMultiplication(engine.getValue(), b);
+      return MathUtils.getSum(a, c);
+    } else if (engine.getCount() == period) {
+      return engine.getAverage();
     }
+    return Double.NaN;
   }
 
-  @NotNull
-  private MovingAverage getMovingAverageConsumer(final @NotNull MovingAverage movingAverage, final @NotNull List<CandlestickDto> candlesticksDesc,
-      final @NotNull Candlestick currentCandlestick) {
-    final int period = movingAverage.getPeriod();
-    final PriceType candlestickApply = movingAverage.getPriceType();
+  @Override
+  public void restoreEngine(final @NotNull MovingAverageEngine engine, final @NotNull List<@NotNull CandlestickDto> candlestickDtos) {
+    final CandlestickDto currentCandlestick = candlestickDtos.getFirst();
+    this.restoreEngine(engine, currentCandlestick.scope().id(), currentCandlestick.timestamp());
+  }
 
-    if (candlesticksDesc.size() > period) {
-      final Optional<MovingAverageDto> lestMA = candlesticksDesc.get(1).movingAverages().stream()
-          .filter(ma -> this.getMovingAverageType().equals(ma.type()) && period == ma.period() && candlestickApply.equals(ma.priceType()))
-          .findFirst();
+  /**
+   * The value carries the whole history of the scope, it starts from the last stored state before the time and replays the candlesticks after it,
+   * at most the state interval when the states are complete.
+   */
+  @Override
+  public void restoreEngine(final @NotNull MovingAverageEngine engine, final @NotNull UUID scopeId, final @NotNull LocalDateTime before) {
+    final MovingAverageSpec spec = engine.getSpec();
+    engine.reset();
+    LocalDateTime from = SERIES_MIN;
+    final Optional<MovingAverageState> state = this.getMovingAverageStateRepository().findLastBefore(scopeId, spec.type(), spec.period(),
+        spec.priceType(), before);
+    if (state.isPresent()) {
+      engine.restore(TimeFrameUtils.toEpochMillis(state.get().getTimestamp()), state.get().getCount(), state.get().getValue());
+      from = state.get().getTimestamp().plusNanos(1);
+    }
+    List<CandlestickPointDto> page;
+    do {
+      page = this.getCandlestickRepository().findPointsByScope_IdAndTimestampBetweenAsc(scopeId, from, before, this.getStateInterval());
+      for (final CandlestickPointDto point : page) {
+        this.updateEngine(engine, TimeFrameUtils.toEpochMillis(point.timestamp()), spec.priceType().getPrice(point));
+      }
+      if (!page.isEmpty()) {
+        from = page.getLast().timestamp().plusNanos(1);
+      }
+    } while (page.size() == this.getStateInterval());
+  }
 
-      if (lestMA.isPresent()) {
-        final Double lastEma = lestMA.get().value();
-        if (Objects.nonNull(lastEma)) {
-          final double a = MathUtils.getMultiplication(candlestickApply.getPrice(currentCandlestick), this.getPercentagePrice(period));
-          final double b = MathUtils.getSubtract(1, this.getPercentagePrice(period));
-          final double c = MathUtils.getMultiplication(lastEma, b);
-          final double ema = MathUtils.getSum(List.of(a, c));
-          movingAverage.setValue(ema);
+  /**
+   * The newest state follows the series, a new one is started every state interval candlesticks. A candlestick computed again overwrites its state.
+   */
+  @Override
+  public void storeState(final @NotNull UUID scopeId, final @NotNull LocalDateTime timestamp, final @NotNull MovingAverageEngine engine) {
+    if (Double.isNaN(engine.getValue())) {
+      return;
+    }
+    final MovingAverageSpec spec = engine.getSpec();
+    final MovingAverageState state = this.getMovingAverageStateRepository().findLast(scopeId, spec.type(), spec.period(), spec.priceType())
+        .filter(last -> last.getCount() % this.getStateInterval() != 0 || !last.getTimestamp().isBefore(timestamp))
+        .orElseGet(() -> this.newState(scopeId, spec));
+    state.setTimestamp(timestamp);
+    state.setCount(engine.getCount());
+    state.setValue(engine.getValue());
+    this.getMovingAverageStateRepository().save(state);
+  }
+
+  @Override
+  public void storeSeries(final @NotNull UUID scopeId, final @NotNull MovingAverageSpec spec, final LocalDateTime @NotNull [] timestamps,
+      final double @NotNull [] values) {
+    this.getMovingAverageStateRepository().deleteBySpec(scopeId, spec.type(), spec.period(), spec.priceType());
+    final List<MovingAverageState> states = new ArrayList<>();
+    for (int i = 0; i < values.length; i++) {
+      final long count = i + 1L;
+      if (!Double.isNaN(values[i]) && (count % this.getStateInterval() == 0 || i == values.length - 1)) {
+        final MovingAverageState state = this.newState(scopeId, spec);
+        state.setTimestamp(timestamps[i]);
+        state.setCount(count);
+        state.setValue(values[i]);
+        states.add(state);
+      }
+    }
+    this.getMovingAverageStateRepository().saveAll(states);
+  }
+
+  @Override
+  public double @NotNull [] computeMovingAverageSeries(final @NotNull PriceSeries priceSeries, final @NotNull MovingAverageSpec spec) {
+    final int period = spec.period();
+    final double[] prices = priceSeries.getPrices(spec.priceType());
+    final double[] values = PriceSeries.newColumn(prices.length);
+    final double a = this.getPercentagePrice(period);
+    final double b = MathUtils.getSubtract(1, a);
+    for (int i = 0; i < prices.length; i++) {
+      final int size = Math.min(i + 1, priceSeries.windowSize());
+      if (size > period) {
+        if (!Double.isNaN(values[i - 1])) {
+          values[i] = MathUtils.getSum(MathUtils.getMultiplication(prices[i], a), MathUtils.getMultiplication(values[i - 1], b));
         }
+      } else if (size == period) {
+        values[i] = MathUtils.getMed(Arrays.copyOfRange(prices, i - period + 1, i + 1));
       }
-    } else if (candlesticksDesc.size() == period) {
-      final List<Double> collection = candlesticksDesc.stream().map(candlestickApply::getPrice).toList();
-      final double ema = MathUtils.getMed(collection);
-      movingAverage.setValue(ema);
     }
-    return movingAverage;
+    return values;
+  }
+
+  private @NotNull MovingAverageState newState(final @NotNull UUID scopeId, final @NotNull MovingAverageSpec spec) {
+    final MovingAverageState state = new MovingAverageState();
+    state.setScope(this.getScopeRepository().getReferenceById(scopeId));
+    state.setType(spec.type());
+    state.setPeriod(spec.period());
+    state.setPriceType(spec.priceType());
+    return state;
   }
 
   private double getPercentagePrice(final @Positive int period) {
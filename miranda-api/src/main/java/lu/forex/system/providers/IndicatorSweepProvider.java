@@ -0,0 +1,95 @@
+package lu.forex.system.providers;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import lu.forex.system.dtos.CandlestickPointDto;
+import lu.forex.system.dtos.IndicatorSweepDto;
+import lu.forex.system.dtos.IndicatorSweepSeriesDto;
+import lu.forex.system.dtos.ScopeDto;
+import lu.forex.system.engines.IndicatorGraph;
+import lu.forex.system.engines.IndicatorParameters;
+import lu.forex.system.engines.PriceSeries;
+import lu.forex.system.engines.SeriesCache;
+import lu.forex.system.engines.TechnicalIndicatorSeries;
+import lu.forex.system.enums.Indicator;
+import lu.forex.system.enums.SignalIndicator;
+import lu.forex.system.enums.TimeFrame;
+import lu.forex.system.exceptions.IndicatorParametersNotValidException;
+import lu.forex.system.services.CandlestickService;
+import lu.forex.system.services.IndicatorSweepService;
+import lu.forex.system.services.ScopeService;
+import lu.forex.system.services.TechnicalIndicatorService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+@Getter(AccessLevel.PRIVATE)
+public class IndicatorSweepProvider implements IndicatorSweepService {
+
+  private final ScopeService scopeService;
+  private final CandlestickService candlestickService;
+  private final IndicatorGraph indicatorGraph;
+  @Value("${indicator.sweep.combinations.max:256}")
+  private int maxCombinations;
+  @Value("${indicator.sweep.options.max:64}")
+  private int maxOptions;
+
+  @Override
+  public @NotNull IndicatorSweepDto sweep(final @NotNull String symbolName, final @NotNull TimeFrame timeFrame, final LocalDateTime from,
+      final LocalDateTime to, final @NotNull Map<@NotNull Indicator, @NotNull Map<String, String>> parameters) {
+    // the number of parameter sets is checked before they are built and before any candlestick is read
+    final List<SimpleEntry<TechnicalIndicatorService, Map<String, List<String>>>> grids = parameters.entrySet().stream().map(entry -> {
+      final TechnicalIndicatorService indicatorService = this.getIndicatorGraph().getIndicatorServices().stream()
+          .filter(service -> entry.getKey().equals(service.getIndicator())).findFirst()
+          .orElseThrow(() -> new IndicatorParametersNotValidException(String.format("Indicator %s is not provided", entry.getKey())));
+      return new SimpleEntry<>(indicatorService, indicatorService.getParameters().getOptions(entry.getValue(), this.getMaxOptions()));
+    }).toList();
+    final long combinations = grids.stream()
+        .mapToLong(grid -> Math.min(IndicatorParameters.countCombinations(grid.getValue()), this.getMaxCombinations() + 1L)).sum();
+    if (combinations > this.getMaxCombinations()) {
+      throw new IndicatorParametersNotValidException(String.format("The parameter sets exceed the maximum of %d", this.getMaxCombinations()));
+    }
+    final List<SimpleEntry<TechnicalIndicatorService, IndicatorParameters>> runs = grids.stream().flatMap(grid -> grid.getKey().getParameters()
+        .expand(grid.getValue()).stream().map(indicatorParameters -> new SimpleEntry<>(grid.getKey(), indicatorParameters))).toList();
+
+    final ScopeDto scopeDto = this.getScopeService().getScope(symbolName, timeFrame);
+    final List<CandlestickPointDto> points = this.getCandlestickService().findCandlestickPointsAsc(scopeDto.id(), from, to);
+    final int size = points.size();
+    final double[] open = new double[size];
+    final double[] high = new double[size];
+    final double[] low = new double[size];
+    final double[] close = new double[size];
+    for (int i = 0; i < size; i++) {
+      final CandlestickPointDto point = points.get(i);
+      open[i] = point.open();
+      high[i] = point.high();
+      low[i] = point.low();
+      close[i] = point.close();
+    }
+    // the whole range is one window, every moving average a parameter set asks for is computed once from the prices
+    final PriceSeries priceSeries = new PriceSeries(open, high, low, close, Map.of(), Math.max(1, size));
+    final SeriesCache seriesCache = new SeriesCache(priceSeries, spec -> this.getIndicatorGraph().getMovingAverageService(spec.type())
+        .orElseThrow(() -> new IndicatorParametersNotValidException(String.format("Moving average %s is not provided", spec.type())))
+        .computeMovingAverageSeries(priceSeries, spec));
+
+    final List<IndicatorSweepSeriesDto> series = runs.stream().map(run -> {
+      final TechnicalIndicatorSeries indicatorSeries = run.getKey().computeTechnicalIndicatorSeries(seriesCache, run.getValue());
+      final List<SignalIndicator> signals = List.of(indicatorSeries.signals());
+      final long bullish = signals.stream().filter(SignalIndicator.BULLISH::equals).count();
+      final long bearish = signals.stream().filter(SignalIndicator.BEARISH::equals).count();
+      return new IndicatorSweepSeriesDto(run.getKey().getIndicator(), new TreeMap<>(run.getValue().values()), signals, bullish, bearish);
+    }).toList();
+    log.info("Swept {} parameter sets over {} candlesticks of {} {}", series.size(), size, symbolName, timeFrame);
+    return new IndicatorSweepDto(points.stream().map(CandlestickPointDto::timestamp).toList(), series);
+  }
+}
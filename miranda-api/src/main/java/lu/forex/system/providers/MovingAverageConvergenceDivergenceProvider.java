@@ -1,32 +1,36 @@
 package lu.forex.system.providers;
 
 import jakarta.validation.constraints.NotNull;
-import java.math.BigDecimal;
 import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
-import java.util.Set;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lu.forex.system.caches.BarFeatureCache;
 import lu.forex.system.dtos.CandlestickDto;
-import lu.forex.system.dtos.MovingAverageDto;
-import lu.forex.system.dtos.NewMovingAverageDto;
 import lu.forex.system.dtos.TechnicalIndicatorDto;
-import lu.forex.system.entities.MovingAverage;
+import lu.forex.system.engines.BarFeature;
+import lu.forex.system.engines.BarFeatures;
+import lu.forex.system.engines.MovingAverageConvergenceDivergenceEngine;
+import lu.forex.system.engines.MovingAverageSpec;
+import lu.forex.system.engines.IndicatorParameters;
+import lu.forex.system.engines.SeriesCache;
+import lu.forex.system.engines.SeriesKernel;
+import lu.forex.system.engines.TechnicalIndicatorEngine;
+import lu.forex.system.engines.TechnicalIndicatorSeries;
 import lu.forex.system.entities.TechnicalIndicator;
 import lu.forex.system.enums.Indicator;
 import lu.forex.system.enums.MovingAverageType;
 import lu.forex.system.enums.PriceType;
 import lu.forex.system.enums.SignalIndicator;
-import lu.forex.system.exceptions.TechnicalIndicatorNotFoundException;
-import lu.forex.system.mappers.MovingAverageMapper;
 import lu.forex.system.mappers.TechnicalIndicatorMapper;
 import lu.forex.system.repositories.TechnicalIndicatorRepository;
 import lu.forex.system.services.TechnicalIndicatorService;
-import lu.forex.system.utils.MathUtils;
+import lu.forex.system.utils.TimeFrameUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -37,11 +41,17 @@ public class MovingAverageConvergenceDivergenceProvider implements TechnicalIndi
 
   private static final String KEY_SIGNAL = "signal";
   private static final String KEY_MACD = "macd";
+  private static final String PARAMETER_FAST_PERIOD = "fast.period";
+  private static final String PARAMETER_SLOW_PERIOD = "slow.period";
+  private static final String PARAMETER_PERIOD = "macd.period";
+  private static final String PARAMETER_EMA_APPLY = "ema.apply";
   @Getter(AccessLevel.PUBLIC)
   private final TechnicalIndicatorRepository technicalIndicatorRepository;
   @Getter(AccessLevel.PUBLIC)
   private final TechnicalIndicatorMapper technicalIndicatorMapper;
-  private final MovingAverageMapper movingAverageMapper;
+  private final BarFeatureCache barFeatureCache;
+  @Getter(AccessLevel.PUBLIC)
+  private final Map<UUID, MovingAverageConvergenceDivergenceEngine> engines = new ConcurrentHashMap<>();
   @Value("${indicator.macd.parameters.fast.period:12}")
   private int fastPeriod;
   @Value("${indicator.macd.parameters.slow.period:26}")
@@ -62,79 +72,101 @@ public class MovingAverageConvergenceDivergenceProvider implements TechnicalIndi
   }
 
   @Override
-  public Collection<NewMovingAverageDto> generateMAs() {
-    final MovingAverage emaFast = new MovingAverage();
-    emaFast.setType(MovingAverageType.EMA);
-    emaFast.setPeriod(this.getFastPeriod());
-    emaFast.setPriceType(PriceType.CLOSE);
-
-    final MovingAverage emaSlow = new MovingAverage();
-    emaSlow.setType(MovingAverageType.EMA);
-    emaSlow.setPeriod(this.getSlowPeriod());
-    emaSlow.setPriceType(PriceType.CLOSE);
-
-    return Stream.of(emaFast, emaSlow).map(this.getMovingAverageMapper()::toNewDto).toList();
+  public @NotNull Collection<MovingAverageSpec> getInputs() {
+    return List.of(new MovingAverageSpec(MovingAverageType.EMA, this.getFastPeriod(), this.getEmaApply()),
+        new MovingAverageSpec(MovingAverageType.EMA, this.getSlowPeriod(), this.getEmaApply()));
+  }
+
+  @Override
+  public @NotNull IndicatorParameters getParameters() {
+    return new IndicatorParameters(Map.of(PARAMETER_FAST_PERIOD, String.valueOf(this.getFastPeriod()), PARAMETER_SLOW_PERIOD,
+        String.valueOf(this.getSlowPeriod()), PARAMETER_PERIOD, String.valueOf(this.getPeriod()), PARAMETER_EMA_APPLY, this.getEmaApply().name()));
+  }
+
+  @Override
+  public @NotNull Collection<String> getOutputs() {
+    return List.of(KEY_MACD, KEY_SIGNAL);
+  }
+
+  @Override
+  public void restoreEngines(final @NotNull Map<UUID, TechnicalIndicatorEngine> engines) {
+    engines.forEach((scopeId, engine) -> {
+      if (engine instanceof MovingAverageConvergenceDivergenceEngine restored) {
+        this.getEngines().put(scopeId, restored);
+      }
+    });
   }
 
   @Override
-  public void calculateTechnicalIndicator(final @NotNull List<CandlestickDto> candlestickDtos) {
-    final List<TechnicalIndicatorDto> technicalIndicatorDtos = candlestickDtos.stream()
-        .limit(IntStream.of(this.getFastPeriod(), this.getSlowPeriod(), this.getPeriod()).max().getAsInt()).map(
-            c -> c.technicalIndicators().stream().filter(i -> this.getIndicator().equals(i.indicator())).findFirst()
-                .orElseThrow(() -> new TechnicalIndicatorNotFoundException(candlestickDtos.getFirst().scope().toString()))).toList();
-    final TechnicalIndicatorDto currentTechnicalIndicatorDto = technicalIndicatorDtos.getFirst();
-    final Set<MovingAverageDto> currentMovingAverageDtos = candlestickDtos.getFirst().movingAverages();
-
-    final MovingAverageDto emaFast = currentMovingAverageDtos.stream()
-        .filter(ema -> ema.period() == this.getFastPeriod() && this.getEmaApply().equals(ema.priceType()) && Objects.nonNull(ema.value())).findFirst()
-        .orElse(null);
-
-    final MovingAverageDto emaSlow = currentMovingAverageDtos.stream()
-        .filter(ema -> ema.period() == this.getSlowPeriod() && this.getEmaApply().equals(ema.priceType()) && Objects.nonNull(ema.value())).findFirst()
-        .orElse(null);
-
-    if (Objects.nonNull(emaFast) && Objects.nonNull(emaSlow)) {
-      final double macd = MathUtils.getSubtract(emaFast.value(), emaSlow.value());
-      currentTechnicalIndicatorDto.data().put(KEY_MACD, macd);
-
-      final Collection<TechnicalIndicatorDto> technicalIndicatorLimitPeriod = technicalIndicatorDtos.stream().limit(this.getPeriod()).toList();
-      final Collection<Double> collectionMacd = technicalIndicatorLimitPeriod.stream()
-          .filter(tiDto -> Objects.nonNull(tiDto.data().get(KEY_MACD))).map(tiDto -> tiDto.data().get(KEY_MACD)).toList();
-      if (collectionMacd.size() == this.getPeriod()) {
-        final double signal = MathUtils.getMed(collectionMacd);
-        currentTechnicalIndicatorDto.data().put(KEY_SIGNAL, signal);
+  public @NotNull TechnicalIndicator computeTechnicalIndicator(final @NotNull List<CandlestickDto> candlestickDtos) {
+    final CandlestickDto currentCandlestick = candlestickDtos.getFirst();
+    final TechnicalIndicatorDto currentTechnicalIndicatorDto = this.getTechnicalIndicatorDto(currentCandlestick);
+    final MovingAverageConvergenceDivergenceEngine engine = this.getEngines()
+        .computeIfAbsent(currentCandlestick.scope().id(), scopeId -> new MovingAverageConvergenceDivergenceEngine(this.getPeriod()));
+    synchronized (engine) {
+      if (!engine.isAfter(TechnicalIndicatorEngine.getPreviousEpochMillis(candlestickDtos))) {
+        this.restoreEngine(engine, candlestickDtos);
       }
+      final BarFeatures features = this.getBarFeatureCache().getFeatures(candlestickDtos);
+      engine.update(TimeFrameUtils.toEpochMillis(currentCandlestick.timestamp()), features.get(this.getEmaFeature(this.getFastPeriod())),
+          features.get(this.getEmaFeature(this.getSlowPeriod())));
+
+      final Map<String, Double> data = currentTechnicalIndicatorDto.data();
+      TechnicalIndicatorEngine.putValue(data, KEY_MACD, engine.getMacd());
+      TechnicalIndicatorEngine.putValue(data, KEY_SIGNAL, engine.getSignal());
+
+      final TechnicalIndicator technicalIndicator = this.getTechnicalIndicatorMapper().toEntity(currentTechnicalIndicatorDto);
+      technicalIndicator.setSignal(this.processingSignal(engine.getSignal(), engine.getMacd(), engine.getLastSignal(), engine.getLastMacd()));
+      return technicalIndicator;
+    }
+  }
+
+  @Override
+  public @NotNull TechnicalIndicatorSeries computeTechnicalIndicatorSeries(final @NotNull SeriesCache seriesCache,
+      final @NotNull IndicatorParameters parameters) {
+    final int fastPeriod = parameters.getPositiveInt(PARAMETER_FAST_PERIOD);
+    final int slowPeriod = parameters.getPositiveInt(PARAMETER_SLOW_PERIOD);
+    final int period = parameters.getPositiveInt(PARAMETER_PERIOD);
+    final PriceType emaApply = parameters.getEnum(PARAMETER_EMA_APPLY, PriceType.class);
+    final SeriesKernel kernel = seriesCache.getKernel();
+    final int size = seriesCache.size();
+    // the EMAs are shared through the cache, the MACD line does not depend on the signal period
+    final double[] macd = seriesCache.get(List.of(KEY_MACD, fastPeriod, slowPeriod, emaApply), () -> {
+      final double[] column = new double[size];
+      kernel.subtract(seriesCache.getMovingAverage(new MovingAverageSpec(MovingAverageType.EMA, fastPeriod, emaApply)),
+          seriesCache.getMovingAverage(new MovingAverageSpec(MovingAverageType.EMA, slowPeriod, emaApply)), column);
+      return column;
+    });
+    final double[] signal = new double[size];
+    kernel.rollingMean(macd, period, signal);
+
+    final SignalIndicator[] signals = new SignalIndicator[size];
+    for (int i = 0; i < size; i++) {
+      signals[i] = this.processingSignal(signal[i], macd[i], i > 0 ? signal[i - 1] : Double.NaN, i > 0 ? macd[i - 1] : Double.NaN);
     }
+    return new TechnicalIndicatorSeries(Map.of(KEY_MACD, macd, KEY_SIGNAL, signal), signals);
+  }
+
+  private @NotNull BarFeature getEmaFeature(final int period) {
+    return new BarFeature.MovingAverageValue(new MovingAverageSpec(MovingAverageType.EMA, period, this.getEmaApply()));
+  }
 
-    final TechnicalIndicator technicalIndicator = this.getTechnicalIndicatorMapper().toEntity(currentTechnicalIndicatorDto);
-    if(technicalIndicatorDtos.size() >= 2) {
-      technicalIndicator.setSignal(this.processingSignal(currentTechnicalIndicatorDto, technicalIndicatorDtos.get(1)));
-    } else {
-      technicalIndicator.setSignal(SignalIndicator.NEUTRAL);
+  private void restoreEngine(final @NotNull MovingAverageConvergenceDivergenceEngine engine, final @NotNull List<CandlestickDto> candlestickDtos) {
+    engine.reset();
+    for (int i = Math.min(candlestickDtos.size(), Math.max(this.getPeriod(), 2)) - 1; i > 0; i--) {
+      final CandlestickDto candlestickDto = candlestickDtos.get(i);
+      final Map<String, Double> data = this.getTechnicalIndicatorDto(candlestickDto).data();
+      engine.restore(TimeFrameUtils.toEpochMillis(candlestickDto.timestamp()), TechnicalIndicatorEngine.getValue(data, KEY_MACD),
+          TechnicalIndicatorEngine.getValue(data, KEY_SIGNAL));
     }
-    this.getTechnicalIndicatorRepository().save(technicalIndicator);
   }
 
-  private SignalIndicator processingSignal(final @NotNull TechnicalIndicatorDto currentTechnicalIndicatorDto, final @NotNull TechnicalIndicatorDto lastTechnicalIndicatorDto) {
-    final Double signalCurrent = currentTechnicalIndicatorDto.data().get(KEY_SIGNAL);
-    final Double macdCurrent = currentTechnicalIndicatorDto.data().get(KEY_MACD);
-    final Double signalLast = lastTechnicalIndicatorDto.data().get(KEY_SIGNAL);
-    final Double macdLast = lastTechnicalIndicatorDto.data().get(KEY_MACD);
-    if (Objects.nonNull(signalCurrent) && Objects.nonNull(macdCurrent) && Objects.nonNull(signalLast) && Objects.nonNull(macdLast)) {
-      final BigDecimal signalCurrentBigDecimal = BigDecimal.valueOf(signalCurrent);
-      final BigDecimal macdCurrentBigDecimal = BigDecimal.valueOf(macdCurrent);
-      if (signalCurrentBigDecimal.compareTo(macdCurrentBigDecimal) > 0) {
-        final BigDecimal signalLastBigDecimal = BigDecimal.valueOf(signalLast);
-        final BigDecimal macdLastBigDecimal = BigDecimal.valueOf(macdLast);
-        if(signalLastBigDecimal.compareTo(macdLastBigDecimal) < 0) {
-          return SignalIndicator.BEARISH;
-        }
-      } else if (signalCurrentBigDecimal.compareTo(macdCurrentBigDecimal) < 0) {
-        final BigDecimal signalLastBigDecimal = BigDecimal.valueOf(signalLast);
-        final BigDecimal macdLastBigDecimal = BigDecimal.valueOf(macdLast);
-        if(signalLastBigDecimal.compareTo(macdLastBigDecimal) > 0) {
-          return SignalIndicator.BULLISH;
-        }
+  private SignalIndicator processingSignal(final double signalCurrent, final double macdCurrent, final double signalLast, final double macdLast) {
+    if (!Double.isNaN(signalCurrent) && !Double.isNaN(macdCurrent) && !Double.isNaN(signalLast) && !Double.isNaN(macdLast)) {
+      if (signalCurrent > macdCurrent && signalLast < macdLast) {
+        return SignalIndicator.BEARISH;
+      } else if (signalCurrent < macdCurrent && signalLast > macdLast) {
+        return SignalIndicator.BULLISH;
       }
     }
     return SignalIndicator.NEUTRAL;
@@ -0,0 +1,53 @@
+package lu.forex.system.providers;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import lu.forex.system.services.OrderStreamService;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes the orders of the candlesticks closed without a tick, there is no tick response to carry them.
+ */
+@Service
+@Getter(AccessLevel.PRIVATE)
+@Log4j2
+public class OrderStreamProvider implements OrderStreamService {
+
+  private final Map<String, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+  @Override
+  public @NotNull SseEmitter subscribe(final @NotNull String symbolName) {
+    final SseEmitter emitter = new SseEmitter(0L);
+    final Set<SseEmitter> symbolEmitters = this.getEmitters().computeIfAbsent(symbolName, key -> new CopyOnWriteArraySet<>());
+    symbolEmitters.add(emitter);
+    emitter.onCompletion(() -> symbolEmitters.remove(emitter));
+    emitter.onTimeout(() -> symbolEmitters.remove(emitter));
+    emitter.onError(throwable -> symbolEmitters.remove(emitter));
+    return emitter;
+  }
+
+  @Override
+  public void publish(final @NotNull String symbolName, final @NotNull List<@NotNull String> orders) {
+    final Set<SseEmitter> symbolEmitters = this.getEmitters().getOrDefault(symbolName, Set.of());
+    orders.forEach(order -> log.info("{} order closed by time: {}", symbolName, order));
+    for (final SseEmitter emitter : symbolEmitters) {
+      try {
+        for (final String order : orders) {
+          emitter.send(SseEmitter.event().name("order").data(order));
+        }
+      } catch (IOException | IllegalStateException e) {
+        symbolEmitters.remove(emitter);
+        emitter.completeWithError(e);
+      }
+    }
+  }
+}
@@ -1,20 +1,22 @@
 package lu.forex.system.providers;
 
 import jakarta.validation.constraints.NotNull;
-import java.util.Collection;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import lu.forex.system.dtos.CandlestickDto;
-import lu.forex.system.dtos.MovingAverageDto;
-import lu.forex.system.entities.MovingAverage;
+import lu.forex.system.caches.MovingAverageRegistry;
+import lu.forex.system.dtos.CandlestickPointDto;
+import lu.forex.system.engines.MovingAverageEngine;
+import lu.forex.system.engines.MovingAverageSpec;
+import lu.forex.system.engines.PriceSeries;
+import lu.forex.system.engines.RollingWindow;
 import lu.forex.system.enums.MovingAverageType;
-import lu.forex.system.mappers.CandlestickMapper;
-import lu.forex.system.mappers.MovingAverageMapper;
-import lu.forex.system.repositories.MovingAverageRepository;
+import lu.forex.system.repositories.CandlestickRepository;
 import lu.forex.system.services.MovingAverageService;
-import lu.forex.system.utils.MathUtils;
+import lu.forex.system.utils.TimeFrameUtils;
 import org.springframework.stereotype.Service;
 
 @Service("simpleMovingAverage")
@@ -23,10 +25,8 @@ import org.springframework.stereotype.Service;
 public class SimpleMovingAverageProvider implements MovingAverageService {
 
   @Getter(AccessLevel.PUBLIC)
-  private final MovingAverageRepository movingAverageRepository;
-  @Getter(AccessLevel.PUBLIC)
-  private final MovingAverageMapper movingAverageMapper;
-  private final CandlestickMapper candlestickMapper;
+  private final MovingAverageRegistry movingAverageRegistry;
+  private final CandlestickRepository candlestickRepository;
 
   @Override
   public MovingAverageType getMovingAverageType() {
@@ -34,22 +34,33 @@ public class SimpleMovingAverageProvider implements MovingAverageService {
   }
 
   @Override
-  public void calculateMovingAverage(final @NotNull List<@NotNull CandlestickDto> candlestickDtos) {
-    final CandlestickDto candlestickDtosFirst = candlestickDtos.getFirst();
-    final Collection<MovingAverage> collection = candlestickDtosFirst.movingAverages().stream()
-        .filter(ma -> this.getMovingAverageType().equals(ma.type())).map(movingAverageDto -> {
-          final Collection<CandlestickDto> collectionLimited = candlestickDtos.stream().limit(movingAverageDto.period()).toList();
-          final Collection<Double> prices = collectionLimited.stream().map(c -> movingAverageDto.priceType().getPrice(c)).toList();
-          final MovingAverage movingAverage = this.getMovingAverageMapper().toEntity(movingAverageDto);
-          movingAverage.setValue(MathUtils.getMed(prices));
-          return movingAverage;
-        }).toList();
-    if (!collection.isEmpty()) {
-      this.getMovingAverageRepository().saveAll(collection);
-      collection.forEach(movingAverage -> candlestickDtosFirst.movingAverages().removeIf(ma -> ma.id().equals(movingAverage.getId())));
-      final Collection<MovingAverageDto> updateDto = collection.stream()
-          .map(movingAverage -> this.getMovingAverageMapper().toDto(movingAverage)).toList();
-      candlestickDtosFirst.movingAverages().addAll(updateDto);
+  public double getNextValue(final @NotNull MovingAverageEngine engine, final double price) {
+    return engine.getAverage();
+  }
+
+  /**
+   * The window holds the whole state, only the last period candlesticks are read.
+   */
+  @Override
+  public void restoreEngine(final @NotNull MovingAverageEngine engine, final @NotNull UUID scopeId, final @NotNull LocalDateTime before) {
+    engine.reset();
+    final List<CandlestickPointDto> points = this.getCandlestickRepository().findPointsByScope_IdAndTimestampBeforeDesc(scopeId, before,
+        engine.getSpec().period());
+    for (final CandlestickPointDto point : points.reversed()) {
+      this.updateEngine(engine, TimeFrameUtils.toEpochMillis(point.timestamp()), engine.getSpec().priceType().getPrice(point));
+    }
+  }
+
+  @Override
+  public double @NotNull [] computeMovingAverageSeries(final @NotNull PriceSeries priceSeries, final @NotNull MovingAverageSpec spec) {
+    final double[] prices = priceSeries.getPrices(spec.priceType());
+    final double[] values = new double[prices.length];
+    // bar by bar the average is taken over the candlesticks at hand, up to the period
+    final RollingWindow window = new RollingWindow(Math.min(spec.period(), priceSeries.windowSize()));
+    for (int i = 0; i < prices.length; i++) {
+      window.add(prices[i]);
+      values[i] = window.getAverage();
     }
+    return values;
   }
 }
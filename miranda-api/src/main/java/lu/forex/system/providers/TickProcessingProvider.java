@@ -0,0 +1,73 @@
+package lu.forex.system.providers;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lu.forex.system.batchs.BarCloseScheduler;
+import lu.forex.system.dtos.NewTickDto;
+import lu.forex.system.dtos.SymbolDto;
+import lu.forex.system.dtos.TickDto;
+import lu.forex.system.engines.IndicatorGraph;
+import lu.forex.system.services.CandlestickService;
+import lu.forex.system.services.OrderService;
+import lu.forex.system.services.ScopeService;
+import lu.forex.system.services.SymbolService;
+import lu.forex.system.services.TechnicalIndicatorService;
+import lu.forex.system.services.TickProcessingService;
+import lu.forex.system.services.TickService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+@Service
+@Getter(AccessLevel.PRIVATE)
+public class TickProcessingProvider implements TickProcessingService {
+
+  private final TickService tickService;
+  private final SymbolService symbolService;
+  private final CandlestickService candlestickService;
+  private final ScopeService scopeService;
+  private final IndicatorGraph indicatorGraph;
+  private final OrderService orderService;
+  private final ObjectProvider<BarCloseScheduler> barCloseScheduler;
+
+  public TickProcessingProvider(final TickService tickService, final SymbolService symbolService, final CandlestickService candlestickService,
+      final ScopeService scopeService, final IndicatorGraph indicatorGraph, final OrderService orderService,
+      final ObjectProvider<BarCloseScheduler> barCloseScheduler) {
+    this.tickService = tickService;
+    this.symbolService = symbolService;
+    this.candlestickService = candlestickService;
+    this.scopeService = scopeService;
+    this.indicatorGraph = indicatorGraph;
+    this.orderService = orderService;
+    this.barCloseScheduler = barCloseScheduler;
+  }
+
+  @Override
+  public @NotNull String processTick(final @NotNull NewTickDto newTickDto, final @NotNull String symbolName) {
+    final SymbolDto symbolDto = this.getSymbolService().getSymbol(symbolName);
+    final TickDto tickDto = this.getTickService().addTickBySymbol(newTickDto, symbolDto);
+    this.getBarCloseScheduler().ifAvailable(barCloseScheduler -> barCloseScheduler.onTick(symbolName, tickDto));
+
+    final Collection<TechnicalIndicatorService> indicatorServices = this.getIndicatorGraph().getIndicatorServices();
+
+    // the orders of the candlesticks closed by time are pushed by the order stream when they close
+    final String response = this.getScopeService().getScopesBySymbolName(symbolName).parallelStream()
+        .map(scopeDto -> this.getCandlestickService().processingCandlestick(tickDto, scopeDto, indicatorServices))
+        .flatMap(Optional::stream)
+        .flatMap(event -> event.getOrders().stream())
+        .collect(Collectors.joining(","));
+
+    this.getOrderService().updateOrders(tickDto);
+
+    return response;
+  }
+
+  @Override
+  public @NotNull List<@NotNull String> processTicks(final @NotNull List<@NotNull NewTickDto> newTickDtos, final @NotNull String symbolName) {
+    return newTickDtos.stream().map(newTickDto -> this.processTick(newTickDto, symbolName)).filter(response -> !response.isEmpty()).toList();
+  }
+}
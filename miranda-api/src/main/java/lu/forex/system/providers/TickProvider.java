@@ -2,10 +2,9 @@ package lu.forex.system.providers;
 
 import jakarta.validation.constraints.NotNull;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -16,16 +15,19 @@ import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
+import lu.forex.system.dtos.CandlestickBodyDto;
 import lu.forex.system.dtos.NewTickDto;
 import lu.forex.system.dtos.SymbolDto;
 import lu.forex.system.dtos.TickDto;
 import lu.forex.system.entities.Symbol;
 import lu.forex.system.entities.Tick;
 import lu.forex.system.exceptions.TickTimestampOlderException;
+import lu.forex.system.io.InputFiles;
 import lu.forex.system.mappers.SymbolMapper;
 import lu.forex.system.mappers.TickMapper;
 import lu.forex.system.repositories.TickRepository;
 import lu.forex.system.services.TickService;
+import lu.forex.system.utils.TickFileUtils;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVRecord;
 import org.springframework.stereotype.Service;
@@ -72,11 +74,29 @@ public class TickProvider implements TickService {
     }
   }
 
+  @Override
+  public @NotNull Optional<@NotNull TickDto> getLastTickBySymbol(final @NotNull SymbolDto symbolDto) {
+    return this.getTickRepository().getFirstBySymbol_IdOrderByTimestampDesc(symbolDto.id()).map(this.getTickMapper()::toDto);
+  }
+
+  @Override
+  public @NotNull Optional<@NotNull CandlestickBodyDto> getCandlestickBodyBySymbol(final @NotNull SymbolDto symbolDto, final @NotNull LocalDateTime from,
+      final @NotNull LocalDateTime to) {
+    final Optional<Tick> first = this.getTickRepository().getFirstBySymbol_IdAndTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampAsc(symbolDto.id(), from, to);
+    if (first.isEmpty()) {
+      return Optional.empty();
+    }
+    final Tick last = this.getTickRepository().getFirstBySymbol_IdAndTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampDesc(symbolDto.id(), from, to)
+        .orElseGet(first::get);
+    final Object[] range = this.getTickRepository().findBidRangeBySymbol_IdAndTimestampBetween(symbolDto.id(), from, to).getFirst();
+    return Optional.of(new CandlestickBodyDto((Double) range[0], (Double) range[1], first.get().getBid(), last.getBid()));
+  }
+
   @Override
   public @NotNull List<TickDto> readPreDataBase(final @NotNull SymbolDto symbolDto, final @NotNull File inputFile) {
     log.info("Starting readPreDataBase({}, {})", symbolDto.currencyPair().name(), inputFile.getAbsolutePath());
     final var symbol = this.getSymbolMapper().toEntity(symbolDto);
-    try (final var fileReader = new FileReader(inputFile); final var csvParser = CSVFormat.TDF.builder().build().parse(fileReader)) {
+    try (final var fileReader = new InputStreamReader(InputFiles.open(inputFile)); final var csvParser = CSVFormat.TDF.builder().build().parse(fileReader)) {
 
       final double[] tmpBidAsk = new double[]{0D, 0D};
 
@@ -123,12 +143,9 @@ public class TickProvider implements TickService {
     final var tick = new Tick();
     tick.setSymbol(symbol);
 
-    final var date = csvRecord.get(0).replace(".", "-");
-    final var time = csvRecord.get(1);
-    final var dataTime = date.concat("T").concat(time);
-    final var localDateTime = LocalDateTime.parse(dataTime, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-    final var bid = csvRecord.get(2).isEmpty() ? 0D : Double.parseDouble(csvRecord.get(2));
-    final var ask = csvRecord.get(3).isEmpty() ? 0D : Double.parseDouble(csvRecord.get(3));
+    final var localDateTime = TickFileUtils.getTimestamp(csvRecord);
+    final var bid = TickFileUtils.getBid(csvRecord);
+    final var ask = TickFileUtils.getAsk(csvRecord);
 
     tick.setTimestamp(localDateTime);
     tick.setAsk(ask);
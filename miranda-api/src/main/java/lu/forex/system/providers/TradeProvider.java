@@ -77,9 +77,11 @@ public class TradeProvider implements TradeService {
         case MINUTE -> 1;
         case HOUR -> 60;
         case DAY -> 1440;
+        case WEEK -> 10080;
+        case MONTH -> 44640;
       };
       final LocalTime initialTime = LocalTime.of(0,0,0);
-      final Collection<LocalTime> times = IntStream.range(0, (1440/mintConverted)/timeFrame.getTimeValue()).mapToObj(minute -> initialTime.plusMinutes((long) mintConverted * timeFrame.getTimeValue() * minute)).toList();
+      final Collection<LocalTime> times = IntStream.range(0, Math.max(1, (1440/mintConverted)/timeFrame.getTimeValue())).mapToObj(minute -> initialTime.plusMinutes((long) mintConverted * timeFrame.getTimeValue() * minute)).toList();
       final Collection<LocalTime[]> toOpenTime = times.stream().flatMap(candlestickTime -> localTimes.stream().filter(timePair -> !timePair[0].isAfter(candlestickTime) && !timePair[1].isBefore(candlestickTime))).distinct().toList();
       return new SimpleEntry<>(timeFrame, toOpenTime);
     }).collect(Collectors.toMap(SimpleEntry::getKey, SimpleEntry::getValue));
@@ -1,14 +1,21 @@
 package lu.forex.system.repositories;
 
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.Positive;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import lu.forex.system.dtos.CandlestickPointDto;
 import lu.forex.system.entities.Candlestick;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,4 +31,31 @@ public interface CandlestickRepository extends JpaRepository<Candlestick, UUID>,
   List<Candlestick> findByScope_IdOrderByTimestampDescWithLimit(@NonNull UUID scopeId, @Positive int limit);
 
   List<Candlestick> findByScope_IdOrderByTimestampAsc(@NonNull UUID id);
-}
\ No newline at end of file
+
+  @Transactional(readOnly = true)
+  @Query("select new lu.forex.system.dtos.CandlestickPointDto(c.id, c.timestamp, c.body.open, c.body.high, c.body.low, c.body.close, c.signalIndicator) "
+         + "from Candlestick c where c.scope.id = ?1 and c.timestamp >= ?2 and c.timestamp < ?3 order by c.timestamp asc limit ?4")
+  List<CandlestickPointDto> findPointsByScope_IdAndTimestampBetweenAsc(@NonNull UUID scopeId, @NonNull LocalDateTime from, @NonNull LocalDateTime to,
+      @Positive int limit);
+
+  @Transactional(readOnly = true)
+  @Query("select new lu.forex.system.dtos.CandlestickPointDto(c.id, c.timestamp, c.body.open, c.body.high, c.body.low, c.body.close, c.signalIndicator) "
+         + "from Candlestick c where c.scope.id = ?1 and c.timestamp < ?2 order by c.timestamp desc limit ?3")
+  List<CandlestickPointDto> findPointsByScope_IdAndTimestampBeforeDesc(@NonNull UUID scopeId, @NonNull LocalDateTime to, @Positive int limit);
+
+  @Transactional(readOnly = true)
+  @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+  @Query("select new lu.forex.system.dtos.CandlestickPointDto(c.id, c.timestamp, c.body.open, c.body.high, c.body.low, c.body.close, c.signalIndicator) "
+         + "from Candlestick c where c.scope.id = ?1 and c.timestamp >= ?2 and c.timestamp < ?3 order by c.timestamp asc")
+  Stream<CandlestickPointDto> streamPointsByScope_IdAndTimestampBetweenAsc(@NonNull UUID scopeId, @NonNull LocalDateTime from, @NonNull LocalDateTime to);
+
+  @Modifying
+  @Query("update Candlestick c set c.body.high = ?2, c.body.low = ?3, c.body.close = ?4 where c.id = ?1")
+  int updateBodyById(@NonNull UUID id, double high, double low, double close);
+
+  boolean existsByScope_IdAndTimestampGreaterThanEqual(@NonNull UUID scopeId, @NonNull LocalDateTime timestamp);
+
+  @Transactional(readOnly = true)
+  @Query("select c.id, ti from Candlestick c join c.technicalIndicators ti where c.id in ?1")
+  List<Object[]> findTechnicalIndicatorsByCandlestickIds(@NonNull Collection<UUID> candlestickIds);
+}
@@ -0,0 +1,70 @@
+package lu.forex.system.repositories;
+
+import jakarta.validation.constraints.NotNull;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lu.forex.system.engines.TechnicalIndicatorSeries;
+import lu.forex.system.entities.TechnicalIndicatorData;
+import lu.forex.system.enums.SignalIndicator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC batch updates of whole indicator columns, one statement per chunk instead of one entity merge per row. A {@code null} id skips the row.
+ */
+@Repository
+@RequiredArgsConstructor
+@Getter(AccessLevel.PRIVATE)
+public class IndicatorBulkRepository {
+
+  private static final int BATCH_SIZE = 1000;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public void updateTechnicalIndicators(final UUID @NotNull [] ids, final @NotNull TechnicalIndicatorSeries technicalIndicatorSeries) {
+    final List<Map.Entry<String, double[]>> columns = List.copyOf(technicalIndicatorSeries.data().entrySet());
+    final String sql = columns.stream().map(column -> TechnicalIndicatorData.getColumnName(column.getKey()).concat(" = ?"))
+        .collect(Collectors.joining(", ", "UPDATE technical_indicator SET ", ", signal = ? WHERE id = ?"));
+    this.update(sql, ids, (preparedStatement, i) -> {
+      int parameter = 1;
+      for (final Map.Entry<String, double[]> column : columns) {
+        setDouble(preparedStatement, parameter++, column.getValue()[i]);
+      }
+      preparedStatement.setString(parameter++, technicalIndicatorSeries.signals()[i].name());
+      preparedStatement.setObject(parameter, ids[i]);
+    });
+  }
+
+  public void updateSignalIndicators(final UUID @NotNull [] ids, final SignalIndicator @NotNull [] signalIndicators) {
+    this.update("UPDATE candlestick SET signal_indicator = ? WHERE id = ?", ids, (preparedStatement, i) -> {
+      preparedStatement.setString(1, signalIndicators[i].name());
+      preparedStatement.setObject(2, ids[i]);
+    });
+  }
+
+  private void update(final @NotNull String sql, final UUID @NotNull [] ids, final @NotNull ParameterizedPreparedStatementSetter<Integer> setter) {
+    final List<Integer> indexes = IntStream.range(0, ids.length).filter(i -> Objects.nonNull(ids[i])).boxed().toList();
+    if (!indexes.isEmpty()) {
+      this.getJdbcTemplate().batchUpdate(sql, indexes, BATCH_SIZE, setter);
+    }
+  }
+
+  private static void setDouble(final @NotNull PreparedStatement preparedStatement, final int parameter, final double value) throws SQLException {
+    if (Double.isNaN(value)) {
+      preparedStatement.setNull(parameter, Types.DOUBLE);
+    } else {
+      preparedStatement.setDouble(parameter, value);
+    }
+  }
+}
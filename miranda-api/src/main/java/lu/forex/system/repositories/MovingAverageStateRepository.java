@@ -0,0 +1,29 @@
+package lu.forex.system.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import lu.forex.system.entities.MovingAverageState;
+import lu.forex.system.enums.MovingAverageType;
+import lu.forex.system.enums.PriceType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MovingAverageStateRepository extends JpaRepository<MovingAverageState, UUID> {
+
+  @Query("select s from MovingAverageState s where s.scope.id = ?1 and s.type = ?2 and s.period = ?3 and s.priceType = ?4 and s.timestamp < ?5 "
+         + "order by s.timestamp desc limit 1")
+  Optional<MovingAverageState> findLastBefore(@NonNull UUID scopeId, @NonNull MovingAverageType type, int period, @NonNull PriceType priceType,
+      @NonNull LocalDateTime timestamp);
+
+  @Query("select s from MovingAverageState s where s.scope.id = ?1 and s.type = ?2 and s.period = ?3 and s.priceType = ?4 order by s.timestamp desc limit 1")
+  Optional<MovingAverageState> findLast(@NonNull UUID scopeId, @NonNull MovingAverageType type, int period, @NonNull PriceType priceType);
+
+  @Modifying
+  @Query("delete from MovingAverageState s where s.scope.id = ?1 and s.type = ?2 and s.period = ?3 and s.priceType = ?4")
+  int deleteBySpec(@NonNull UUID scopeId, @NonNull MovingAverageType type, int period, @NonNull PriceType priceType);
+}
@@ -1,6 +1,7 @@
 package lu.forex.system.repositories;
 
 import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +18,17 @@ public interface TickRepository extends JpaRepository<Tick, UUID>, JpaSpecificat
   @NonNull
   Optional<@NotNull Tick> getFirstBySymbol_IdOrderByTimestampDesc(@NonNull UUID id);
 
+  @NonNull
+  Optional<@NotNull Tick> getFirstBySymbol_IdAndTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampAsc(@NonNull UUID id,
+      @NonNull LocalDateTime from, @NonNull LocalDateTime to);
+
+  @NonNull
+  Optional<@NotNull Tick> getFirstBySymbol_IdAndTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampDesc(@NonNull UUID id,
+      @NonNull LocalDateTime from, @NonNull LocalDateTime to);
+
+  @Query("select max(t.bid), min(t.bid) from Tick t where t.symbol.id = ?1 and t.timestamp >= ?2 and t.timestamp < ?3")
+  List<Object[]> findBidRangeBySymbol_IdAndTimestampBetween(@NonNull UUID id, @NonNull LocalDateTime from, @NonNull LocalDateTime to);
+
   @NonNull
   List<@NotNull Tick> findBySymbol_CurrencyPair_NameOrderByTimestampAsc(@NonNull String symbolName);
 
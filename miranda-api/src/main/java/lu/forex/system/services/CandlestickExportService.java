@@ -0,0 +1,21 @@
+package lu.forex.system.services;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+import lu.forex.system.enums.ExportFormat;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public interface CandlestickExportService {
+
+  /**
+   * Writes the candlesticks of the range with the requested columns, streamed page by page from the database.
+   */
+  @Transactional(readOnly = true)
+  void exportCandlesticks(final @NotNull UUID scopeId, final LocalDateTime from, final LocalDateTime to, final @NotNull Collection<@NotNull String> columns,
+      final @NotNull ExportFormat format, final @NotNull OutputStream outputStream);
+}
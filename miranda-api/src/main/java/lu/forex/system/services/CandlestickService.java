@@ -2,17 +2,21 @@ package lu.forex.system.services;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
-import java.util.AbstractMap.SimpleEntry;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
 import lu.forex.system.dtos.CandlestickDto;
-import lu.forex.system.dtos.MovingAverageDto;
+import lu.forex.system.dtos.CandlestickPointDto;
+import lu.forex.system.dtos.CandlestickSeriesDto;
 import lu.forex.system.dtos.ScopeDto;
-import lu.forex.system.dtos.TechnicalIndicatorDto;
 import lu.forex.system.dtos.TickDto;
+import lu.forex.system.engines.MovingAverageEngine;
+import lu.forex.system.enums.DownsamplingMethod;
+import lu.forex.system.events.CandlestickClosedEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,17 +31,67 @@ public interface CandlestickService {
   @NotNull
   List<@NotNull CandlestickDto> findCandlesticksAsc(final @NotNull UUID scopeId);
 
-  @Transactional()
+  @Transactional(readOnly = true)
+  @NotNull
+  List<@NotNull CandlestickPointDto> findCandlestickPointsAsc(final @NotNull UUID scopeId, final LocalDateTime from, final LocalDateTime to);
+
+  @Transactional(readOnly = true)
+  @NotNull
+  CandlestickSeriesDto getCandlestickSeries(final @NotNull UUID scopeId, final LocalDateTime from, final LocalDateTime to, final LocalDateTime cursor,
+      final @Positive int limit, final @NotNull Collection<@NotNull String> columns);
+
+  @Transactional(readOnly = true)
   @NotNull
-  CandlestickDto processingCandlestick(final @NotNull TickDto tickDto, final @NotNull ScopeDto scopeDto);
+  CandlestickSeriesDto getDownsampledCandlestickSeries(final @NotNull UUID scopeId, final LocalDateTime from, final LocalDateTime to,
+      final @Positive int points, final @NotNull DownsamplingMethod method, final @NotNull Collection<@NotNull String> columns);
+
+  @Transactional(readOnly = true)
+  @NotNull
+  Optional<@NotNull String> getCandlestickSeriesETag(final @NotNull UUID scopeId, final LocalDateTime from, final LocalDateTime to,
+      final LocalDateTime cursor, final int limit, final Integer points, final @NotNull DownsamplingMethod method,
+      final @NotNull Collection<@NotNull String> columns);
+
+  @Transactional(readOnly = true)
+  @NotNull
+  List<@NotNull String> getCandlestickColumns(final @NotNull UUID scopeId, final @NotNull Collection<@NotNull String> columns);
+
+  /**
+   * Series of the last candlestick before the time, its indicator columns hold every key.
+   */
+  @Transactional(readOnly = true)
+  @NotNull
+  CandlestickSeriesDto getLastCandlestickSeries(final @NotNull UUID scopeId, final @NotNull LocalDateTime to,
+      final @NotNull Collection<@NotNull String> columns);
+
+  /**
+   * Running series of the moving average columns, built from the history of the scope before the given time. A type without a service has no
+   * series and its column stays empty.
+   */
+  @Transactional(readOnly = true)
+  @NotNull
+  Map<String, MovingAverageEngine> getMovingAverageEngines(final @NotNull UUID scopeId, final @NotNull Collection<@NotNull String> columns,
+      final @NotNull LocalDateTime before);
+
+  /**
+   * Columns of the ascending points, the running series of the moving averages are moved over them.
+   */
+  @Transactional(readOnly = true)
+  @NotNull
+  CandlestickSeriesDto getCandlestickSeries(final @NotNull List<CandlestickPointDto> pointsAsc, final @NotNull Collection<@NotNull String> columns,
+      final LocalDateTime nextCursor, final @NotNull Map<String, MovingAverageEngine> movingAverageEngines);
 
   @Transactional()
   @NotNull
-  CandlestickDto addingTechnicalIndicators(final @NotNull Collection<TechnicalIndicatorDto> technicalIndicators, final @NotNull UUID candlestickId);
+  Optional<@NotNull CandlestickClosedEvent> processingCandlestick(final @NotNull TickDto tickDto, final @NotNull ScopeDto scopeDto,
+      final @NotNull Collection<TechnicalIndicatorService> indicatorServices);
 
   @Transactional()
   @NotNull
-  CandlestickDto addingMovingAverages(final @NotNull Collection<MovingAverageDto> movingAverages, final @NotNull UUID candlestickId);
+  Optional<@NotNull CandlestickClosedEvent> closeCandlestickByTime(final @NotNull TickDto lastTickDto, final @NotNull ScopeDto scopeDto,
+      final long candlestickEpochMillis, final @NotNull Collection<TechnicalIndicatorService> indicatorServices);
+
+  @Transactional
+  void flushFormingCandlesticks();
 
   @Transactional
   @NotNull
@@ -45,17 +99,15 @@ public interface CandlestickService {
 
   @Transactional()
   @NotNull
-  Collection<CandlestickDto> readTicksToGenerateCandlesticks(final @NotNull ScopeDto scopeDto, final @NotNull Collection<TickDto> tickDtoList);
+  Collection<CandlestickDto> readTicksToGenerateCandlesticks(final @NotNull Collection<ScopeDto> scopeDtos, final @NotNull List<TickDto> tickDtoListSorted);
 
   @Transactional
   @NotNull
   Stream<CandlestickDto> initIndicatorsOnCandlesticks(final @NotNull Stream<CandlestickDto> candlesticksDto, final @NotNull Collection<TechnicalIndicatorService> indicatorServices);
 
-  @Transactional
-  @NotNull
-  Stream<CandlestickDto> initAveragesToCandlesticks(final @NotNull Stream<SimpleEntry<Collection<MovingAverageDto>, CandlestickDto>> candlesticksToSave);
-
-  @Transactional
+  /**
+   * Each scope is computed and written in its own transaction.
+   */
   @NotNull
-  Stream<CandlestickDto> computingIndicatorsByInit(final @NotNull Collection<TechnicalIndicatorService> indicatorServices, final @NotNull Collection<MovingAverageService> movingAverageServices, final @NotNull Map<UUID, List<List<UUID>>> groupLastCandlesticksDto);
+  Stream<CandlestickDto> computingIndicatorsByInit(final @NotNull Collection<TechnicalIndicatorService> indicatorServices, final @NotNull Collection<MovingAverageService> movingAverageServices, final @NotNull Collection<@NotNull CandlestickDto> candlesticks);
 }
@@ -0,0 +1,20 @@
+package lu.forex.system.services;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.LocalDateTime;
+import lu.forex.system.dtos.CandlestickSeriesDto;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public interface DerivedCandlestickService {
+
+  /**
+   * Candlesticks of a time frame without scope, aggregated from the biggest stored time frame of the symbol whose candlesticks nest into it.
+   */
+  @Transactional(readOnly = true)
+  @NotNull
+  CandlestickSeriesDto getDerivedCandlestickSeries(final @NotNull String symbolName, final @NotNull String timeFrame, final LocalDateTime from,
+      final LocalDateTime to, final LocalDateTime cursor, final @Positive int limit);
+}
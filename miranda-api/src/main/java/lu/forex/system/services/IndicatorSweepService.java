@@ -0,0 +1,24 @@
+package lu.forex.system.services;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.Map;
+import lu.forex.system.dtos.IndicatorSweepDto;
+import lu.forex.system.enums.Indicator;
+import lu.forex.system.enums.TimeFrame;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public interface IndicatorSweepService {
+
+  /**
+   * Evaluates every combination of the comma separated parameter values of each indicator over the same candlesticks in one pass, the parameters
+   * not given keep their configured value.
+   */
+  @Transactional(readOnly = true)
+  @NotNull
+  IndicatorSweepDto sweep(final @NotNull @NotBlank String symbolName, final @NotNull TimeFrame timeFrame, final LocalDateTime from,
+      final LocalDateTime to, final @NotNull Map<@NotNull Indicator, @NotNull Map<String, String>> parameters);
+}
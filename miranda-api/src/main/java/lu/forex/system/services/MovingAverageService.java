@@ -1,33 +1,94 @@
 package lu.forex.system.services;
 
 import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
+import lu.forex.system.caches.MovingAverageRegistry;
 import lu.forex.system.dtos.CandlestickDto;
-import lu.forex.system.dtos.MovingAverageDto;
-import lu.forex.system.dtos.NewMovingAverageDto;
-import lu.forex.system.entities.MovingAverage;
+import lu.forex.system.engines.MovingAverageEngine;
+import lu.forex.system.engines.MovingAverageSpec;
+import lu.forex.system.engines.PriceSeries;
+import lu.forex.system.engines.TechnicalIndicatorEngine;
 import lu.forex.system.enums.MovingAverageType;
-import lu.forex.system.mappers.MovingAverageMapper;
-import lu.forex.system.repositories.MovingAverageRepository;
+import lu.forex.system.utils.TimeFrameUtils;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public interface MovingAverageService {
 
-  MovingAverageRepository getMovingAverageRepository();
-  MovingAverageMapper getMovingAverageMapper();
+  MovingAverageRegistry getMovingAverageRegistry();
   MovingAverageType getMovingAverageType();
 
-  @Transactional
-  @NotNull
-  default MovingAverageDto createMovingAverage(final @NotNull NewMovingAverageDto newMovingAverageDto) {
-    final MovingAverage movingAverage = this.getMovingAverageMapper().toEntity(newMovingAverageDto);
-    final MovingAverage savedMovingAverage = this.getMovingAverageRepository().save(movingAverage);
-    return this.getMovingAverageMapper().toDto(savedMovingAverage);
+  /**
+   * Value of the engine spec once the price is added to it, {@link MovingAverageEngine#getValue()} still being the previous value.
+   */
+  double getNextValue(final @NotNull MovingAverageEngine engine, final double price);
+
+  /**
+   * Computes the moving average over a whole ascending series at once, for backfills, with the values the bar by bar path would give.
+   */
+  double @NotNull [] computeMovingAverageSeries(final @NotNull PriceSeries priceSeries, final @NotNull MovingAverageSpec spec);
+
+  /**
+   * Moves the running series of the spec on the scope to the first candlestick of the descending list and returns its value, {@link Double#NaN}
+   * when there is none yet.
+   */
+  default double computeMovingAverage(final @NotNull MovingAverageSpec spec, final @NotNull List<@NotNull CandlestickDto> candlestickDtos) {
+    final CandlestickDto currentCandlestick = candlestickDtos.getFirst();
+    final MovingAverageEngine engine = this.getMovingAverageRegistry().getEngine(currentCandlestick.scope().id(), spec);
+    synchronized (engine) {
+      if (!engine.isAfter(TechnicalIndicatorEngine.getPreviousEpochMillis(candlestickDtos))) {
+        this.restoreEngine(engine, candlestickDtos);
+      }
+      this.updateEngine(engine, TimeFrameUtils.toEpochMillis(currentCandlestick.timestamp()), spec.priceType().getPrice(currentCandlestick));
+      return engine.getValue();
+    }
+  }
+
+  /**
+   * Keeps the state of the series of the spec after the first candlestick of the descending list, on the thread of the transaction of the close.
+   */
+  default void storeState(final @NotNull MovingAverageSpec spec, final @NotNull List<@NotNull CandlestickDto> candlestickDtos) {
+    final CandlestickDto currentCandlestick = candlestickDtos.getFirst();
+    final MovingAverageEngine engine = this.getMovingAverageRegistry().getEngine(currentCandlestick.scope().id(), spec);
+    synchronized (engine) {
+      this.storeState(currentCandlestick.scope().id(), currentCandlestick.timestamp(), engine);
+    }
+  }
+
+  /**
+   * Rebuilds the series up to the candlestick before the first one of the descending list, by default from the list itself.
+   */
+  default void restoreEngine(final @NotNull MovingAverageEngine engine, final @NotNull List<@NotNull CandlestickDto> candlestickDtos) {
+    engine.reset();
+    for (int i = candlestickDtos.size() - 1; i > 0; i--) {
+      final CandlestickDto candlestickDto = candlestickDtos.get(i);
+      this.updateEngine(engine, TimeFrameUtils.toEpochMillis(candlestickDto.timestamp()), engine.getSpec().priceType().getPrice(candlestickDto));
+    }
   }
 
-  @Transactional
-  void calculateMovingAverage(final @NotNull List<@NotNull CandlestickDto> candlestickDtos);
+  /**
+   * Rebuilds the series of the scope up to the candlestick before the given time, without reading its whole history.
+   */
+  void restoreEngine(final @NotNull MovingAverageEngine engine, final @NotNull UUID scopeId, final @NotNull LocalDateTime before);
+
+  /**
+   * Keeps the state of the series after the candlestick of the timestamp, for the series that can not be rebuilt from their last candlesticks.
+   */
+  default void storeState(final @NotNull UUID scopeId, final @NotNull LocalDateTime timestamp, final @NotNull MovingAverageEngine engine) {
+  }
+
+  /**
+   * Keeps the states of a series computed over the whole history of the scope, see {@link #computeMovingAverageSeries}.
+   */
+  default void storeSeries(final @NotNull UUID scopeId, final @NotNull MovingAverageSpec spec, final LocalDateTime @NotNull [] timestamps,
+      final double @NotNull [] values) {
+  }
+
+  default void updateEngine(final @NotNull MovingAverageEngine engine, final long epochMillis, final double price) {
+    engine.add(price);
+    engine.update(epochMillis, this.getNextValue(engine, price));
+  }
 
 }
@@ -0,0 +1,15 @@
+package lu.forex.system.services;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Service
+public interface OrderStreamService {
+
+  @NotNull
+  SseEmitter subscribe(final @NotNull String symbolName);
+
+  void publish(final @NotNull String symbolName, final @NotNull List<@NotNull String> orders);
+}
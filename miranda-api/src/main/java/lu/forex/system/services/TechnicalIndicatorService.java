@@ -3,12 +3,20 @@ package lu.forex.system.services;
 import jakarta.validation.constraints.NotNull;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import lu.forex.system.dtos.CandlestickDto;
-import lu.forex.system.dtos.NewMovingAverageDto;
 import lu.forex.system.dtos.TechnicalIndicatorDto;
+import lu.forex.system.engines.IndicatorParameters;
+import lu.forex.system.engines.MovingAverageSpec;
+import lu.forex.system.engines.PriceSeries;
+import lu.forex.system.engines.SeriesCache;
+import lu.forex.system.engines.TechnicalIndicatorEngine;
+import lu.forex.system.engines.TechnicalIndicatorSeries;
 import lu.forex.system.entities.TechnicalIndicator;
 import lu.forex.system.enums.Indicator;
 import lu.forex.system.enums.SignalIndicator;
+import lu.forex.system.exceptions.TechnicalIndicatorNotFoundException;
 import lu.forex.system.mappers.TechnicalIndicatorMapper;
 import lu.forex.system.repositories.TechnicalIndicatorRepository;
 import org.springframework.stereotype.Service;
@@ -36,12 +44,84 @@ public interface TechnicalIndicatorService {
     return this.getTechnicalIndicatorMapper().toDto(saved);
   }
 
-  @Transactional
-  default Collection<NewMovingAverageDto> generateMAs() {
+  /**
+   * Moving averages read by the indicator, evaluated before it.
+   */
+  @NotNull
+  default Collection<MovingAverageSpec> getInputs() {
     return List.of();
   }
 
+  /**
+   * Other indicators read by the indicator, evaluated before it.
+   */
+  @NotNull
+  default Collection<Indicator> getDependencies() {
+    return List.of();
+  }
+
+  /**
+   * Keys written to the indicator data.
+   */
+  @NotNull
+  Collection<String> getOutputs();
+
+  /**
+   * Running state per scope, carried over restarts by the warm-state snapshot.
+   */
+  @NotNull
+  default Map<UUID, ? extends TechnicalIndicatorEngine> getEngines() {
+    return Map.of();
+  }
+
+  /**
+   * Puts back engines of a snapshot taken with the same parameters, an engine that is not after the previous candlestick is rebuilt as usual.
+   */
+  default void restoreEngines(final @NotNull Map<UUID, TechnicalIndicatorEngine> engines) {
+  }
+
+  @NotNull
+  default TechnicalIndicatorDto getTechnicalIndicatorDto(final @NotNull CandlestickDto candlestickDto) {
+    for (final TechnicalIndicatorDto technicalIndicatorDto : candlestickDto.technicalIndicators()) {
+      if (this.getIndicator().equals(technicalIndicatorDto.indicator())) {
+        return technicalIndicatorDto;
+      }
+    }
+    throw new TechnicalIndicatorNotFoundException(candlestickDto.scope().toString());
+  }
+
+  /**
+   * Computes the indicator of the first candlestick of the descending list, without saving it.
+   */
+  @NotNull
+  TechnicalIndicator computeTechnicalIndicator(final @NotNull List<@NotNull CandlestickDto> candlestickDtos);
+
+  /**
+   * Configured parameters, the ones a sweep may vary.
+   */
+  @NotNull
+  default IndicatorParameters getParameters() {
+    return IndicatorParameters.EMPTY;
+  }
+
+  /**
+   * Computes the indicator over a whole ascending series at once, for backfills, with the values the bar by bar path would give.
+   */
+  @NotNull
+  default TechnicalIndicatorSeries computeTechnicalIndicatorSeries(final @NotNull PriceSeries priceSeries) {
+    return this.computeTechnicalIndicatorSeries(new SeriesCache(priceSeries), this.getParameters());
+  }
+
+  /**
+   * Computes the indicator with the given parameters over the series of the cache, sharing the columns other indicators or parameter sets already
+   * computed.
+   */
+  @NotNull
+  TechnicalIndicatorSeries computeTechnicalIndicatorSeries(final @NotNull SeriesCache seriesCache, final @NotNull IndicatorParameters parameters);
+
   @Transactional
-  void calculateTechnicalIndicator(final @NotNull List<@NotNull CandlestickDto> candlestickDtos);
+  default void calculateTechnicalIndicator(final @NotNull List<@NotNull CandlestickDto> candlestickDtos) {
+    this.getTechnicalIndicatorRepository().save(this.computeTechnicalIndicator(candlestickDtos));
+  }
 
 }
@@ -0,0 +1,20 @@
+package lu.forex.system.services;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lu.forex.system.dtos.NewTickDto;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public interface TickProcessingService {
+
+  @Transactional()
+  @NotNull
+  String processTick(final @NotNull NewTickDto newTickDto, final @NotNull @NotBlank String symbolName);
+
+  @Transactional()
+  @NotNull
+  List<@NotNull String> processTicks(final @NotNull List<@NotNull NewTickDto> newTickDtos, final @NotNull @NotBlank String symbolName);
+}
@@ -4,8 +4,10 @@ import jakarta.annotation.Nonnull;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.io.File;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import lu.forex.system.dtos.CandlestickBodyDto;
 import lu.forex.system.dtos.NewTickDto;
 import lu.forex.system.dtos.SymbolDto;
 import lu.forex.system.dtos.TickDto;
@@ -27,6 +29,15 @@ public interface TickService {
   @NotNull
   Optional<@NotNull TickDto> getLestTickBySymbolName(final @NotNull @NotBlank String symbolName);
 
+  @Transactional(readOnly = true)
+  @NotNull
+  Optional<@NotNull TickDto> getLastTickBySymbol(final @NotNull SymbolDto symbolDto);
+
+  @Transactional(readOnly = true)
+  @NotNull
+  Optional<@NotNull CandlestickBodyDto> getCandlestickBodyBySymbol(final @NotNull SymbolDto symbolDto, final @NotNull LocalDateTime from,
+      final @NotNull LocalDateTime to);
+
   @Transactional()
   @NotNull
   List<TickDto> readPreDataBase(final @NotNull SymbolDto symbolDto, final @NotNull File inputFile);
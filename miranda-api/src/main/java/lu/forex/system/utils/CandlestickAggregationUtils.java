@@ -0,0 +1,169 @@
+package lu.forex.system.utils;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.experimental.UtilityClass;
+import lu.forex.system.dtos.CandlestickBodyDto;
+import lu.forex.system.dtos.CandlestickPointDto;
+import lu.forex.system.dtos.TickDto;
+import lu.forex.system.enums.TimeFrame;
+
+@UtilityClass
+public class CandlestickAggregationUtils {
+
+  /**
+   * Builds the candlesticks of every time frame with a single ordered pass over the ticks. The smallest time frame is built from the ticks and
+   * each bigger one is merged from the biggest already built time frame whose candlesticks nest into it.
+   *
+   * @param timeFrames the time frames to build
+   * @param ticksSorted the ticks sorted by timestamp ascending
+   * @param brokerOffsetMillis shift of the day, week and month boundaries
+   * @return the candlesticks by time frame, sorted by timestamp ascending
+   */
+  public static @NotNull Map<TimeFrame, List<SimpleEntry<LocalDateTime, CandlestickBodyDto>>> aggregate(final @NotNull Collection<TimeFrame> timeFrames,
+      final @NotNull List<TickDto> ticksSorted, final long brokerOffsetMillis) {
+    final Map<TimeFrame, List<SimpleEntry<LocalDateTime, CandlestickBodyDto>>> candlesticks = new EnumMap<>(TimeFrame.class);
+    timeFrames.stream().distinct().sorted(Comparator.comparingLong(CandlestickAggregationUtils::getMinutes)).forEachOrdered(timeFrame -> {
+      final var source = candlesticks.keySet().stream().filter(smaller -> nests(smaller, timeFrame, brokerOffsetMillis)).max(Comparator.comparingLong(CandlestickAggregationUtils::getMinutes));
+      if (source.isPresent()) {
+        candlesticks.put(timeFrame, merge(candlesticks.get(source.get()), timeFrame, brokerOffsetMillis));
+      } else {
+        candlesticks.put(timeFrame, fromTicks(ticksSorted, timeFrame, brokerOffsetMillis));
+      }
+    });
+    return candlesticks;
+  }
+
+  /**
+   * Merges the ascending points into the candlesticks of the derived width, a candlestick starts on the derived boundary of its first point.
+   */
+  public static @NotNull List<CandlestickPointDto> aggregatePoints(final @NotNull List<CandlestickPointDto> pointsAsc, final long widthMillis,
+      final long brokerOffsetMillis) {
+    final List<CandlestickPointDto> aggregated = new ArrayList<>();
+    int start = 0;
+    while (start < pointsAsc.size()) {
+      final long epochMillis = TimeFrameUtils.getDerivedCandlestickEpochMillis(TimeFrameUtils.toEpochMillis(pointsAsc.get(start).timestamp()), widthMillis,
+          brokerOffsetMillis);
+      int end = start + 1;
+      while (end < pointsAsc.size() && TimeFrameUtils.toEpochMillis(pointsAsc.get(end).timestamp()) < epochMillis + widthMillis) {
+        end++;
+      }
+      final CandlestickPointDto merged = mergePoints(pointsAsc.subList(start, end));
+      aggregated.add(new CandlestickPointDto(merged.id(), TimeFrameUtils.toLocalDateTime(epochMillis), merged.open(), merged.high(), merged.low(),
+          merged.close(), merged.signalIndicator()));
+      start = end;
+    }
+    return aggregated;
+  }
+
+  /**
+   * Single candlestick of the ascending points of a bucket, keeping the identifier and the signal of the last one.
+   */
+  public static @NotNull CandlestickPointDto mergePoints(final @NotNull List<CandlestickPointDto> bucket) {
+    final CandlestickPointDto first = bucket.getFirst();
+    final CandlestickPointDto last = bucket.getLast();
+    double high = first.high();
+    double low = first.low();
+    for (final CandlestickPointDto point : bucket) {
+      high = Math.max(high, point.high());
+      low = Math.min(low, point.low());
+    }
+    return new CandlestickPointDto(last.id(), first.timestamp(), first.open(), high, low, last.close(), last.signalIndicator());
+  }
+
+  private static @NotNull List<SimpleEntry<LocalDateTime, CandlestickBodyDto>> fromTicks(final @NotNull List<TickDto> ticksSorted, final @NotNull TimeFrame timeFrame,
+      final long brokerOffsetMillis) {
+    final List<SimpleEntry<LocalDateTime, CandlestickBodyDto>> candlesticks = new ArrayList<>();
+    final Accumulator accumulator = new Accumulator();
+    for (final TickDto tickDto : ticksSorted) {
+      final long candlestickEpochMillis = TimeFrameUtils.getCandlestickEpochMillis(TimeFrameUtils.toEpochMillis(tickDto.timestamp()), timeFrame, brokerOffsetMillis);
+      accumulator.roll(candlestickEpochMillis, candlesticks);
+      accumulator.add(tickDto.bid(), tickDto.bid(), tickDto.bid(), tickDto.bid());
+    }
+    accumulator.flush(candlesticks);
+    return candlesticks;
+  }
+
+  private static @NotNull List<SimpleEntry<LocalDateTime, CandlestickBodyDto>> merge(final @NotNull List<SimpleEntry<LocalDateTime, CandlestickBodyDto>> sourceSorted,
+      final @NotNull TimeFrame timeFrame, final long brokerOffsetMillis) {
+    final List<SimpleEntry<LocalDateTime, CandlestickBodyDto>> candlesticks = new ArrayList<>();
+    final Accumulator accumulator = new Accumulator();
+    for (final SimpleEntry<LocalDateTime, CandlestickBodyDto> entry : sourceSorted) {
+      final long candlestickEpochMillis = TimeFrameUtils.getCandlestickEpochMillis(TimeFrameUtils.toEpochMillis(entry.getKey()), timeFrame, brokerOffsetMillis);
+      accumulator.roll(candlestickEpochMillis, candlesticks);
+      final CandlestickBodyDto body = entry.getValue();
+      accumulator.add(body.open(), body.high(), body.low(), body.close());
+    }
+    accumulator.flush(candlesticks);
+    return candlesticks;
+  }
+
+  private static boolean nests(final @NotNull TimeFrame smaller, final @NotNull TimeFrame bigger, final long brokerOffsetMillis) {
+    final long smallerWidth = TimeFrameUtils.getWidthMillis(smaller);
+    if (smallerWidth == 0L) {
+      return false;
+    }
+    final long smallerOrigin = TimeFrameUtils.getOriginMillis(smaller, brokerOffsetMillis);
+    final long biggerOrigin = TimeFrameUtils.getOriginMillis(bigger, brokerOffsetMillis);
+    final long biggerWidth = TimeFrameUtils.getWidthMillis(bigger);
+    if (biggerWidth == 0L) {
+      // every month starts on a shifted day boundary
+      return TimeFrameUtils.DAY_MILLIS % smallerWidth == 0L && Math.floorMod(biggerOrigin - smallerOrigin, smallerWidth) == 0L;
+    }
+    return biggerWidth % smallerWidth == 0L && Math.floorMod(biggerOrigin - smallerOrigin, smallerWidth) == 0L;
+  }
+
+  private static long getMinutes(final @NotNull TimeFrame timeFrame) {
+    return switch (timeFrame.getFrame()) {
+      case MINUTE -> timeFrame.getTimeValue();
+      case HOUR -> timeFrame.getTimeValue() * 60L;
+      case DAY -> timeFrame.getTimeValue() * 1440L;
+      case WEEK -> timeFrame.getTimeValue() * 10_080L;
+      case MONTH -> timeFrame.getTimeValue() * 44_640L;
+    };
+  }
+
+  private static final class Accumulator {
+
+    private long epochMillis;
+    private boolean empty = true;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+
+    private void add(final double open, final double high, final double low, final double close) {
+      if (this.empty) {
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.empty = false;
+      } else {
+        this.high = Math.max(this.high, high);
+        this.low = Math.min(this.low, low);
+      }
+      this.close = close;
+    }
+
+    private void roll(final long candlestickEpochMillis, final @NotNull List<SimpleEntry<LocalDateTime, CandlestickBodyDto>> candlesticks) {
+      if (this.empty || this.epochMillis != candlestickEpochMillis) {
+        this.flush(candlesticks);
+        this.epochMillis = candlestickEpochMillis;
+      }
+    }
+
+    private void flush(final @NotNull List<SimpleEntry<LocalDateTime, CandlestickBodyDto>> candlesticks) {
+      if (!this.empty) {
+        candlesticks.add(new SimpleEntry<>(TimeFrameUtils.toLocalDateTime(this.epochMillis), new CandlestickBodyDto(this.high, this.low, this.open, this.close)));
+        this.empty = true;
+      }
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package lu.forex.system.utils;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import lombok.experimental.UtilityClass;
+import lu.forex.system.dtos.CandlestickPointDto;
+import lu.forex.system.enums.DownsamplingMethod;
+
+@UtilityClass
+public class DownsamplingUtils {
+
+  /**
+   * Keeps at most the threshold of points, LTTB keeps the candlesticks of the selected indexes and MIN_MAX merges each bucket into one
+   * candlestick.
+   */
+  public static @NotNull List<CandlestickPointDto> downsample(final @NotNull List<CandlestickPointDto> points, final int threshold,
+      final @NotNull DownsamplingMethod method) {
+    if (points.size() <= threshold) {
+      return points;
+    }
+    return switch (method) {
+      case LTTB -> Arrays.stream(getLargestTriangleThreeBucketsIndexes(points.stream().mapToDouble(CandlestickPointDto::close).toArray(), threshold))
+          .mapToObj(points::get).toList();
+      case MIN_MAX -> {
+        final int[] bounds = getBucketBounds(points.size(), threshold);
+        yield IntStream.range(0, bounds.length - 1).mapToObj(i -> CandlestickAggregationUtils.mergePoints(points.subList(bounds[i], bounds[i + 1]))).toList();
+      }
+    };
+  }
+
+  /**
+   * Largest-Triangle-Three-Buckets, returns the ascending indexes of the kept points. The first and the last points are always kept,
+   * a threshold under 3 keeps every point.
+   */
+  public static int @NotNull [] getLargestTriangleThreeBucketsIndexes(final double @NotNull [] values, final @Positive int threshold) {
+    final int size = values.length;
+    if (threshold >= size || threshold < 3) {
+      return IntStream.range(0, size).toArray();
+    }
+    final int[] indexes = new int[threshold];
+    final double every = (double) (size - 2) / (threshold - 2);
+    int a = 0;
+    for (int i = 0; i < threshold - 2; i++) {
+      final int nextStart = (int) Math.floor((i + 1) * every) + 1;
+      final int nextEnd = Math.min((int) Math.floor((i + 2) * every) + 1, size);
+      double avgX = 0D;
+      double avgY = 0D;
+      for (int j = nextStart; j < nextEnd; j++) {
+        avgX += j;
+        avgY += values[j];
+      }
+      final int nextLength = nextEnd - nextStart;
+      avgX /= nextLength;
+      avgY /= nextLength;
+
+      final int start = (int) Math.floor(i * every) + 1;
+      final int end = nextStart;
+      double maxArea = -1D;
+      int selected = start;
+      for (int j = start; j < end; j++) {
+        final double area = Math.abs((a - avgX) * (values[j] - values[a]) - (a - j) * (avgY - values[a]));
+        if (area > maxArea) {
+          maxArea = area;
+          selected = j;
+        }
+      }
+      indexes[i + 1] = selected;
+      a = selected;
+    }
+    indexes[threshold - 1] = size - 1;
+    return indexes;
+  }
+
+  /**
+   * Splits {@code size} points in at most {@code buckets} contiguous buckets, bucket {@code i} is {@code [bounds[i], bounds[i + 1])}.
+   */
+  public static int @NotNull [] getBucketBounds(final int size, final @Positive int buckets) {
+    final int count = Math.min(size, buckets);
+    return IntStream.rangeClosed(0, count).map(i -> (int) ((long) i * size / count)).toArray();
+  }
+}
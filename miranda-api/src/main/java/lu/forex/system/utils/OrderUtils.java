@@ -19,8 +19,19 @@ public class OrderUtils {
   }
 
   public static SignalIndicator getSignalIndicator(final @NotNull Collection<TechnicalIndicator> technicalIndicators) {
-    final long powerBull = technicalIndicators.stream().filter(technicalIndicator -> SignalIndicator.BULLISH.equals(technicalIndicator.getSignal())).count();
-    final long powerBear = technicalIndicators.stream().filter(technicalIndicator -> SignalIndicator.BEARISH.equals(technicalIndicator.getSignal())).count();
+    return getSignalIndicator(technicalIndicators.stream().map(TechnicalIndicator::getSignal).toArray(SignalIndicator[]::new));
+  }
+
+  public static SignalIndicator getSignalIndicator(final SignalIndicator @NotNull ... signals) {
+    int powerBull = 0;
+    int powerBear = 0;
+    for (final SignalIndicator signal : signals) {
+      if (SignalIndicator.BULLISH.equals(signal)) {
+        powerBull++;
+      } else if (SignalIndicator.BEARISH.equals(signal)) {
+        powerBear++;
+      }
+    }
     if(powerBull == 2){
       return SignalIndicator.BULLISH;
     } else if (powerBear == 2) {
@@ -0,0 +1,107 @@
+package lu.forex.system.utils;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import lombok.experimental.UtilityClass;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+
+@UtilityClass
+public class TickFileUtils {
+
+  private static final int DATE_INDEX = 0;
+  private static final int TIME_INDEX = 1;
+  private static final int BID_INDEX = 2;
+  private static final int ASK_INDEX = 3;
+  private static final int PROBE_SIZE = 4 << 10;
+
+  public static @NotNull LocalDateTime getTimestamp(final @NotNull CSVRecord csvRecord) {
+    final var date = csvRecord.get(DATE_INDEX).replace(".", "-");
+    final var time = csvRecord.get(TIME_INDEX);
+    final var dataTime = date.concat("T").concat(time);
+    return LocalDateTime.parse(dataTime, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+  }
+
+  public static double getBid(final @NotNull CSVRecord csvRecord) {
+    return getPrice(csvRecord, BID_INDEX);
+  }
+
+  public static double getAsk(final @NotNull CSVRecord csvRecord) {
+    return getPrice(csvRecord, ASK_INDEX);
+  }
+
+  private static double getPrice(final @NotNull CSVRecord csvRecord, final int index) {
+    return csvRecord.get(index).isEmpty() ? 0D : Double.parseDouble(csvRecord.get(index));
+  }
+
+  /**
+   * Start of the first line of a time ordered tick file with a timestamp not before {@code timestamp}, found by bisecting the file. Lines without a
+   * timestamp, like the header, take the timestamp of the next line.
+   */
+  public static long findOffset(final @NotNull FileChannel fileChannel, final @NotNull LocalDateTime timestamp) throws IOException {
+    long low = 0L;
+    long high = fileChannel.size();
+    while (low < high) {
+      final long middle = (low + high) >>> 1;
+      final Optional<LocalDateTime> lineTimestamp = getTimestamp(fileChannel, nextLineStart(fileChannel, middle));
+      if (lineTimestamp.isEmpty() || !lineTimestamp.get().isBefore(timestamp)) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return nextLineStart(fileChannel, low);
+  }
+
+  private static long nextLineStart(final @NotNull FileChannel fileChannel, final long position) throws IOException {
+    if (position == 0L) {
+      return 0L;
+    }
+    final ByteBuffer buffer = ByteBuffer.allocate(PROBE_SIZE);
+    long start = position - 1;
+    while (start < fileChannel.size()) {
+      buffer.clear();
+      final int read = fileChannel.read(buffer, start);
+      for (int i = 0; i < read; i++) {
+        if (buffer.get(i) == '\n') {
+          return start + i + 1;
+        }
+      }
+      start += read;
+    }
+    return fileChannel.size();
+  }
+
+  private static @NotNull Optional<LocalDateTime> getTimestamp(final @NotNull FileChannel fileChannel, final long lineStart) throws IOException {
+    long start = lineStart;
+    final ByteBuffer buffer = ByteBuffer.allocate(PROBE_SIZE);
+    while (start < fileChannel.size()) {
+      buffer.clear();
+      final int read = fileChannel.read(buffer, start);
+      int end = 0;
+      while (end < read && buffer.get(end) != '\n') {
+        end++;
+      }
+      final String line = new String(buffer.array(), 0, end, Charset.defaultCharset());
+      try {
+        for (final CSVRecord csvRecord : CSVFormat.TDF.builder().build().parse(new StringReader(line))) {
+          return Optional.of(getTimestamp(csvRecord));
+        }
+      } catch (RuntimeException e) {
+        // header or broken line, the next line decides
+      }
+      if (end == read) {
+        return Optional.empty();
+      }
+      start += end + 1;
+    }
+    return Optional.empty();
+  }
+}
@@ -1,46 +1,150 @@
 package lu.forex.system.utils;
 
 import jakarta.validation.constraints.NotNull;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import lombok.experimental.UtilityClass;
+import lu.forex.system.enums.Frame;
 import lu.forex.system.enums.TimeFrame;
 
 @UtilityClass
 public class TimeFrameUtils {
 
-  public static @NotNull LocalDateTime getCandlestickTimestamp(final @NotNull LocalDateTime timestamp, final @NotNull TimeFrame timeFrame) {
+  public static final long MINUTE_MILLIS = 60_000L;
+  public static final long HOUR_MILLIS = 60L * MINUTE_MILLIS;
+  public static final long DAY_MILLIS = 24L * HOUR_MILLIS;
+  public static final long WEEK_MILLIS = 7L * DAY_MILLIS;
+  // 1970-01-01 is a Thursday, the first Sunday is 3 days later
+  private static final long WEEK_ORIGIN_MILLIS = 3L * DAY_MILLIS;
+
+  private static final Pattern DERIVED_TIME_FRAME = Pattern.compile("([MHD])([1-9]\\d{0,3})");
+
+  private static final long[] WIDTHS = new long[TimeFrame.values().length];
+
+  static {
+    for (final TimeFrame timeFrame : TimeFrame.values()) {
+      WIDTHS[timeFrame.ordinal()] = switch (timeFrame.getFrame()) {
+        case MINUTE -> timeFrame.getTimeValue() * MINUTE_MILLIS;
+        case HOUR -> timeFrame.getTimeValue() * HOUR_MILLIS;
+        case DAY -> timeFrame.getTimeValue() * DAY_MILLIS;
+        case WEEK -> timeFrame.getTimeValue() * WEEK_MILLIS;
+        case MONTH -> 0L;
+      };
+    }
+  }
+
+  /**
+   * @param brokerOffsetMillis shift of the day, week and month boundaries against the tick timestamps, e.g. 17 hours when the broker closes the day
+   *                           at 17:00 of the tick clock. Minute and hour boundaries are not shifted.
+   */
+  public static long getCandlestickEpochMillis(final long epochMillis, final @NotNull TimeFrame timeFrame, final long brokerOffsetMillis) {
+    if (Frame.MONTH.equals(timeFrame.getFrame())) {
+      return getMonthEpochMillis(epochMillis - brokerOffsetMillis, timeFrame.getTimeValue()) + brokerOffsetMillis;
+    }
+    final long width = WIDTHS[timeFrame.ordinal()];
+    final long origin = getOriginMillis(timeFrame, brokerOffsetMillis);
+    return Math.floorDiv(epochMillis - origin, width) * width + origin;
+  }
+
+  public static long getNextCandlestickEpochMillis(final long candlestickEpochMillis, final @NotNull TimeFrame timeFrame, final long brokerOffsetMillis) {
+    final long width = WIDTHS[timeFrame.ordinal()];
+    if (width > 0L) {
+      return candlestickEpochMillis + width;
+    }
+    // n months are at most 31 * n days, the next bucket is at least 28 * n days long
+    return getCandlestickEpochMillis(candlestickEpochMillis + timeFrame.getTimeValue() * 31L * DAY_MILLIS, timeFrame, brokerOffsetMillis);
+  }
+
+  /**
+   * Fixed width of the time frame in milliseconds, 0 for the months.
+   */
+  public static long getWidthMillis(final @NotNull TimeFrame timeFrame) {
+    return WIDTHS[timeFrame.ordinal()];
+  }
+
+  /**
+   * Width of a derived time frame made of minutes, hours or days, e.g. M45, H3 or H6, empty when the name is not valid.
+   */
+  public static @NotNull OptionalLong getDerivedWidthMillis(final @NotNull String timeFrame) {
+    final Matcher matcher = DERIVED_TIME_FRAME.matcher(timeFrame);
+    if (!matcher.matches()) {
+      return OptionalLong.empty();
+    }
+    final long value = Long.parseLong(matcher.group(2));
+    return OptionalLong.of(switch (matcher.group(1)) {
+      case "M" -> value * MINUTE_MILLIS;
+      case "H" -> value * HOUR_MILLIS;
+      default -> value * DAY_MILLIS;
+    });
+  }
+
+  /**
+   * Largest time frame whose candlesticks fit exactly in the derived ones.
+   */
+  public static @NotNull Optional<TimeFrame> getDerivedBaseTimeFrame(final long widthMillis, final @NotNull Collection<TimeFrame> timeFrames,
+      final long brokerOffsetMillis) {
+    final long origin = getDerivedOriginMillis(widthMillis, brokerOffsetMillis);
+    return timeFrames.stream().filter(timeFrame -> getWidthMillis(timeFrame) > 0L && widthMillis % getWidthMillis(timeFrame) == 0L)
+        .filter(timeFrame -> Math.floorMod(getOriginMillis(timeFrame, brokerOffsetMillis) - origin, getWidthMillis(timeFrame)) == 0L)
+        .max(Comparator.comparingLong(TimeFrameUtils::getWidthMillis));
+  }
+
+  public static long getDerivedCandlestickEpochMillis(final long epochMillis, final long widthMillis, final long brokerOffsetMillis) {
+    final long origin = getDerivedOriginMillis(widthMillis, brokerOffsetMillis);
+    return Math.floorDiv(epochMillis - origin, widthMillis) * widthMillis + origin;
+  }
+
+  /**
+   * First boundary of the fixed width time frames, the broker offset only moves the day and week ones.
+   */
+  public static long getOriginMillis(final @NotNull TimeFrame timeFrame, final long brokerOffsetMillis) {
     return switch (timeFrame.getFrame()) {
-      case MINUTE -> getMinuteTime(timestamp, timeFrame);
-      case HOUR -> getHourTime(timestamp, timeFrame);
-      case DAY -> getDayTime(timestamp, timeFrame);
+      case MINUTE, HOUR -> 0L;
+      case DAY, MONTH -> brokerOffsetMillis;
+      case WEEK -> WEEK_ORIGIN_MILLIS + brokerOffsetMillis;
     };
   }
 
-  private static @NotNull LocalDateTime getDayTime(final @NotNull LocalDateTime timestamp, final @NotNull TimeFrame timeFrame) {
-    final LocalTime localTime = LocalTime.of(0, 0, 0);
-    if (timestamp.getDayOfMonth() % timeFrame.getTimeValue() == 0) {
-      return LocalDateTime.of(LocalDate.of(timestamp.getYear(), timestamp.getMonth(), timestamp.getDayOfMonth() - (timeFrame.getTimeValue() - 1)),
-          localTime);
-    } else {
-      final int div = timestamp.getDayOfMonth() / timeFrame.getTimeValue();
-      final int newDay = div * timeFrame.getTimeValue();
-      return LocalDateTime.of(LocalDate.of(timestamp.getYear(), timestamp.getMonth(), newDay + 1), localTime);
-    }
+  private static long getDerivedOriginMillis(final long widthMillis, final long brokerOffsetMillis) {
+    return widthMillis % DAY_MILLIS == 0L ? brokerOffsetMillis : 0L;
+  }
+
+  public static long toEpochMillis(final @NotNull LocalDateTime timestamp) {
+    return timestamp.toEpochSecond(ZoneOffset.UTC) * 1000L + timestamp.getNano() / 1_000_000L;
   }
 
-  private static @NotNull LocalDateTime getHourTime(final @NotNull LocalDateTime timestamp, final @NotNull TimeFrame timeFrame) {
-    final int div = timestamp.getHour() / timeFrame.getTimeValue();
-    final int newHour = div * timeFrame.getTimeValue();
-    final LocalTime candlestickTime = LocalTime.of(newHour, 0, 0);
-    return LocalDateTime.of(timestamp.toLocalDate(), candlestickTime);
+  public static @NotNull LocalDateTime toLocalDateTime(final long epochMillis) {
+    return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L), (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+  }
+
+  private static long getMonthEpochMillis(final long epochMillis, final int months) {
+    // civil from days, see http://howardhinnant.github.io/date_algorithms.html
+    final long days = Math.floorDiv(epochMillis, DAY_MILLIS) + 719_468L;
+    final long era = Math.floorDiv(days, 146_097L);
+    final long dayOfEra = days - era * 146_097L;
+    final long yearOfEra = (dayOfEra - dayOfEra / 1460L + dayOfEra / 36_524L - dayOfEra / 146_096L) / 365L;
+    final long dayOfYear = dayOfEra - (365L * yearOfEra + yearOfEra / 4L - yearOfEra / 100L);
+    final long monthPrime = (5L * dayOfYear + 2L) / 153L;
+    final long month = monthPrime < 10L ? monthPrime + 3L : monthPrime - 9L;
+    final long year = yearOfEra + era * 400L + (month <= 2L ? 1L : 0L);
+
+    final long monthIndex = year * 12L + month - 1L;
+    final long bucketIndex = Math.floorDiv(monthIndex, months) * months;
+    return getDaysFromCivil(Math.floorDiv(bucketIndex, 12L), Math.floorMod(bucketIndex, 12L) + 1L) * DAY_MILLIS;
   }
 
-  private static @NotNull LocalDateTime getMinuteTime(final @NotNull LocalDateTime timestamp, final @NotNull TimeFrame timeFrame) {
-    final int div = timestamp.getMinute() / timeFrame.getTimeValue();
-    final int newMinute = div * timeFrame.getTimeValue();
-    final LocalTime candlestickTime = LocalTime.of(timestamp.getHour(), newMinute, 0);
-    return LocalDateTime.of(timestamp.toLocalDate(), candlestickTime);
+  private static long getDaysFromCivil(final long year, final long month) {
+    final long y = month <= 2L ? year - 1L : year;
+    final long era = Math.floorDiv(y, 400L);
+    final long yearOfEra = y - era * 400L;
+    final long dayOfYear = (153L * (month > 2L ? month - 3L : month + 9L) + 2L) / 5L;
+    final long dayOfEra = yearOfEra * 365L + yearOfEra / 4L - yearOfEra / 100L + dayOfYear;
+    return era * 146_097L + dayOfEra - 719_468L;
   }
 }
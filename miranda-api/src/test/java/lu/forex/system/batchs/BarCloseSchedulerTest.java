@@ -0,0 +1,157 @@
+package lu.forex.system.batchs;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lu.forex.system.dtos.CandlestickBodyDto;
+import lu.forex.system.dtos.CandlestickDto;
+import lu.forex.system.dtos.CurrencyPairDto;
+import lu.forex.system.dtos.ScopeDto;
+import lu.forex.system.dtos.SwapDto;
+import lu.forex.system.dtos.SymbolDto;
+import lu.forex.system.dtos.TickDto;
+import lu.forex.system.engines.IndicatorGraph;
+import lu.forex.system.enums.Currency;
+import lu.forex.system.enums.SignalIndicator;
+import lu.forex.system.enums.TimeFrame;
+import lu.forex.system.events.CandlestickClosedEvent;
+import lu.forex.system.events.CandlestickOpenedEvent;
+import lu.forex.system.services.CandlestickService;
+import lu.forex.system.utils.TimeFrameUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class BarCloseSchedulerTest {
+
+  private static final SymbolDto SYMBOL = new SymbolDto(UUID.randomUUID(), new CurrencyPairDto(Currency.EUR, Currency.USD, "EURUSD", "Euro"), 5,
+      new SwapDto(0D, 0D));
+  private static final ScopeDto SCOPE = new ScopeDto(UUID.randomUUID(), SYMBOL, TimeFrame.H1);
+  private static final LocalDateTime OPEN = LocalDateTime.of(2024, 1, 2, 10, 0);
+  private static final long OPEN_MILLIS = TimeFrameUtils.toEpochMillis(OPEN);
+  private static final long SECOND = 1000L;
+
+  private final MutableClock clock = new MutableClock(1_700_000_000_000L);
+  private final CandlestickService candlestickService = mock(CandlestickService.class);
+  private BarCloseScheduler barCloseScheduler;
+
+  @BeforeEach
+  void setUp() {
+    this.barCloseScheduler = new BarCloseScheduler(this.candlestickService, mock(IndicatorGraph.class), this.clock);
+    ReflectionTestUtils.setField(this.barCloseScheduler, "graceMillis", 2000L);
+    ReflectionTestUtils.setField(this.barCloseScheduler, "tickMillis", 250L);
+  }
+
+  @Test
+  void closesAtBoundaryPlusGraceOnTheBrokerClock() {
+    // the broker clock is far behind the wall clock, as when a history file is tailed
+    final TickDto tick = this.tick(OPEN.plusMinutes(30));
+    this.open(tick);
+    this.advanceTo(30 * 60 * SECOND + SECOND);
+    verify(this.candlestickService, never()).closeCandlestickByTime(any(), any(), anyLong(), any());
+    this.advanceTo(30 * 60 * SECOND + 2 * SECOND + 250L);
+    verify(this.candlestickService).closeCandlestickByTime(eq(tick), eq(SCOPE), eq(OPEN_MILLIS), any());
+  }
+
+  @Test
+  void followsTheBrokerClockWhenTheTicksSpeedUp() {
+    this.open(this.tick(OPEN.plusMinutes(30)));
+    this.clock.millis += SECOND;
+    final TickDto lastTick = this.tick(OPEN.plusMinutes(59).plusSeconds(59));
+    this.barCloseScheduler.onTick(SYMBOL.currencyPair().name(), lastTick);
+    this.advanceTo(3 * SECOND + 500L);
+    verify(this.candlestickService, never()).closeCandlestickByTime(any(), any(), anyLong(), any());
+    this.advanceTo(4 * SECOND + 250L);
+    verify(this.candlestickService).closeCandlestickByTime(eq(lastTick), eq(SCOPE), eq(OPEN_MILLIS), any());
+  }
+
+  @Test
+  void waitsWhenTheTicksSlowDown() {
+    this.open(this.tick(OPEN.plusMinutes(59).plusSeconds(59)));
+    // a second tick of the same broker time an hour of wall time later, the feed was paused
+    this.clock.millis += 60 * 60 * SECOND;
+    this.barCloseScheduler.onTick(SYMBOL.currencyPair().name(), this.tick(OPEN.plusMinutes(59).plusSeconds(59)));
+    this.advanceTo(60 * 60 * SECOND + 2 * SECOND);
+    verify(this.candlestickService, never()).closeCandlestickByTime(any(), any(), anyLong(), any());
+    this.advanceTo(60 * 60 * SECOND + 3 * SECOND + 250L);
+    verify(this.candlestickService).closeCandlestickByTime(any(), eq(SCOPE), eq(OPEN_MILLIS), any());
+  }
+
+  @Test
+  void tickCloseCancelsTheDeadline() {
+    final TickDto tick = this.tick(OPEN.plusMinutes(59));
+    this.open(tick);
+    final CandlestickDto candlestick = new CandlestickDto(UUID.randomUUID(), SCOPE, OPEN, new CandlestickBodyDto(1.1D, 1.1D, 1.1D, 1.1D), Set.of(),
+        SignalIndicator.NEUTRAL);
+    this.barCloseScheduler.onCandlestickClosed(new CandlestickClosedEvent(SCOPE, tick, List.of(candlestick), false));
+    this.advanceTo(2 * 60 * 60 * SECOND);
+    verify(this.candlestickService, never()).closeCandlestickByTime(any(), any(), anyLong(), any());
+  }
+
+  @Test
+  void reopenedCandlestickIsClosedOnce() {
+    final TickDto tick = this.tick(OPEN.plusMinutes(59));
+    this.open(tick);
+    this.open(tick);
+    this.advanceTo(2 * 60 * 60 * SECOND);
+    verify(this.candlestickService, times(1)).closeCandlestickByTime(any(), any(), anyLong(), any());
+  }
+
+  private void open(final TickDto tick) {
+    this.barCloseScheduler.onTick(SYMBOL.currencyPair().name(), tick);
+    this.barCloseScheduler.onCandlestickOpened(new CandlestickOpenedEvent(SCOPE, tick, OPEN_MILLIS));
+  }
+
+  private void advanceTo(final long elapsedMillis) {
+    this.clock.millis = this.clock.start + elapsedMillis;
+    this.barCloseScheduler.advance();
+  }
+
+  private TickDto tick(final LocalDateTime timestamp) {
+    return new TickDto(UUID.randomUUID(), SYMBOL, timestamp, 1.1D, 1.1001D, 0.0001D);
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private final long start;
+    private long millis;
+
+    private MutableClock(final long start) {
+      this.start = start;
+      this.millis = start;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public long millis() {
+      return this.millis;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(this.millis);
+    }
+  }
+}
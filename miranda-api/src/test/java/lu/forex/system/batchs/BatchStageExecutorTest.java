@@ -0,0 +1,67 @@
+package lu.forex.system.batchs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lu.forex.system.enums.BatchStage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class BatchStageExecutorTest {
+
+  private BatchStageExecutor batchStageExecutor;
+
+  @BeforeEach
+  void setUp() {
+    this.batchStageExecutor = new BatchStageExecutor();
+    ReflectionTestUtils.setField(this.batchStageExecutor, "symbolsParallelism", 2);
+    ReflectionTestUtils.setField(this.batchStageExecutor, "stageConfig", Map.of(BatchStage.INIT_ORDERS.name(), Map.of("parallelism", 3)));
+    ReflectionTestUtils.invokeMethod(this.batchStageExecutor, "init");
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReflectionTestUtils.invokeMethod(this.batchStageExecutor, "shutdown");
+  }
+
+  @Test
+  void stagesRunOnTheirOwnPoolFromPlainSymbolThreads() {
+    final Set<String> symbolThreads = ConcurrentHashMap.newKeySet();
+    final Set<String> stageThreads = ConcurrentHashMap.newKeySet();
+
+    this.batchStageExecutor.forEachSymbol(List.of("EURUSD", "GBPUSD", "USDJPY"), symbol -> {
+      assertFalse(Thread.currentThread() instanceof ForkJoinWorkerThread);
+      symbolThreads.add(Thread.currentThread().getName());
+      final Set<String> threads = this.batchStageExecutor.execute(BatchStage.INIT_ORDERS, () -> IntStream.range(0, 1_000).parallel()
+          .mapToObj(i -> Thread.currentThread().getName()).collect(Collectors.toSet()));
+      stageThreads.addAll(threads);
+    });
+
+    assertTrue(symbolThreads.stream().allMatch(name -> name.startsWith("batch-symbols-")));
+    assertTrue(symbolThreads.size() <= 2);
+    // the parallel stream of a stage stays on its pool, bounded by its parallelism
+    assertTrue(stageThreads.stream().allMatch(name -> name.startsWith("batch-init_orders-")));
+    assertTrue(stageThreads.size() <= 3);
+  }
+
+  @Test
+  void failureOfASymbolIsRaisedToTheCaller() {
+    final IllegalStateException exception = assertThrows(IllegalStateException.class,
+        () -> this.batchStageExecutor.forEachSymbol(List.of("EURUSD"), symbol -> {
+          throw new IllegalArgumentException(symbol);
+        }));
+
+    assertEquals("EURUSD", exception.getCause().getMessage());
+  }
+}
@@ -0,0 +1,185 @@
+package lu.forex.system.batchs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lu.forex.system.caches.CandlestickWindow;
+import lu.forex.system.caches.CandlestickWindowCache;
+import lu.forex.system.caches.MovingAverageRegistry;
+import lu.forex.system.dtos.CandlestickBodyDto;
+import lu.forex.system.dtos.CandlestickDto;
+import lu.forex.system.dtos.TechnicalIndicatorDto;
+import lu.forex.system.engines.AverageDirectionalIndexEngine;
+import lu.forex.system.engines.IndicatorGraph;
+import lu.forex.system.engines.IndicatorParameters;
+import lu.forex.system.engines.TechnicalIndicatorEngine;
+import lu.forex.system.enums.Indicator;
+import lu.forex.system.enums.SignalIndicator;
+import lu.forex.system.services.CandlestickService;
+import lu.forex.system.services.TechnicalIndicatorService;
+import lu.forex.system.utils.TimeFrameUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class WarmStateSnapshotJobTest {
+
+  private static final UUID SCOPE_ID = UUID.randomUUID();
+  private static final IndicatorParameters PARAMETERS = new IndicatorParameters(Map.of("period", "2"));
+
+  @TempDir
+  private Path folder;
+  @Mock
+  private CandlestickService candlestickService;
+  @Mock
+  private IndicatorGraph indicatorGraph;
+  @Mock
+  private MovingAverageRegistry movingAverageRegistry;
+  @Mock
+  private TechnicalIndicatorService indicatorService;
+  private CandlestickDto head;
+  private AverageDirectionalIndexEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    this.head = new CandlestickDto(UUID.randomUUID(), null, LocalDateTime.of(2024, 1, 2, 10, 0), new CandlestickBodyDto(1.2D, 1.1D, 1.15D, 1.18D),
+        Set.of(new TechnicalIndicatorDto(UUID.randomUUID(), Indicator.ADX, Map.of(), SignalIndicator.NEUTRAL)), SignalIndicator.NEUTRAL);
+    this.engine = new AverageDirectionalIndexEngine(2);
+    this.engine.update(1L, 1D, 1D, 0D);
+    this.engine.update(2L, 1D, 0.5D, 0.5D);
+  }
+
+  @Test
+  void windowsAndEnginesAreRestoredWhenTheDatabaseMatches() throws IOException {
+    this.writeSnapshot();
+    when(this.candlestickService.findCandlesticksDescWithLimit(SCOPE_ID, 1)).thenReturn(List.of(this.head));
+    final CandlestickWindowCache restoredCache = this.restore();
+
+    final CandlestickWindow window = restoredCache.findWindow(SCOPE_ID).orElseThrow();
+    assertEquals(this.head.id(), window.getLastClosedCandlestick().orElseThrow().id());
+    final ArgumentCaptor<Map<UUID, TechnicalIndicatorEngine>> engines = engineCaptor();
+    verify(this.indicatorService).restoreEngines(engines.capture());
+    final AverageDirectionalIndexEngine restored = (AverageDirectionalIndexEngine) engines.getValue().get(SCOPE_ID);
+    assertTrue(restored.isAfter(2L));
+    assertEquals(this.engine.getDx(), restored.getDx());
+    // the restored engine goes on like the one written
+    this.engine.update(3L, 1D, 0D, 1D);
+    restored.update(3L, 1D, 0D, 1D);
+    assertEquals(this.engine.getAdx(), restored.getAdx());
+  }
+
+  @Test
+  void windowBehindTheDatabaseIsDroppedWithItsEngines() throws IOException {
+    this.writeSnapshot();
+    final CandlestickDto newer = new CandlestickDto(UUID.randomUUID(), null, this.head.timestamp().plusHours(1), this.head.body(), Set.of(),
+        SignalIndicator.NEUTRAL);
+    when(this.candlestickService.findCandlesticksDescWithLimit(SCOPE_ID, 1)).thenReturn(List.of(newer));
+    final CandlestickWindowCache restoredCache = this.restore();
+
+    assertTrue(restoredCache.findWindow(SCOPE_ID).isEmpty());
+    final ArgumentCaptor<Map<UUID, TechnicalIndicatorEngine>> engines = engineCaptor();
+    verify(this.indicatorService).restoreEngines(engines.capture());
+    assertTrue(engines.getValue().isEmpty());
+    verify(this.movingAverageRegistry, never()).restoreEngines(any(), any());
+  }
+
+  @Test
+  void enginesOfChangedParametersAreNotRestored() throws IOException {
+    this.writeSnapshot();
+    when(this.indicatorService.getParameters()).thenReturn(new IndicatorParameters(Map.of("period", "3")));
+    when(this.candlestickService.findCandlesticksDescWithLimit(SCOPE_ID, 1)).thenReturn(List.of(this.head));
+    final CandlestickWindowCache restoredCache = this.restore();
+
+    assertTrue(restoredCache.findWindow(SCOPE_ID).isPresent());
+    verify(this.indicatorService, never()).restoreEngines(any());
+  }
+
+  @Test
+  void enginesAreTakenUnderTheLockOfTheirWindow() {
+    final CandlestickWindow window = new CandlestickWindow(2, List.of(this.head));
+    window.resume(TimeFrameUtils.toEpochMillis(this.head.timestamp()), TimeFrameUtils.toEpochMillis(this.head.timestamp().plusHours(1)));
+    final CandlestickWindowCache candlestickWindowCache = new CandlestickWindowCache();
+    candlestickWindowCache.putWindow(SCOPE_ID, window);
+    final List<Boolean> locked = new ArrayList<>();
+    when(this.indicatorGraph.getIndicatorServices()).thenReturn(List.of(this.indicatorService));
+    when(this.indicatorService.getIndicator()).thenReturn(Indicator.ADX);
+    when(this.indicatorService.getParameters()).thenReturn(PARAMETERS);
+    doAnswer(invocation -> {
+      locked.add(Thread.holdsLock(window));
+      return Map.of(SCOPE_ID, this.engine);
+    }).when(this.indicatorService).getEngines();
+    when(this.movingAverageRegistry.getScopeEngines()).thenAnswer(invocation -> {
+      locked.add(Thread.holdsLock(window));
+      return Map.of();
+    });
+
+    this.job(candlestickWindowCache).snapshot();
+
+    // a close in between would have moved the engines past the window
+    assertEquals(List.of(true, true), locked);
+    assertTrue(Files.exists(this.folder.resolve("snapshot.bin")));
+  }
+
+  @Test
+  void unreadableSnapshotRestoresNothing() throws IOException {
+    Files.writeString(this.folder.resolve("snapshot.bin"), "not a snapshot");
+    final CandlestickWindowCache restoredCache = this.restore();
+
+    assertTrue(restoredCache.findWindow(SCOPE_ID).isEmpty());
+    verifyNoInteractions(this.candlestickService, this.indicatorService, this.movingAverageRegistry);
+  }
+
+  private void writeSnapshot() {
+    final CandlestickWindow window = new CandlestickWindow(2, List.of(this.head));
+    window.resume(TimeFrameUtils.toEpochMillis(this.head.timestamp()), TimeFrameUtils.toEpochMillis(this.head.timestamp().plusHours(1)));
+    final CandlestickWindowCache candlestickWindowCache = new CandlestickWindowCache();
+    candlestickWindowCache.putWindow(SCOPE_ID, window);
+    when(this.indicatorGraph.getIndicatorServices()).thenReturn(List.of(this.indicatorService));
+    when(this.indicatorGraph.getLookback()).thenReturn(2);
+    when(this.indicatorService.getIndicator()).thenReturn(Indicator.ADX);
+    when(this.indicatorService.getParameters()).thenReturn(PARAMETERS);
+    doReturn(Map.of(SCOPE_ID, this.engine)).when(this.indicatorService).getEngines();
+    this.job(candlestickWindowCache).snapshot();
+    verify(this.candlestickService).flushFormingCandlesticks();
+  }
+
+  private CandlestickWindowCache restore() {
+    final CandlestickWindowCache candlestickWindowCache = new CandlestickWindowCache();
+    ReflectionTestUtils.invokeMethod(this.job(candlestickWindowCache), "restore");
+    return candlestickWindowCache;
+  }
+
+  private WarmStateSnapshotJob job(final CandlestickWindowCache candlestickWindowCache) {
+    final WarmStateSnapshotJob job = new WarmStateSnapshotJob(this.candlestickService, candlestickWindowCache, this.indicatorGraph,
+        this.movingAverageRegistry);
+    ReflectionTestUtils.setField(job, "filePath", this.folder.resolve("snapshot.bin").toString());
+    return job;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ArgumentCaptor<Map<UUID, TechnicalIndicatorEngine>> engineCaptor() {
+    return ArgumentCaptor.forClass(Map.class);
+  }
+}
@@ -0,0 +1,71 @@
+package lu.forex.system.caches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import lu.forex.system.dtos.CandlestickBodyDto;
+import lu.forex.system.dtos.CandlestickDto;
+import lu.forex.system.dtos.TechnicalIndicatorDto;
+import lu.forex.system.enums.Indicator;
+import lu.forex.system.enums.SignalIndicator;
+import lu.forex.system.utils.TimeFrameUtils;
+import org.junit.jupiter.api.Test;
+
+class CandlestickWindowTest {
+
+  private static final LocalDateTime HEAD = LocalDateTime.of(2024, 1, 2, 10, 0);
+  private static final long HEAD_MILLIS = TimeFrameUtils.toEpochMillis(HEAD);
+  private static final long NEXT_MILLIS = HEAD_MILLIS + TimeFrameUtils.HOUR_MILLIS;
+
+  @Test
+  void closedHeadOfTheLastTickPeriodIsNotFormingAgain() {
+    final CandlestickWindow window = new CandlestickWindow(2, List.of(candlestick(HEAD, true), candlestick(HEAD.minusHours(1), true)));
+    assertEquals(OptionalLong.empty(), window.resume(HEAD_MILLIS, NEXT_MILLIS));
+    assertFalse(window.isForming());
+    assertEquals(HEAD_MILLIS, window.getLastClosedEpochMillis());
+    assertEquals(HEAD, window.getLastClosedCandlestick().orElseThrow().timestamp());
+  }
+
+  @Test
+  void headWithInitIndicatorsOfTheOpenPeriodIsStillForming() {
+    final CandlestickWindow window = new CandlestickWindow(2, List.of(candlestick(HEAD, true), candlestick(HEAD.minusHours(1), true)));
+    assertEquals(OptionalLong.of(HEAD_MILLIS), window.resume(HEAD_MILLIS, HEAD_MILLIS));
+    assertTrue(window.isForming());
+    assertEquals(Long.MIN_VALUE, window.getLastClosedEpochMillis());
+  }
+
+  @Test
+  void closedHeadBeforeTheLastTickPeriodRebuildsTheLastTickOne() {
+    final CandlestickWindow window = new CandlestickWindow(2, List.of(candlestick(HEAD, true)));
+    assertEquals(OptionalLong.of(NEXT_MILLIS), window.resume(NEXT_MILLIS, NEXT_MILLIS));
+    assertFalse(window.isForming());
+  }
+
+  @Test
+  void flushedHeadWithoutIndicatorsIsStillForming() {
+    final CandlestickWindow window = new CandlestickWindow(2, List.of(candlestick(HEAD, false), candlestick(HEAD.minusHours(1), true)));
+    assertEquals(OptionalLong.of(HEAD_MILLIS), window.resume(NEXT_MILLIS, NEXT_MILLIS));
+    assertTrue(window.isForming());
+    assertEquals(HEAD_MILLIS, window.getEpochMillis());
+  }
+
+  @Test
+  void emptyWindowRebuildsTheLastTickPeriod() {
+    final CandlestickWindow window = new CandlestickWindow(2, List.of());
+    assertEquals(OptionalLong.of(HEAD_MILLIS), window.resume(HEAD_MILLIS, HEAD_MILLIS));
+  }
+
+  static CandlestickDto candlestick(final LocalDateTime timestamp, final boolean closed) {
+    final Set<TechnicalIndicatorDto> technicalIndicators = closed
+        ? Set.of(new TechnicalIndicatorDto(UUID.randomUUID(), Indicator.AC, Map.of(), SignalIndicator.NEUTRAL)) : Set.of();
+    return new CandlestickDto(UUID.randomUUID(), null, timestamp, new CandlestickBodyDto(1.2D, 1.1D, 1.15D, 1.18D), technicalIndicators,
+        SignalIndicator.NEUTRAL);
+  }
+}
@@ -0,0 +1,89 @@
+package lu.forex.system.caches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class LruCacheTest {
+
+  @Test
+  void concurrentCallersLoadOnce() throws Exception {
+    final LruCache<String, String> cache = new LruCache<>(4);
+    final AtomicInteger loads = new AtomicInteger();
+    final CountDownLatch loading = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<String>> results = new ArrayList<>();
+      results.add(executor.submit(() -> cache.computeIfAbsent("key", () -> {
+        loads.incrementAndGet();
+        loading.countDown();
+        await(release);
+        return "value";
+      })));
+      assertTrue(loading.await(5, TimeUnit.SECONDS));
+      for (int i = 0; i < 7; i++) {
+        results.add(executor.submit(() -> cache.computeIfAbsent("key", () -> {
+          loads.incrementAndGet();
+          return "other";
+        })));
+      }
+      release.countDown();
+      for (final Future<String> result : results) {
+        assertEquals("value", result.get(5, TimeUnit.SECONDS));
+      }
+      assertEquals(1, loads.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void failedLoadIsNotCached() {
+    final LruCache<String, String> cache = new LruCache<>(4);
+    assertThrows(IllegalStateException.class, () -> cache.computeIfAbsent("key", () -> {
+      throw new IllegalStateException();
+    }));
+    assertEquals("value", cache.computeIfAbsent("key", () -> "value"));
+  }
+
+  @Test
+  void valueRemovedWhileLoadingIsNotKept() {
+    final LruCache<String, String> cache = new LruCache<>(4);
+    assertEquals("stale", cache.computeIfAbsent("key", () -> {
+      cache.clear();
+      return "stale";
+    }));
+    assertNull(cache.get("key"));
+  }
+
+  @Test
+  void evictsLeastRecentlyUsed() {
+    final LruCache<String, String> cache = new LruCache<>(2);
+    cache.put("a", "1");
+    cache.put("b", "2");
+    cache.get("a");
+    cache.put("c", "3");
+    assertNull(cache.get("b"));
+    assertEquals("1", cache.get("a"));
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package lu.forex.system.configurations;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Map;
+import java.util.UUID;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+class TechnicalIndicatorDataMigrationTest {
+
+  private static final String LEGACY_COLUMN_QUERY = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'TECHNICAL_INDICATOR' "
+                                                    + "AND COLUMN_NAME = 'DATA_TI'";
+
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    final JdbcDataSource dataSource = new JdbcDataSource();
+    dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    // the table as left by the former entity, before Hibernate adds the typed columns
+    this.jdbcTemplate.execute("CREATE TABLE technical_indicator (id UUID PRIMARY KEY, indicator VARCHAR(255), signal VARCHAR(255), "
+                              + "data_ti VARCHAR(4000) NOT NULL)");
+  }
+
+  @Test
+  void legacyDataIsMovedToTheTypedColumns() {
+    final UUID adx = UUID.randomUUID();
+    final UUID empty = UUID.randomUUID();
+    this.jdbcTemplate.update("INSERT INTO technical_indicator (id, indicator, signal, data_ti) VALUES (?, 'ADX', 'NEUTRAL', ?)", adx,
+        "{+di(P)=25.5, -di(P)=12.25, adx=30.0}");
+    this.jdbcTemplate.update("INSERT INTO technical_indicator (id, indicator, signal, data_ti) VALUES (?, 'AC', 'NEUTRAL', '{}')", empty);
+
+    new TechnicalIndicatorDataMigration(this.jdbcTemplate).afterPropertiesSet();
+
+    assertEquals(0, this.jdbcTemplate.queryForObject(LEGACY_COLUMN_QUERY, Integer.class));
+    final Map<String, Object> row = this.jdbcTemplate.queryForMap("SELECT p_di_p, n_di_p, adx, dx FROM technical_indicator WHERE id = ?", adx);
+    assertEquals(25.5D, row.get("P_DI_P"));
+    assertEquals(12.25D, row.get("N_DI_P"));
+    assertEquals(30D, row.get("ADX"));
+    assertNull(row.get("DX"));
+    assertNull(this.jdbcTemplate.queryForObject("SELECT mp FROM technical_indicator WHERE id = ?", Double.class, empty));
+
+    // a second start finds nothing to migrate
+    new TechnicalIndicatorDataMigration(this.jdbcTemplate).afterPropertiesSet();
+    assertEquals(2, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM technical_indicator", Integer.class));
+  }
+
+  @Test
+  void entityManagerFactoryIsCreatedAfterTheMigration() {
+    final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerBeanDefinition("entityManagerFactory", new RootBeanDefinition(LocalContainerEntityManagerFactoryBean.class));
+    beanFactory.registerBeanDefinition("technicalIndicatorDataMigration", new RootBeanDefinition(TechnicalIndicatorDataMigration.class));
+
+    SpringConfiguration.migrationEntityManagerFactoryDependsOnPostProcessor().postProcessBeanFactory(beanFactory);
+
+    assertArrayEquals(new String[]{"technicalIndicatorDataMigration"}, beanFactory.getBeanDefinition("entityManagerFactory").getDependsOn());
+  }
+}
@@ -0,0 +1,78 @@
+package lu.forex.system.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import lu.forex.system.dtos.CandlestickSeriesDto;
+import lu.forex.system.dtos.ScopeDto;
+import lu.forex.system.enums.TimeFrame;
+import lu.forex.system.services.CandlestickExportService;
+import lu.forex.system.services.CandlestickService;
+import lu.forex.system.services.DerivedCandlestickService;
+import lu.forex.system.services.IndicatorSweepService;
+import lu.forex.system.services.ScopeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(CandlestickController.class)
+class CandlestickControllerTest {
+
+  private static final ScopeDto SCOPE = new ScopeDto(UUID.randomUUID(), null, TimeFrame.H1);
+
+  @Autowired
+  private MockMvc mockMvc;
+  @MockBean
+  private CandlestickService candlestickService;
+  @MockBean
+  private CandlestickExportService candlestickExportService;
+  @MockBean
+  private DerivedCandlestickService derivedCandlestickService;
+  @MockBean
+  private ScopeService scopeService;
+  @MockBean
+  private IndicatorSweepService indicatorSweepService;
+
+  @Test
+  void rejectsInvalidLimitBeforeLoading() throws Exception {
+    this.mockMvc.perform(get("/candlesticks/EURUSD/H1").param("limit", "0")).andExpect(status().isBadRequest());
+    this.mockMvc.perform(get("/candlesticks/EURUSD/H1").param("limit", "5001")).andExpect(status().isBadRequest());
+    this.mockMvc.perform(get("/candlesticks/EURUSDX/H1")).andExpect(status().isBadRequest());
+    verifyNoInteractions(this.candlestickService, this.scopeService);
+  }
+
+  @Test
+  void answersMatchingEntityTagWithoutLoading() throws Exception {
+    when(this.scopeService.getScope("EURUSD", TimeFrame.H1)).thenReturn(SCOPE);
+    when(this.candlestickService.getCandlestickSeriesETag(eq(SCOPE.id()), any(), any(), any(), anyInt(), any(), any(), anyList()))
+        .thenReturn(Optional.of("\"closed\""));
+    this.mockMvc.perform(get("/candlesticks/EURUSD/H1").param("to", "2024-01-01T00:00:00").header(HttpHeaders.IF_NONE_MATCH, "\"closed\""))
+        .andExpect(status().isNotModified()).andExpect(header().string(HttpHeaders.ETAG, "\"closed\""));
+    verify(this.candlestickService, never()).getCandlestickSeries(any(), any(), any(), any(), anyInt(), anyList());
+  }
+
+  @Test
+  void servesValidPage() throws Exception {
+    when(this.scopeService.getScope("EURUSD", TimeFrame.H1)).thenReturn(SCOPE);
+    when(this.candlestickService.getCandlestickSeriesETag(eq(SCOPE.id()), any(), any(), any(), anyInt(), any(), any(), anyList())).thenReturn(Optional.empty());
+    when(this.candlestickService.getCandlestickSeries(eq(SCOPE.id()), any(), any(), any(), eq(10), anyList()))
+        .thenReturn(new CandlestickSeriesDto(List.of(), new double[0], new double[0], new double[0], new double[0], Map.of(), Map.of(), null));
+    this.mockMvc.perform(get("/candlesticks/EURUSD/H1").param("limit", "10")).andExpect(status().isOk());
+  }
+}
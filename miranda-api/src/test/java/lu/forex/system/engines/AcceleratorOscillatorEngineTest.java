@@ -0,0 +1,62 @@
+package lu.forex.system.engines;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class AcceleratorOscillatorEngineTest {
+
+  @Test
+  void oscillatorsFollowTheBigDecimalBaseline() {
+    final Random random = new Random(3L);
+    final double[] mps = new double[500];
+    for (int i = 0; i < mps.length; i++) {
+      mps[i] = 1E5D + Math.sin(i / 10D) + random.nextDouble() * 1E-5D;
+    }
+    final BigDecimal[] aos = new BigDecimal[mps.length];
+    final AcceleratorOscillatorEngine engine = new AcceleratorOscillatorEngine();
+    // the oscillators are differences of averages around 1E5, a few ulps of the prices
+    final double tolerance = 8D * Math.ulp(1E5D);
+    for (int i = 0; i < mps.length; i++) {
+      engine.update(i, mps[i]);
+      if (i < AcceleratorOscillatorEngine.SLOW_PERIOD - 1) {
+        assertTrue(Double.isNaN(engine.getAo()));
+        continue;
+      }
+      aos[i] = average(mps, i, AcceleratorOscillatorEngine.FAST_PERIOD).subtract(average(mps, i, AcceleratorOscillatorEngine.SLOW_PERIOD));
+      assertEquals(aos[i].doubleValue(), engine.getAo(), tolerance);
+      if (i < AcceleratorOscillatorEngine.SLOW_PERIOD + AcceleratorOscillatorEngine.FAST_PERIOD - 2) {
+        assertTrue(Double.isNaN(engine.getAc()));
+        continue;
+      }
+      final BigDecimal aoAverage = Arrays.stream(aos, i - AcceleratorOscillatorEngine.FAST_PERIOD + 1, i + 1).reduce(BigDecimal.ZERO, BigDecimal::add)
+          .divide(BigDecimal.valueOf(AcceleratorOscillatorEngine.FAST_PERIOD), MathContext.DECIMAL128);
+      assertEquals(aos[i].subtract(aoAverage).doubleValue(), engine.getAc(), tolerance);
+    }
+  }
+
+  @Test
+  void restoredStateContinuesLikeTheComputedOne() {
+    final AcceleratorOscillatorEngine computed = new AcceleratorOscillatorEngine();
+    final AcceleratorOscillatorEngine restored = new AcceleratorOscillatorEngine();
+    for (int i = 0; i < 60; i++) {
+      computed.update(i, 1.1D + i % 7 * 1E-4D);
+      restored.restore(i, computed.getMp(), computed.getAo(), computed.getAc());
+    }
+    computed.update(60, 1.2D);
+    restored.update(60, 1.2D);
+    assertEquals(computed.getAc(), restored.getAc(), 1E-15D);
+    assertEquals(computed.getLastAc(), restored.getLastAc());
+    assertEquals(computed.getBeforeLastAc(), restored.getBeforeLastAc());
+  }
+
+  private static BigDecimal average(final double[] values, final int last, final int period) {
+    return Arrays.stream(values, last - period + 1, last + 1).mapToObj(BigDecimal::new).reduce(BigDecimal.ZERO, BigDecimal::add)
+        .divide(BigDecimal.valueOf(period), MathContext.DECIMAL128);
+  }
+}
@@ -0,0 +1,48 @@
+package lu.forex.system.engines;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class AverageDirectionalIndexEngineTest {
+
+  private static final double DELTA = 1E-12D;
+
+  @Test
+  void directionalIndexIsTheDifferenceOverTheSumOfTheDirectionalIndicators() {
+    final AverageDirectionalIndexEngine engine = new AverageDirectionalIndexEngine(2);
+    engine.update(1L, 1D, 1D, 0D);
+    assertTrue(Double.isNaN(engine.getDx()));
+
+    engine.update(2L, 1D, 0.5D, 0.5D);
+    assertEquals(75D, engine.getPDiP(), DELTA);
+    assertEquals(25D, engine.getNDiP(), DELTA);
+    assertEquals(50D, engine.getDx(), DELTA);
+    assertTrue(Double.isNaN(engine.getAdx()));
+
+    engine.update(3L, 1D, 0D, 1D);
+    assertEquals(50D, engine.getDx(), DELTA);
+    assertEquals(50D, engine.getAdx(), DELTA);
+
+    engine.update(4L, 1D, 1D, 0D);
+    assertEquals(0D, engine.getDx(), DELTA);
+    assertEquals(25D, engine.getAdx(), DELTA);
+  }
+
+  @Test
+  void restoredStateContinuesLikeTheComputedOne() {
+    final AverageDirectionalIndexEngine computed = new AverageDirectionalIndexEngine(2);
+    computed.update(1L, 1D, 1D, 0D);
+    computed.update(2L, 1D, 0.5D, 0.5D);
+    final AverageDirectionalIndexEngine restored = new AverageDirectionalIndexEngine(2);
+    restored.restore(1L, 1D, 1D, 0D, Double.NaN);
+    restored.restore(2L, 1D, 0.5D, 0.5D, computed.getDx());
+    assertTrue(restored.isAfter(2L));
+
+    computed.update(3L, 1D, 0D, 1D);
+    restored.update(3L, 1D, 0D, 1D);
+    assertEquals(computed.getDx(), restored.getDx(), DELTA);
+    assertEquals(computed.getAdx(), restored.getAdx(), DELTA);
+  }
+}
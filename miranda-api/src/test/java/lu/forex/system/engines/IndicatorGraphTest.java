@@ -0,0 +1,125 @@
+package lu.forex.system.engines;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lu.forex.system.caches.BarFeatureCache;
+import lu.forex.system.caches.MovingAverageRegistry;
+import lu.forex.system.dtos.CandlestickBodyDto;
+import lu.forex.system.dtos.CandlestickDto;
+import lu.forex.system.dtos.ScopeDto;
+import lu.forex.system.dtos.TechnicalIndicatorDto;
+import lu.forex.system.entities.TechnicalIndicator;
+import lu.forex.system.enums.Indicator;
+import lu.forex.system.enums.SignalIndicator;
+import lu.forex.system.enums.TimeFrame;
+import lu.forex.system.mappers.TechnicalIndicatorMapper;
+import lu.forex.system.repositories.TechnicalIndicatorRepository;
+import lu.forex.system.services.TechnicalIndicatorService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IndicatorGraphTest {
+
+  @Autowired
+  private TechnicalIndicatorRepository technicalIndicatorRepository;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void indicatorsOfALevelAreSavedWithinTheTransactionOfTheClose() {
+    final List<TechnicalIndicatorService> indicatorServices = Arrays.stream(Indicator.values())
+        .map(indicator -> (TechnicalIndicatorService) new SignalIndicatorService(indicator, this.technicalIndicatorRepository)).toList();
+    final IndicatorGraph indicatorGraph = new IndicatorGraph(indicatorServices, List.of(), new BarFeatureCache(),
+        new MovingAverageRegistry(indicatorServices));
+
+    new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+      // the rows the close inserts for the new candlestick, not committed yet
+      final Set<TechnicalIndicatorDto> technicalIndicators = indicatorServices.stream().map(indicatorService -> {
+        final TechnicalIndicator technicalIndicator = new TechnicalIndicator();
+        technicalIndicator.setIndicator(indicatorService.getIndicator());
+        technicalIndicator.setSignal(SignalIndicator.NEUTRAL);
+        final TechnicalIndicator saved = this.technicalIndicatorRepository.save(technicalIndicator);
+        return new TechnicalIndicatorDto(saved.getId(), saved.getIndicator(), Map.of(), saved.getSignal());
+      }).collect(Collectors.toSet());
+      final ScopeDto scope = new ScopeDto(UUID.randomUUID(), null, TimeFrame.H1);
+      final CandlestickDto candlestick = new CandlestickDto(UUID.randomUUID(), scope, LocalDateTime.of(2024, 1, 2, 10, 0),
+          new CandlestickBodyDto(1.2D, 1.1D, 1.15D, 1.18D), technicalIndicators, SignalIndicator.NEUTRAL);
+
+      indicatorGraph.evaluate(List.of(candlestick));
+
+      this.technicalIndicatorRepository.flush();
+      final List<TechnicalIndicator> saved = this.technicalIndicatorRepository.findAll();
+      assertEquals(indicatorServices.size(), saved.size());
+      assertTrue(saved.stream().allMatch(technicalIndicator -> SignalIndicator.BULLISH.equals(technicalIndicator.getSignal())));
+      status.setRollbackOnly();
+    });
+
+    // nothing was committed apart from the close
+    assertEquals(0L, this.technicalIndicatorRepository.count());
+  }
+
+  /**
+   * Independent indicators, all on the first level, turning their row of the candlestick bullish.
+   */
+  private record SignalIndicatorService(Indicator indicator, TechnicalIndicatorRepository technicalIndicatorRepository) implements
+      TechnicalIndicatorService {
+
+    @Override
+    public TechnicalIndicatorRepository getTechnicalIndicatorRepository() {
+      return this.technicalIndicatorRepository();
+    }
+
+    @Override
+    public TechnicalIndicatorMapper getTechnicalIndicatorMapper() {
+      return null;
+    }
+
+    @Override
+    public Indicator getIndicator() {
+      return this.indicator();
+    }
+
+    @Override
+    public int getNumberOfCandlesticksToCalculate() {
+      return 1;
+    }
+
+    @Override
+    public @NotNull Collection<String> getOutputs() {
+      return List.of();
+    }
+
+    @Override
+    public @NotNull TechnicalIndicator computeTechnicalIndicator(final @NotNull List<@NotNull CandlestickDto> candlestickDtos) {
+      final TechnicalIndicatorDto technicalIndicatorDto = this.getTechnicalIndicatorDto(candlestickDtos.getFirst());
+      final TechnicalIndicator technicalIndicator = new TechnicalIndicator();
+      technicalIndicator.setId(technicalIndicatorDto.id());
+      technicalIndicator.setIndicator(technicalIndicatorDto.indicator());
+      technicalIndicator.setSignal(SignalIndicator.BULLISH);
+      return technicalIndicator;
+    }
+
+    @Override
+    public @NotNull TechnicalIndicatorSeries computeTechnicalIndicatorSeries(final @NotNull SeriesCache seriesCache,
+        final @NotNull IndicatorParameters parameters) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package lu.forex.system.engines;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class MovingAverageConvergenceDivergenceEngineTest {
+
+  @Test
+  void signalIsTheAverageOfTheLastMacds() {
+    final MovingAverageConvergenceDivergenceEngine engine = new MovingAverageConvergenceDivergenceEngine(3);
+    engine.update(1L, Double.NaN, 1.1D);
+    assertTrue(Double.isNaN(engine.getMacd()));
+    engine.update(2L, 1.3D, 1.1D);
+    engine.update(3L, 1.4D, 1.1D);
+    assertTrue(Double.isNaN(engine.getSignal()));
+    engine.update(4L, 1.5D, 1.1D);
+    assertEquals(0.4D, engine.getMacd(), 1E-15D);
+    assertEquals(0.3D, engine.getSignal(), 1E-15D);
+    assertEquals(0.3D, engine.getLastMacd(), 1E-15D);
+    assertTrue(Double.isNaN(engine.getLastSignal()));
+  }
+}
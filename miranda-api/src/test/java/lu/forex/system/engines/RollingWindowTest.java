@@ -0,0 +1,57 @@
+package lu.forex.system.engines;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RollingWindowTest {
+
+  private static final double U = Math.ulp(1D) / 2D;
+
+  @Test
+  void runningTotalFollowsTheExactSumOfTheWindow() {
+    final int capacity = 34;
+    final RollingWindow window = new RollingWindow(capacity);
+    final Deque<Double> values = new ArrayDeque<>();
+    final Random random = new Random(11L);
+    for (int i = 0; i < 50_000; i++) {
+      // prices with a large level and small moves, removing a value cancels almost all of its digits
+      final double value = 1E6D + (random.nextDouble() - 0.5D) * 1E-4D;
+      window.add(value);
+      values.addLast(value);
+      if (values.size() > capacity) {
+        values.removeFirst();
+      }
+      final BigDecimal exact = values.stream().map(BigDecimal::new).reduce(BigDecimal.ZERO, BigDecimal::add);
+      // within the compensated bound of two windows, the sum is rebuilt once per lap
+      final double bound = 2D * (U * exact.doubleValue() + 4D * U * U * capacity * exact.doubleValue()) + Math.ulp(exact.doubleValue());
+      final double error = exact.subtract(new BigDecimal(window.getTotal())).abs().doubleValue();
+      assertTrue(error <= bound, "error " + error + " above " + bound + " at " + i);
+    }
+    assertTrue(window.isComplete());
+  }
+
+  @Test
+  void missingValuesKeepTheWindowIncomplete() {
+    final RollingWindow window = new RollingWindow(2);
+    window.add(1D);
+    assertFalse(window.isComplete());
+    window.add(Double.NaN);
+    assertFalse(window.isComplete());
+    window.add(3D);
+    assertFalse(window.isComplete());
+    window.add(5D);
+    assertTrue(window.isComplete());
+    assertEquals(8D, window.getTotal());
+    assertEquals(4D, window.getAverage());
+    window.clear();
+    assertFalse(window.isComplete());
+    assertEquals(0D, window.getTotal());
+  }
+}
@@ -0,0 +1,128 @@
+package lu.forex.system.engines;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Checks every kernel against the definitions, on lengths around the vector widths and with missing values. The Vector API kernel is only checked
+ * when the tests run with the {@code vector} profile.
+ */
+class SeriesKernelTest {
+
+  private static final int[] LENGTHS = {0, 1, 2, 3, 7, 8, 9, 17, 33, 1_000};
+
+  static Stream<SeriesKernel> kernels() throws ReflectiveOperationException {
+    final List<SeriesKernel> kernels = new ArrayList<>(List.of(new ScalarSeriesKernel(), SeriesKernels.get()));
+    if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+      kernels.add((SeriesKernel) Class.forName("lu.forex.system.engines.VectorSeriesKernel").getDeclaredConstructor().newInstance());
+    }
+    return kernels.stream();
+  }
+
+  @ParameterizedTest
+  @MethodSource("kernels")
+  void elementWiseOperationsFollowTheDefinitions(final SeriesKernel kernel) {
+    final Random random = new Random(5L);
+    for (final int length : LENGTHS) {
+      final double[] high = new double[length];
+      final double[] low = new double[length];
+      final double[] close = new double[length];
+      prices(random, high, low, close);
+      final double[] out = new double[length];
+      final double[] expected = new double[length];
+
+      kernel.subtract(high, low, out);
+      for (int i = 0; i < length; i++) {
+        expected[i] = high[i] - low[i];
+      }
+      assertArrayEquals(expected, out);
+
+      kernel.typicalPrice(high, low, close, out);
+      for (int i = 0; i < length; i++) {
+        expected[i] = (high[i] + low[i] + close[i]) / 3D;
+      }
+      assertArrayEquals(expected, out);
+
+      kernel.medianPrice(high, low, out);
+      for (int i = 0; i < length; i++) {
+        expected[i] = (high[i] + low[i]) / 2D;
+      }
+      assertArrayEquals(expected, out);
+
+      kernel.ratio(low, high, 100D, out);
+      for (int i = 0; i < length; i++) {
+        expected[i] = 100D * (low[i] / high[i]);
+      }
+      assertArrayEquals(expected, out);
+
+      kernel.directionalIndex(high, low, out);
+      for (int i = 0; i < length; i++) {
+        expected[i] = 100D * (Math.abs(high[i] - low[i]) / (high[i] + low[i]));
+      }
+      assertArrayEquals(expected, out);
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("kernels")
+  void directionalMovementAgainstThePreviousCandlestick(final SeriesKernel kernel) {
+    final Random random = new Random(9L);
+    for (final int length : LENGTHS) {
+      final double[] high = new double[length];
+      final double[] low = new double[length];
+      final double[] close = new double[length];
+      prices(random, high, low, close);
+      final double[] trOne = new double[length];
+      final double[] pDmOne = new double[length];
+      final double[] nDmOne = new double[length];
+
+      kernel.directionalMovement(high, low, close, trOne, pDmOne, nDmOne);
+
+      for (int i = 0; i < length; i++) {
+        if (i == 0) {
+          assertTrue(Double.isNaN(trOne[i]) && Double.isNaN(pDmOne[i]) && Double.isNaN(nDmOne[i]));
+          continue;
+        }
+        assertEquals(Math.max(Math.max(high[i] - low[i], high[i] - close[i]), Math.abs(low[i] - close[i - 1])), trOne[i]);
+        final double highMove = high[i] - high[i - 1];
+        final double lowMove = low[i - 1] - low[i];
+        assertEquals(highMove > lowMove && highMove > 0D ? highMove : 0D, pDmOne[i]);
+        assertEquals(lowMove > highMove && lowMove > 0D ? lowMove : 0D, nDmOne[i]);
+        assertTrue(pDmOne[i] == 0D || nDmOne[i] == 0D);
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("kernels")
+  void missingValuesPropagate(final SeriesKernel kernel) {
+    final double[] values = {1D, Double.NaN, 3D, 4D, 5D, 6D, 7D, 8D, 9D};
+    final double[] out = new double[values.length];
+    kernel.subtract(values, values, out);
+    assertTrue(Double.isNaN(out[1]));
+    assertEquals(0D, out[8]);
+
+    kernel.rollingSum(values, 2, out);
+    assertTrue(Double.isNaN(out[0]) && Double.isNaN(out[1]) && Double.isNaN(out[2]));
+    assertEquals(7D, out[3]);
+    kernel.rollingMean(values, 3, out);
+    assertTrue(Double.isNaN(out[3]));
+    assertEquals(8D, out[8]);
+  }
+
+  private static void prices(final Random random, final double[] high, final double[] low, final double[] close) {
+    for (int i = 0; i < high.length; i++) {
+      low[i] = 1.1D + random.nextDouble() * 1E-2D;
+      high[i] = low[i] + random.nextDouble() * 1E-3D;
+      close[i] = low[i] + (high[i] - low[i]) * random.nextDouble();
+    }
+  }
+}
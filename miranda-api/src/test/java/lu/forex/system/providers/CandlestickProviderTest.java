@@ -0,0 +1,175 @@
+package lu.forex.system.providers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import lu.forex.system.caches.CandlestickSeriesCache;
+import lu.forex.system.caches.CandlestickWindowCache;
+import lu.forex.system.caches.MovingAverageRegistry;
+import lu.forex.system.dtos.CandlestickBodyDto;
+import lu.forex.system.dtos.CandlestickDto;
+import lu.forex.system.dtos.CurrencyPairDto;
+import lu.forex.system.dtos.ScopeDto;
+import lu.forex.system.dtos.SwapDto;
+import lu.forex.system.dtos.SymbolDto;
+import lu.forex.system.dtos.TechnicalIndicatorDto;
+import lu.forex.system.dtos.TickDto;
+import lu.forex.system.entities.Candlestick;
+import lu.forex.system.entities.CandlestickBody;
+import lu.forex.system.entities.TechnicalIndicator;
+import lu.forex.system.enums.Currency;
+import lu.forex.system.enums.Indicator;
+import lu.forex.system.enums.SignalIndicator;
+import lu.forex.system.enums.TimeFrame;
+import lu.forex.system.events.CandlestickClosedEvent;
+import lu.forex.system.events.CandlestickOpenedEvent;
+import lu.forex.system.mappers.CandlestickMapper;
+import lu.forex.system.mappers.ScopeMapper;
+import lu.forex.system.repositories.CandlestickRepository;
+import lu.forex.system.repositories.IndicatorBulkRepository;
+import lu.forex.system.services.TickService;
+import lu.forex.system.utils.TimeFrameUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class CandlestickProviderTest {
+
+  private static final SymbolDto SYMBOL = new SymbolDto(UUID.randomUUID(), new CurrencyPairDto(Currency.EUR, Currency.USD, "EURUSD", "Euro"), 5,
+      new SwapDto(0D, 0D));
+  private static final ScopeDto SCOPE = new ScopeDto(UUID.randomUUID(), SYMBOL, TimeFrame.H1);
+  private static final LocalDateTime HEAD = LocalDateTime.of(2024, 1, 2, 10, 0);
+
+  @Mock
+  private CandlestickRepository candlestickRepository;
+  @Mock
+  private CandlestickMapper candlestickMapper;
+  @Mock
+  private TickService tickService;
+  @Mock
+  private ApplicationEventPublisher applicationEventPublisher;
+  @Mock
+  private IndicatorBulkRepository indicatorBulkRepository;
+  @Mock
+  private MovingAverageRegistry movingAverageRegistry;
+  private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+  @Spy
+  private TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+  @Mock
+  private ScopeMapper scopeMapper;
+  @Spy
+  private CandlestickSeriesCache candlestickSeriesCache = new CandlestickSeriesCache(4);
+  @Spy
+  private CandlestickWindowCache candlestickWindowCache = new CandlestickWindowCache();
+  @InjectMocks
+  private CandlestickProvider candlestickProvider;
+
+  @Test
+  void candlestickClosedByTimeBeforeRestartIsNotClosedAgain() {
+    // the head was closed by time, the application stopped before the first tick of the next period
+    final Candlestick head = mock(Candlestick.class);
+    final Candlestick previous = mock(Candlestick.class);
+    when(this.candlestickRepository.findByScope_IdOrderByTimestampDescWithLimit(eq(SCOPE.id()), anyInt())).thenReturn(List.of(head, previous));
+    when(this.candlestickMapper.toDto(head)).thenReturn(candlestick(HEAD));
+    when(this.candlestickMapper.toDto(previous)).thenReturn(candlestick(HEAD.minusHours(1)));
+    when(this.tickService.getLastTickBySymbol(SYMBOL)).thenReturn(Optional.of(tick(HEAD.plusMinutes(59).plusSeconds(30))));
+
+    final Optional<CandlestickClosedEvent> closed = this.candlestickProvider.processingCandlestick(tick(HEAD.plusHours(1).plusSeconds(5)), SCOPE, List.of());
+
+    assertTrue(closed.isEmpty());
+    verify(this.candlestickRepository, never()).save(any());
+    final ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+    verify(this.applicationEventPublisher).publishEvent(events.capture());
+    final CandlestickOpenedEvent opened = (CandlestickOpenedEvent) events.getValue();
+    assertEquals(TimeFrameUtils.toEpochMillis(HEAD.plusHours(1)), opened.candlestickEpochMillis());
+    verify(this.tickService, never()).getCandlestickBodyBySymbol(any(), any(), any());
+  }
+
+  @Test
+  void headBackfilledByTheInitJobKeepsFormingWithTheLiveTicks() {
+    // the init job computed the indicators of every candlestick, the head included, while its period is still open
+    final Candlestick head = mock(Candlestick.class);
+    final CandlestickDto headDto = candlestick(HEAD);
+    when(this.candlestickRepository.findByScope_IdOrderByTimestampDescWithLimit(eq(SCOPE.id()), anyInt())).thenReturn(List.of(head));
+    when(this.candlestickMapper.toDto(head)).thenReturn(headDto);
+    when(this.tickService.getLastTickBySymbol(SYMBOL)).thenReturn(Optional.of(tick(HEAD.plusMinutes(10))));
+    when(this.candlestickRepository.findById(headDto.id())).thenReturn(Optional.of(head));
+    final CandlestickBody body = new CandlestickBody();
+    when(head.getBody()).thenReturn(body);
+    when(head.getTechnicalIndicators()).thenReturn(Set.of(mock(TechnicalIndicator.class)));
+    when(this.candlestickRepository.save(head)).thenReturn(head);
+
+    final Optional<CandlestickClosedEvent> live = this.candlestickProvider.processingCandlestick(tick(HEAD.plusMinutes(30), 1.25D), SCOPE, List.of());
+    final Optional<CandlestickClosedEvent> closed = this.candlestickProvider.processingCandlestick(tick(HEAD.plusHours(1).plusSeconds(5)), SCOPE,
+        List.of());
+
+    assertTrue(live.isEmpty());
+    assertEquals(HEAD, closed.orElseThrow().getCandlestick().timestamp());
+    assertEquals(1.25D, body.getHigh());
+    final ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+    verify(this.applicationEventPublisher, times(2)).publishEvent(events.capture());
+    assertEquals(List.of(CandlestickClosedEvent.class, CandlestickOpenedEvent.class), events.getAllValues().stream().map(Object::getClass).toList());
+  }
+
+  @Test
+  void indicatorsOfEachScopeAreWrittenInTheirOwnTransaction() {
+    final ThreadLocal<Boolean> transaction = new ThreadLocal<>();
+    when(this.transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+      transaction.set(true);
+      return new SimpleTransactionStatus();
+    });
+    doAnswer(invocation -> {
+      transaction.remove();
+      return null;
+    }).when(this.transactionManager).commit(any());
+    doAnswer(invocation -> {
+      assertEquals(Boolean.TRUE, transaction.get());
+      return null;
+    }).when(this.indicatorBulkRepository).updateSignalIndicators(any(), any());
+    final ScopeDto other = new ScopeDto(UUID.randomUUID(), SYMBOL, TimeFrame.H4);
+    final List<CandlestickDto> candlesticks = List.of(candlestick(HEAD), candlestick(HEAD.plusHours(1)),
+        new CandlestickDto(UUID.randomUUID(), other, HEAD, new CandlestickBodyDto(1.2D, 1.1D, 1.15D, 1.18D), Set.of(), SignalIndicator.BULLISH));
+
+    assertEquals(3, this.candlestickProvider.computingIndicatorsByInit(List.of(), List.of(), candlesticks).count());
+
+    verify(this.transactionManager, times(2)).commit(any());
+    verify(this.indicatorBulkRepository, times(2)).updateSignalIndicators(any(), any());
+  }
+
+  private static CandlestickDto candlestick(final LocalDateTime timestamp) {
+    return new CandlestickDto(UUID.randomUUID(), SCOPE, timestamp, new CandlestickBodyDto(1.2D, 1.1D, 1.15D, 1.18D),
+        Set.of(new TechnicalIndicatorDto(UUID.randomUUID(), Indicator.AC, Map.of(), SignalIndicator.NEUTRAL)), SignalIndicator.NEUTRAL);
+  }
+
+  private static TickDto tick(final LocalDateTime timestamp) {
+    return tick(timestamp, 1.1D);
+  }
+
+  private static TickDto tick(final LocalDateTime timestamp, final double bid) {
+    return new TickDto(UUID.randomUUID(), SYMBOL, timestamp, bid, bid + 0.0001D, 0.0001D);
+  }
+}
@@ -0,0 +1,70 @@
+package lu.forex.system.providers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import lu.forex.system.caches.CandlestickSeriesCache;
+import lu.forex.system.dtos.CandlestickPointDto;
+import lu.forex.system.dtos.CandlestickSeriesDto;
+import lu.forex.system.dtos.CurrencyPairDto;
+import lu.forex.system.dtos.ScopeDto;
+import lu.forex.system.dtos.SwapDto;
+import lu.forex.system.dtos.SymbolDto;
+import lu.forex.system.enums.Currency;
+import lu.forex.system.enums.SignalIndicator;
+import lu.forex.system.enums.TimeFrame;
+import lu.forex.system.repositories.CandlestickRepository;
+import lu.forex.system.services.ScopeService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DerivedCandlestickProviderTest {
+
+  private static final SymbolDto SYMBOL = new SymbolDto(UUID.randomUUID(), new CurrencyPairDto(Currency.EUR, Currency.USD, "EURUSD", "Euro"), 5,
+      new SwapDto(0D, 0D));
+  private static final ScopeDto SCOPE = new ScopeDto(UUID.randomUUID(), SYMBOL, TimeFrame.H1);
+  private static final LocalDateTime HEAD = LocalDateTime.of(2024, 1, 2, 10, 0);
+
+  @Mock
+  private CandlestickRepository candlestickRepository;
+  @Mock
+  private ScopeService scopeService;
+  @Spy
+  private CandlestickSeriesCache candlestickSeriesCache = new CandlestickSeriesCache(4);
+  @InjectMocks
+  private DerivedCandlestickProvider derivedCandlestickProvider;
+
+  @Test
+  void derivedCandlestickCutByTheEndOfTheRangeIsLeftOut() {
+    final LocalDateTime from = HEAD.minusHours(4);
+    final LocalDateTime boundary = HEAD.plusHours(2);
+    when(this.scopeService.getScopesBySymbolName("EURUSD")).thenReturn(List.of(SCOPE));
+    when(this.candlestickRepository.existsByScope_IdAndTimestampGreaterThanEqual(SCOPE.id(), boundary)).thenReturn(true);
+    when(this.candlestickRepository.findPointsByScope_IdAndTimestampBetweenAsc(eq(SCOPE.id()), eq(from), eq(boundary), anyInt())).thenReturn(
+        IntStream.range(0, 6).mapToObj(hour -> new CandlestickPointDto(UUID.randomUUID(), from.plusHours(hour), 1.1D, 1.2D + hour, 1D, 1.15D,
+            SignalIndicator.NEUTRAL)).toList());
+
+    final CandlestickSeriesDto series = this.derivedCandlestickProvider.getDerivedCandlestickSeries("EURUSD", "H3", from, boundary.plusHours(1), null, 10);
+    // another end inside the same derived candlestick reads the same closed range
+    final CandlestickSeriesDto cached = this.derivedCandlestickProvider.getDerivedCandlestickSeries("EURUSD", "H3", from, boundary.plusMinutes(30), null, 10);
+
+    assertEquals(List.of(from, from.plusHours(3)), series.t());
+    assertEquals(6.2D, series.h()[1]);
+    assertSame(series, cached);
+    verify(this.candlestickRepository).findPointsByScope_IdAndTimestampBetweenAsc(any(), any(), any(), anyInt());
+  }
+}
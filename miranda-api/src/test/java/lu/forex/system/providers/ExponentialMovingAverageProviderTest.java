@@ -0,0 +1,173 @@
+package lu.forex.system.providers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import lu.forex.system.caches.MovingAverageRegistry;
+import lu.forex.system.dtos.CandlestickPointDto;
+import lu.forex.system.engines.MovingAverageEngine;
+import lu.forex.system.engines.MovingAverageSpec;
+import lu.forex.system.engines.PriceSeries;
+import lu.forex.system.entities.MovingAverageState;
+import lu.forex.system.enums.MovingAverageType;
+import lu.forex.system.enums.PriceType;
+import lu.forex.system.enums.SignalIndicator;
+import lu.forex.system.repositories.CandlestickRepository;
+import lu.forex.system.repositories.MovingAverageStateRepository;
+import lu.forex.system.repositories.ScopeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ExponentialMovingAverageProviderTest {
+
+  private static final UUID SCOPE_ID = UUID.randomUUID();
+  private static final MovingAverageSpec SPEC = new MovingAverageSpec(MovingAverageType.EMA, 3, PriceType.CLOSE);
+  private static final double[] CLOSES = {1.1D, 1.12D, 1.09D, 1.15D, 1.18D, 1.14D, 1.2D, 1.22D, 1.19D, 1.25D};
+  private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  @Mock
+  private MovingAverageRegistry movingAverageRegistry;
+  @Mock
+  private CandlestickRepository candlestickRepository;
+  @Mock
+  private MovingAverageStateRepository movingAverageStateRepository;
+  @Mock
+  private ScopeRepository scopeRepository;
+  @InjectMocks
+  private ExponentialMovingAverageProvider exponentialMovingAverageProvider;
+
+  private double[] values;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(this.exponentialMovingAverageProvider, "stateInterval", 4);
+    this.values = this.exponentialMovingAverageProvider.computeMovingAverageSeries(
+        new PriceSeries(CLOSES, CLOSES, CLOSES, CLOSES, Map.of(), CLOSES.length), SPEC);
+  }
+
+  @Test
+  void backfillKeepsAStateEveryIntervalAndTheLastOne() {
+    this.exponentialMovingAverageProvider.storeSeries(SCOPE_ID, SPEC, timestamps(), this.values);
+
+    verify(this.movingAverageStateRepository).deleteBySpec(SCOPE_ID, SPEC.type(), SPEC.period(), SPEC.priceType());
+    final List<MovingAverageState> states = this.captureSavedStates();
+    assertEquals(List.of(4L, 8L, 10L), states.stream().map(MovingAverageState::getCount).toList());
+    assertEquals(timestamp(9), states.getLast().getTimestamp());
+    assertEquals(this.values[9], states.getLast().getValue());
+  }
+
+  @Test
+  void restoreReplaysOnlyTheCandlesticksAfterTheState() {
+    final MovingAverageState state = state(8L, timestamp(7), this.values[7]);
+    when(this.movingAverageStateRepository.findLastBefore(SCOPE_ID, SPEC.type(), SPEC.period(), SPEC.priceType(), timestamp(10))).thenReturn(
+        Optional.of(state));
+    when(this.candlestickRepository.findPointsByScope_IdAndTimestampBetweenAsc(SCOPE_ID, timestamp(7).plusNanos(1), timestamp(10), 4)).thenReturn(
+        points(8, 10));
+    final MovingAverageEngine engine = new MovingAverageEngine(SPEC);
+
+    this.exponentialMovingAverageProvider.restoreEngine(engine, SCOPE_ID, timestamp(10));
+
+    assertEquals(this.values[9], engine.getValue(), 1e-12);
+    assertEquals(10L, engine.getCount());
+    verify(this.candlestickRepository, never()).findPointsByScope_IdAndTimestampBeforeDesc(any(), any(), anyInt());
+  }
+
+  @Test
+  void restoreWithoutStateReplaysTheHistoryByPages() {
+    when(this.movingAverageStateRepository.findLastBefore(any(), any(), anyInt(), any(), any())).thenReturn(Optional.empty());
+    when(this.candlestickRepository.findPointsByScope_IdAndTimestampBetweenAsc(eq(SCOPE_ID), any(), eq(timestamp(10)), eq(4))).thenReturn(points(0, 4),
+        points(4, 8), points(8, 10));
+    final MovingAverageEngine engine = new MovingAverageEngine(SPEC);
+
+    this.exponentialMovingAverageProvider.restoreEngine(engine, SCOPE_ID, timestamp(10));
+
+    assertEquals(this.values[9], engine.getValue(), 1e-12);
+    verify(this.candlestickRepository).findPointsByScope_IdAndTimestampBetweenAsc(SCOPE_ID, timestamp(7).plusNanos(1), timestamp(10), 4);
+  }
+
+  @Test
+  void liveStateFollowsTheSeriesUntilTheInterval() {
+    final MovingAverageState last = state(10L, timestamp(9), this.values[9]);
+    when(this.movingAverageStateRepository.findLast(SCOPE_ID, SPEC.type(), SPEC.period(), SPEC.priceType())).thenReturn(Optional.of(last));
+    final MovingAverageEngine engine = new MovingAverageEngine(SPEC);
+    engine.restore(0L, 11L, 1.2D);
+
+    this.exponentialMovingAverageProvider.storeState(SCOPE_ID, timestamp(10), engine);
+
+    final ArgumentCaptor<MovingAverageState> captor = ArgumentCaptor.forClass(MovingAverageState.class);
+    verify(this.movingAverageStateRepository).save(captor.capture());
+    assertSame(last, captor.getValue());
+    assertEquals(11L, last.getCount());
+    assertEquals(timestamp(10), last.getTimestamp());
+    verify(this.scopeRepository, never()).getReferenceById(any());
+  }
+
+  @Test
+  void liveStateStartsANewRowAfterTheInterval() {
+    final MovingAverageState boundary = state(12L, timestamp(11), 1.2D);
+    when(this.movingAverageStateRepository.findLast(SCOPE_ID, SPEC.type(), SPEC.period(), SPEC.priceType())).thenReturn(Optional.of(boundary));
+    final MovingAverageEngine engine = new MovingAverageEngine(SPEC);
+    engine.restore(0L, 13L, 1.21D);
+
+    this.exponentialMovingAverageProvider.storeState(SCOPE_ID, timestamp(12), engine);
+
+    final ArgumentCaptor<MovingAverageState> captor = ArgumentCaptor.forClass(MovingAverageState.class);
+    verify(this.movingAverageStateRepository).save(captor.capture());
+    assertNotSame(boundary, captor.getValue());
+    assertEquals(13L, captor.getValue().getCount());
+    assertEquals(12L, boundary.getCount());
+    verify(this.scopeRepository).getReferenceById(SCOPE_ID);
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<MovingAverageState> captureSavedStates() {
+    final ArgumentCaptor<List<MovingAverageState>> captor = ArgumentCaptor.forClass(List.class);
+    verify(this.movingAverageStateRepository).saveAll(captor.capture());
+    return new ArrayList<>(captor.getValue());
+  }
+
+  private static MovingAverageState state(final long count, final LocalDateTime timestamp, final double value) {
+    final MovingAverageState state = new MovingAverageState();
+    state.setType(SPEC.type());
+    state.setPeriod(SPEC.period());
+    state.setPriceType(SPEC.priceType());
+    state.setCount(count);
+    state.setTimestamp(timestamp);
+    state.setValue(value);
+    return state;
+  }
+
+  private static LocalDateTime timestamp(final int hour) {
+    return FROM.plusHours(hour);
+  }
+
+  private static LocalDateTime[] timestamps() {
+    return IntStream.range(0, CLOSES.length).mapToObj(ExponentialMovingAverageProviderTest::timestamp).toArray(LocalDateTime[]::new);
+  }
+
+  private static List<CandlestickPointDto> points(final int from, final int to) {
+    return IntStream.range(from, to).mapToObj(
+        i -> new CandlestickPointDto(UUID.randomUUID(), timestamp(i), CLOSES[i], CLOSES[i], CLOSES[i], CLOSES[i], SignalIndicator.NEUTRAL)).toList();
+  }
+}
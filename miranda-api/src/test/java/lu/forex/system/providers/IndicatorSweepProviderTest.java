@@ -0,0 +1,107 @@
+package lu.forex.system.providers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lu.forex.system.dtos.CandlestickPointDto;
+import lu.forex.system.dtos.IndicatorSweepDto;
+import lu.forex.system.dtos.ScopeDto;
+import lu.forex.system.engines.IndicatorGraph;
+import lu.forex.system.engines.IndicatorParameters;
+import lu.forex.system.engines.TechnicalIndicatorSeries;
+import lu.forex.system.enums.Indicator;
+import lu.forex.system.enums.SignalIndicator;
+import lu.forex.system.enums.TimeFrame;
+import lu.forex.system.exceptions.IndicatorParametersNotValidException;
+import lu.forex.system.services.CandlestickService;
+import lu.forex.system.services.ScopeService;
+import lu.forex.system.services.TechnicalIndicatorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class IndicatorSweepProviderTest {
+
+  @Mock
+  private ScopeService scopeService;
+  @Mock
+  private CandlestickService candlestickService;
+  @Mock
+  private IndicatorGraph indicatorGraph;
+  @Mock
+  private TechnicalIndicatorService indicatorService;
+  @InjectMocks
+  private IndicatorSweepProvider indicatorSweepProvider;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(this.indicatorSweepProvider, "maxCombinations", 256);
+    ReflectionTestUtils.setField(this.indicatorSweepProvider, "maxOptions", 64);
+    when(this.indicatorGraph.getIndicatorServices()).thenReturn(List.of(this.indicatorService));
+    when(this.indicatorService.getIndicator()).thenReturn(Indicator.ADX);
+    when(this.indicatorService.getParameters()).thenReturn(new IndicatorParameters(Map.of("period", "14", "apply", "CLOSE")));
+  }
+
+  @Test
+  void productOfTheOptionsIsRejectedBeforeExpanding() {
+    // 20 x 20 parameter sets, each parameter within its bound
+    final Map<String, String> grid = Map.of("period", values(1, 20), "apply", values(101, 20));
+
+    final IndicatorParametersNotValidException exception = assertThrows(IndicatorParametersNotValidException.class,
+        () -> this.indicatorSweepProvider.sweep("EURUSD", TimeFrame.H1, null, null, Map.of(Indicator.ADX, grid)));
+
+    assertTrue(exception.getMessage().contains("256"));
+    verifyNoInteractions(this.scopeService, this.candlestickService);
+    verify(this.indicatorService, never()).computeTechnicalIndicatorSeries(any(), any());
+  }
+
+  @Test
+  void optionsOfOneParameterAreBounded() {
+    final IndicatorParametersNotValidException exception = assertThrows(IndicatorParametersNotValidException.class,
+        () -> this.indicatorSweepProvider.sweep("EURUSD", TimeFrame.H1, null, null, Map.of(Indicator.ADX, Map.of("period", values(1, 1_000_000)))));
+
+    assertEquals("Parameter period has more than 64 values", exception.getMessage());
+    verifyNoInteractions(this.scopeService, this.candlestickService);
+  }
+
+  @Test
+  void everyParameterSetIsComputedOverTheRange() {
+    final ScopeDto scopeDto = new ScopeDto(UUID.randomUUID(), null, TimeFrame.H1);
+    final LocalDateTime timestamp = LocalDateTime.of(2024, 1, 2, 10, 0);
+    when(this.scopeService.getScope("EURUSD", TimeFrame.H1)).thenReturn(scopeDto);
+    when(this.candlestickService.findCandlestickPointsAsc(scopeDto.id(), null, null)).thenReturn(List.of(
+        new CandlestickPointDto(UUID.randomUUID(), timestamp, 1.1D, 1.2D, 1D, 1.15D, SignalIndicator.NEUTRAL),
+        new CandlestickPointDto(UUID.randomUUID(), timestamp.plusHours(1), 1.15D, 1.3D, 1.1D, 1.25D, SignalIndicator.NEUTRAL)));
+    when(this.indicatorService.computeTechnicalIndicatorSeries(any(), any())).thenReturn(
+        new TechnicalIndicatorSeries(Map.of(), new SignalIndicator[]{SignalIndicator.NEUTRAL, SignalIndicator.BULLISH}));
+
+    final IndicatorSweepDto sweep = this.indicatorSweepProvider.sweep("EURUSD", TimeFrame.H1, null, null,
+        Map.of(Indicator.ADX, Map.of("period", "7, 14,,7")));
+
+    assertEquals(List.of(timestamp, timestamp.plusHours(1)), sweep.t());
+    assertEquals(List.of("7", "14"), sweep.series().stream().map(series -> series.parameters().get("period")).toList());
+    assertEquals("CLOSE", sweep.series().getFirst().parameters().get("apply"));
+    assertEquals(1L, sweep.series().getFirst().bullish());
+  }
+
+  private static String values(final int first, final int count) {
+    return IntStream.range(first, first + count).mapToObj(Integer::toString).collect(Collectors.joining(","));
+  }
+}
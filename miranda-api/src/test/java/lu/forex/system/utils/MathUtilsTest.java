@@ -0,0 +1,83 @@
+package lu.forex.system.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the {@code double} kernel with exact {@link BigDecimal} baselines. Sums must stay within the Neumaier bound
+ * {@code u|S| + 2u²n·Σ|x|} with {@code u = 2^-53}, single operations within half an ulp of the exact result.
+ */
+class MathUtilsTest {
+
+  private static final double U = Math.ulp(1D) / 2D;
+
+  @Test
+  void sumOfCancellingValuesKeepsTheSmallOnes() {
+    assertEquals(2D, MathUtils.getSum(1E16D, 1D, -1E16D, 1D));
+    assertEquals(2D, MathUtils.getSum(List.of(1E16D, 1D, -1E16D, 1D)));
+    assertEquals(1E-10D, MathUtils.getSum(1.1D, 1E-10D, -1.1D), 1E-26D);
+  }
+
+  @Test
+  void sumOfIllConditionedSeriesStaysWithinTheNeumaierBound() {
+    final Random random = new Random(42L);
+    for (int run = 0; run < 100; run++) {
+      // large prices of both signs around a small exact sum, the condition number is far beyond 1/u
+      final double[] values = new double[1_000];
+      for (int i = 0; i < values.length; i += 2) {
+        values[i] = (random.nextDouble() - 0.5D) * 1E12D;
+        values[i + 1] = -values[i] + random.nextDouble() * 1E-3D;
+      }
+      shuffle(values, random);
+      final BigDecimal exact = Arrays.stream(values).mapToObj(BigDecimal::new).reduce(BigDecimal.ZERO, BigDecimal::add);
+      final double absoluteSum = Arrays.stream(values).map(Math::abs).sum();
+      final double bound = U * Math.abs(exact.doubleValue()) + 2D * U * U * values.length * absoluteSum + Math.ulp(exact.doubleValue());
+      assertWithin(exact, MathUtils.getSum(values), bound);
+      assertWithin(exact.divide(BigDecimal.valueOf(values.length), MathContext.DECIMAL128), MathUtils.getMed(values),
+          bound / values.length + Math.ulp(MathUtils.getMed(values)));
+    }
+  }
+
+  @Test
+  void singleOperationsAreCorrectlyRounded() {
+    final Random random = new Random(7L);
+    for (int i = 0; i < 10_000; i++) {
+      final double a = 1D + random.nextDouble() * 1E-6D;
+      final double b = 1D + random.nextDouble() * 1E-6D;
+      final BigDecimal exactA = new BigDecimal(a);
+      final BigDecimal exactB = new BigDecimal(b);
+      // Sterbenz, the difference of close values is exact
+      assertEquals(exactA.subtract(exactB).doubleValue(), MathUtils.getSubtract(a, b));
+      assertWithin(exactA.multiply(exactB), MathUtils.getMultiplication(a, b), Math.ulp(a * b) / 2D);
+      assertWithin(exactA.divide(exactB, MathContext.DECIMAL128), MathUtils.getDivision(a, b), Math.ulp(a / b) / 2D);
+    }
+  }
+
+  @Test
+  void maxAndDivisionByZero() {
+    assertEquals(3D, MathUtils.getMax(-1D, 3D, 2D));
+    assertEquals(Double.POSITIVE_INFINITY, MathUtils.getDivision(1D, 0D));
+    assertTrue(Double.isNaN(MathUtils.getDivision(0D, 0D)));
+  }
+
+  private static void assertWithin(final BigDecimal expected, final double actual, final double tolerance) {
+    final double error = expected.subtract(new BigDecimal(actual)).abs().doubleValue();
+    assertTrue(error <= tolerance, () -> "error " + error + " above " + tolerance + " for " + expected);
+  }
+
+  private static void shuffle(final double[] values, final Random random) {
+    for (int i = values.length - 1; i > 0; i--) {
+      final int j = random.nextInt(i + 1);
+      final double value = values[i];
+      values[i] = values[j];
+      values[j] = value;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package lu.forex.system.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TickFileUtilsTest {
+
+  private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+  private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 2, 0, 0);
+  private static final int TICKS = 50_000;
+
+  @TempDir
+  Path folder;
+
+  @Test
+  void findOffsetResumesAfterStoredTicks() throws IOException {
+    final StringBuilder content = new StringBuilder("<DATE>\t<TIME>\t<BID>\t<ASK>\n");
+    final long[] lineStarts = new long[TICKS];
+    for (int i = 0; i < TICKS; i++) {
+      lineStarts[i] = content.length();
+      final LocalDateTime timestamp = START.plusNanos(i * 250_000_000L);
+      content.append(DATE.format(timestamp)).append('\t').append(TIME.format(timestamp)).append('\t').append(i % 3 == 0 ? "" : "1.10000").append('\t')
+          .append("1.10010\n");
+    }
+    final Path file = Files.writeString(this.folder.resolve("EURUSD.csv"), content, Charset.defaultCharset());
+    try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+      assertEquals(0L, TickFileUtils.findOffset(fileChannel, START.minusDays(1)));
+      assertEquals(0L, TickFileUtils.findOffset(fileChannel, START));
+      for (final int index : new int[] {1, 2, 777, TICKS / 2, TICKS - 1}) {
+        assertEquals(lineStarts[index], TickFileUtils.findOffset(fileChannel, START.plusNanos(index * 250_000_000L)));
+        // between two ticks the next tick is the first not yet stored
+        assertEquals(lineStarts[index], TickFileUtils.findOffset(fileChannel, START.plusNanos(index * 250_000_000L - 1)));
+      }
+      assertEquals(Files.size(file), TickFileUtils.findOffset(fileChannel, START.plusDays(1)));
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package lu.forex.system.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import lu.forex.system.enums.TimeFrame;
+import org.junit.jupiter.api.Test;
+
+class TimeFrameUtilsTest {
+
+  private static final long OFFSET = 17L * TimeFrameUtils.HOUR_MILLIS;
+  // Wednesday
+  private static final long TIMESTAMP = TimeFrameUtils.toEpochMillis(LocalDateTime.of(2024, 3, 6, 9, 42, 13));
+
+  @Test
+  void brokerOffsetOnlyShiftsDayWeekAndMonth() {
+    assertEquals(at(2024, 3, 6, 9, 42), TimeFrameUtils.getCandlestickEpochMillis(TIMESTAMP, TimeFrame.M1, OFFSET));
+    assertEquals(at(2024, 3, 6, 8, 0), TimeFrameUtils.getCandlestickEpochMillis(TIMESTAMP, TimeFrame.H4, OFFSET));
+    assertEquals(at(2024, 3, 5, 17, 0), TimeFrameUtils.getCandlestickEpochMillis(TIMESTAMP, TimeFrame.D1, OFFSET));
+    assertEquals(at(2024, 3, 3, 17, 0), TimeFrameUtils.getCandlestickEpochMillis(TIMESTAMP, TimeFrame.W1, OFFSET));
+    assertEquals(at(2024, 3, 1, 17, 0), TimeFrameUtils.getCandlestickEpochMillis(TIMESTAMP, TimeFrame.MN1, OFFSET));
+    assertEquals(at(2024, 4, 1, 17, 0), TimeFrameUtils.getNextCandlestickEpochMillis(at(2024, 3, 1, 17, 0), TimeFrame.MN1, OFFSET));
+  }
+
+  @Test
+  void withoutOffsetBoundariesAreUtc() {
+    assertEquals(at(2024, 3, 6, 0, 0), TimeFrameUtils.getCandlestickEpochMillis(TIMESTAMP, TimeFrame.D1, 0L));
+    assertEquals(at(2024, 3, 3, 0, 0), TimeFrameUtils.getCandlestickEpochMillis(TIMESTAMP, TimeFrame.W1, 0L));
+    assertEquals(at(2024, 3, 1, 0, 0), TimeFrameUtils.getCandlestickEpochMillis(TIMESTAMP, TimeFrame.MN1, 0L));
+  }
+
+  @Test
+  void derivedTimeFramesFollowTheOffsetOnlyForWholeDays() {
+    final long d2 = 2L * TimeFrameUtils.DAY_MILLIS;
+    final long h3 = 3L * TimeFrameUtils.HOUR_MILLIS;
+    assertEquals(at(2024, 3, 6, 9, 0), TimeFrameUtils.getDerivedCandlestickEpochMillis(TIMESTAMP, h3, OFFSET));
+    assertEquals(at(2024, 3, 4, 17, 0), TimeFrameUtils.getDerivedCandlestickEpochMillis(TIMESTAMP, d2, OFFSET));
+    final List<TimeFrame> timeFrames = List.of(TimeFrame.H1, TimeFrame.H4, TimeFrame.D1);
+    assertEquals(Optional.of(TimeFrame.D1), TimeFrameUtils.getDerivedBaseTimeFrame(d2, timeFrames, OFFSET));
+    // 4 hour candlesticks start at 16:00 and 20:00, not on the shifted day boundary
+    assertEquals(Optional.of(TimeFrame.H1), TimeFrameUtils.getDerivedBaseTimeFrame(TimeFrameUtils.DAY_MILLIS, List.of(TimeFrame.H1, TimeFrame.H4), OFFSET));
+    assertEquals(Optional.of(TimeFrame.H4), TimeFrameUtils.getDerivedBaseTimeFrame(TimeFrameUtils.DAY_MILLIS, List.of(TimeFrame.H1, TimeFrame.H4), 0L));
+  }
+
+  private static long at(final int year, final int month, final int day, final int hour, final int minute) {
+    return TimeFrameUtils.toEpochMillis(LocalDateTime.of(year, month, day, hour, minute));
+  }
+}
@@ -0,0 +1,178 @@
+package lu.forex.system.io;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.ArchiveException;
+import org.apache.commons.compress.archivers.ArchiveStreamFactory;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.compressors.CompressorException;
+import org.apache.commons.compress.compressors.CompressorStreamFactory;
+
+/**
+ * Tick files, plain or compressed. A compressed file is decompressed on its own thread into a pipe, so decompression overlaps with the parsing done
+ * by the reader.
+ */
+@UtilityClass
+@Slf4j
+public class InputFiles {
+
+  private static final List<String> COMPRESSED_EXTENSIONS = List.of(".gz", ".bz2", ".xz", ".lz4", ".zip");
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  /**
+   * The file itself or, when missing, the first compressed variant of it.
+   */
+  public static @NotNull Optional<File> find(final File folder, final @NotNull String fileName) {
+    return Stream.concat(Stream.of(fileName), COMPRESSED_EXTENSIONS.stream().map(fileName::concat)).map(name -> new File(folder, name))
+        .filter(File::isFile).findFirst();
+  }
+
+  public static @NotNull InputStream open(final @NotNull File inputFile) throws IOException {
+    return open(inputFile, new AtomicLong());
+  }
+
+  /**
+   * @param bytesRead bytes of the file read so far, compressed bytes for a compressed file
+   */
+  public static @NotNull InputStream open(final @NotNull File inputFile, final @NotNull AtomicLong bytesRead) throws IOException {
+    final InputStream inputStream = new BufferedInputStream(new CountingInputStream(Files.newInputStream(inputFile.toPath()), bytesRead), BUFFER_SIZE);
+    try {
+      final Optional<String> format = detect(inputStream);
+      if (format.isEmpty()) {
+        return inputStream;
+      }
+      log.info("Decompressing {} ({}) on a separate thread", inputFile.getAbsolutePath(), format.get());
+      return new PipedDecompressionInputStream(decompress(inputStream, format.get()), inputFile.getName());
+    } catch (IOException e) {
+      inputStream.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Compressor name of the stream or {@link ArchiveStreamFactory#ZIP}, empty for plain text. The stream must support mark and is left unread.
+   */
+  public static @NotNull Optional<String> detect(final @NotNull InputStream inputStream) throws IOException {
+    try {
+      return Optional.of(CompressorStreamFactory.detect(inputStream));
+    } catch (CompressorException e) {
+      // not a single stream compression format
+    }
+    try {
+      if (ArchiveStreamFactory.ZIP.equals(ArchiveStreamFactory.detect(inputStream))) {
+        return Optional.of(ArchiveStreamFactory.ZIP);
+      }
+    } catch (ArchiveException e) {
+      // not an archive, read it as plain text
+    }
+    return Optional.empty();
+  }
+
+  private static @NotNull InputStream decompress(final @NotNull InputStream inputStream, final @NotNull String format) throws IOException {
+    if (ArchiveStreamFactory.ZIP.equals(format)) {
+      final ZipArchiveInputStream zipArchiveInputStream = new ZipArchiveInputStream(inputStream);
+      if (zipArchiveInputStream.getNextEntry() == null) {
+        throw new IOException("Zip archive without entries");
+      }
+      return zipArchiveInputStream;
+    }
+    try {
+      return new CompressorStreamFactory().createCompressorInputStream(format, inputStream, true);
+    } catch (CompressorException e) {
+      throw new IOException(e);
+    }
+  }
+
+  private static final class PipedDecompressionInputStream extends PipedInputStream {
+
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+    private final Thread pump;
+
+    private PipedDecompressionInputStream(final @NotNull InputStream source, final @NotNull String name) throws IOException {
+      super(BUFFER_SIZE);
+      final PipedOutputStream sink = new PipedOutputStream(this);
+      this.pump = Thread.ofPlatform().daemon().name("decompress-".concat(name)).start(() -> {
+        try (source) {
+          source.transferTo(sink);
+        } catch (IOException e) {
+          this.failure.set(e);
+        } finally {
+          try {
+            sink.close();
+          } catch (IOException e) {
+            log.warn("Error closing decompression pipe of {}", name, e);
+          }
+        }
+      });
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+      final int value = super.read();
+      this.checkFailure(value);
+      return value;
+    }
+
+    @Override
+    public synchronized int read(final byte @NotNull [] b, final int off, final int len) throws IOException {
+      final int value = super.read(b, off, len);
+      this.checkFailure(value);
+      return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.pump.interrupt();
+      super.close();
+    }
+
+    private void checkFailure(final int value) throws IOException {
+      final IOException exception = this.failure.get();
+      if (value < 0 && exception != null) {
+        throw new IOException("Decompression failed", exception);
+      }
+    }
+  }
+
+  private static final class CountingInputStream extends FilterInputStream {
+
+    private final AtomicLong bytesRead;
+
+    private CountingInputStream(final @NotNull InputStream in, final @NotNull AtomicLong bytesRead) {
+      super(in);
+      this.bytesRead = bytesRead;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int value = super.read();
+      if (value >= 0) {
+        this.bytesRead.incrementAndGet();
+      }
+      return value;
+    }
+
+    @Override
+    public int read(final byte @NotNull [] b, final int off, final int len) throws IOException {
+      final int value = super.read(b, off, len);
+      if (value > 0) {
+        this.bytesRead.addAndGet(value);
+      }
+      return value;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package lu.forex.system.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.commons.compress.archivers.ArchiveStreamFactory;
+import org.apache.commons.compress.compressors.CompressorStreamFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InputFilesTest {
+
+  private static final byte[] CONTENT = "<DATE>\t<TIME>\t<BID>\t<ASK>\n2024.01.02\t00:00:00.123\t1.10000\t1.10010\n".repeat(20_000)
+      .getBytes(StandardCharsets.UTF_8);
+
+  @TempDir
+  Path folder;
+
+  @Test
+  void readsPlainFile() throws IOException {
+    final Path file = Files.write(this.folder.resolve("EURUSD.csv"), CONTENT);
+    final AtomicLong bytesRead = new AtomicLong();
+    try (InputStream inputStream = InputFiles.open(file.toFile(), bytesRead)) {
+      assertArrayEquals(CONTENT, inputStream.readAllBytes());
+    }
+    assertEquals(CONTENT.length, bytesRead.get());
+  }
+
+  @Test
+  void decompressesGzipThroughThePipe() throws IOException {
+    final Path file = this.folder.resolve("EURUSD.csv.gz");
+    try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(file))) {
+      outputStream.write(CONTENT);
+    }
+    final AtomicLong bytesRead = new AtomicLong();
+    try (InputStream inputStream = InputFiles.open(file.toFile(), bytesRead)) {
+      assertArrayEquals(CONTENT, inputStream.readAllBytes());
+    }
+    // the progress counts the compressed bytes of the file
+    assertEquals(Files.size(file), bytesRead.get());
+  }
+
+  @Test
+  void decompressesFirstZipEntry() throws IOException {
+    final Path file = this.folder.resolve("EURUSD.csv.zip");
+    try (ZipOutputStream outputStream = new ZipOutputStream(Files.newOutputStream(file))) {
+      outputStream.putNextEntry(new ZipEntry("EURUSD.csv"));
+      outputStream.write(CONTENT);
+      outputStream.closeEntry();
+    }
+    try (InputStream inputStream = InputFiles.open(file.toFile())) {
+      assertArrayEquals(CONTENT, inputStream.readAllBytes());
+    }
+  }
+
+  @Test
+  void reportsCorruptedCompressedFile() throws IOException {
+    final Path file = this.folder.resolve("EURUSD.csv.gz");
+    try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(file))) {
+      outputStream.write(CONTENT);
+    }
+    final byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+    try (InputStream inputStream = InputFiles.open(file.toFile())) {
+      assertThrows(IOException.class, inputStream::readAllBytes);
+    }
+  }
+
+  @Test
+  void detectsFormats() throws IOException {
+    assertEquals(Optional.empty(), InputFiles.detect(new ByteArrayInputStream(CONTENT)));
+    final Path gzip = this.folder.resolve("a.gz");
+    try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+      outputStream.write(CONTENT);
+    }
+    assertEquals(Optional.of(CompressorStreamFactory.GZIP), InputFiles.detect(new ByteArrayInputStream(Files.readAllBytes(gzip))));
+    final Path zip = this.folder.resolve("a.zip");
+    try (ZipOutputStream outputStream = new ZipOutputStream(Files.newOutputStream(zip))) {
+      outputStream.putNextEntry(new ZipEntry("a.csv"));
+      outputStream.write(CONTENT);
+    }
+    assertEquals(Optional.of(ArchiveStreamFactory.ZIP), InputFiles.detect(new ByteArrayInputStream(Files.readAllBytes(zip))));
+  }
+
+  @Test
+  void findsCompressedVariant() throws IOException {
+    Files.write(this.folder.resolve("EURUSD.csv.xz"), new byte[] {1});
+    final File folder = this.folder.toFile();
+    assertEquals(Optional.of(new File(folder, "EURUSD.csv.xz")), InputFiles.find(folder, "EURUSD.csv"));
+    Files.write(this.folder.resolve("EURUSD.csv"), new byte[] {1});
+    assertEquals(Optional.of(new File(folder, "EURUSD.csv")), InputFiles.find(folder, "EURUSD.csv"));
+    assertTrue(InputFiles.find(folder, "GBPUSD.csv").isEmpty());
+  }
+}
@@ -2,13 +2,12 @@ package lu.forex.system.untitled;
 
 import com.opencsv.CSVWriter;
 import java.io.File;
-import java.io.FileReader;
 import java.io.FileWriter;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.AbstractMap.SimpleEntry;
@@ -22,6 +21,7 @@ import java.util.stream.StreamSupport;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import lu.forex.system.io.InputFiles;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVRecord;
 import org.jetbrains.annotations.NotNull;
@@ -38,23 +38,20 @@ public class Reader {
   public void start(final String symbol) {
     final String root = "C:\\Users\\AllanDeMirandaSilva\\Downloads\\processing\\";
     final var fileName = root + symbol + CSV;
-      log.info("Reading file {}", fileName);
-      final var inputFile = new File(fileName);
+      final var inputFile = InputFiles.find(null, fileName).orElseThrow();
+      log.info("Reading file {}", inputFile.getAbsolutePath());
       final var bidH = new AtomicReference<>(0D);
       final var askH = new AtomicReference<>(0D);
       final var lastUpdate = new AtomicReference<>(LocalDateTime.MIN);
 
-      var numLines = new AtomicLong(0L);
-      try(final var lines = Files.lines(inputFile.toPath())) {
-        numLines.set(lines.count() - 1L);
-      }
-      var lineNow = new AtomicLong(1);
+      final var fileSize = Math.max(1L, inputFile.length());
+      final var bytesRead = new AtomicLong(0L);
       var lastPercentage = new AtomicLong(-1);
 
       log.info("Starting...");
-      try (final var fileReader = new FileReader(inputFile); final var csvParser = CSVFormat.TDF.builder().build().parse(fileReader)) {
+      try (final var fileReader = new InputStreamReader(InputFiles.open(inputFile, bytesRead)); final var csvParser = CSVFormat.TDF.builder().build().parse(fileReader)) {
         StreamSupport.stream(csvParser.spliterator(), false).skip(1).map(this::getDataTick).forEachOrdered(tick -> {
-          final long percentage = lineNow.addAndGet(1) * 100L / numLines.get();
+          final long percentage = bytesRead.get() * 100L / fileSize;
           if(percentage != lastPercentage.get()) {
             log.info("[{}] {}% read", LocalDateTime.now(), percentage);
             lastPercentage.set(percentage);